@@ -8,8 +8,11 @@ package com.payroll;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+// Agendamento habilitado para a varredura de partições dos fechamentos em lote
 @SpringBootApplication
+@EnableScheduling
 public class FolhaPagamentoApplication {
 
     public static void main(String[] args) {
@@ -3,18 +3,27 @@ package com.payroll.collections;
  * Utilitários para operações sobre coleções (listas e mapas).
  * Fornece funções de filtro, agrupamento e soma com tratamento
  * seguro de nulos e erros, visando robustez em cálculos e agregações.
+ *
+ * As sobrecargas que recebem ExecutionPolicy formam a geração atual: propagam exceções
+ * (em vez de devolver resultado vazio), não truncam valores negativos, somam em long
+ * (centavos) sem alocar BigDecimal por elemento e podem rodar em paralelo acima de um limite.
  */
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public final class CollectionOps {
     private static final Logger logger = LoggerFactory.getLogger(CollectionOps.class);
@@ -64,4 +73,75 @@ public final class CollectionOps {
         if (value.compareTo(BigDecimal.ZERO) < 0) return BigDecimal.ZERO;
         return value;
     }
-}
\ No newline at end of file
+
+    // --- Geração atual: falha rápida, paralelismo opcional e somas primitivas ---
+
+    public static <T> List<T> filter(List<T> source, FilterSpec<T> spec, ExecutionPolicy policy) {
+        if (source == null) return Collections.emptyList();
+        return stream(source, policy)
+                .filter(Objects::nonNull)
+                .filter(spec::isValid)
+                .collect(Collectors.toList());
+    }
+
+    // Soma de valores long (ex.: centavos, horas) sem boxing
+    public static <T> long sumToLong(List<T> source, ToLongFunction<T> mapper, ExecutionPolicy policy) {
+        if (source == null) return 0L;
+        return stream(source, policy)
+                .filter(Objects::nonNull)
+                .mapToLong(mapper)
+                .sum();
+    }
+
+    // Soma de valores monetários em centavos; nulos contam como zero e negativos são preservados
+    public static <T> long sumToLongCents(List<T> source, Function<T, BigDecimal> mapper, ExecutionPolicy policy) {
+        return sumToLong(source, item -> toCents(mapper.apply(item)), policy);
+    }
+
+    // Agrupamento em uma única passada, agregando cada chave com o coletor informado
+    // (ex.: Collectors.summarizingLong) em vez de materializar Map<K, List<T>>.
+    // Chave nula é um grupo como os demais (ex.: funcionários sem cargo), nos dois modos de execução
+    public static <K, T, A, R> Map<K, R> groupBy(List<T> source, GroupBySpec<K, T> spec,
+                                                 Collector<? super T, A, R> downstream, ExecutionPolicy policy) {
+        if (source == null) return Collections.emptyMap();
+        Map<K, A> accumulators;
+        if (policy.isParallel(source.size())) {
+            // Cada thread agrega em um HashMap próprio (aceita chave nula, ao contrário de groupingBy)
+            // e os mapas são combinados ao final
+            accumulators = source.parallelStream()
+                    .filter(Objects::nonNull)
+                    .collect(HashMap::new,
+                            (map, item) -> accumulate(map, spec, downstream, item),
+                            (left, right) -> right.forEach((k, acc) -> left.merge(k, acc, downstream.combiner())));
+        } else {
+            // Caminho sequencial sem stream: um acumulador por chave, finalizado ao fim
+            accumulators = new HashMap<>();
+            for (T item : source) {
+                if (item != null) accumulate(accumulators, spec, downstream, item);
+            }
+        }
+        Map<K, R> result = new HashMap<>(accumulators.size() * 2);
+        accumulators.forEach((k, acc) -> result.put(k, downstream.finisher().apply(acc)));
+        return result;
+    }
+
+    private static <K, T, A> void accumulate(Map<K, A> accumulators, GroupBySpec<K, T> spec,
+                                             Collector<? super T, A, ?> downstream, T item) {
+        A acc = accumulators.computeIfAbsent(spec.key(item), k -> downstream.supplier().get());
+        downstream.accumulator().accept(acc, item);
+    }
+
+    // Converter valor monetário para centavos (nulo = 0)
+    public static long toCents(BigDecimal value) {
+        if (value == null) return 0L;
+        return value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    public static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static <T> Stream<T> stream(List<T> source, ExecutionPolicy policy) {
+        return policy.isParallel(source.size()) ? source.parallelStream() : source.stream();
+    }
+}
@@ -0,0 +1,35 @@
+package com.payroll.collections;
+/*
+ * Política de execução das operações de coleção.
+ * Define a partir de qual tamanho de lista vale a pena processar em paralelo
+ * (ForkJoinPool comum); abaixo do limite o custo de dividir o trabalho supera o ganho.
+ */
+
+public final class ExecutionPolicy {
+
+    // Limite padrão: listas menores raramente compensam o paralelismo
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
+    public static final ExecutionPolicy SEQUENTIAL = new ExecutionPolicy(Integer.MAX_VALUE);
+    public static final ExecutionPolicy PARALLEL_ABOVE_DEFAULT = new ExecutionPolicy(DEFAULT_PARALLEL_THRESHOLD);
+
+    private final int parallelThreshold;
+
+    private ExecutionPolicy(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    // Paralelizar listas com pelo menos 'threshold' elementos
+    public static ExecutionPolicy parallelAbove(int threshold) {
+        if (threshold < 1) throw new IllegalArgumentException("threshold deve ser positivo");
+        return new ExecutionPolicy(threshold);
+    }
+
+    public boolean isParallel(int size) {
+        return size >= parallelThreshold;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+}
@@ -0,0 +1,34 @@
+package com.payroll.config;
+/*
+ * Migração de dados para o histórico de remuneração com vigência por data.
+ * Funcionários cadastrados antes do histórico existir recebem uma versão inicial com os
+ * valores atuais do cadastro, vigente desde a admissão; assim os holerites já gravados
+ * continuam com o mesmo fingerprint e não são recalculados à toa.
+ */
+
+import com.payroll.service.CompensationHistoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class CompensationHistoryBackfill implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompensationHistoryBackfill.class);
+
+    @Autowired
+    private CompensationHistoryService compensationHistoryService;
+
+    @Override
+    public void run(String... args) {
+        int created = compensationHistoryService.backfill();
+        if (created > 0) {
+            logger.info("Versao inicial de remuneracao criada para {} funcionarios existentes", created);
+        }
+    }
+}
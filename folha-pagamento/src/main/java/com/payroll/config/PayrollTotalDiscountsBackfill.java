@@ -0,0 +1,39 @@
+package com.payroll.config;
+/*
+ * Migração de dados para a coluna derivada 'total_discounts' das folhas.
+ * Holerites gravados antes da coluna existir ficam com o total nulo e escapariam da
+ * auditoria "descontos >= bruto"; na inicialização o total é preenchido a partir dos componentes.
+ */
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class PayrollTotalDiscountsBackfill implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollTotalDiscountsBackfill.class);
+
+    // Mesma soma feita em PayrollCalculation.syncTotalDiscounts
+    static final String BACKFILL_SQL = "UPDATE payroll_calculations SET total_discounts = "
+            + "COALESCE(inss_discount, 0) + COALESCE(irpf_discount, 0) + COALESCE(transport_discount, 0) "
+            + "+ COALESCE(health_plan_discount, 0) + COALESCE(dental_plan_discount, 0) "
+            + "+ COALESCE(gym_discount, 0) + COALESCE(other_deductions, 0) WHERE total_discounts IS NULL";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        int updated = jdbcTemplate.update(BACKFILL_SQL);
+        if (updated > 0) {
+            logger.info("total_discounts preenchido em {} folhas existentes", updated);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.payroll.config;
+/*
+ * Migração de dados para a unicidade de holerite por funcionário e competência.
+ * Bases antigas podem conter holerites duplicados gerados por cliques simultâneos, o que impede
+ * o Hibernate de criar a constraint. Na inicialização, as duplicatas são removidas (mantendo o
+ * último holerite gravado, fruto do cálculo mais recente) e cada ID removido fica registrado no log
+ * para conferência. Em seguida a constraint é garantida e os totais mensais e por departamento
+ * são reconciliados.
+ */
+
+import com.payroll.service.PayrollMonthTotalsService;
+import com.payroll.service.department.DepartmentTotalsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class PayrollUniqueKeyMigration implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollUniqueKeyMigration.class);
+
+    static final String DUPLICATES_SQL = "SELECT id, employee_id, reference_month FROM payroll_calculations "
+            + "WHERE id NOT IN (SELECT MAX(id) FROM payroll_calculations GROUP BY employee_id, reference_month) "
+            + "ORDER BY id";
+
+    // Mesmo nome declarado em PayrollCalculation; IF NOT EXISTS cobre o caso em que o Hibernate já a criou
+    static final String CONSTRAINT_SQL = "ALTER TABLE payroll_calculations ADD CONSTRAINT IF NOT EXISTS "
+            + "uk_payroll_employee_month UNIQUE (employee_id, reference_month)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PayrollMonthTotalsService monthTotalsService;
+
+    @Autowired
+    private DepartmentTotalsService departmentTotalsService;
+
+    private record Duplicate(long id, long employeeId, String referenceMonth) {
+    }
+
+    @Override
+    public void run(String... args) {
+        List<Duplicate> duplicates = jdbcTemplate.query(DUPLICATES_SQL, (rs, i) ->
+                new Duplicate(rs.getLong("id"), rs.getLong("employee_id"), rs.getString("reference_month")));
+        // Apaga exatamente os IDs listados, para que o log corresponda ao que saiu da base
+        Set<String> months = new TreeSet<>();
+        for (Duplicate d : duplicates) {
+            logger.warn("Removendo holerite duplicado id={} (funcionario {}, competencia {})",
+                    d.id(), d.employeeId(), d.referenceMonth());
+            months.add(d.referenceMonth());
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM payroll_calculations WHERE id = ?", duplicates, 500,
+                (ps, d) -> ps.setLong(1, d.id()));
+        jdbcTemplate.execute(CONSTRAINT_SQL);
+        if (!duplicates.isEmpty()) {
+            monthTotalsService.rebuild(null);
+            months.forEach(departmentTotalsService::rebuild);
+            logger.warn("{} holerites duplicados removidos; totais mensais e por departamento reconstruidos "
+                    + "para {}", duplicates.size(), months);
+        }
+    }
+}
@@ -59,6 +59,8 @@ public class SecurityConfig {
                     "/api/employees/**",
                     "/api/reports/**",
                     "/api/payroll/**",
+                    "/api/timesheets/**",
+                    "/api/departments/**",
                     "/api/dashboard",
                     "/h2-console/**"
                 ).permitAll()
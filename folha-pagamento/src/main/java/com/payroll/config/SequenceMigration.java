@@ -0,0 +1,63 @@
+package com.payroll.config;
+/*
+ * Migração de dados para a troca de IDENTITY por sequências (pooled).
+ * Bases H2 antigas já possuem registros com IDs gerados por IDENTITY; as sequências
+ * criadas pelo Hibernate começam em 1 e colidiriam com esses IDs. Na inicialização,
+ * cada sequência atrasada é reposicionada acima do maior ID existente da tabela.
+ */
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE) // Deve rodar antes do DataLoader inserir qualquer registro
+public class SequenceMigration implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SequenceMigration.class);
+
+    // Mesmo allocationSize declarado nos @SequenceGenerator das entidades
+    static final int ALLOCATION_SIZE = 50;
+
+    // Tabela -> sequência correspondente
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "employees", "employees_seq",
+            "payroll_calculations", "payroll_calculations_seq",
+            "reports", "reports_seq",
+            "users", "users_seq"
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        SEQUENCES.forEach(this::alignSequence);
+    }
+
+    // Reposiciona a sequência somente se o próximo bloco alocado puder repetir um ID existente
+    void alignSequence(String table, String sequence) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        if (maxId == null) return;
+
+        List<Long> next = jdbcTemplate.queryForList(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?",
+                Long.class, sequence.toUpperCase());
+        if (next.isEmpty()) return;
+
+        // No otimizador pooled o valor V da sequência reserva o bloco (V - allocationSize, V]
+        long target = maxId + ALLOCATION_SIZE;
+        if (next.get(0) >= target) return;
+
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + target);
+        logger.info("Sequência {} reposicionada para {} (maior id em {}: {})", sequence, target, table, maxId);
+    }
+}
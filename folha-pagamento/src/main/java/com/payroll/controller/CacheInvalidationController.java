@@ -0,0 +1,34 @@
+package com.payroll.controller;
+
+/*
+ * Controlador REST do barramento de invalidação de cache entre instâncias.
+ * Expõe os contadores desta instância (cursor, lacunas e atraso de propagação medido)
+ * e permite forçar uma leitura imediata da tabela, sem esperar a próxima varredura.
+ */
+
+import com.payroll.dtos.cache.CacheInvalidationStatsDTO;
+import com.payroll.service.cache.CacheInvalidationBus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/cache/invalidations")
+public class CacheInvalidationController {
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    // Contadores e atraso de propagação desta instância
+    @GetMapping
+    public ResponseEntity<CacheInvalidationStatsDTO> stats() {
+        return ResponseEntity.ok(invalidationBus.stats());
+    }
+
+    // Aplicar agora as invalidações gravadas pelas demais instâncias
+    @PostMapping("/poll")
+    public ResponseEntity<CacheInvalidationStatsDTO> poll() {
+        invalidationBus.drain();
+        return ResponseEntity.ok(invalidationBus.stats());
+    }
+}
@@ -0,0 +1,86 @@
+package com.payroll.controller;
+
+/*
+ * Controlador REST da árvore de departamentos / centros de custo.
+ * Cadastro e movimentação dos nós, lotação de funcionários e totais de folha
+ * por departamento (próprios e consolidados da subárvore) em uma competência.
+ */
+
+import com.payroll.dtos.department.DepartmentDTO;
+import com.payroll.dtos.department.DepartmentRollupDTO;
+import com.payroll.service.department.DepartmentService;
+import com.payroll.service.department.DepartmentTotalsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/departments")
+public class DepartmentController {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private DepartmentTotalsService totalsService;
+
+    // Árvore completa, ordenada pelo caminho (pai antes dos filhos)
+    @GetMapping
+    public ResponseEntity<List<DepartmentDTO>> list() {
+        return ResponseEntity.ok(departmentService.list());
+    }
+
+    @PostMapping
+    public ResponseEntity<DepartmentDTO> create(@RequestBody DepartmentDTO payload) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(departmentService.create(payload));
+    }
+
+    // Alterar nome e centro de custo
+    @PutMapping("/{id}")
+    public ResponseEntity<DepartmentDTO> update(@PathVariable Long id, @RequestBody DepartmentDTO payload) {
+        return ResponseEntity.ok(departmentService.update(id, payload));
+    }
+
+    // Mover o nó e sua subárvore para outro pai ({"parentId": null} torna o nó uma raiz)
+    @PutMapping("/{id}/parent")
+    public ResponseEntity<DepartmentDTO> move(@PathVariable Long id, @RequestBody Map<String, Long> body) {
+        return ResponseEntity.ok(departmentService.move(id, body.get("parentId")));
+    }
+
+    // Lotar um funcionário no departamento
+    @PutMapping("/{id}/employees/{employeeId}")
+    public ResponseEntity<Void> assignEmployee(@PathVariable Long id, @PathVariable Long employeeId) {
+        departmentService.assignEmployee(employeeId, id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Remover a lotação do funcionário
+    @DeleteMapping("/employees/{employeeId}")
+    public ResponseEntity<Void> unassignEmployee(@PathVariable Long employeeId) {
+        departmentService.assignEmployee(employeeId, null);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Totais de todos os nós na competência (próprios e da subárvore)
+    @GetMapping("/rollup/{month}")
+    public ResponseEntity<List<DepartmentRollupDTO>> rollup(@PathVariable String month) {
+        return ResponseEntity.ok(totalsService.rollup(month));
+    }
+
+    // Totais de um nó na competência
+    @GetMapping("/{id}/rollup/{month}")
+    public ResponseEntity<DepartmentRollupDTO> nodeRollup(@PathVariable Long id, @PathVariable String month) {
+        return ResponseEntity.ok(totalsService.rollup(id, month));
+    }
+
+    // Reconciliar os totais da competência com os holerites gravados
+    @PostMapping("/rollup/{month}/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuild(@PathVariable String month) {
+        int departments = totalsService.rebuild(month);
+        return ResponseEntity.ok(Map.of("referenceMonth", month, "departments", departments));
+    }
+}
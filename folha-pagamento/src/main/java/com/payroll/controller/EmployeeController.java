@@ -1,17 +1,24 @@
 package com.payroll.controller;
 
 import com.payroll.dto.EmployeeDTO;
+import com.payroll.dtos.employee.EmployeeChangeDTO;
+import com.payroll.dtos.employee.EmployeeCompensationDTO;
 import com.payroll.entity.Employee;
 import com.payroll.entity.User;
+import com.payroll.exception.InputValidationException;
+import com.payroll.service.CompensationHistoryService;
+import com.payroll.service.EmployeeChangeFeedService;
 import com.payroll.service.EmployeeService;
 import com.payroll.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -26,6 +33,12 @@ public class EmployeeController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private EmployeeChangeFeedService changeFeedService;
+
+    @Autowired
+    private CompensationHistoryService compensationHistoryService;
+
     // Listar todos os funcionarios (com filtro opcional)
     @GetMapping
     public ResponseEntity<List<EmployeeDTO>> listEmployees(@RequestParam(required = false) String search) {
@@ -54,6 +67,13 @@ public class EmployeeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(EmployeeDTO.fromEntity(saved));
     }
 
+    // Feed incremental de alteracoes: consumidores informam o ultimo sequence processado
+    @GetMapping("/changes")
+    public ResponseEntity<List<EmployeeChangeDTO>> listChanges(@RequestParam(defaultValue = "0") long after,
+                                                               @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(changeFeedService.readAfter(after, limit));
+    }
+
     // Visualizar funcionario por ID
     @GetMapping("/{id}")
     public ResponseEntity<?> viewEmployee(@PathVariable Long id) {
@@ -65,17 +85,27 @@ public class EmployeeController {
         return ResponseEntity.ok(EmployeeDTO.fromEntity(employee.get()));
     }
 
-    // Atualizar funcionario
+    // Historico de remuneracao do funcionario, da versao mais antiga a vigente
+    @GetMapping("/{id}/compensation-history")
+    public ResponseEntity<List<EmployeeCompensationDTO>> compensationHistory(@PathVariable Long id) {
+        return ResponseEntity.ok(compensationHistoryService.history(id));
+    }
+
+    // Atualizar funcionario (effectiveFrom: inicio de vigencia da nova remuneracao; padrao hoje)
     @PutMapping("/{id}")
     public ResponseEntity<?> updateEmployee(@PathVariable Long id,
-                                            @RequestBody EmployeeDTO payload) {
+                                            @RequestBody EmployeeDTO payload,
+                                            @RequestParam(required = false)
+                                            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate effectiveFrom) {
         try {
-            Employee updatedEmployee = employeeService.updateEmployee(id, EmployeeDTO.toEntity(payload));
+            Employee updatedEmployee = employeeService.updateEmployee(id, EmployeeDTO.toEntity(payload), effectiveFrom);
             return ResponseEntity.ok(EmployeeDTO.fromEntity(updatedEmployee));
 
         } catch (NoSuchElementException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body("Funcionario nao encontrado");
+        } catch (InputValidationException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Erro ao atualizar funcionario: " + e.getMessage());
@@ -0,0 +1,41 @@
+package com.payroll.controller;
+
+/*
+ * Controlador REST do custo do empregador (FGTS, INSS patronal e provisões de 13º e férias).
+ * A projeção da competência é calculada na primeira leitura e servida do cache em seguida,
+ * para o painel financeiro consultar números prontos.
+ */
+
+import com.payroll.dtos.payroll.EmployerCostDTO;
+import com.payroll.dtos.payroll.EmployerCostReportDTO;
+import com.payroll.service.cost.EmployerCostService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/payroll/employer-costs")
+public class EmployerCostController {
+
+    @Autowired
+    private EmployerCostService employerCostService;
+
+    // Total da empresa e detalhamento por cargo e departamento na competência (yyyy-MM)
+    @GetMapping("/{month}")
+    public ResponseEntity<EmployerCostReportDTO> forMonth(@PathVariable String month) {
+        return ResponseEntity.ok(employerCostService.forMonth(month));
+    }
+
+    // Custo projetado de um funcionário na competência
+    @GetMapping("/{month}/employees/{employeeId}")
+    public ResponseEntity<EmployerCostDTO> forEmployee(@PathVariable String month, @PathVariable Long employeeId) {
+        return ResponseEntity.ok(employerCostService.forEmployee(employeeId, month));
+    }
+
+    // Descartar as projeções em cache (a próxima leitura recalcula)
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> evict() {
+        employerCostService.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,8 +2,13 @@ package com.payroll.controller;
 
 
 import com.payroll.dto.PayrollDTO;
+import com.payroll.dtos.payroll.PayrollSimulationRequestDTO;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -21,10 +26,11 @@ public interface IPayrollController {
     /**
      * Calcula folha de pagamento
      * @param request Dados para cálculo
+     * @param idempotencyKey Chave de idempotência do cabeçalho Idempotency-Key (opcional)
      * @param currentUser Usuário autenticado
      * @return ResponseEntity com cálculo realizado
      */
-    ResponseEntity<?> calculatePayroll(Map<String, String> request, UserDetails currentUser);
+    ResponseEntity<?> calculatePayroll(Map<String, String> request, String idempotencyKey, UserDetails currentUser);
     
     /**
      * Visualiza folha de pagamento por ID
@@ -39,4 +45,128 @@ public interface IPayrollController {
      * @return ResponseEntity com cálculos do funcionário
      */
     ResponseEntity<?> viewEmployeePayrolls(Long employeeId);
-}
\ No newline at end of file
+
+    /**
+     * Recalcula apenas as folhas desatualizadas de uma competência
+     * @param month Mês de referência (YYYY-MM)
+     * @return ResponseEntity com o resumo do recálculo
+     */
+    ResponseEntity<?> recalculateMonth(String month);
+
+    /**
+     * Consulta os totais consolidados de uma competência
+     * @param month Mês de referência (YYYY-MM)
+     * @return ResponseEntity com quantidade de holerites e somas de bruto, líquido, INSS, IRRF e FGTS
+     */
+    ResponseEntity<?> monthTotals(String month);
+
+    /**
+     * Compara a folha de uma competência com a anterior, funcionário a funcionário
+     * @param month Mês de referência (YYYY-MM)
+     * @param previousMonth Mês de comparação (opcional; padrão: mês anterior)
+     * @param threshold Variação mínima para listar um funcionário (opcional; padrão: 0,01)
+     * @param limit Máximo de linhas listadas (opcional)
+     * @return ResponseEntity com totais, diferenças agregadas e funcionários alterados, incluídos ou retirados
+     */
+    ResponseEntity<?> monthVariance(String month, String previousMonth, BigDecimal threshold, Integer limit);
+
+    /**
+     * Gera o arquivo de remessa bancária (CNAB 240) com o líquido de cada holerite da competência
+     * @param month Mês de referência (YYYY-MM)
+     * @param paymentDate Data do crédito (opcional; padrão: hoje)
+     * @param fileSequence Sequencial do arquivo no convênio (opcional; padrão: 1)
+     * @return ResponseEntity com o arquivo gravado em streaming
+     */
+    ResponseEntity<StreamingResponseBody> bankFile(String month, LocalDate paymentDate, Integer fileSequence);
+
+    /**
+     * Reconstrói os totais mensais a partir dos holerites gravados
+     * @param referenceMonth Mês de referência (opcional; ausente reconstrói todos)
+     * @return ResponseEntity com a quantidade de competências reconstruídas
+     */
+    ResponseEntity<?> rebuildMonthTotals(String referenceMonth);
+
+    /**
+     * Gera em lote a 1ª parcela do 13º salário do ano (competência novembro)
+     * @param year Ano
+     * @param currentUser Usuário autenticado
+     * @return ResponseEntity com quantidades e totais do lote
+     */
+    ResponseEntity<?> thirteenthFirst(int year, UserDetails currentUser);
+
+    /**
+     * Gera em lote a 2ª parcela do 13º salário do ano (competência dezembro)
+     * @param year Ano
+     * @param currentUser Usuário autenticado
+     * @return ResponseEntity com quantidades e totais do lote
+     */
+    ResponseEntity<?> thirteenthSecond(int year, UserDetails currentUser);
+
+    /**
+     * Gera em lote as férias + 1/3 pagas na competência
+     * @param month Mês de referência (YYYY-MM)
+     * @param currentUser Usuário autenticado
+     * @return ResponseEntity com quantidades e totais do lote
+     */
+    ResponseEntity<?> vacations(String month, UserDetails currentUser);
+
+    /**
+     * Lista os holerites especiais gravados de um lote
+     * @param kind Tipo (THIRTEENTH_FIRST, THIRTEENTH_SECOND ou VACATION)
+     * @param month Mês de referência (YYYY-MM)
+     * @return ResponseEntity com os holerites do lote
+     */
+    ResponseEntity<?> specialPayslips(String kind, String month);
+
+    /**
+     * Inicia (ou retoma) o fechamento em lote da competência, dividido em partições de funcionários
+     * @param month Mês de referência (YYYY-MM)
+     * @param partitionSize Funcionários por partição (opcional)
+     * @param currentUser Usuário autenticado
+     * @return ResponseEntity com a situação das partições
+     */
+    ResponseEntity<?> startRun(String month, Integer partitionSize, UserDetails currentUser);
+
+    /**
+     * Consulta o andamento do fechamento em lote da competência
+     * @param month Mês de referência (YYYY-MM)
+     * @return ResponseEntity com a situação de cada partição
+     */
+    ResponseEntity<?> runStatus(String month);
+
+    /**
+     * Processa nesta instância as partições livres do fechamento em lote
+     * @param month Mês de referência (YYYY-MM)
+     * @return ResponseEntity com a instância, as partições concluídas e a situação
+     */
+    ResponseEntity<?> workRun(String month);
+
+    /**
+     * Simula a folha de todos os funcionários com reajustes e/ou tabelas de impostos alternativas
+     * @param request Parâmetros da simulação
+     * @return ResponseEntity com os totais atuais, simulados e diferenças por cargo
+     */
+    ResponseEntity<?> simulate(PayrollSimulationRequestDTO request);
+
+    /**
+     * Consulta as métricas do cache de impostos das execuções em lote
+     * @return ResponseEntity com acertos, faltas, despejos e taxa de acerto
+     */
+    ResponseEntity<?> taxCacheStats();
+
+    /**
+     * Lista, de forma paginada, folhas com bruto não positivo ou descontos maiores ou iguais ao bruto
+     * @param referenceMonth Mês de referência (opcional)
+     * @param page Página (a partir de 0)
+     * @param size Tamanho da página
+     * @return ResponseEntity com a página de folhas suspeitas
+     */
+    ResponseEntity<PagedModel<PayrollDTO>> auditEdgeCases(String referenceMonth, int page, int size);
+
+    /**
+     * Soma os descontos de todas as folhas de um funcionário
+     * @param employeeId ID do funcionário
+     * @return ResponseEntity com o total de descontos
+     */
+    ResponseEntity<?> auditEmployeeTotalDiscounts(Long employeeId);
+}
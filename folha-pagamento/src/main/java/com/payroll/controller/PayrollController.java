@@ -6,12 +6,20 @@ package com.payroll.controller;
  * dos funcionários, integrando dados de usuários e regras de cálculo.
  */
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,24 +27,58 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.payroll.entity.Employee;
 import com.payroll.entity.PayrollCalculation;
 import com.payroll.dto.PayrollDTO;
+import com.payroll.dtos.payroll.PayrollSimulationRequestDTO;
 import com.payroll.entity.User;
+import com.payroll.exception.ConflictBusinessException;
+import com.payroll.exception.InputValidationException;
+import com.payroll.exception.NotFoundBusinessException;
 import com.payroll.service.EmployeeService;
+import com.payroll.service.PayrollMonthTotalsService;
 import com.payroll.service.PayrollService;
+import com.payroll.service.PayrollSimulationService;
+import com.payroll.service.PayrollVarianceService;
+import com.payroll.service.SpecialPayrollService;
 import com.payroll.service.UserService;
+import com.payroll.service.bank.BankFileService;
+import com.payroll.service.run.PayrollRunService;
 
 @RestController
 @RequestMapping("/api/payroll")
 public class PayrollController implements IPayrollController {
 
+    // Tamanho máximo de página aceito nos endpoints de auditoria
+    private static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private PayrollService payrollService;
 
+    @Autowired
+    private PayrollSimulationService simulationService;
+
+    @Autowired
+    private PayrollMonthTotalsService monthTotalsService;
+
+    @Autowired
+    private PayrollVarianceService varianceService;
+
+    @Autowired
+    private BankFileService bankFileService;
+
+    @Autowired
+    private SpecialPayrollService specialPayrollService;
+
+    @Autowired
+    private PayrollRunService runService;
+
     @Autowired
     private EmployeeService employeeService;
 
@@ -60,6 +102,7 @@ public class PayrollController implements IPayrollController {
     @PostMapping("/calculate")
     @Override
     public ResponseEntity<?> calculatePayroll(@RequestBody Map<String, String> request,
+                                              @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
                                               @AuthenticationPrincipal UserDetails currentUser) {
         try {
             // Extrair parâmetros da requisição
@@ -67,19 +110,18 @@ public class PayrollController implements IPayrollController {
             String referenceMonth = request.get("referenceMonth");
 
             // Identificar o usuário que solicitou o cálculo (para auditoria)
-            Long userId = null;
-            if (currentUser != null) {
-                User user = userService.findByUsername(currentUser.getUsername()).orElse(null);
-                userId = user != null ? user.getId() : null;
-            }
-
-            // Executar a regra de negócio do cálculo da folha
-            PayrollCalculation calculation = payrollService.calculatePayroll(employeeId, referenceMonth, userId);
+            Long userId = currentUserId(currentUser);
+
+            // Executar a regra de negócio do cálculo da folha (repetições com a mesma chave devolvem o mesmo holerite)
+            PayrollCalculation calculation = payrollService.calculatePayroll(employeeId, referenceMonth, userId, idempotencyKey);
             
             // Retornar o resultado formatado com status 201 (Created)
             PayrollDTO dto = PayrollDTO.fromEntity(calculation, null);
             return ResponseEntity.status(HttpStatus.CREATED).body(dto);
 
+        } catch (ConflictBusinessException e) {
+            // Chave de idempotência reaproveitada com outros parâmetros
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (Exception e) {
             // Tratar erros de processamento e retornar mensagem amigável
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -121,4 +163,154 @@ public class PayrollController implements IPayrollController {
         
         return ResponseEntity.ok(dtos);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/months/{month}/recalculate")
+    @Override
+    public ResponseEntity<?> recalculateMonth(@PathVariable String month) {
+        // Refazer somente os holerites cujo cadastro/tabelas mudaram desde o cálculo
+        return ResponseEntity.ok(payrollService.recalculateMonth(month));
+    }
+
+    @GetMapping("/months/{month}/totals")
+    @Override
+    public ResponseEntity<?> monthTotals(@PathVariable String month) {
+        // Leitura de uma única linha do razão mensal, sem reagregar os holerites
+        return ResponseEntity.ok(monthTotalsService.getTotals(month)
+                .orElseThrow(() -> new NotFoundBusinessException("Nenhuma folha processada na competencia: " + month)));
+    }
+
+    @GetMapping("/months/{month}/variance")
+    @Override
+    public ResponseEntity<?> monthVariance(@PathVariable String month,
+                                           @RequestParam(required = false) String previousMonth,
+                                           @RequestParam(required = false) BigDecimal threshold,
+                                           @RequestParam(required = false) Integer limit) {
+        // Conferência pré-fechamento: só funcionários que variaram acima do limite, mais os totais
+        return ResponseEntity.ok(varianceService.compare(month, previousMonth, threshold, limit));
+    }
+
+    @GetMapping("/months/{month}/bank-file")
+    @Override
+    public ResponseEntity<StreamingResponseBody> bankFile(@PathVariable String month,
+                                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate paymentDate,
+                                                          @RequestParam(required = false) Integer fileSequence) {
+        // Erros de validação precisam sair antes do primeiro byte; o arquivo é gravado linha a linha na resposta
+        bankFileService.checkMonth(month, fileSequence);
+        LocalDate date = paymentDate != null ? paymentDate : LocalDate.now();
+        int sequence = fileSequence != null ? fileSequence : 1;
+        StreamingResponseBody body = out -> bankFileService.writeBankFile(month, date, sequence, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=remessa_" + month + ".rem")
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(body);
+    }
+
+    @PostMapping("/months/totals/rebuild")
+    @Override
+    public ResponseEntity<?> rebuildMonthTotals(@RequestParam(required = false) String referenceMonth) {
+        // Reconciliação: reagrega os holerites gravados (uma competência ou todas)
+        int months = monthTotalsService.rebuild(referenceMonth);
+        return ResponseEntity.ok(Map.of(
+                "referenceMonth", referenceMonth != null ? referenceMonth : "ALL",
+                "rebuiltMonths", months));
+    }
+
+    @PostMapping("/thirteenth/{year}/first")
+    @Override
+    public ResponseEntity<?> thirteenthFirst(@PathVariable int year, @AuthenticationPrincipal UserDetails currentUser) {
+        // Lote da 1ª parcela do 13º (competência novembro)
+        return ResponseEntity.ok(specialPayrollService.runThirteenthFirst(year, currentUserId(currentUser)));
+    }
+
+    @PostMapping("/thirteenth/{year}/second")
+    @Override
+    public ResponseEntity<?> thirteenthSecond(@PathVariable int year, @AuthenticationPrincipal UserDetails currentUser) {
+        // Lote da 2ª parcela do 13º (competência dezembro), abatendo o adiantamento
+        return ResponseEntity.ok(specialPayrollService.runThirteenthSecond(year, currentUserId(currentUser)));
+    }
+
+    @PostMapping("/vacations/{month}")
+    @Override
+    public ResponseEntity<?> vacations(@PathVariable String month, @AuthenticationPrincipal UserDetails currentUser) {
+        // Lote de férias + 1/3 da competência
+        return ResponseEntity.ok(specialPayrollService.runVacation(month, currentUserId(currentUser)));
+    }
+
+    @GetMapping("/special/{kind}/{month}")
+    @Override
+    public ResponseEntity<?> specialPayslips(@PathVariable String kind, @PathVariable String month) {
+        // Holerites especiais gravados de um lote (THIRTEENTH_FIRST, THIRTEENTH_SECOND ou VACATION)
+        return ResponseEntity.ok(specialPayrollService.list(kind.toUpperCase(), month));
+    }
+
+    @PostMapping("/runs/{month}")
+    @Override
+    public ResponseEntity<?> startRun(@PathVariable String month, @RequestParam(required = false) Integer partitionSize,
+                                      @AuthenticationPrincipal UserDetails currentUser) {
+        // Planeja as partições; todas as instâncias passam a trabalhar nelas na próxima varredura
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(runService.start(month, partitionSize, currentUserId(currentUser)));
+    }
+
+    @GetMapping("/runs/{month}")
+    @Override
+    public ResponseEntity<?> runStatus(@PathVariable String month) {
+        // Andamento por partição: dono, cursor, contadores e último erro
+        return ResponseEntity.ok(runService.status(month));
+    }
+
+    @PostMapping("/runs/{month}/work")
+    @Override
+    public ResponseEntity<?> workRun(@PathVariable String month) {
+        // Trabalhar agora, nesta instância, nas partições livres da competência
+        int completed = runService.work(month);
+        return ResponseEntity.ok(Map.of(
+                "node", runService.getNodeId(),
+                "completedPartitions", completed,
+                "status", runService.status(month)));
+    }
+
+    @PostMapping("/simulations")
+    @Override
+    public ResponseEntity<?> simulate(@RequestBody PayrollSimulationRequestDTO request) {
+        // Simulação em memória: nenhum holerite ou relatório é gravado
+        return ResponseEntity.ok(simulationService.simulate(request));
+    }
+
+    @GetMapping("/tax-cache/stats")
+    @Override
+    public ResponseEntity<?> taxCacheStats() {
+        // Métricas de acerto da memoização de INSS/IRRF usada nos recálculos e simulações
+        return ResponseEntity.ok(payrollService.getBulkTaxCache().stats());
+    }
+
+    @GetMapping("/audit/edge-cases")
+    @Override
+    public ResponseEntity<PagedModel<PayrollDTO>> auditEdgeCases(@RequestParam(required = false) String referenceMonth,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "50") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InputValidationException("Paginacao invalida", Map.of("page", page, "size", size));
+        }
+        // Filtro executado no banco; somente a página solicitada é carregada
+        PageRequest pageable = PageRequest.of(page, size, Sort.by("id"));
+        return ResponseEntity.ok(new PagedModel<>(
+                payrollService.findEdgeCasePayrolls(referenceMonth, pageable).map(pc -> PayrollDTO.fromEntity(pc, null))));
+    }
+
+    @GetMapping("/audit/employees/{employeeId}/total-discounts")
+    @Override
+    public ResponseEntity<?> auditEmployeeTotalDiscounts(@PathVariable Long employeeId) {
+        // Soma agregada no banco de todos os descontos do histórico do funcionário
+        return ResponseEntity.ok(Map.of(
+                "employeeId", employeeId,
+                "totalDiscounts", payrollService.totalDiscountsForEmployee(employeeId)));
+    }
+
+    // ID do usuário autenticado (nulo se anônimo ou não cadastrado), para auditoria
+    private Long currentUserId(UserDetails currentUser) {
+        if (currentUser == null) return null;
+        User user = userService.findByUsername(currentUser.getUsername()).orElse(null);
+        return user != null ? user.getId() : null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.payroll.controller;
+
+/*
+ * Controlador REST das regras configuráveis de proventos e descontos da folha.
+ * Cada regra é uma expressão validada no cadastro; alterações passam a valer
+ * no próximo cálculo ou recálculo da competência.
+ */
+
+import com.payroll.dtos.payroll.PayrollRuleDTO;
+import com.payroll.service.rules.PayrollRuleService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/payroll/rules")
+public class PayrollRuleController {
+
+    @Autowired
+    private PayrollRuleService ruleService;
+
+    // Todas as regras, ativas e inativas, por natureza e prioridade
+    @GetMapping
+    public ResponseEntity<List<PayrollRuleDTO>> list() {
+        return ResponseEntity.ok(ruleService.list());
+    }
+
+    // Cadastrar uma regra (expressão inválida retorna 400; código repetido, 409)
+    @PostMapping
+    public ResponseEntity<PayrollRuleDTO> create(@RequestBody PayrollRuleDTO payload) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(ruleService.create(payload));
+    }
+
+    // Alterar descrição, expressão, prioridade ou situação de uma regra
+    @PutMapping("/{id}")
+    public ResponseEntity<PayrollRuleDTO> update(@PathVariable Long id, @RequestBody PayrollRuleDTO payload) {
+        return ResponseEntity.ok(ruleService.update(id, payload));
+    }
+
+    // Desativar a regra (o cadastro é mantido)
+    @DeleteMapping("/{id}")
+    public ResponseEntity<PayrollRuleDTO> deactivate(@PathVariable Long id) {
+        return ResponseEntity.ok(ruleService.deactivate(id));
+    }
+}
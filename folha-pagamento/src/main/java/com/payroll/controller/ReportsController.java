@@ -6,8 +6,13 @@ package com.payroll.controller;
  * novos relatórios e download dos arquivos gerados (PDF).
  */
 
+import com.payroll.dtos.employee.EmployeePositionSummaryDTO;
+import com.payroll.dtos.report.PayrollSummaryRowDTO;
 import com.payroll.dtos.report.ReportRequestDTO;
 import com.payroll.dtos.report.ReportResponseDTO;
+import com.payroll.service.EmployeeService;
+import com.payroll.service.IncomeStatementService;
+import com.payroll.service.PayrollService;
 import com.payroll.service.ReportsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
@@ -16,6 +21,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.http.HttpStatus;
 
 import java.util.List;
@@ -27,6 +33,15 @@ public class ReportsController {
     @Autowired
     private ReportsService reportsService;
 
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private IncomeStatementService incomeStatementService;
+
     @GetMapping("/history")
     public ResponseEntity<List<ReportResponseDTO>> getHistory(
             @RequestParam(required = false) Long employeeId,
@@ -86,10 +101,52 @@ public class ReportsController {
         }
     }
 
+    @GetMapping("/income-statements/{year}")
+    public ResponseEntity<StreamingResponseBody> downloadIncomeStatements(@PathVariable int year) {
+        // Validar antes de iniciar a resposta; o ZIP é gravado à medida que cada funcionário é agregado
+        IncomeStatementService.parseYear(String.valueOf(year));
+        StreamingResponseBody body = out -> reportsService.writeIncomeStatementArchive(year, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=informes_" + year + ".zip")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(body);
+    }
+
+    @GetMapping("/income-statements/{year}/employees/{employeeId}")
+    public ResponseEntity<byte[]> downloadIncomeStatement(@PathVariable int year, @PathVariable Long employeeId) {
+        // Informe de Rendimentos individual, agregado em uma única consulta ao ano
+        byte[] content = incomeStatementService.statementFor(employeeId, year)
+                .map(reportsService::generateIncomeStatementPdf)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Nenhum holerite no ano para o funcionario"));
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=informe_" + year + "_" + employeeId + ".pdf")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(content);
+    }
+
     @DeleteMapping({"/{id}", "/{id}/delete"})
     public ResponseEntity<Void> deleteReport(@PathVariable Long id) {
         // Remover permanentemente um relatório do histórico pelo ID
         reportsService.deleteReport(id);
         return ResponseEntity.ok().build();
     }
-}
\ No newline at end of file
+
+    @GetMapping("/payroll/by-month")
+    public ResponseEntity<List<PayrollSummaryRowDTO>> payrollSummaryByMonth() {
+        // Uma linha de totais por competência, sem trafegar os holerites
+        return ResponseEntity.ok(payrollService.summarizePayrollsByMonth());
+    }
+
+    @GetMapping("/payroll/by-position")
+    public ResponseEntity<List<PayrollSummaryRowDTO>> payrollSummaryByPosition(
+            @RequestParam(required = false) String referenceMonth) {
+        // Totais por cargo, de todo o histórico ou de uma competência
+        return ResponseEntity.ok(payrollService.summarizePayrollsByPosition(referenceMonth));
+    }
+
+    @GetMapping("/employees/by-position")
+    public ResponseEntity<List<EmployeePositionSummaryDTO>> employeeSummaryByPosition() {
+        // Quadro de funcionários e estatísticas salariais por cargo
+        return ResponseEntity.ok(employeeService.summarizeEmployeesByPosition());
+    }
+}
@@ -0,0 +1,48 @@
+package com.payroll.controller;
+
+/*
+ * Controlador REST do ponto eletrônico.
+ * Recebe lotes de marcações em NDJSON vindos dos relógios e expõe a apuração
+ * mensal (horas trabalhadas, extras e banco de horas) usada no cálculo da folha.
+ */
+
+import com.payroll.dtos.timesheet.PunchIngestionResultDTO;
+import com.payroll.dtos.timesheet.TimesheetMonthDTO;
+import com.payroll.service.timesheet.PunchIngestionService;
+import com.payroll.service.timesheet.TimesheetService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/timesheets")
+public class TimesheetController {
+
+    @Autowired
+    private PunchIngestionService ingestionService;
+
+    @Autowired
+    private TimesheetService timesheetService;
+
+    // Ingestão de marcações: uma linha JSON por marcação ({"employeeId": 1, "punchedAt": "2025-03-10T08:00:00"})
+    @PostMapping("/punches")
+    public ResponseEntity<PunchIngestionResultDTO> ingestPunches(InputStream body) {
+        return ResponseEntity.ok(ingestionService.ingest(body));
+    }
+
+    // Apuração mensal do ponto de um funcionário
+    @GetMapping("/employees/{employeeId}/months/{month}")
+    public ResponseEntity<TimesheetMonthDTO> monthTotals(@PathVariable Long employeeId, @PathVariable String month) {
+        return ResponseEntity.ok(timesheetService.getMonth(employeeId, month));
+    }
+
+    // Refazer a apuração da competência a partir do log de marcações (reconciliação)
+    @PostMapping("/months/{month}/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildMonth(@PathVariable String month) {
+        int days = timesheetService.rebuild(month);
+        return ResponseEntity.ok(Map.of("referenceMonth", month, "days", days));
+    }
+}
@@ -37,6 +37,12 @@ public class EmployeeDTO {
     public Boolean hasOvertime;
     public BigDecimal overtimeHours;
 
+    // Conta para crédito do salário (arquivo de remessa bancária)
+    public String bankCode;
+    public String bankBranch;
+    public String bankAccount;
+    public String bankAccountDigit;
+
     // Compatibilidade com frontend: alias para baseSalary
     public BigDecimal grossSalary;
 
@@ -83,6 +89,12 @@ public class EmployeeDTO {
         dto.timeBankHours = e.getTimeBankHours();
         dto.hasOvertime = e.getOvertimeEligible();
         dto.overtimeHours = e.getOvertimeHours();
+
+        // Dados bancários
+        dto.bankCode = e.getBankCode();
+        dto.bankBranch = e.getBankBranch();
+        dto.bankAccount = e.getBankAccount();
+        dto.bankAccountDigit = e.getBankAccountDigit();
         
         return dto;
     }
@@ -134,6 +146,11 @@ public class EmployeeDTO {
         
         e.setOvertimeEligible(dto.hasOvertime != null && dto.hasOvertime);
         e.setOvertimeHours(dto.overtimeHours != null ? dto.overtimeHours : BigDecimal.ZERO);
+
+        e.setBankCode(dto.bankCode);
+        e.setBankBranch(dto.bankBranch);
+        e.setBankAccount(dto.bankAccount);
+        e.setBankAccountDigit(dto.bankAccountDigit);
         
         return e;
     }
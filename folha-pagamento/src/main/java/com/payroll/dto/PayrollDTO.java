@@ -25,6 +25,7 @@ public class PayrollDTO {
     public BigDecimal insalubrityValue; // Insalubridade
     public BigDecimal mealVoucherValue; // Valor do VA (se pago em dinheiro/folha)
     public BigDecimal overtimeValue;    // Horas extras
+    public BigDecimal otherEarnings;    // Proventos das regras configuráveis
     
     // Componentes de Descontos Legais (Obrigatórios)
     public BigDecimal transportVoucherDiscount; // VT (6%)
@@ -36,6 +37,7 @@ public class PayrollDTO {
     public BigDecimal healthPlanDiscount;
     public BigDecimal dentalPlanDiscount;
     public BigDecimal gymDiscount;
+    public BigDecimal otherDeductions;  // Descontos das regras configuráveis
     
     // Bases de Cálculo (Informativo para conferência de impostos)
     public BigDecimal inssBase;
@@ -84,12 +86,15 @@ public class PayrollDTO {
         BigDecimal inss = nz(p.getInssDiscount());
         BigDecimal irrf = nz(p.getIrpfDiscount());
         BigDecimal vt = nz(p.getTransportDiscount());
-        BigDecimal fgts = nz(p.getFgtsValue()); // Atenção: FGTS geralmente não subtrai do líquido, verifique a regra de negócio aqui.
         BigDecimal health = nz(p.getHealthPlanDiscount());
         BigDecimal dental = nz(p.getDentalPlanDiscount());
         BigDecimal gym = nz(p.getGymDiscount());
+        BigDecimal other = nz(p.getOtherDeductions());
         
-        dto.totalDeductions = inss.add(irrf).add(vt).add(fgts).add(health).add(dental).add(gym);
+        // Preferir o total persistido; folhas ainda não gravadas usam a soma manual
+        dto.totalDeductions = p.getTotalDiscounts() != null
+                ? p.getTotalDiscounts()
+                : inss.add(irrf).add(vt).add(health).add(dental).add(gym).add(other);
         
         // Mapeamento dos valores líquidos e detalhados
         dto.netSalary = p.getNetSalary();
@@ -105,6 +110,8 @@ public class PayrollDTO {
         dto.dentalPlanDiscount = p.getDentalPlanDiscount();
         dto.gymDiscount = p.getGymDiscount();
         dto.overtimeValue = p.getOvertimeValue();
+        dto.otherEarnings = p.getOtherEarnings();
+        dto.otherDeductions = p.getOtherDeductions();
 
         // Definição das Bases de Cálculo
         dto.inssBase = p.getGrossSalary();
@@ -0,0 +1,58 @@
+package com.payroll.dtos.cache;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com os contadores do barramento de invalidação de cache
+ * desta instância: posição do cursor, lacunas aguardadas e o atraso de propagação medido
+ * entre a gravação na instância de origem e a aplicação aqui.
+ */
+
+import java.time.LocalDateTime;
+
+public class CacheInvalidationStatsDTO {
+
+    private String nodeId;
+
+    // Último ID lido e IDs anteriores ainda aguardados (transações abertas na origem)
+    private long cursor;
+    private int pendingGaps;
+
+    // Linhas gravadas por esta instância e linhas de outras instâncias aplicadas aqui
+    private long published;
+    private long applied;
+
+    // Atraso de propagação (ms) das linhas remotas: último, médio e máximo
+    private long lastLagMs;
+    private long meanLagMs;
+    private long maxLagMs;
+
+    private LocalDateTime lastPollAt;
+
+    // --- Getters e Setters ---
+
+    public String getNodeId() { return nodeId; }
+    public void setNodeId(String nodeId) { this.nodeId = nodeId; }
+
+    public long getCursor() { return cursor; }
+    public void setCursor(long cursor) { this.cursor = cursor; }
+
+    public int getPendingGaps() { return pendingGaps; }
+    public void setPendingGaps(int pendingGaps) { this.pendingGaps = pendingGaps; }
+
+    public long getPublished() { return published; }
+    public void setPublished(long published) { this.published = published; }
+
+    public long getApplied() { return applied; }
+    public void setApplied(long applied) { this.applied = applied; }
+
+    public long getLastLagMs() { return lastLagMs; }
+    public void setLastLagMs(long lastLagMs) { this.lastLagMs = lastLagMs; }
+
+    public long getMeanLagMs() { return meanLagMs; }
+    public void setMeanLagMs(long meanLagMs) { this.meanLagMs = meanLagMs; }
+
+    public long getMaxLagMs() { return maxLagMs; }
+    public void setMaxLagMs(long maxLagMs) { this.maxLagMs = maxLagMs; }
+
+    public LocalDateTime getLastPollAt() { return lastPollAt; }
+    public void setLastPollAt(LocalDateTime lastPollAt) { this.lastPollAt = lastPollAt; }
+}
@@ -0,0 +1,58 @@
+package com.payroll.dtos.department;
+
+/*
+ * Objeto de Transferência de Dados (DTO) de um departamento / centro de custo.
+ * Usado no cadastro (entrada) e na listagem da árvore (saída, já ordenada pelo caminho).
+ */
+
+import com.payroll.entity.Department;
+
+public class DepartmentDTO {
+
+    private Long id;
+    private String code;
+    private String name;
+    private String costCenter;
+    private Long parentId;
+
+    // Caminho materializado e profundidade (somente saída)
+    private String path;
+    private Integer depth;
+
+    public DepartmentDTO() {}
+
+    public static DepartmentDTO fromEntity(Department d) {
+        DepartmentDTO dto = new DepartmentDTO();
+        dto.id = d.getId();
+        dto.code = d.getCode();
+        dto.name = d.getName();
+        dto.costCenter = d.getCostCenter();
+        dto.parentId = d.getParentId();
+        dto.path = d.getPath();
+        dto.depth = d.getDepth();
+        return dto;
+    }
+
+    // --- Getters e Setters ---
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getCostCenter() { return costCenter; }
+    public void setCostCenter(String costCenter) { this.costCenter = costCenter; }
+
+    public Long getParentId() { return parentId; }
+    public void setParentId(Long parentId) { this.parentId = parentId; }
+
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+
+    public Integer getDepth() { return depth; }
+    public void setDepth(Integer depth) { this.depth = depth; }
+}
@@ -0,0 +1,76 @@
+package com.payroll.dtos.department;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com os totais de folha de um departamento na competência:
+ * os próprios (funcionários lotados no nó) e os consolidados da subárvore (nó + descendentes).
+ */
+
+import java.math.BigDecimal;
+
+public class DepartmentRollupDTO {
+
+    private Long departmentId;
+    private String code;
+    private String name;
+    private String costCenter;
+    private Long parentId;
+    private int depth;
+
+    // --- Totais próprios ---
+    private long headcount;
+    private BigDecimal gross = BigDecimal.ZERO;
+    private BigDecimal net = BigDecimal.ZERO;
+    private BigDecimal fgts = BigDecimal.ZERO;
+
+    // --- Totais da subárvore ---
+    private long subtreeHeadcount;
+    private BigDecimal subtreeGross = BigDecimal.ZERO;
+    private BigDecimal subtreeNet = BigDecimal.ZERO;
+    private BigDecimal subtreeFgts = BigDecimal.ZERO;
+
+    public DepartmentRollupDTO() {}
+
+    // --- Getters e Setters ---
+
+    public Long getDepartmentId() { return departmentId; }
+    public void setDepartmentId(Long departmentId) { this.departmentId = departmentId; }
+
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getCostCenter() { return costCenter; }
+    public void setCostCenter(String costCenter) { this.costCenter = costCenter; }
+
+    public Long getParentId() { return parentId; }
+    public void setParentId(Long parentId) { this.parentId = parentId; }
+
+    public int getDepth() { return depth; }
+    public void setDepth(int depth) { this.depth = depth; }
+
+    public long getHeadcount() { return headcount; }
+    public void setHeadcount(long headcount) { this.headcount = headcount; }
+
+    public BigDecimal getGross() { return gross; }
+    public void setGross(BigDecimal gross) { this.gross = gross; }
+
+    public BigDecimal getNet() { return net; }
+    public void setNet(BigDecimal net) { this.net = net; }
+
+    public BigDecimal getFgts() { return fgts; }
+    public void setFgts(BigDecimal fgts) { this.fgts = fgts; }
+
+    public long getSubtreeHeadcount() { return subtreeHeadcount; }
+    public void setSubtreeHeadcount(long subtreeHeadcount) { this.subtreeHeadcount = subtreeHeadcount; }
+
+    public BigDecimal getSubtreeGross() { return subtreeGross; }
+    public void setSubtreeGross(BigDecimal subtreeGross) { this.subtreeGross = subtreeGross; }
+
+    public BigDecimal getSubtreeNet() { return subtreeNet; }
+    public void setSubtreeNet(BigDecimal subtreeNet) { this.subtreeNet = subtreeNet; }
+
+    public BigDecimal getSubtreeFgts() { return subtreeFgts; }
+    public void setSubtreeFgts(BigDecimal subtreeFgts) { this.subtreeFgts = subtreeFgts; }
+}
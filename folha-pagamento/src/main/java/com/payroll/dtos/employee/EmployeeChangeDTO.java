@@ -0,0 +1,52 @@
+package com.payroll.dtos.employee;
+
+/*
+ * Objeto de Transferência de Dados (DTO) para um item do feed de alterações de funcionários.
+ * Expõe o cursor (sequence) usado pelos consumidores para leitura incremental,
+ * o tipo de operação e a lista de campos alterados com valores anterior e novo.
+ */
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.payroll.model.EmployeeFieldChange;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class EmployeeChangeDTO {
+
+    private Long sequence;
+    private Long employeeId;
+    private String changeType; // CREATED, UPDATED, DELETED
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime occurredAt;
+
+    private List<EmployeeFieldChange> changes;
+
+    public EmployeeChangeDTO() {}
+
+    public EmployeeChangeDTO(Long sequence, Long employeeId, String changeType, LocalDateTime occurredAt, List<EmployeeFieldChange> changes) {
+        this.sequence = sequence;
+        this.employeeId = employeeId;
+        this.changeType = changeType;
+        this.occurredAt = occurredAt;
+        this.changes = changes;
+    }
+
+    // --- Getters e Setters ---
+
+    public Long getSequence() { return sequence; }
+    public void setSequence(Long sequence) { this.sequence = sequence; }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public String getChangeType() { return changeType; }
+    public void setChangeType(String changeType) { this.changeType = changeType; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+
+    public List<EmployeeFieldChange> getChanges() { return changes; }
+    public void setChanges(List<EmployeeFieldChange> changes) { this.changes = changes; }
+}
@@ -0,0 +1,109 @@
+package com.payroll.dtos.employee;
+
+/*
+ * Objeto de Transferência de Dados (DTO) para uma versão do histórico de remuneração.
+ * Expõe o início de vigência e os valores que entram no cálculo da folha,
+ * permitindo a auditores ver o que mudou e a partir de quando.
+ */
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.payroll.entity.EmployeeCompensation;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class EmployeeCompensationDTO {
+
+    private Long employeeId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate validFrom;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime recordedAt;
+
+    private String position;
+    private BigDecimal salary;
+    private Integer weeklyHours;
+    private Integer dependents;
+
+    // Benefícios e adicionais (valores apenas quando o benefício está ativo)
+    private BigDecimal transportVoucherValue;
+    private BigDecimal mealVoucherValue;
+    private BigDecimal dangerousPercentage;
+    private String unhealthyLevel;
+    private BigDecimal healthPlanValue;
+    private BigDecimal dentalPlanValue;
+    private BigDecimal gymValue;
+    private BigDecimal overtimeHours;
+
+    public EmployeeCompensationDTO() {}
+
+    public static EmployeeCompensationDTO fromEntity(EmployeeCompensation c) {
+        EmployeeCompensationDTO dto = new EmployeeCompensationDTO();
+        dto.employeeId = c.getEmployeeId();
+        dto.validFrom = c.getValidFrom();
+        dto.recordedAt = c.getRecordedAt();
+        dto.position = c.getPosition();
+        dto.salary = c.getSalary();
+        dto.weeklyHours = c.getWeeklyHours();
+        dto.dependents = c.getDependents();
+        dto.transportVoucherValue = Boolean.TRUE.equals(c.getTransportVoucher()) ? c.getTransportVoucherValue() : null;
+        dto.mealVoucherValue = Boolean.TRUE.equals(c.getMealVoucher()) ? c.getMealVoucherValue() : null;
+        dto.dangerousPercentage = Boolean.TRUE.equals(c.getDangerousWork()) ? c.getDangerousPercentage() : null;
+        dto.unhealthyLevel = Boolean.TRUE.equals(c.getUnhealthyWork()) ? c.getUnhealthyLevel() : null;
+        dto.healthPlanValue = Boolean.TRUE.equals(c.getHealthPlan()) ? c.getHealthPlanValue() : null;
+        dto.dentalPlanValue = Boolean.TRUE.equals(c.getDentalPlan()) ? c.getDentalPlanValue() : null;
+        dto.gymValue = Boolean.TRUE.equals(c.getGym()) ? c.getGymValue() : null;
+        dto.overtimeHours = Boolean.TRUE.equals(c.getOvertimeEligible()) ? c.getOvertimeHours() : null;
+        return dto;
+    }
+
+    // --- Getters e Setters ---
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public LocalDate getValidFrom() { return validFrom; }
+    public void setValidFrom(LocalDate validFrom) { this.validFrom = validFrom; }
+
+    public LocalDateTime getRecordedAt() { return recordedAt; }
+    public void setRecordedAt(LocalDateTime recordedAt) { this.recordedAt = recordedAt; }
+
+    public String getPosition() { return position; }
+    public void setPosition(String position) { this.position = position; }
+
+    public BigDecimal getSalary() { return salary; }
+    public void setSalary(BigDecimal salary) { this.salary = salary; }
+
+    public Integer getWeeklyHours() { return weeklyHours; }
+    public void setWeeklyHours(Integer weeklyHours) { this.weeklyHours = weeklyHours; }
+
+    public Integer getDependents() { return dependents; }
+    public void setDependents(Integer dependents) { this.dependents = dependents; }
+
+    public BigDecimal getTransportVoucherValue() { return transportVoucherValue; }
+    public void setTransportVoucherValue(BigDecimal transportVoucherValue) { this.transportVoucherValue = transportVoucherValue; }
+
+    public BigDecimal getMealVoucherValue() { return mealVoucherValue; }
+    public void setMealVoucherValue(BigDecimal mealVoucherValue) { this.mealVoucherValue = mealVoucherValue; }
+
+    public BigDecimal getDangerousPercentage() { return dangerousPercentage; }
+    public void setDangerousPercentage(BigDecimal dangerousPercentage) { this.dangerousPercentage = dangerousPercentage; }
+
+    public String getUnhealthyLevel() { return unhealthyLevel; }
+    public void setUnhealthyLevel(String unhealthyLevel) { this.unhealthyLevel = unhealthyLevel; }
+
+    public BigDecimal getHealthPlanValue() { return healthPlanValue; }
+    public void setHealthPlanValue(BigDecimal healthPlanValue) { this.healthPlanValue = healthPlanValue; }
+
+    public BigDecimal getDentalPlanValue() { return dentalPlanValue; }
+    public void setDentalPlanValue(BigDecimal dentalPlanValue) { this.dentalPlanValue = dentalPlanValue; }
+
+    public BigDecimal getGymValue() { return gymValue; }
+    public void setGymValue(BigDecimal gymValue) { this.gymValue = gymValue; }
+
+    public BigDecimal getOvertimeHours() { return overtimeHours; }
+    public void setOvertimeHours(BigDecimal overtimeHours) { this.overtimeHours = overtimeHours; }
+}
@@ -0,0 +1,53 @@
+package com.payroll.dtos.employee;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com o resumo do quadro por cargo.
+ * Traz apenas a contagem e as estatísticas de salário base de cada cargo,
+ * no lugar da lista completa de funcionários agrupados.
+ */
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public class EmployeePositionSummaryDTO {
+
+    private String position;
+    private long headcount;
+    private BigDecimal totalSalary = BigDecimal.ZERO;
+    private BigDecimal minSalary;
+    private BigDecimal maxSalary;
+
+    public EmployeePositionSummaryDTO() {}
+
+    // Construtor utilitário para projeções de banco de dados (JPQL)
+    public EmployeePositionSummaryDTO(String position, Long headcount, BigDecimal totalSalary,
+                                      BigDecimal minSalary, BigDecimal maxSalary) {
+        this.position = position;
+        this.headcount = headcount != null ? headcount : 0L;
+        this.totalSalary = totalSalary != null ? totalSalary : BigDecimal.ZERO;
+        this.minSalary = minSalary;
+        this.maxSalary = maxSalary;
+    }
+
+    // --- Getters e Setters ---
+
+    public String getPosition() { return position; }
+    public void setPosition(String position) { this.position = position; }
+
+    public long getHeadcount() { return headcount; }
+    public void setHeadcount(long headcount) { this.headcount = headcount; }
+
+    public BigDecimal getTotalSalary() { return totalSalary; }
+    public void setTotalSalary(BigDecimal totalSalary) { this.totalSalary = totalSalary; }
+
+    public BigDecimal getMinSalary() { return minSalary; }
+    public void setMinSalary(BigDecimal minSalary) { this.minSalary = minSalary; }
+
+    public BigDecimal getMaxSalary() { return maxSalary; }
+    public void setMaxSalary(BigDecimal maxSalary) { this.maxSalary = maxSalary; }
+
+    // Salário médio derivado da soma
+    public BigDecimal getAvgSalary() {
+        return headcount == 0 ? BigDecimal.ZERO : totalSalary.divide(BigDecimal.valueOf(headcount), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,73 @@
+package com.payroll.dtos.payroll;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com o custo do empregador de um funcionário na competência.
+ * Além da remuneração bruta, traz os encargos que não saem do líquido (FGTS e INSS patronal)
+ * e as provisões mensais de 13º e férias + 1/3 com os encargos incidentes sobre elas.
+ */
+
+import java.math.BigDecimal;
+
+public class EmployerCostDTO {
+
+    private Long employeeId;
+    private String position;
+    private Long departmentId;
+    private String referenceMonth;
+
+    // Remuneração bruta projetada do mês
+    private BigDecimal grossPayroll = BigDecimal.ZERO;
+
+    private BigDecimal fgts = BigDecimal.ZERO;
+
+    // INSS patronal + RAT + terceiros
+    private BigDecimal employerInss = BigDecimal.ZERO;
+
+    // 1/12 da remuneração
+    private BigDecimal thirteenthProvision = BigDecimal.ZERO;
+
+    // 1/12 da remuneração acrescida de 1/3
+    private BigDecimal vacationProvision = BigDecimal.ZERO;
+
+    // FGTS e INSS patronal sobre as provisões
+    private BigDecimal provisionCharges = BigDecimal.ZERO;
+
+    private BigDecimal totalCost = BigDecimal.ZERO;
+
+    public EmployerCostDTO() {}
+
+    // --- Getters e Setters ---
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public String getPosition() { return position; }
+    public void setPosition(String position) { this.position = position; }
+
+    public Long getDepartmentId() { return departmentId; }
+    public void setDepartmentId(Long departmentId) { this.departmentId = departmentId; }
+
+    public String getReferenceMonth() { return referenceMonth; }
+    public void setReferenceMonth(String referenceMonth) { this.referenceMonth = referenceMonth; }
+
+    public BigDecimal getGrossPayroll() { return grossPayroll; }
+    public void setGrossPayroll(BigDecimal grossPayroll) { this.grossPayroll = grossPayroll; }
+
+    public BigDecimal getFgts() { return fgts; }
+    public void setFgts(BigDecimal fgts) { this.fgts = fgts; }
+
+    public BigDecimal getEmployerInss() { return employerInss; }
+    public void setEmployerInss(BigDecimal employerInss) { this.employerInss = employerInss; }
+
+    public BigDecimal getThirteenthProvision() { return thirteenthProvision; }
+    public void setThirteenthProvision(BigDecimal thirteenthProvision) { this.thirteenthProvision = thirteenthProvision; }
+
+    public BigDecimal getVacationProvision() { return vacationProvision; }
+    public void setVacationProvision(BigDecimal vacationProvision) { this.vacationProvision = vacationProvision; }
+
+    public BigDecimal getProvisionCharges() { return provisionCharges; }
+    public void setProvisionCharges(BigDecimal provisionCharges) { this.provisionCharges = provisionCharges; }
+
+    public BigDecimal getTotalCost() { return totalCost; }
+    public void setTotalCost(BigDecimal totalCost) { this.totalCost = totalCost; }
+}
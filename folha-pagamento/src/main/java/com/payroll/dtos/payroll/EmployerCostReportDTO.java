@@ -0,0 +1,55 @@
+package com.payroll.dtos.payroll;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com a projeção do custo do empregador de uma competência.
+ * Traz o total da empresa e os detalhamentos por cargo e por departamento, além de quando
+ * a projeção foi calculada e com qual versão das regras configuráveis.
+ */
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class EmployerCostReportDTO {
+
+    private String referenceMonth;
+
+    // Versão das regras de folha usada no cálculo (vazia sem regras ativas)
+    private String rulesVersion;
+
+    private LocalDateTime computedAt;
+
+    // Funcionários descartados por entradas inválidas
+    private int skipped;
+
+    private EmployerCostTotalsDTO total;
+
+    private List<EmployerCostTotalsDTO> positions = new ArrayList<>();
+
+    private List<EmployerCostTotalsDTO> departments = new ArrayList<>();
+
+    public EmployerCostReportDTO() {}
+
+    // --- Getters e Setters ---
+
+    public String getReferenceMonth() { return referenceMonth; }
+    public void setReferenceMonth(String referenceMonth) { this.referenceMonth = referenceMonth; }
+
+    public String getRulesVersion() { return rulesVersion; }
+    public void setRulesVersion(String rulesVersion) { this.rulesVersion = rulesVersion; }
+
+    public LocalDateTime getComputedAt() { return computedAt; }
+    public void setComputedAt(LocalDateTime computedAt) { this.computedAt = computedAt; }
+
+    public int getSkipped() { return skipped; }
+    public void setSkipped(int skipped) { this.skipped = skipped; }
+
+    public EmployerCostTotalsDTO getTotal() { return total; }
+    public void setTotal(EmployerCostTotalsDTO total) { this.total = total; }
+
+    public List<EmployerCostTotalsDTO> getPositions() { return positions; }
+    public void setPositions(List<EmployerCostTotalsDTO> positions) { this.positions = positions; }
+
+    public List<EmployerCostTotalsDTO> getDepartments() { return departments; }
+    public void setDepartments(List<EmployerCostTotalsDTO> departments) { this.departments = departments; }
+}
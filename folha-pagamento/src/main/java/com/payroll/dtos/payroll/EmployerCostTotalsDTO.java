@@ -0,0 +1,65 @@
+package com.payroll.dtos.payroll;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com o custo do empregador agregado de um grupo:
+ * um cargo, um departamento ou a empresa toda na competência.
+ */
+
+import java.math.BigDecimal;
+
+public class EmployerCostTotalsDTO {
+
+    // Cargo agregado (preenchido apenas no detalhamento por cargo)
+    private String position;
+
+    // Departamento agregado (preenchido apenas no detalhamento por departamento; nulo = sem lotação)
+    private Long departmentId;
+    private String departmentName;
+
+    private int headcount;
+
+    private BigDecimal grossPayroll = BigDecimal.ZERO;
+    private BigDecimal fgts = BigDecimal.ZERO;
+    private BigDecimal employerInss = BigDecimal.ZERO;
+    private BigDecimal thirteenthProvision = BigDecimal.ZERO;
+    private BigDecimal vacationProvision = BigDecimal.ZERO;
+    private BigDecimal provisionCharges = BigDecimal.ZERO;
+    private BigDecimal totalCost = BigDecimal.ZERO;
+
+    public EmployerCostTotalsDTO() {}
+
+    // --- Getters e Setters ---
+
+    public String getPosition() { return position; }
+    public void setPosition(String position) { this.position = position; }
+
+    public Long getDepartmentId() { return departmentId; }
+    public void setDepartmentId(Long departmentId) { this.departmentId = departmentId; }
+
+    public String getDepartmentName() { return departmentName; }
+    public void setDepartmentName(String departmentName) { this.departmentName = departmentName; }
+
+    public int getHeadcount() { return headcount; }
+    public void setHeadcount(int headcount) { this.headcount = headcount; }
+
+    public BigDecimal getGrossPayroll() { return grossPayroll; }
+    public void setGrossPayroll(BigDecimal grossPayroll) { this.grossPayroll = grossPayroll; }
+
+    public BigDecimal getFgts() { return fgts; }
+    public void setFgts(BigDecimal fgts) { this.fgts = fgts; }
+
+    public BigDecimal getEmployerInss() { return employerInss; }
+    public void setEmployerInss(BigDecimal employerInss) { this.employerInss = employerInss; }
+
+    public BigDecimal getThirteenthProvision() { return thirteenthProvision; }
+    public void setThirteenthProvision(BigDecimal thirteenthProvision) { this.thirteenthProvision = thirteenthProvision; }
+
+    public BigDecimal getVacationProvision() { return vacationProvision; }
+    public void setVacationProvision(BigDecimal vacationProvision) { this.vacationProvision = vacationProvision; }
+
+    public BigDecimal getProvisionCharges() { return provisionCharges; }
+    public void setProvisionCharges(BigDecimal provisionCharges) { this.provisionCharges = provisionCharges; }
+
+    public BigDecimal getTotalCost() { return totalCost; }
+    public void setTotalCost(BigDecimal totalCost) { this.totalCost = totalCost; }
+}
@@ -0,0 +1,67 @@
+package com.payroll.dtos.payroll;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com os totais consolidados de uma competência.
+ * Reflete a linha do razão mensal: quantidade de holerites e somas de bruto, líquido,
+ * INSS, IRRF e FGTS, além do momento da última atualização.
+ */
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class PayrollMonthTotalsDTO {
+
+    // Competência (Formato: YYYY-MM)
+    private String referenceMonth;
+
+    // Holerites processados na competência
+    private long headcount;
+
+    private BigDecimal totalGross;
+    private BigDecimal totalNet;
+    private BigDecimal totalInss;
+    private BigDecimal totalIrrf;
+    private BigDecimal totalFgts;
+
+    private LocalDateTime updatedAt;
+
+    public PayrollMonthTotalsDTO() {}
+
+    public PayrollMonthTotalsDTO(String referenceMonth, long headcount, BigDecimal totalGross, BigDecimal totalNet,
+                                 BigDecimal totalInss, BigDecimal totalIrrf, BigDecimal totalFgts, LocalDateTime updatedAt) {
+        this.referenceMonth = referenceMonth;
+        this.headcount = headcount;
+        this.totalGross = totalGross;
+        this.totalNet = totalNet;
+        this.totalInss = totalInss;
+        this.totalIrrf = totalIrrf;
+        this.totalFgts = totalFgts;
+        this.updatedAt = updatedAt;
+    }
+
+    // --- Getters e Setters ---
+
+    public String getReferenceMonth() { return referenceMonth; }
+    public void setReferenceMonth(String referenceMonth) { this.referenceMonth = referenceMonth; }
+
+    public long getHeadcount() { return headcount; }
+    public void setHeadcount(long headcount) { this.headcount = headcount; }
+
+    public BigDecimal getTotalGross() { return totalGross; }
+    public void setTotalGross(BigDecimal totalGross) { this.totalGross = totalGross; }
+
+    public BigDecimal getTotalNet() { return totalNet; }
+    public void setTotalNet(BigDecimal totalNet) { this.totalNet = totalNet; }
+
+    public BigDecimal getTotalInss() { return totalInss; }
+    public void setTotalInss(BigDecimal totalInss) { this.totalInss = totalInss; }
+
+    public BigDecimal getTotalIrrf() { return totalIrrf; }
+    public void setTotalIrrf(BigDecimal totalIrrf) { this.totalIrrf = totalIrrf; }
+
+    public BigDecimal getTotalFgts() { return totalFgts; }
+    public void setTotalFgts(BigDecimal totalFgts) { this.totalFgts = totalFgts; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,41 @@
+package com.payroll.dtos.payroll;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com o resultado do recálculo de uma competência.
+ * Informa quantas folhas foram avaliadas e quantas precisaram ser refeitas
+ * por divergência entre o cadastro atual e as entradas usadas no cálculo original.
+ */
+
+public class PayrollRecalculationResultDTO {
+
+    // Competência recalculada (Formato: YYYY-MM)
+    private String referenceMonth;
+
+    // Total de folhas existentes na competência
+    private int scanned;
+
+    // Folhas efetivamente recalculadas (fingerprint divergente)
+    private int recalculated;
+
+    public PayrollRecalculationResultDTO() {}
+
+    public PayrollRecalculationResultDTO(String referenceMonth, int scanned, int recalculated) {
+        this.referenceMonth = referenceMonth;
+        this.scanned = scanned;
+        this.recalculated = recalculated;
+    }
+
+    // --- Getters e Setters ---
+
+    public String getReferenceMonth() { return referenceMonth; }
+    public void setReferenceMonth(String referenceMonth) { this.referenceMonth = referenceMonth; }
+
+    public int getScanned() { return scanned; }
+    public void setScanned(int scanned) { this.scanned = scanned; }
+
+    public int getRecalculated() { return recalculated; }
+    public void setRecalculated(int recalculated) { this.recalculated = recalculated; }
+
+    // Folhas mantidas sem alteração
+    public int getUnchanged() { return scanned - recalculated; }
+}
@@ -0,0 +1,68 @@
+package com.payroll.dtos.payroll;
+
+/*
+ * Objeto de Transferência de Dados (DTO) de uma regra configurável de provento ou desconto.
+ * Usado tanto no cadastro (entrada) quanto na listagem das regras (saída).
+ */
+
+import com.payroll.entity.PayrollRule;
+
+import java.time.LocalDateTime;
+
+public class PayrollRuleDTO {
+
+    private Long id;
+    private String code;
+    private String description;
+
+    // EARNING (provento) ou DEDUCTION (desconto)
+    private String kind;
+
+    // Expressão sobre os atributos do funcionário; deve resultar em valor numérico
+    private String expression;
+
+    private Integer priority;
+    private Boolean active;
+    private LocalDateTime updatedAt;
+
+    public PayrollRuleDTO() {}
+
+    public static PayrollRuleDTO fromEntity(PayrollRule r) {
+        PayrollRuleDTO dto = new PayrollRuleDTO();
+        dto.id = r.getId();
+        dto.code = r.getCode();
+        dto.description = r.getDescription();
+        dto.kind = r.getKind();
+        dto.expression = r.getExpression();
+        dto.priority = r.getPriority();
+        dto.active = r.isActive();
+        dto.updatedAt = r.getUpdatedAt();
+        return dto;
+    }
+
+    // --- Getters e Setters ---
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public String getExpression() { return expression; }
+    public void setExpression(String expression) { this.expression = expression; }
+
+    public Integer getPriority() { return priority; }
+    public void setPriority(Integer priority) { this.priority = priority; }
+
+    public Boolean getActive() { return active; }
+    public void setActive(Boolean active) { this.active = active; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
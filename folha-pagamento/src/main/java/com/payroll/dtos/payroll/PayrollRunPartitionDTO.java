@@ -0,0 +1,98 @@
+package com.payroll.dtos.payroll;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com o andamento de uma partição do fechamento em lote:
+ * faixa de funcionários, situação, dono da concessão, contadores e o último erro registrado.
+ */
+
+import com.payroll.entity.PayrollRunPartition;
+
+import java.time.LocalDateTime;
+
+public class PayrollRunPartitionDTO {
+
+    private Long id;
+    private Long rangeStart;
+    private Long rangeEnd;
+    private String status;
+    private String owner;
+    private Long cursorEmployeeId;
+    private int attempts;
+    private int processed;
+    private int skipped;
+    private int failed;
+    private String lastError;
+    private LocalDateTime heartbeatAt;
+    private LocalDateTime leaseExpiresAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public PayrollRunPartitionDTO() {}
+
+    public static PayrollRunPartitionDTO fromEntity(PayrollRunPartition p) {
+        PayrollRunPartitionDTO dto = new PayrollRunPartitionDTO();
+        dto.id = p.getId();
+        dto.rangeStart = p.getRangeStart();
+        dto.rangeEnd = p.getRangeEnd();
+        dto.status = p.getStatus();
+        dto.owner = p.getOwner();
+        dto.cursorEmployeeId = p.getCursorEmployeeId();
+        dto.attempts = p.getAttempts();
+        dto.processed = p.getProcessed();
+        dto.skipped = p.getSkipped();
+        dto.failed = p.getFailed();
+        dto.lastError = p.getLastError();
+        dto.heartbeatAt = p.getHeartbeatAt();
+        dto.leaseExpiresAt = p.getLeaseExpiresAt();
+        dto.startedAt = p.getStartedAt();
+        dto.finishedAt = p.getFinishedAt();
+        return dto;
+    }
+
+    // --- Getters e Setters ---
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getRangeStart() { return rangeStart; }
+    public void setRangeStart(Long rangeStart) { this.rangeStart = rangeStart; }
+
+    public Long getRangeEnd() { return rangeEnd; }
+    public void setRangeEnd(Long rangeEnd) { this.rangeEnd = rangeEnd; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+
+    public Long getCursorEmployeeId() { return cursorEmployeeId; }
+    public void setCursorEmployeeId(Long cursorEmployeeId) { this.cursorEmployeeId = cursorEmployeeId; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public int getProcessed() { return processed; }
+    public void setProcessed(int processed) { this.processed = processed; }
+
+    public int getSkipped() { return skipped; }
+    public void setSkipped(int skipped) { this.skipped = skipped; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getHeartbeatAt() { return heartbeatAt; }
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) { this.heartbeatAt = heartbeatAt; }
+
+    public LocalDateTime getLeaseExpiresAt() { return leaseExpiresAt; }
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) { this.leaseExpiresAt = leaseExpiresAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -0,0 +1,71 @@
+package com.payroll.dtos.payroll;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com a situação de um fechamento de folha em lote:
+ * contagem de partições por situação, somatório dos contadores e o detalhe de cada partição.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PayrollRunStatusDTO {
+
+    private String referenceMonth;
+
+    private int partitions;
+    private int pending;
+    private int running;
+    private int done;
+    private int failedPartitions;
+
+    // Holerites calculados, já existentes e recusados, somados sobre as partições
+    private int processed;
+    private int skipped;
+    private int failed;
+
+    // Todas as partições concluídas
+    private boolean finished;
+
+    private List<PayrollRunPartitionDTO> details = new ArrayList<>();
+
+    public PayrollRunStatusDTO() {}
+
+    public PayrollRunStatusDTO(String referenceMonth) {
+        this.referenceMonth = referenceMonth;
+    }
+
+    // --- Getters e Setters ---
+
+    public String getReferenceMonth() { return referenceMonth; }
+    public void setReferenceMonth(String referenceMonth) { this.referenceMonth = referenceMonth; }
+
+    public int getPartitions() { return partitions; }
+    public void setPartitions(int partitions) { this.partitions = partitions; }
+
+    public int getPending() { return pending; }
+    public void setPending(int pending) { this.pending = pending; }
+
+    public int getRunning() { return running; }
+    public void setRunning(int running) { this.running = running; }
+
+    public int getDone() { return done; }
+    public void setDone(int done) { this.done = done; }
+
+    public int getFailedPartitions() { return failedPartitions; }
+    public void setFailedPartitions(int failedPartitions) { this.failedPartitions = failedPartitions; }
+
+    public int getProcessed() { return processed; }
+    public void setProcessed(int processed) { this.processed = processed; }
+
+    public int getSkipped() { return skipped; }
+    public void setSkipped(int skipped) { this.skipped = skipped; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public boolean isFinished() { return finished; }
+    public void setFinished(boolean finished) { this.finished = finished; }
+
+    public List<PayrollRunPartitionDTO> getDetails() { return details; }
+    public void setDetails(List<PayrollRunPartitionDTO> details) { this.details = details; }
+}
@@ -0,0 +1,36 @@
+package com.payroll.dtos.payroll;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com os parâmetros de uma simulação de folha ("what-if").
+ * Permite aplicar reajustes percentuais (globais ou por cargo) e, opcionalmente,
+ * substituir as tabelas de INSS/IRRF, sem gravar nada no banco.
+ */
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+public class PayrollSimulationRequestDTO {
+
+    // Reajuste percentual aplicado a todos os cargos (ex.: 5 = +5%)
+    private BigDecimal salaryIncreasePercent;
+
+    // Reajuste percentual por cargo; tem precedência sobre o reajuste global
+    private Map<String, BigDecimal> positionIncreasePercent = new HashMap<>();
+
+    // Tabela de impostos alternativa (opcional; ausente = tabela vigente)
+    private TaxTableOverrideDTO taxTable;
+
+    public PayrollSimulationRequestDTO() {}
+
+    // --- Getters e Setters ---
+
+    public BigDecimal getSalaryIncreasePercent() { return salaryIncreasePercent; }
+    public void setSalaryIncreasePercent(BigDecimal salaryIncreasePercent) { this.salaryIncreasePercent = salaryIncreasePercent; }
+
+    public Map<String, BigDecimal> getPositionIncreasePercent() { return positionIncreasePercent; }
+    public void setPositionIncreasePercent(Map<String, BigDecimal> positionIncreasePercent) { this.positionIncreasePercent = positionIncreasePercent; }
+
+    public TaxTableOverrideDTO getTaxTable() { return taxTable; }
+    public void setTaxTable(TaxTableOverrideDTO taxTable) { this.taxTable = taxTable; }
+}
@@ -0,0 +1,45 @@
+package com.payroll.dtos.payroll;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com o resultado de uma simulação de folha.
+ * Traz o total geral, o detalhamento por cargo e quantos funcionários ficaram de fora
+ * por violarem as validações do cálculo (ex.: descontos maiores que o bruto).
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PayrollSimulationResultDTO {
+
+    // Versão da tabela de impostos usada no lado simulado
+    private String taxTableVersion;
+
+    // Funcionários incluídos nos totais
+    private int simulated;
+
+    // Funcionários descartados por entradas inválidas
+    private int skipped;
+
+    private PayrollSimulationTotalsDTO total;
+
+    private List<PayrollSimulationTotalsDTO> positions = new ArrayList<>();
+
+    public PayrollSimulationResultDTO() {}
+
+    // --- Getters e Setters ---
+
+    public String getTaxTableVersion() { return taxTableVersion; }
+    public void setTaxTableVersion(String taxTableVersion) { this.taxTableVersion = taxTableVersion; }
+
+    public int getSimulated() { return simulated; }
+    public void setSimulated(int simulated) { this.simulated = simulated; }
+
+    public int getSkipped() { return skipped; }
+    public void setSkipped(int skipped) { this.skipped = skipped; }
+
+    public PayrollSimulationTotalsDTO getTotal() { return total; }
+    public void setTotal(PayrollSimulationTotalsDTO total) { this.total = total; }
+
+    public List<PayrollSimulationTotalsDTO> getPositions() { return positions; }
+    public void setPositions(List<PayrollSimulationTotalsDTO> positions) { this.positions = positions; }
+}
@@ -0,0 +1,77 @@
+package com.payroll.dtos.payroll;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com os totais de uma simulação de folha.
+ * Compara os valores atuais (baseline) com os simulados para um cargo ou para a empresa toda;
+ * as diferenças (delta) são derivadas dos dois lados.
+ */
+
+import java.math.BigDecimal;
+
+public class PayrollSimulationTotalsDTO {
+
+    // Cargo agregado (null no total geral)
+    private String position;
+
+    private int headcount;
+
+    private BigDecimal baselineGross = BigDecimal.ZERO;
+    private BigDecimal baselineInss = BigDecimal.ZERO;
+    private BigDecimal baselineIrrf = BigDecimal.ZERO;
+    private BigDecimal baselineNet = BigDecimal.ZERO;
+    private BigDecimal baselineFgts = BigDecimal.ZERO;
+
+    private BigDecimal simulatedGross = BigDecimal.ZERO;
+    private BigDecimal simulatedInss = BigDecimal.ZERO;
+    private BigDecimal simulatedIrrf = BigDecimal.ZERO;
+    private BigDecimal simulatedNet = BigDecimal.ZERO;
+    private BigDecimal simulatedFgts = BigDecimal.ZERO;
+
+    public PayrollSimulationTotalsDTO() {}
+
+    // --- Getters e Setters ---
+
+    public String getPosition() { return position; }
+    public void setPosition(String position) { this.position = position; }
+
+    public int getHeadcount() { return headcount; }
+    public void setHeadcount(int headcount) { this.headcount = headcount; }
+
+    public BigDecimal getBaselineGross() { return baselineGross; }
+    public void setBaselineGross(BigDecimal baselineGross) { this.baselineGross = baselineGross; }
+
+    public BigDecimal getBaselineInss() { return baselineInss; }
+    public void setBaselineInss(BigDecimal baselineInss) { this.baselineInss = baselineInss; }
+
+    public BigDecimal getBaselineIrrf() { return baselineIrrf; }
+    public void setBaselineIrrf(BigDecimal baselineIrrf) { this.baselineIrrf = baselineIrrf; }
+
+    public BigDecimal getBaselineNet() { return baselineNet; }
+    public void setBaselineNet(BigDecimal baselineNet) { this.baselineNet = baselineNet; }
+
+    public BigDecimal getBaselineFgts() { return baselineFgts; }
+    public void setBaselineFgts(BigDecimal baselineFgts) { this.baselineFgts = baselineFgts; }
+
+    public BigDecimal getSimulatedGross() { return simulatedGross; }
+    public void setSimulatedGross(BigDecimal simulatedGross) { this.simulatedGross = simulatedGross; }
+
+    public BigDecimal getSimulatedInss() { return simulatedInss; }
+    public void setSimulatedInss(BigDecimal simulatedInss) { this.simulatedInss = simulatedInss; }
+
+    public BigDecimal getSimulatedIrrf() { return simulatedIrrf; }
+    public void setSimulatedIrrf(BigDecimal simulatedIrrf) { this.simulatedIrrf = simulatedIrrf; }
+
+    public BigDecimal getSimulatedNet() { return simulatedNet; }
+    public void setSimulatedNet(BigDecimal simulatedNet) { this.simulatedNet = simulatedNet; }
+
+    public BigDecimal getSimulatedFgts() { return simulatedFgts; }
+    public void setSimulatedFgts(BigDecimal simulatedFgts) { this.simulatedFgts = simulatedFgts; }
+
+    // --- Diferenças (simulado - atual) ---
+
+    public BigDecimal getDeltaGross() { return simulatedGross.subtract(baselineGross); }
+    public BigDecimal getDeltaInss() { return simulatedInss.subtract(baselineInss); }
+    public BigDecimal getDeltaIrrf() { return simulatedIrrf.subtract(baselineIrrf); }
+    public BigDecimal getDeltaNet() { return simulatedNet.subtract(baselineNet); }
+    public BigDecimal getDeltaFgts() { return simulatedFgts.subtract(baselineFgts); }
+}
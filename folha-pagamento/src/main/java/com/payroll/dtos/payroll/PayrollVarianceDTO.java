@@ -0,0 +1,104 @@
+package com.payroll.dtos.payroll;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com o relatório de variação da folha entre duas competências.
+ * Reúne os totais de cada mês (bruto, líquido, INSS e IRRF), as contagens de funcionários
+ * alterados, incluídos e retirados e as linhas que variaram acima do limite informado.
+ */
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PayrollVarianceDTO {
+
+    // Competências comparadas (Formato: YYYY-MM)
+    private String referenceMonth;
+    private String previousMonth;
+
+    // Variação mínima (em valor absoluto) para uma linha ser listada
+    private BigDecimal threshold;
+
+    // Funcionários presentes nas duas competências
+    private long compared;
+
+    private long changed;
+    private long added;
+    private long removed;
+
+    // Totais de cada competência
+    private BigDecimal previousTotalGross = BigDecimal.ZERO;
+    private BigDecimal currentTotalGross = BigDecimal.ZERO;
+    private BigDecimal previousTotalNet = BigDecimal.ZERO;
+    private BigDecimal currentTotalNet = BigDecimal.ZERO;
+    private BigDecimal previousTotalInss = BigDecimal.ZERO;
+    private BigDecimal currentTotalInss = BigDecimal.ZERO;
+    private BigDecimal previousTotalIrrf = BigDecimal.ZERO;
+    private BigDecimal currentTotalIrrf = BigDecimal.ZERO;
+
+    // Linhas alteradas/incluídas/retiradas, limitadas ao tamanho solicitado
+    private List<PayrollVarianceRowDTO> rows = new ArrayList<>();
+    private boolean truncated;
+
+    public PayrollVarianceDTO() {}
+
+    // --- Getters e Setters ---
+
+    public String getReferenceMonth() { return referenceMonth; }
+    public void setReferenceMonth(String referenceMonth) { this.referenceMonth = referenceMonth; }
+
+    public String getPreviousMonth() { return previousMonth; }
+    public void setPreviousMonth(String previousMonth) { this.previousMonth = previousMonth; }
+
+    public BigDecimal getThreshold() { return threshold; }
+    public void setThreshold(BigDecimal threshold) { this.threshold = threshold; }
+
+    public long getCompared() { return compared; }
+    public void setCompared(long compared) { this.compared = compared; }
+
+    public long getChanged() { return changed; }
+    public void setChanged(long changed) { this.changed = changed; }
+
+    public long getAdded() { return added; }
+    public void setAdded(long added) { this.added = added; }
+
+    public long getRemoved() { return removed; }
+    public void setRemoved(long removed) { this.removed = removed; }
+
+    public BigDecimal getPreviousTotalGross() { return previousTotalGross; }
+    public void setPreviousTotalGross(BigDecimal previousTotalGross) { this.previousTotalGross = previousTotalGross; }
+
+    public BigDecimal getCurrentTotalGross() { return currentTotalGross; }
+    public void setCurrentTotalGross(BigDecimal currentTotalGross) { this.currentTotalGross = currentTotalGross; }
+
+    public BigDecimal getPreviousTotalNet() { return previousTotalNet; }
+    public void setPreviousTotalNet(BigDecimal previousTotalNet) { this.previousTotalNet = previousTotalNet; }
+
+    public BigDecimal getCurrentTotalNet() { return currentTotalNet; }
+    public void setCurrentTotalNet(BigDecimal currentTotalNet) { this.currentTotalNet = currentTotalNet; }
+
+    public BigDecimal getPreviousTotalInss() { return previousTotalInss; }
+    public void setPreviousTotalInss(BigDecimal previousTotalInss) { this.previousTotalInss = previousTotalInss; }
+
+    public BigDecimal getCurrentTotalInss() { return currentTotalInss; }
+    public void setCurrentTotalInss(BigDecimal currentTotalInss) { this.currentTotalInss = currentTotalInss; }
+
+    public BigDecimal getPreviousTotalIrrf() { return previousTotalIrrf; }
+    public void setPreviousTotalIrrf(BigDecimal previousTotalIrrf) { this.previousTotalIrrf = previousTotalIrrf; }
+
+    public BigDecimal getCurrentTotalIrrf() { return currentTotalIrrf; }
+    public void setCurrentTotalIrrf(BigDecimal currentTotalIrrf) { this.currentTotalIrrf = currentTotalIrrf; }
+
+    public List<PayrollVarianceRowDTO> getRows() { return rows; }
+    public void setRows(List<PayrollVarianceRowDTO> rows) { this.rows = rows; }
+
+    public boolean isTruncated() { return truncated; }
+    public void setTruncated(boolean truncated) { this.truncated = truncated; }
+
+    // --- Diferenças agregadas (atual - anterior) ---
+
+    public BigDecimal getGrossDelta() { return currentTotalGross.subtract(previousTotalGross); }
+    public BigDecimal getNetDelta() { return currentTotalNet.subtract(previousTotalNet); }
+    public BigDecimal getInssDelta() { return currentTotalInss.subtract(previousTotalInss); }
+    public BigDecimal getIrrfDelta() { return currentTotalIrrf.subtract(previousTotalIrrf); }
+}
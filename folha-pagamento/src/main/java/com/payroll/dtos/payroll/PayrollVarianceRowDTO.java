@@ -0,0 +1,85 @@
+package com.payroll.dtos.payroll;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com a variação de um funcionário entre duas competências.
+ * Traz os valores da competência anterior e da atual; as diferenças são derivadas (atual - anterior),
+ * considerando zero o lado ausente para funcionários incluídos ou retirados da folha.
+ */
+
+import java.math.BigDecimal;
+
+public class PayrollVarianceRowDTO {
+
+    // CHANGED (variou acima do limite), ADDED (só na atual) ou REMOVED (só na anterior)
+    private String status;
+
+    private Long employeeId;
+    private String employeeName;
+
+    private BigDecimal previousGross;
+    private BigDecimal currentGross;
+    private BigDecimal previousNet;
+    private BigDecimal currentNet;
+    private BigDecimal previousInss;
+    private BigDecimal currentInss;
+    private BigDecimal previousIrrf;
+    private BigDecimal currentIrrf;
+
+    public PayrollVarianceRowDTO() {}
+
+    public PayrollVarianceRowDTO(String status, Long employeeId, String employeeName) {
+        this.status = status;
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+    }
+
+    // --- Getters e Setters ---
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public String getEmployeeName() { return employeeName; }
+    public void setEmployeeName(String employeeName) { this.employeeName = employeeName; }
+
+    public BigDecimal getPreviousGross() { return previousGross; }
+    public void setPreviousGross(BigDecimal previousGross) { this.previousGross = previousGross; }
+
+    public BigDecimal getCurrentGross() { return currentGross; }
+    public void setCurrentGross(BigDecimal currentGross) { this.currentGross = currentGross; }
+
+    public BigDecimal getPreviousNet() { return previousNet; }
+    public void setPreviousNet(BigDecimal previousNet) { this.previousNet = previousNet; }
+
+    public BigDecimal getCurrentNet() { return currentNet; }
+    public void setCurrentNet(BigDecimal currentNet) { this.currentNet = currentNet; }
+
+    public BigDecimal getPreviousInss() { return previousInss; }
+    public void setPreviousInss(BigDecimal previousInss) { this.previousInss = previousInss; }
+
+    public BigDecimal getCurrentInss() { return currentInss; }
+    public void setCurrentInss(BigDecimal currentInss) { this.currentInss = currentInss; }
+
+    public BigDecimal getPreviousIrrf() { return previousIrrf; }
+    public void setPreviousIrrf(BigDecimal previousIrrf) { this.previousIrrf = previousIrrf; }
+
+    public BigDecimal getCurrentIrrf() { return currentIrrf; }
+    public void setCurrentIrrf(BigDecimal currentIrrf) { this.currentIrrf = currentIrrf; }
+
+    // --- Diferenças (atual - anterior) ---
+
+    public BigDecimal getGrossDelta() { return delta(currentGross, previousGross); }
+    public BigDecimal getNetDelta() { return delta(currentNet, previousNet); }
+    public BigDecimal getInssDelta() { return delta(currentInss, previousInss); }
+    public BigDecimal getIrrfDelta() { return delta(currentIrrf, previousIrrf); }
+
+    private static BigDecimal delta(BigDecimal current, BigDecimal previous) {
+        return nz(current).subtract(nz(previous));
+    }
+
+    private static BigDecimal nz(BigDecimal v) {
+        return v != null ? v : BigDecimal.ZERO;
+    }
+}
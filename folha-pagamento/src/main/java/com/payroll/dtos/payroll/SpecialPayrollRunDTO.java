@@ -0,0 +1,69 @@
+package com.payroll.dtos.payroll;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com o resultado de um lote de holerites especiais
+ * (13º salário ou férias): quantos funcionários foram avaliados, gerados e ignorados,
+ * e os totais do lote.
+ */
+
+import java.math.BigDecimal;
+
+public class SpecialPayrollRunDTO {
+
+    private String kind;
+    private String referenceMonth;
+
+    // Funcionários com holerite mensal no período aquisitivo
+    private int scanned;
+
+    // Holerites especiais gravados
+    private int generated;
+
+    // Funcionários sem valor a receber ou com entradas inválidas
+    private int skipped;
+
+    private BigDecimal totalGross = BigDecimal.ZERO;
+    private BigDecimal totalInss = BigDecimal.ZERO;
+    private BigDecimal totalIrrf = BigDecimal.ZERO;
+    private BigDecimal totalNet = BigDecimal.ZERO;
+    private BigDecimal totalFgts = BigDecimal.ZERO;
+
+    public SpecialPayrollRunDTO() {}
+
+    public SpecialPayrollRunDTO(String kind, String referenceMonth) {
+        this.kind = kind;
+        this.referenceMonth = referenceMonth;
+    }
+
+    // --- Getters e Setters ---
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public String getReferenceMonth() { return referenceMonth; }
+    public void setReferenceMonth(String referenceMonth) { this.referenceMonth = referenceMonth; }
+
+    public int getScanned() { return scanned; }
+    public void setScanned(int scanned) { this.scanned = scanned; }
+
+    public int getGenerated() { return generated; }
+    public void setGenerated(int generated) { this.generated = generated; }
+
+    public int getSkipped() { return skipped; }
+    public void setSkipped(int skipped) { this.skipped = skipped; }
+
+    public BigDecimal getTotalGross() { return totalGross; }
+    public void setTotalGross(BigDecimal totalGross) { this.totalGross = totalGross; }
+
+    public BigDecimal getTotalInss() { return totalInss; }
+    public void setTotalInss(BigDecimal totalInss) { this.totalInss = totalInss; }
+
+    public BigDecimal getTotalIrrf() { return totalIrrf; }
+    public void setTotalIrrf(BigDecimal totalIrrf) { this.totalIrrf = totalIrrf; }
+
+    public BigDecimal getTotalNet() { return totalNet; }
+    public void setTotalNet(BigDecimal totalNet) { this.totalNet = totalNet; }
+
+    public BigDecimal getTotalFgts() { return totalFgts; }
+    public void setTotalFgts(BigDecimal totalFgts) { this.totalFgts = totalFgts; }
+}
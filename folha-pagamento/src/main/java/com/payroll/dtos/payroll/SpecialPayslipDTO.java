@@ -0,0 +1,92 @@
+package com.payroll.dtos.payroll;
+
+/*
+ * Objeto de Transferência de Dados (DTO) de um holerite especial (13º salário ou férias).
+ */
+
+import com.payroll.entity.SpecialPayslip;
+
+import java.math.BigDecimal;
+
+public class SpecialPayslipDTO {
+
+    private Long id;
+    private Long employeeId;
+    private String kind;
+    private String referenceMonth;
+    private int monthsWorked;
+    private BigDecimal monthlyBase;
+    private BigDecimal variableAverage;
+    private BigDecimal vacationBonus;
+    private BigDecimal grossValue;
+    private BigDecimal inssDiscount;
+    private BigDecimal irrfDiscount;
+    private BigDecimal advanceDeduction;
+    private BigDecimal netValue;
+    private BigDecimal fgtsValue;
+
+    public SpecialPayslipDTO() {}
+
+    public static SpecialPayslipDTO fromEntity(SpecialPayslip s) {
+        SpecialPayslipDTO dto = new SpecialPayslipDTO();
+        dto.id = s.getId();
+        dto.employeeId = s.getEmployeeId();
+        dto.kind = s.getKind();
+        dto.referenceMonth = s.getReferenceMonth();
+        dto.monthsWorked = s.getMonthsWorked();
+        dto.monthlyBase = s.getMonthlyBase();
+        dto.variableAverage = s.getVariableAverage();
+        dto.vacationBonus = s.getVacationBonus();
+        dto.grossValue = s.getGrossValue();
+        dto.inssDiscount = s.getInssDiscount();
+        dto.irrfDiscount = s.getIrrfDiscount();
+        dto.advanceDeduction = s.getAdvanceDeduction();
+        dto.netValue = s.getNetValue();
+        dto.fgtsValue = s.getFgtsValue();
+        return dto;
+    }
+
+    // --- Getters e Setters ---
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public String getReferenceMonth() { return referenceMonth; }
+    public void setReferenceMonth(String referenceMonth) { this.referenceMonth = referenceMonth; }
+
+    public int getMonthsWorked() { return monthsWorked; }
+    public void setMonthsWorked(int monthsWorked) { this.monthsWorked = monthsWorked; }
+
+    public BigDecimal getMonthlyBase() { return monthlyBase; }
+    public void setMonthlyBase(BigDecimal monthlyBase) { this.monthlyBase = monthlyBase; }
+
+    public BigDecimal getVariableAverage() { return variableAverage; }
+    public void setVariableAverage(BigDecimal variableAverage) { this.variableAverage = variableAverage; }
+
+    public BigDecimal getVacationBonus() { return vacationBonus; }
+    public void setVacationBonus(BigDecimal vacationBonus) { this.vacationBonus = vacationBonus; }
+
+    public BigDecimal getGrossValue() { return grossValue; }
+    public void setGrossValue(BigDecimal grossValue) { this.grossValue = grossValue; }
+
+    public BigDecimal getInssDiscount() { return inssDiscount; }
+    public void setInssDiscount(BigDecimal inssDiscount) { this.inssDiscount = inssDiscount; }
+
+    public BigDecimal getIrrfDiscount() { return irrfDiscount; }
+    public void setIrrfDiscount(BigDecimal irrfDiscount) { this.irrfDiscount = irrfDiscount; }
+
+    public BigDecimal getAdvanceDeduction() { return advanceDeduction; }
+    public void setAdvanceDeduction(BigDecimal advanceDeduction) { this.advanceDeduction = advanceDeduction; }
+
+    public BigDecimal getNetValue() { return netValue; }
+    public void setNetValue(BigDecimal netValue) { this.netValue = netValue; }
+
+    public BigDecimal getFgtsValue() { return fgtsValue; }
+    public void setFgtsValue(BigDecimal fgtsValue) { this.fgtsValue = fgtsValue; }
+}
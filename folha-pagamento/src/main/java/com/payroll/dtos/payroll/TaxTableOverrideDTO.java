@@ -0,0 +1,50 @@
+package com.payroll.dtos.payroll;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com uma tabela de INSS/IRRF alternativa para simulações.
+ * Cada campo ausente mantém o valor da tabela vigente (PayrollConstants).
+ */
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class TaxTableOverrideDTO {
+
+    // Identificação livre da tabela simulada (ex.: "2025-proposta")
+    private String version;
+
+    private List<BigDecimal> inssLimits;
+    private List<BigDecimal> inssRates;
+
+    private BigDecimal irrfExemptLimit;
+    private List<BigDecimal> irrfLimits;
+    // Uma alíquota a mais que o número de faixas (a última incide sobre o excedente)
+    private List<BigDecimal> irrfRates;
+
+    private BigDecimal dependentDeduction;
+
+    public TaxTableOverrideDTO() {}
+
+    // --- Getters e Setters ---
+
+    public String getVersion() { return version; }
+    public void setVersion(String version) { this.version = version; }
+
+    public List<BigDecimal> getInssLimits() { return inssLimits; }
+    public void setInssLimits(List<BigDecimal> inssLimits) { this.inssLimits = inssLimits; }
+
+    public List<BigDecimal> getInssRates() { return inssRates; }
+    public void setInssRates(List<BigDecimal> inssRates) { this.inssRates = inssRates; }
+
+    public BigDecimal getIrrfExemptLimit() { return irrfExemptLimit; }
+    public void setIrrfExemptLimit(BigDecimal irrfExemptLimit) { this.irrfExemptLimit = irrfExemptLimit; }
+
+    public List<BigDecimal> getIrrfLimits() { return irrfLimits; }
+    public void setIrrfLimits(List<BigDecimal> irrfLimits) { this.irrfLimits = irrfLimits; }
+
+    public List<BigDecimal> getIrrfRates() { return irrfRates; }
+    public void setIrrfRates(List<BigDecimal> irrfRates) { this.irrfRates = irrfRates; }
+
+    public BigDecimal getDependentDeduction() { return dependentDeduction; }
+    public void setDependentDeduction(BigDecimal dependentDeduction) { this.dependentDeduction = dependentDeduction; }
+}
@@ -0,0 +1,80 @@
+package com.payroll.dtos.report;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com uma linha de resumo agregado de folhas.
+ * Substitui listas completas de holerites por totais por grupo (competência ou cargo):
+ * quantidade, somas de bruto/líquido/INSS/IRRF/FGTS e mínimo/máximo/média do líquido.
+ */
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public class PayrollSummaryRowDTO {
+
+    // Chave do agrupamento (competência YYYY-MM ou cargo)
+    private String key;
+
+    private long count;
+
+    private BigDecimal totalGross = BigDecimal.ZERO;
+    private BigDecimal totalNet = BigDecimal.ZERO;
+    private BigDecimal totalInss = BigDecimal.ZERO;
+    private BigDecimal totalIrrf = BigDecimal.ZERO;
+    private BigDecimal totalFgts = BigDecimal.ZERO;
+
+    private BigDecimal minNet;
+    private BigDecimal maxNet;
+
+    public PayrollSummaryRowDTO() {}
+
+    // Construtor utilitário para projeções de banco de dados (JPQL); somas nulas viram zero
+    public PayrollSummaryRowDTO(String key, Long count, BigDecimal totalGross, BigDecimal totalNet,
+                                BigDecimal totalInss, BigDecimal totalIrrf, BigDecimal totalFgts,
+                                BigDecimal minNet, BigDecimal maxNet) {
+        this.key = key;
+        this.count = count != null ? count : 0L;
+        this.totalGross = nz(totalGross);
+        this.totalNet = nz(totalNet);
+        this.totalInss = nz(totalInss);
+        this.totalIrrf = nz(totalIrrf);
+        this.totalFgts = nz(totalFgts);
+        this.minNet = minNet;
+        this.maxNet = maxNet;
+    }
+
+    private static BigDecimal nz(BigDecimal v) { return v == null ? BigDecimal.ZERO : v; }
+
+    // --- Getters e Setters ---
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public BigDecimal getTotalGross() { return totalGross; }
+    public void setTotalGross(BigDecimal totalGross) { this.totalGross = totalGross; }
+
+    public BigDecimal getTotalNet() { return totalNet; }
+    public void setTotalNet(BigDecimal totalNet) { this.totalNet = totalNet; }
+
+    public BigDecimal getTotalInss() { return totalInss; }
+    public void setTotalInss(BigDecimal totalInss) { this.totalInss = totalInss; }
+
+    public BigDecimal getTotalIrrf() { return totalIrrf; }
+    public void setTotalIrrf(BigDecimal totalIrrf) { this.totalIrrf = totalIrrf; }
+
+    public BigDecimal getTotalFgts() { return totalFgts; }
+    public void setTotalFgts(BigDecimal totalFgts) { this.totalFgts = totalFgts; }
+
+    public BigDecimal getMinNet() { return minNet; }
+    public void setMinNet(BigDecimal minNet) { this.minNet = minNet; }
+
+    public BigDecimal getMaxNet() { return maxNet; }
+    public void setMaxNet(BigDecimal maxNet) { this.maxNet = maxNet; }
+
+    // Média do líquido derivada da soma (evita o AVG em ponto flutuante do banco)
+    public BigDecimal getAvgNet() {
+        return count == 0 ? BigDecimal.ZERO : totalNet.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+}
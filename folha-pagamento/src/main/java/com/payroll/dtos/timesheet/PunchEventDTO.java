@@ -0,0 +1,31 @@
+package com.payroll.dtos.timesheet;
+
+/*
+ * Objeto de Transferência de Dados (DTO) de uma marcação de ponto recebida na ingestão.
+ * Corresponde a uma linha do corpo NDJSON: {"employeeId": 1, "punchedAt": "2025-03-10T08:00:00"}.
+ */
+
+import java.time.LocalDateTime;
+
+public class PunchEventDTO {
+
+    private Long employeeId;
+
+    // Instante da marcação no relógio (horário local)
+    private LocalDateTime punchedAt;
+
+    public PunchEventDTO() {}
+
+    public PunchEventDTO(Long employeeId, LocalDateTime punchedAt) {
+        this.employeeId = employeeId;
+        this.punchedAt = punchedAt;
+    }
+
+    // --- Getters e Setters ---
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public LocalDateTime getPunchedAt() { return punchedAt; }
+    public void setPunchedAt(LocalDateTime punchedAt) { this.punchedAt = punchedAt; }
+}
@@ -0,0 +1,45 @@
+package com.payroll.dtos.timesheet;
+
+/*
+ * Objeto de Transferência de Dados (DTO) com o resultado de uma ingestão de marcações.
+ * Linhas rejeitadas não interrompem o lote: são contadas e as primeiras são descritas
+ * (número da linha e motivo) para que o relógio corrija e reenvie apenas o necessário.
+ */
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PunchIngestionResultDTO {
+
+    // Linhas não vazias lidas do corpo
+    private int received;
+
+    // Marcações novas gravadas no log
+    private int accepted;
+
+    // Marcações já existentes (reenvio) ignoradas
+    private int duplicates;
+
+    // Linhas inválidas ou de funcionário inexistente
+    private int rejected;
+
+    // Primeiras rejeições, no formato "linha N: motivo"
+    private List<String> errors = new ArrayList<>();
+
+    // --- Getters e Setters ---
+
+    public int getReceived() { return received; }
+    public void setReceived(int received) { this.received = received; }
+
+    public int getAccepted() { return accepted; }
+    public void setAccepted(int accepted) { this.accepted = accepted; }
+
+    public int getDuplicates() { return duplicates; }
+    public void setDuplicates(int duplicates) { this.duplicates = duplicates; }
+
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+
+    public List<String> getErrors() { return errors; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+}
@@ -0,0 +1,70 @@
+package com.payroll.dtos.timesheet;
+
+/*
+ * Objeto de Transferência de Dados (DTO) da apuração mensal do ponto de um funcionário.
+ * As horas são convertidas dos minutos apurados (duas casas decimais).
+ */
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class TimesheetMonthDTO {
+
+    private Long employeeId;
+
+    // Competência (Formato: YYYY-MM)
+    private String referenceMonth;
+
+    private BigDecimal workedHours;
+    private BigDecimal overtimeHours;
+
+    // Saldo do mês no banco de horas (pode ser negativo)
+    private BigDecimal timeBankHours;
+
+    private int daysWorked;
+
+    // Dias com marcação faltando (não geram extra nem banco até serem corrigidos)
+    private int incompleteDays;
+
+    private LocalDateTime updatedAt;
+
+    public TimesheetMonthDTO() {}
+
+    public TimesheetMonthDTO(Long employeeId, String referenceMonth, BigDecimal workedHours, BigDecimal overtimeHours,
+                             BigDecimal timeBankHours, int daysWorked, int incompleteDays, LocalDateTime updatedAt) {
+        this.employeeId = employeeId;
+        this.referenceMonth = referenceMonth;
+        this.workedHours = workedHours;
+        this.overtimeHours = overtimeHours;
+        this.timeBankHours = timeBankHours;
+        this.daysWorked = daysWorked;
+        this.incompleteDays = incompleteDays;
+        this.updatedAt = updatedAt;
+    }
+
+    // --- Getters e Setters ---
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public String getReferenceMonth() { return referenceMonth; }
+    public void setReferenceMonth(String referenceMonth) { this.referenceMonth = referenceMonth; }
+
+    public BigDecimal getWorkedHours() { return workedHours; }
+    public void setWorkedHours(BigDecimal workedHours) { this.workedHours = workedHours; }
+
+    public BigDecimal getOvertimeHours() { return overtimeHours; }
+    public void setOvertimeHours(BigDecimal overtimeHours) { this.overtimeHours = overtimeHours; }
+
+    public BigDecimal getTimeBankHours() { return timeBankHours; }
+    public void setTimeBankHours(BigDecimal timeBankHours) { this.timeBankHours = timeBankHours; }
+
+    public int getDaysWorked() { return daysWorked; }
+    public void setDaysWorked(int daysWorked) { this.daysWorked = daysWorked; }
+
+    public int getIncompleteDays() { return incompleteDays; }
+    public void setIncompleteDays(int incompleteDays) { this.incompleteDays = incompleteDays; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,77 @@
+package com.payroll.entity;
+
+/*
+ * Entidade de persistência do barramento de invalidação de cache entre instâncias (append-only).
+ * Cada gravação em funcionários, usuários, holerites ou regras de folha anexa uma linha com
+ * (entidade, ID, versão) e a instância de origem; as demais instâncias leem a tabela pelo ID
+ * (sequence crescente) e descartam as entradas correspondentes dos seus caches locais.
+ */
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "cache_invalidations",
+       indexes = @Index(name = "idx_cache_invalidations_created", columnList = "created_at"))
+public class CacheInvalidation {
+
+    public static final String EMPLOYEE = "EMPLOYEE";
+    public static final String USER = "USER";
+    public static final String PAYROLL = "PAYROLL";
+    public static final String PAYROLL_RULE = "PAYROLL_RULE";
+
+    // Cursor das instâncias: allocationSize = 1 para que lacunas indiquem transações ainda abertas
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cache_invalidations_seq")
+    @SequenceGenerator(name = "cache_invalidations_seq", sequenceName = "cache_invalidations_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "entity", nullable = false, length = 32)
+    private String entity;
+
+    // ID do registro alterado; nulo = todos os registros da entidade (gravação em lote)
+    @Column(name = "entity_id")
+    private Long entityId;
+
+    // Versão conhecida por quem gravou (ex.: sequence do feed de funcionários); nula = vale o ID da linha
+    @Column(name = "version")
+    private Long version;
+
+    @Column(name = "origin_node", nullable = false, length = 100)
+    private String originNode;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public CacheInvalidation() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public CacheInvalidation(String entity, Long entityId, Long version, String originNode) {
+        this();
+        this.entity = entity;
+        this.entityId = entityId;
+        this.version = version;
+        this.originNode = originNode;
+    }
+
+    // --- Getters e Setters ---
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getEntity() { return entity; }
+    public void setEntity(String entity) { this.entity = entity; }
+
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public String getOriginNode() { return originNode; }
+    public void setOriginNode(String originNode) { this.originNode = originNode; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,80 @@
+package com.payroll.entity;
+
+/*
+ * Entidade de persistência dos departamentos e centros de custo, organizados em árvore.
+ * Cada nó guarda o caminho materializado desde a raiz ("/1/4/9/"), o que permite listar a
+ * árvore já ordenada e obter a subárvore de um nó com um único filtro por prefixo.
+ */
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "departments", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_department_code", columnNames = {"code"})
+}, indexes = {
+    @Index(name = "idx_department_path", columnList = "path")
+})
+public class Department {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "departments_seq")
+    @SequenceGenerator(name = "departments_seq", sequenceName = "departments_seq", allocationSize = 50)
+    private Long id;
+
+    // Identificador estável do nó (ex.: FIN, FIN_CONTAS)
+    @Column(name = "code", nullable = false, length = 30)
+    private String code;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    // Centro de custo contábil associado ao nó (opcional)
+    @Column(name = "cost_center", length = 20)
+    private String costCenter;
+
+    // Nó pai (nulo na raiz)
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    // Caminho de IDs desde a raiz, inclusive o próprio nó (ex.: "/1/4/9/")
+    @Column(name = "path", nullable = false, length = 500)
+    private String path;
+
+    // Profundidade na árvore (raiz = 0)
+    @Column(name = "depth", nullable = false)
+    private int depth;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public Department() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // --- Getters e Setters ---
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getCostCenter() { return costCenter; }
+    public void setCostCenter(String costCenter) { this.costCenter = costCenter; }
+
+    public Long getParentId() { return parentId; }
+    public void setParentId(Long parentId) { this.parentId = parentId; }
+
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+
+    public int getDepth() { return depth; }
+    public void setDepth(int depth) { this.depth = depth; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
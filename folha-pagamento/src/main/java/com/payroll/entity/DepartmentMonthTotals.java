@@ -0,0 +1,98 @@
+package com.payroll.entity;
+
+/*
+ * Entidade de persistência dos totais mensais próprios de cada departamento (somente os
+ * holerites dos funcionários lotados no nó, sem os filhos). Atualizada na mesma transação que
+ * grava cada holerite; os totais consolidados da árvore são dobrados a partir destas linhas.
+ */
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "department_month_totals", indexes = {
+    @Index(name = "idx_department_totals_month", columnList = "reference_month")
+})
+@IdClass(DepartmentMonthTotals.Key.class)
+public class DepartmentMonthTotals {
+
+    @Id
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    // Competência (Formato: YYYY-MM)
+    @Id
+    @Column(name = "reference_month", length = 7)
+    private String referenceMonth;
+
+    @Column(name = "headcount", nullable = false)
+    private long headcount;
+
+    @Column(name = "total_gross", nullable = false)
+    private BigDecimal totalGross = BigDecimal.ZERO;
+
+    @Column(name = "total_net", nullable = false)
+    private BigDecimal totalNet = BigDecimal.ZERO;
+
+    // FGTS recolhido pelo empregador
+    @Column(name = "total_fgts", nullable = false)
+    private BigDecimal totalFgts = BigDecimal.ZERO;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public DepartmentMonthTotals() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // --- Getters e Setters ---
+
+    public Long getDepartmentId() { return departmentId; }
+    public void setDepartmentId(Long departmentId) { this.departmentId = departmentId; }
+
+    public String getReferenceMonth() { return referenceMonth; }
+    public void setReferenceMonth(String referenceMonth) { this.referenceMonth = referenceMonth; }
+
+    public long getHeadcount() { return headcount; }
+    public void setHeadcount(long headcount) { this.headcount = headcount; }
+
+    public BigDecimal getTotalGross() { return totalGross; }
+    public void setTotalGross(BigDecimal totalGross) { this.totalGross = totalGross; }
+
+    public BigDecimal getTotalNet() { return totalNet; }
+    public void setTotalNet(BigDecimal totalNet) { this.totalNet = totalNet; }
+
+    public BigDecimal getTotalFgts() { return totalFgts; }
+    public void setTotalFgts(BigDecimal totalFgts) { this.totalFgts = totalFgts; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    // Chave composta (departamento, competência)
+    public static class Key implements Serializable {
+        private Long departmentId;
+        private String referenceMonth;
+
+        public Key() {}
+
+        public Key(Long departmentId, String referenceMonth) {
+            this.departmentId = departmentId;
+            this.referenceMonth = referenceMonth;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key k)) return false;
+            return Objects.equals(departmentId, k.departmentId) && Objects.equals(referenceMonth, k.referenceMonth);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(departmentId, referenceMonth);
+        }
+    }
+}
@@ -21,8 +21,10 @@ import java.time.LocalDateTime;
 public class Employee {
 
     // Identificador único do registro (Chave Primária)
+    // Gerado por sequência com alocação em blocos (pooled), o que habilita o batch de INSERTs
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employees_seq")
+    @SequenceGenerator(name = "employees_seq", sequenceName = "employees_seq", allocationSize = 50)
     private Long id;
 
     // --- Dados Cadastrais e Documentação ---
@@ -115,6 +117,25 @@ public class Employee {
     @Column(name = "overtime_hours")
     private BigDecimal overtimeHours = BigDecimal.ZERO;
 
+    // --- Dados Bancários para Crédito do Salário ---
+    @Column(name = "bank_code", length = 3)
+    private String bankCode;
+
+    @Column(name = "bank_branch", length = 5)
+    private String bankBranch;
+
+    @Column(name = "bank_account", length = 12)
+    private String bankAccount;
+
+    @Column(name = "bank_account_digit", length = 1)
+    private String bankAccountDigit;
+
+    // --- Estrutura Organizacional ---
+
+    // Departamento/centro de custo (nulo: sem lotação); atribuído por DepartmentService
+    @Column(name = "department_id")
+    private Long departmentId;
+
     // --- Auditoria de Dados ---
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -210,6 +231,21 @@ public class Employee {
     public BigDecimal getOvertimeHours() { return overtimeHours; }
     public void setOvertimeHours(BigDecimal overtimeHours) { this.overtimeHours = overtimeHours; }
 
+    public String getBankCode() { return bankCode; }
+    public void setBankCode(String bankCode) { this.bankCode = bankCode; }
+
+    public String getBankBranch() { return bankBranch; }
+    public void setBankBranch(String bankBranch) { this.bankBranch = bankBranch; }
+
+    public String getBankAccount() { return bankAccount; }
+    public void setBankAccount(String bankAccount) { this.bankAccount = bankAccount; }
+
+    public String getBankAccountDigit() { return bankAccountDigit; }
+    public void setBankAccountDigit(String bankAccountDigit) { this.bankAccountDigit = bankAccountDigit; }
+
+    public Long getDepartmentId() { return departmentId; }
+    public void setDepartmentId(Long departmentId) { this.departmentId = departmentId; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
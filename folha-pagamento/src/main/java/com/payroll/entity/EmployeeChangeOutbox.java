@@ -0,0 +1,59 @@
+package com.payroll.entity;
+
+/*
+ * Entidade de persistência do outbox de alterações de funcionários (append-only).
+ * Cada linha registra uma operação sobre 'employees' com os campos alterados em JSON.
+ * O ID (sequence) é crescente e serve de cursor para consumidores incrementais.
+ */
+
+import com.payroll.event.EmployeeChangedEvent.ChangeType;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "employee_change_outbox",
+       indexes = @Index(name = "idx_employee_change_outbox_employee", columnList = "employee_id"))
+public class EmployeeChangeOutbox {
+
+    // Cursor do feed: allocationSize = 1 para manter a ordem global entre instâncias
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_change_outbox_seq")
+    @SequenceGenerator(name = "employee_change_outbox_seq", sequenceName = "employee_change_outbox_seq", allocationSize = 1)
+    private Long sequence;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private ChangeType changeType;
+
+    // Lista de EmployeeFieldChange serializada em JSON
+    @Lob
+    @Column(name = "changes")
+    private String changes;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    public EmployeeChangeOutbox() {
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    // --- Getters e Setters ---
+
+    public Long getSequence() { return sequence; }
+    public void setSequence(Long sequence) { this.sequence = sequence; }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public ChangeType getChangeType() { return changeType; }
+    public void setChangeType(ChangeType changeType) { this.changeType = changeType; }
+
+    public String getChanges() { return changes; }
+    public void setChanges(String changes) { this.changes = changes; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+    public void setOccurredAt(LocalDateTime occurredAt) { this.occurredAt = occurredAt; }
+}
@@ -0,0 +1,204 @@
+package com.payroll.entity;
+
+/*
+ * Entidade de persistência do histórico de remuneração de funcionários (vigência por data).
+ * Cada linha guarda os campos do cadastro que entram no cálculo da folha (cargo, salário,
+ * jornada, dependentes e benefícios) a partir de 'valid_from', até a próxima versão.
+ * Permite recalcular competências passadas com os valores vigentes na época.
+ */
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "employee_compensation_history", uniqueConstraints = {
+    // Uma versão por funcionário e data de início de vigência
+    @UniqueConstraint(name = "uk_compensation_employee_valid_from", columnNames = {"employee_id", "valid_from"})
+})
+public class EmployeeCompensation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_compensation_history_seq")
+    @SequenceGenerator(name = "employee_compensation_history_seq", sequenceName = "employee_compensation_history_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    // Início da vigência (inclusivo)
+    @Column(name = "valid_from", nullable = false)
+    private LocalDate validFrom;
+
+    private String position;
+    private BigDecimal salary;
+
+    @Column(name = "weekly_hours")
+    private Integer weeklyHours;
+
+    private Integer dependents;
+
+    @Column(name = "transport_voucher")
+    private Boolean transportVoucher;
+
+    @Column(name = "transport_voucher_value")
+    private BigDecimal transportVoucherValue;
+
+    @Column(name = "meal_voucher")
+    private Boolean mealVoucher;
+
+    @Column(name = "meal_voucher_value")
+    private BigDecimal mealVoucherValue;
+
+    @Column(name = "dangerous_work")
+    private Boolean dangerousWork;
+
+    @Column(name = "dangerous_percentage")
+    private BigDecimal dangerousPercentage;
+
+    @Column(name = "unhealthy_work")
+    private Boolean unhealthyWork;
+
+    @Column(name = "unhealthy_level")
+    private String unhealthyLevel;
+
+    @Column(name = "health_plan")
+    private Boolean healthPlan;
+
+    @Column(name = "health_plan_value")
+    private BigDecimal healthPlanValue;
+
+    @Column(name = "dental_plan")
+    private Boolean dentalPlan;
+
+    @Column(name = "dental_plan_value")
+    private BigDecimal dentalPlanValue;
+
+    private Boolean gym;
+
+    @Column(name = "gym_value")
+    private BigDecimal gymValue;
+
+    @Column(name = "overtime_eligible")
+    private Boolean overtimeEligible;
+
+    @Column(name = "overtime_hours")
+    private BigDecimal overtimeHours;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    public EmployeeCompensation() {
+        this.recordedAt = LocalDateTime.now();
+    }
+
+    // Nova versão com os valores atuais do cadastro
+    public static EmployeeCompensation of(Employee e, LocalDate validFrom) {
+        EmployeeCompensation c = new EmployeeCompensation();
+        c.setEmployeeId(e.getId());
+        c.setValidFrom(validFrom);
+        c.copyFrom(e);
+        return c;
+    }
+
+    // Copiar do cadastro os campos que compõem a remuneração
+    public void copyFrom(Employee e) {
+        position = e.getPosition();
+        salary = e.getSalary();
+        weeklyHours = e.getWeeklyHours();
+        dependents = e.getDependents();
+        transportVoucher = e.getTransportVoucher();
+        transportVoucherValue = e.getTransportVoucherValue();
+        mealVoucher = e.getMealVoucher();
+        mealVoucherValue = e.getMealVoucherValue();
+        dangerousWork = e.getDangerousWork();
+        dangerousPercentage = e.getDangerousPercentage();
+        unhealthyWork = e.getUnhealthyWork();
+        unhealthyLevel = e.getUnhealthyLevel();
+        healthPlan = e.getHealthPlan();
+        healthPlanValue = e.getHealthPlanValue();
+        dentalPlan = e.getDentalPlan();
+        dentalPlanValue = e.getDentalPlanValue();
+        gym = e.getGym();
+        gymValue = e.getGymValue();
+        overtimeEligible = e.getOvertimeEligible();
+        overtimeHours = e.getOvertimeHours();
+        recordedAt = LocalDateTime.now();
+    }
+
+    // Cópia desanexada do funcionário com a remuneração desta versão (nunca persistida)
+    public Employee applyTo(Employee base) {
+        Employee e = new Employee();
+        e.setId(base.getId());
+        e.setFullName(base.getFullName());
+        e.setCpf(base.getCpf());
+        e.setRg(base.getRg());
+        e.setAdmissionDate(base.getAdmissionDate());
+        e.setBankCode(base.getBankCode());
+        e.setBankBranch(base.getBankBranch());
+        e.setBankAccount(base.getBankAccount());
+        e.setBankAccountDigit(base.getBankAccountDigit());
+        e.setTimeBank(base.getTimeBank());
+        e.setTimeBankHours(base.getTimeBankHours());
+        e.setCreatedAt(base.getCreatedAt());
+        e.setCreatedBy(base.getCreatedBy());
+
+        e.setPosition(position);
+        e.setSalary(salary);
+        e.setWeeklyHours(weeklyHours);
+        e.setDependents(dependents);
+        e.setTransportVoucher(transportVoucher);
+        e.setTransportVoucherValue(transportVoucherValue);
+        e.setMealVoucher(mealVoucher);
+        e.setMealVoucherValue(mealVoucherValue);
+        e.setDangerousWork(dangerousWork);
+        e.setDangerousPercentage(dangerousPercentage);
+        e.setUnhealthyWork(unhealthyWork);
+        e.setUnhealthyLevel(unhealthyLevel);
+        e.setHealthPlan(healthPlan);
+        e.setHealthPlanValue(healthPlanValue);
+        e.setDentalPlan(dentalPlan);
+        e.setDentalPlanValue(dentalPlanValue);
+        e.setGym(gym);
+        e.setGymValue(gymValue);
+        e.setOvertimeEligible(overtimeEligible);
+        e.setOvertimeHours(overtimeHours);
+        return e;
+    }
+
+    // --- Getters e Setters ---
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public LocalDate getValidFrom() { return validFrom; }
+    public void setValidFrom(LocalDate validFrom) { this.validFrom = validFrom; }
+
+    public String getPosition() { return position; }
+    public BigDecimal getSalary() { return salary; }
+    public Integer getWeeklyHours() { return weeklyHours; }
+    public Integer getDependents() { return dependents; }
+    public Boolean getTransportVoucher() { return transportVoucher; }
+    public BigDecimal getTransportVoucherValue() { return transportVoucherValue; }
+    public Boolean getMealVoucher() { return mealVoucher; }
+    public BigDecimal getMealVoucherValue() { return mealVoucherValue; }
+    public Boolean getDangerousWork() { return dangerousWork; }
+    public BigDecimal getDangerousPercentage() { return dangerousPercentage; }
+    public Boolean getUnhealthyWork() { return unhealthyWork; }
+    public String getUnhealthyLevel() { return unhealthyLevel; }
+    public Boolean getHealthPlan() { return healthPlan; }
+    public BigDecimal getHealthPlanValue() { return healthPlanValue; }
+    public Boolean getDentalPlan() { return dentalPlan; }
+    public BigDecimal getDentalPlanValue() { return dentalPlanValue; }
+    public Boolean getGym() { return gym; }
+    public BigDecimal getGymValue() { return gymValue; }
+    public Boolean getOvertimeEligible() { return overtimeEligible; }
+    public BigDecimal getOvertimeHours() { return overtimeHours; }
+
+    public LocalDateTime getRecordedAt() { return recordedAt; }
+    public void setRecordedAt(LocalDateTime recordedAt) { this.recordedAt = recordedAt; }
+}
@@ -13,11 +13,19 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payroll_calculations")
+@Table(name = "payroll_calculations", uniqueConstraints = {
+    // Um único holerite por funcionário e competência, garantido pelo banco mesmo com pedidos simultâneos
+    @UniqueConstraint(name = "uk_payroll_employee_month", columnNames = {"employee_id", "reference_month"})
+}, indexes = {
+    // Competência + funcionário: filtra um mês já na ordem do merge-join do relatório de variação
+    @Index(name = "idx_payroll_month_employee", columnList = "reference_month, employee_id"),
+    @Index(name = "idx_payroll_month_department", columnList = "reference_month, department_id")
+})
 public class PayrollCalculation {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payroll_calculations_seq")
+    @SequenceGenerator(name = "payroll_calculations_seq", sequenceName = "payroll_calculations_seq", allocationSize = 50)
     private Long id;
 
     // --- Dados de Vinculação ---
@@ -33,6 +41,10 @@ public class PayrollCalculation {
     @NotBlank
     private String referenceMonth;
 
+    // Departamento do funcionário quando o holerite foi gravado (base dos totais por departamento)
+    @Column(name = "department_id")
+    private Long departmentId;
+
     // --- Totais Financeiros ---
     
     @Column(name = "gross_salary", nullable = false)
@@ -96,6 +108,27 @@ public class PayrollCalculation {
     @Column(name = "gym_discount")
     private BigDecimal gymDiscount;
 
+    // --- Regras Configuráveis (PayrollRule) ---
+
+    // Proventos das regras, já incluídos no bruto
+    @Column(name = "other_earnings")
+    private BigDecimal otherEarnings;
+
+    // Descontos das regras
+    @Column(name = "other_deductions")
+    private BigDecimal otherDeductions;
+
+    // Soma persistida de todos os descontos do holerite (mantida em sincronia em cada INSERT/UPDATE),
+    // permitindo auditar "descontos >= bruto" com uma comparação simples no banco
+    @Column(name = "total_discounts")
+    private BigDecimal totalDiscounts;
+
+    // --- Controle de Recálculo ---
+
+    // Hash das entradas do funcionário + versão das tabelas usadas no cálculo (ver PayrollFingerprint)
+    @Column(name = "input_fingerprint", length = 64)
+    private String inputFingerprint;
+
     // --- Auditoria ---
     
     @Column(name = "created_at", nullable = false)
@@ -111,6 +144,22 @@ public class PayrollCalculation {
         this.createdAt = LocalDateTime.now();
     }
 
+    // Recalcular o total de descontos a partir dos componentes antes de gravar (FGTS fica de fora)
+    @PrePersist
+    @PreUpdate
+    void syncTotalDiscounts() {
+        this.totalDiscounts = sumDiscounts(inssDiscount, irpfDiscount, transportDiscount,
+                healthPlanDiscount, dentalPlanDiscount, gymDiscount, otherDeductions);
+    }
+
+    private static BigDecimal sumDiscounts(BigDecimal... parts) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal part : parts) {
+            if (part != null) total = total.add(part);
+        }
+        return total;
+    }
+
     // --- Getters e Setters ---
     
     public Long getId() { return id; }
@@ -164,6 +213,21 @@ public class PayrollCalculation {
     public BigDecimal getOvertimeValue() { return overtimeValue; }
     public void setOvertimeValue(BigDecimal overtimeValue) { this.overtimeValue = overtimeValue; }
 
+    public BigDecimal getOtherEarnings() { return otherEarnings; }
+    public void setOtherEarnings(BigDecimal otherEarnings) { this.otherEarnings = otherEarnings; }
+
+    public BigDecimal getOtherDeductions() { return otherDeductions; }
+    public void setOtherDeductions(BigDecimal otherDeductions) { this.otherDeductions = otherDeductions; }
+
+    public Long getDepartmentId() { return departmentId; }
+    public void setDepartmentId(Long departmentId) { this.departmentId = departmentId; }
+
+    public BigDecimal getTotalDiscounts() { return totalDiscounts; }
+    public void setTotalDiscounts(BigDecimal totalDiscounts) { this.totalDiscounts = totalDiscounts; }
+
+    public String getInputFingerprint() { return inputFingerprint; }
+    public void setInputFingerprint(String inputFingerprint) { this.inputFingerprint = inputFingerprint; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
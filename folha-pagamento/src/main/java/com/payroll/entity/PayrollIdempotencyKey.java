@@ -0,0 +1,76 @@
+package com.payroll.entity;
+
+/*
+ * Entidade de persistência das chaves de idempotência do cálculo de folha.
+ * Associa a chave enviada pelo cliente (cabeçalho Idempotency-Key) aos parâmetros do primeiro pedido,
+ * permitindo repetir a requisição com segurança e rejeitar o reaproveitamento da chave com outros dados.
+ */
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "payroll_idempotency_keys")
+public class PayrollIdempotencyKey implements Persistable<String> {
+
+    // Chave informada pelo cliente; a PK garante que só um pedido a registra
+    @Id
+    @Column(name = "idempotency_key", length = 128)
+    private String idempotencyKey;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "reference_month", nullable = false)
+    private String referenceMonth;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Chave atribuída pelo cliente: sempre inserir (nunca merge), para que a colisão apareça como violação de PK
+    @Transient
+    private boolean persisted;
+
+    public PayrollIdempotencyKey() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public PayrollIdempotencyKey(String idempotencyKey, Long employeeId, String referenceMonth) {
+        this();
+        this.idempotencyKey = idempotencyKey;
+        this.employeeId = employeeId;
+        this.referenceMonth = referenceMonth;
+    }
+
+    // Verificar se um novo pedido com a mesma chave traz os mesmos parâmetros
+    public boolean matches(Long employeeId, String referenceMonth) {
+        return this.employeeId.equals(employeeId) && this.referenceMonth.equals(referenceMonth);
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+    @Override
+    public String getId() { return idempotencyKey; }
+
+    @Override
+    public boolean isNew() { return !persisted; }
+
+    // --- Getters e Setters ---
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public String getReferenceMonth() { return referenceMonth; }
+    public void setReferenceMonth(String referenceMonth) { this.referenceMonth = referenceMonth; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,73 @@
+package com.payroll.entity;
+
+/*
+ * Entidade de persistência do razão mensal da folha (uma linha por competência).
+ * Guarda os totais já consolidados dos holerites do mês, atualizados na mesma transação
+ * que grava cada holerite, para que consultas de fechamento não precisem reagregar a tabela de cálculos.
+ */
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "payroll_month_totals")
+public class PayrollMonthTotals {
+
+    // Competência (Formato: YYYY-MM)
+    @Id
+    @Column(name = "reference_month", length = 7)
+    private String referenceMonth;
+
+    // Quantidade de holerites processados na competência
+    @Column(name = "headcount", nullable = false)
+    private long headcount;
+
+    @Column(name = "total_gross", nullable = false)
+    private BigDecimal totalGross = BigDecimal.ZERO;
+
+    @Column(name = "total_net", nullable = false)
+    private BigDecimal totalNet = BigDecimal.ZERO;
+
+    @Column(name = "total_inss", nullable = false)
+    private BigDecimal totalInss = BigDecimal.ZERO;
+
+    @Column(name = "total_irrf", nullable = false)
+    private BigDecimal totalIrrf = BigDecimal.ZERO;
+
+    @Column(name = "total_fgts", nullable = false)
+    private BigDecimal totalFgts = BigDecimal.ZERO;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public PayrollMonthTotals() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // --- Getters e Setters ---
+
+    public String getReferenceMonth() { return referenceMonth; }
+    public void setReferenceMonth(String referenceMonth) { this.referenceMonth = referenceMonth; }
+
+    public long getHeadcount() { return headcount; }
+    public void setHeadcount(long headcount) { this.headcount = headcount; }
+
+    public BigDecimal getTotalGross() { return totalGross; }
+    public void setTotalGross(BigDecimal totalGross) { this.totalGross = totalGross; }
+
+    public BigDecimal getTotalNet() { return totalNet; }
+    public void setTotalNet(BigDecimal totalNet) { this.totalNet = totalNet; }
+
+    public BigDecimal getTotalInss() { return totalInss; }
+    public void setTotalInss(BigDecimal totalInss) { this.totalInss = totalInss; }
+
+    public BigDecimal getTotalIrrf() { return totalIrrf; }
+    public void setTotalIrrf(BigDecimal totalIrrf) { this.totalIrrf = totalIrrf; }
+
+    public BigDecimal getTotalFgts() { return totalFgts; }
+    public void setTotalFgts(BigDecimal totalFgts) { this.totalFgts = totalFgts; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
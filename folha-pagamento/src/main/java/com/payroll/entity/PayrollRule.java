@@ -0,0 +1,80 @@
+package com.payroll.entity;
+
+/*
+ * Entidade de persistência das regras configuráveis de proventos e descontos da folha.
+ * Cada regra é uma expressão sobre os atributos do funcionário (ex.: "position == 'Motorista' ? salary * 0.1 : 0")
+ * compilada uma única vez por versão do conjunto de regras ativas; o cálculo da folha apenas
+ * executa as funções compiladas, sem interpretar o texto.
+ */
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "payroll_rules", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_payroll_rule_code", columnNames = {"code"})
+})
+public class PayrollRule {
+
+    // Natureza da regra: provento soma ao bruto; desconto soma ao total de descontos
+    public static final String EARNING = "EARNING";
+    public static final String DEDUCTION = "DEDUCTION";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payroll_rules_seq")
+    @SequenceGenerator(name = "payroll_rules_seq", sequenceName = "payroll_rules_seq", allocationSize = 50)
+    private Long id;
+
+    // Identificador estável da regra (ex.: BONUS_MOTORISTA)
+    @Column(name = "code", nullable = false, length = 30)
+    private String code;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "kind", nullable = false, length = 10)
+    private String kind;
+
+    @Column(name = "expression", nullable = false, length = 1000)
+    private String expression;
+
+    // Ordem de execução dentro da natureza (menor primeiro)
+    @Column(name = "priority", nullable = false)
+    private int priority;
+
+    @Column(name = "active", nullable = false)
+    private boolean active = true;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public PayrollRule() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // --- Getters e Setters ---
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public String getExpression() { return expression; }
+    public void setExpression(String expression) { this.expression = expression; }
+
+    public int getPriority() { return priority; }
+    public void setPriority(int priority) { this.priority = priority; }
+
+    public boolean isActive() { return active; }
+    public void setActive(boolean active) { this.active = active; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,155 @@
+package com.payroll.entity;
+
+/*
+ * Entidade de persistência das partições de um fechamento de folha em lote.
+ * Cada partição é uma faixa de IDs de funcionários de uma competência, tomada por uma instância
+ * da aplicação por meio de uma concessão (lease) com prazo: o dono renova o prazo a cada bloco
+ * gravado e, se parar de renovar, outra instância assume a partição a partir do cursor.
+ * O token da concessão muda a cada posse, para que um dono antigo não grave depois de perdê-la.
+ */
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "payroll_run_partitions", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_payroll_run_partition", columnNames = {"reference_month", "range_start"})
+}, indexes = {
+    @Index(name = "idx_payroll_run_status", columnList = "status, reference_month")
+})
+public class PayrollRunPartition {
+
+    public static final String PENDING = "PENDING";
+    public static final String RUNNING = "RUNNING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payroll_run_partitions_seq")
+    @SequenceGenerator(name = "payroll_run_partitions_seq", sequenceName = "payroll_run_partitions_seq", allocationSize = 50)
+    private Long id;
+
+    // Competência (Formato: YYYY-MM)
+    @Column(name = "reference_month", nullable = false, length = 7)
+    private String referenceMonth;
+
+    // Faixa de IDs de funcionários, inclusiva nas duas pontas
+    @Column(name = "range_start", nullable = false)
+    private Long rangeStart;
+
+    @Column(name = "range_end", nullable = false)
+    private Long rangeEnd;
+
+    @Column(name = "status", nullable = false, length = 10)
+    private String status = PENDING;
+
+    // Instância que detém (ou deteve por último) a concessão
+    @Column(name = "owner", length = 100)
+    private String owner;
+
+    // Incrementado a cada posse; as gravações do dono conferem o token
+    @Column(name = "lease_token", nullable = false)
+    private long leaseToken;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    // Último funcionário já tratado (nulo: nenhum); uma nova posse continua a partir dele
+    @Column(name = "cursor_employee_id")
+    private Long cursorEmployeeId;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    // Holerites calculados, já existentes (ignorados) e recusados pelas validações do cálculo
+    @Column(name = "processed", nullable = false)
+    private int processed;
+
+    @Column(name = "skipped", nullable = false)
+    private int skipped;
+
+    @Column(name = "failed", nullable = false)
+    private int failed;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // Usuário que iniciou o fechamento (autor dos holerites)
+    @Column(name = "calculated_by", nullable = false)
+    private Long calculatedBy;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public PayrollRunPartition() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // --- Getters e Setters ---
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getReferenceMonth() { return referenceMonth; }
+    public void setReferenceMonth(String referenceMonth) { this.referenceMonth = referenceMonth; }
+
+    public Long getRangeStart() { return rangeStart; }
+    public void setRangeStart(Long rangeStart) { this.rangeStart = rangeStart; }
+
+    public Long getRangeEnd() { return rangeEnd; }
+    public void setRangeEnd(Long rangeEnd) { this.rangeEnd = rangeEnd; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+
+    public long getLeaseToken() { return leaseToken; }
+    public void setLeaseToken(long leaseToken) { this.leaseToken = leaseToken; }
+
+    public LocalDateTime getLeaseExpiresAt() { return leaseExpiresAt; }
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) { this.leaseExpiresAt = leaseExpiresAt; }
+
+    public LocalDateTime getHeartbeatAt() { return heartbeatAt; }
+    public void setHeartbeatAt(LocalDateTime heartbeatAt) { this.heartbeatAt = heartbeatAt; }
+
+    public Long getCursorEmployeeId() { return cursorEmployeeId; }
+    public void setCursorEmployeeId(Long cursorEmployeeId) { this.cursorEmployeeId = cursorEmployeeId; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public int getProcessed() { return processed; }
+    public void setProcessed(int processed) { this.processed = processed; }
+
+    public int getSkipped() { return skipped; }
+    public void setSkipped(int skipped) { this.skipped = skipped; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public Long getCalculatedBy() { return calculatedBy; }
+    public void setCalculatedBy(Long calculatedBy) { this.calculatedBy = calculatedBy; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -0,0 +1,139 @@
+package com.payroll.entity;
+
+/*
+ * Entidade de persistência dos holerites especiais: 13º salário (1ª e 2ª parcelas) e férias + 1/3.
+ * Ficam fora de 'payroll_calculations' (um holerite mensal por competência) e são gerados em lote
+ * por tipo e competência; uma nova execução do mesmo lote substitui os holerites anteriores.
+ */
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "special_payslips", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_special_payslip", columnNames = {"kind", "reference_month", "employee_id"})
+})
+public class SpecialPayslip {
+
+    // 13º salário: adiantamento sem descontos (novembro) e parcela final com INSS/IRRF (dezembro)
+    public static final String THIRTEENTH_FIRST = "THIRTEENTH_FIRST";
+    public static final String THIRTEENTH_SECOND = "THIRTEENTH_SECOND";
+    // Férias acrescidas do terço constitucional
+    public static final String VACATION = "VACATION";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "special_payslips_seq")
+    @SequenceGenerator(name = "special_payslips_seq", sequenceName = "special_payslips_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "kind", nullable = false, length = 20)
+    private String kind;
+
+    // Competência de pagamento (Formato: YYYY-MM)
+    @Column(name = "reference_month", nullable = false, length = 7)
+    private String referenceMonth;
+
+    // --- Bases (lidas dos holerites mensais do período) ---
+
+    // Meses com holerite no período aquisitivo (avos, até 12)
+    @Column(name = "months_worked", nullable = false)
+    private int monthsWorked;
+
+    // Remuneração mensal considerada: salário + adicionais + média das variáveis
+    @Column(name = "monthly_base", nullable = false)
+    private BigDecimal monthlyBase;
+
+    // Média mensal de horas extras e proventos de regras no período
+    @Column(name = "variable_average", nullable = false)
+    private BigDecimal variableAverage;
+
+    // --- Valores ---
+
+    // Terço constitucional (somente férias)
+    @Column(name = "vacation_bonus", nullable = false)
+    private BigDecimal vacationBonus;
+
+    @Column(name = "gross_value", nullable = false)
+    private BigDecimal grossValue;
+
+    @Column(name = "inss_discount", nullable = false)
+    private BigDecimal inssDiscount;
+
+    @Column(name = "irrf_discount", nullable = false)
+    private BigDecimal irrfDiscount;
+
+    // Adiantamento já pago na 1ª parcela (abatido na 2ª)
+    @Column(name = "advance_deduction", nullable = false)
+    private BigDecimal advanceDeduction;
+
+    @Column(name = "net_value", nullable = false)
+    private BigDecimal netValue;
+
+    // FGTS depositado sobre o valor pago (não é descontado do funcionário)
+    @Column(name = "fgts_value", nullable = false)
+    private BigDecimal fgtsValue;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "created_by")
+    private Long createdBy;
+
+    public SpecialPayslip() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // --- Getters e Setters ---
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public String getReferenceMonth() { return referenceMonth; }
+    public void setReferenceMonth(String referenceMonth) { this.referenceMonth = referenceMonth; }
+
+    public int getMonthsWorked() { return monthsWorked; }
+    public void setMonthsWorked(int monthsWorked) { this.monthsWorked = monthsWorked; }
+
+    public BigDecimal getMonthlyBase() { return monthlyBase; }
+    public void setMonthlyBase(BigDecimal monthlyBase) { this.monthlyBase = monthlyBase; }
+
+    public BigDecimal getVariableAverage() { return variableAverage; }
+    public void setVariableAverage(BigDecimal variableAverage) { this.variableAverage = variableAverage; }
+
+    public BigDecimal getVacationBonus() { return vacationBonus; }
+    public void setVacationBonus(BigDecimal vacationBonus) { this.vacationBonus = vacationBonus; }
+
+    public BigDecimal getGrossValue() { return grossValue; }
+    public void setGrossValue(BigDecimal grossValue) { this.grossValue = grossValue; }
+
+    public BigDecimal getInssDiscount() { return inssDiscount; }
+    public void setInssDiscount(BigDecimal inssDiscount) { this.inssDiscount = inssDiscount; }
+
+    public BigDecimal getIrrfDiscount() { return irrfDiscount; }
+    public void setIrrfDiscount(BigDecimal irrfDiscount) { this.irrfDiscount = irrfDiscount; }
+
+    public BigDecimal getAdvanceDeduction() { return advanceDeduction; }
+    public void setAdvanceDeduction(BigDecimal advanceDeduction) { this.advanceDeduction = advanceDeduction; }
+
+    public BigDecimal getNetValue() { return netValue; }
+    public void setNetValue(BigDecimal netValue) { this.netValue = netValue; }
+
+    public BigDecimal getFgtsValue() { return fgtsValue; }
+    public void setFgtsValue(BigDecimal fgtsValue) { this.fgtsValue = fgtsValue; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public Long getCreatedBy() { return createdBy; }
+    public void setCreatedBy(Long createdBy) { this.createdBy = createdBy; }
+}
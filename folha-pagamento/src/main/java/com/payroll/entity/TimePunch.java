@@ -0,0 +1,71 @@
+package com.payroll.entity;
+
+/*
+ * Entidade de persistência do registro de marcações de ponto (log somente de inclusão).
+ * Cada linha é uma marcação bruta do relógio: funcionário e instante. A chave composta
+ * dispensa sequência e torna o reenvio de um lote idempotente; entrada e saída são
+ * deduzidas pela alternância das marcações do dia, como no arquivo do REP.
+ */
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "time_punches")
+@IdClass(TimePunch.Key.class)
+public class TimePunch {
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    // Instante da marcação (precisão de segundos)
+    @Id
+    @Column(name = "punched_at")
+    private LocalDateTime punchedAt;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    public TimePunch() {
+        this.receivedAt = LocalDateTime.now();
+    }
+
+    // --- Getters e Setters ---
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public LocalDateTime getPunchedAt() { return punchedAt; }
+    public void setPunchedAt(LocalDateTime punchedAt) { this.punchedAt = punchedAt; }
+
+    public LocalDateTime getReceivedAt() { return receivedAt; }
+    public void setReceivedAt(LocalDateTime receivedAt) { this.receivedAt = receivedAt; }
+
+    // Chave composta (funcionário, instante)
+    public static class Key implements Serializable {
+        private Long employeeId;
+        private LocalDateTime punchedAt;
+
+        public Key() {}
+
+        public Key(Long employeeId, LocalDateTime punchedAt) {
+            this.employeeId = employeeId;
+            this.punchedAt = punchedAt;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key k)) return false;
+            return Objects.equals(employeeId, k.employeeId) && Objects.equals(punchedAt, k.punchedAt);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(employeeId, punchedAt);
+        }
+    }
+}
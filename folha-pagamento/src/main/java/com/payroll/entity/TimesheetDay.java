@@ -0,0 +1,92 @@
+package com.payroll.entity;
+
+/*
+ * Entidade de persistência da apuração diária do ponto (uma linha por funcionário e dia).
+ * É derivada das marcações do dia e refeita sempre que chega uma marcação nova para ele;
+ * a linha do mês (TimesheetMonth) é a soma destas linhas.
+ */
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+@Entity
+@Table(name = "timesheet_days")
+@IdClass(TimesheetDay.Key.class)
+public class TimesheetDay {
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Id
+    @Column(name = "work_date")
+    private LocalDate workDate;
+
+    // Minutos trabalhados nos pares entrada/saída completos
+    @Column(name = "worked_minutes", nullable = false)
+    private int workedMinutes;
+
+    @Column(name = "overtime_minutes", nullable = false)
+    private int overtimeMinutes;
+
+    // Saldo do dia no banco de horas (negativo quando trabalhou menos que a jornada)
+    @Column(name = "time_bank_minutes", nullable = false)
+    private int timeBankMinutes;
+
+    @Column(name = "punches", nullable = false)
+    private int punches;
+
+    // Quantidade ímpar de marcações: falta uma batida, o dia não gera extra nem banco
+    @Column(name = "incomplete", nullable = false)
+    private boolean incomplete;
+
+    // --- Getters e Setters ---
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public LocalDate getWorkDate() { return workDate; }
+    public void setWorkDate(LocalDate workDate) { this.workDate = workDate; }
+
+    public int getWorkedMinutes() { return workedMinutes; }
+    public void setWorkedMinutes(int workedMinutes) { this.workedMinutes = workedMinutes; }
+
+    public int getOvertimeMinutes() { return overtimeMinutes; }
+    public void setOvertimeMinutes(int overtimeMinutes) { this.overtimeMinutes = overtimeMinutes; }
+
+    public int getTimeBankMinutes() { return timeBankMinutes; }
+    public void setTimeBankMinutes(int timeBankMinutes) { this.timeBankMinutes = timeBankMinutes; }
+
+    public int getPunches() { return punches; }
+    public void setPunches(int punches) { this.punches = punches; }
+
+    public boolean isIncomplete() { return incomplete; }
+    public void setIncomplete(boolean incomplete) { this.incomplete = incomplete; }
+
+    // Chave composta (funcionário, dia)
+    public static class Key implements Serializable {
+        private Long employeeId;
+        private LocalDate workDate;
+
+        public Key() {}
+
+        public Key(Long employeeId, LocalDate workDate) {
+            this.employeeId = employeeId;
+            this.workDate = workDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key k)) return false;
+            return Objects.equals(employeeId, k.employeeId) && Objects.equals(workDate, k.workDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(employeeId, workDate);
+        }
+    }
+}
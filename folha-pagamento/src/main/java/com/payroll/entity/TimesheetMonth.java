@@ -0,0 +1,103 @@
+package com.payroll.entity;
+
+/*
+ * Entidade de persistência da apuração mensal do ponto (uma linha por funcionário e competência).
+ * Consolida as linhas diárias do mês; o cálculo da folha lê daqui as horas extras,
+ * sem reagregar as marcações.
+ */
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+@Entity
+@Table(name = "timesheet_months", indexes = {
+    // Leitura em lote de uma competência inteira no recálculo da folha
+    @Index(name = "idx_timesheet_month_reference", columnList = "reference_month")
+})
+@IdClass(TimesheetMonth.Key.class)
+public class TimesheetMonth {
+
+    @Id
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    // Competência (Formato: YYYY-MM)
+    @Id
+    @Column(name = "reference_month", length = 7)
+    private String referenceMonth;
+
+    @Column(name = "worked_minutes", nullable = false)
+    private long workedMinutes;
+
+    @Column(name = "overtime_minutes", nullable = false)
+    private long overtimeMinutes;
+
+    @Column(name = "time_bank_minutes", nullable = false)
+    private long timeBankMinutes;
+
+    @Column(name = "days_worked", nullable = false)
+    private int daysWorked;
+
+    @Column(name = "incomplete_days", nullable = false)
+    private int incompleteDays;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public TimesheetMonth() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // --- Getters e Setters ---
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public String getReferenceMonth() { return referenceMonth; }
+    public void setReferenceMonth(String referenceMonth) { this.referenceMonth = referenceMonth; }
+
+    public long getWorkedMinutes() { return workedMinutes; }
+    public void setWorkedMinutes(long workedMinutes) { this.workedMinutes = workedMinutes; }
+
+    public long getOvertimeMinutes() { return overtimeMinutes; }
+    public void setOvertimeMinutes(long overtimeMinutes) { this.overtimeMinutes = overtimeMinutes; }
+
+    public long getTimeBankMinutes() { return timeBankMinutes; }
+    public void setTimeBankMinutes(long timeBankMinutes) { this.timeBankMinutes = timeBankMinutes; }
+
+    public int getDaysWorked() { return daysWorked; }
+    public void setDaysWorked(int daysWorked) { this.daysWorked = daysWorked; }
+
+    public int getIncompleteDays() { return incompleteDays; }
+    public void setIncompleteDays(int incompleteDays) { this.incompleteDays = incompleteDays; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    // Chave composta (funcionário, competência)
+    public static class Key implements Serializable {
+        private Long employeeId;
+        private String referenceMonth;
+
+        public Key() {}
+
+        public Key(Long employeeId, String referenceMonth) {
+            this.employeeId = employeeId;
+            this.referenceMonth = referenceMonth;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key k)) return false;
+            return Objects.equals(employeeId, k.employeeId) && Objects.equals(referenceMonth, k.referenceMonth);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(employeeId, referenceMonth);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.payroll.event;
+
+/*
+ * Evento de aplicação (in-process) entregue pelo barramento de invalidação de cache.
+ * É publicado após o commit das gravações da própria instância (local) e a cada linha
+ * gravada por outra instância lida da tabela 'cache_invalidations' (remoto). Caches que já
+ * se atualizam pelos eventos locais de cada serviço só precisam tratar os remotos.
+ */
+
+public class CacheInvalidatedEvent {
+
+    private final String entity;
+    private final Long entityId;
+    private final Long version;
+    private final String originNode;
+    private final boolean remote;
+
+    public CacheInvalidatedEvent(String entity, Long entityId, Long version, String originNode, boolean remote) {
+        this.entity = entity;
+        this.entityId = entityId;
+        this.version = version;
+        this.originNode = originNode;
+        this.remote = remote;
+    }
+
+    // Verificar se o evento é de uma das entidades informadas
+    public boolean isFor(String... entities) {
+        for (String e : entities) {
+            if (e.equals(entity)) return true;
+        }
+        return false;
+    }
+
+    // ID nulo: todos os registros da entidade mudaram (gravação em lote)
+    public boolean isBulk() { return entityId == null; }
+
+    // --- Getters ---
+
+    public String getEntity() { return entity; }
+    public Long getEntityId() { return entityId; }
+    public Long getVersion() { return version; }
+    public String getOriginNode() { return originNode; }
+    public boolean isRemote() { return remote; }
+}
@@ -0,0 +1,43 @@
+package com.payroll.event;
+
+/*
+ * Evento de aplicação (in-process) publicado a cada alteração no cadastro de funcionários.
+ * Carrega a posição no outbox (sequence), o tipo de operação e os campos alterados,
+ * permitindo que ouvintes reajam sem reler a tabela 'employees'.
+ */
+
+import com.payroll.model.EmployeeFieldChange;
+
+import java.util.List;
+
+public class EmployeeChangedEvent {
+
+    // Tipos de operação registrados no feed
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final long sequence;
+    private final Long employeeId;
+    private final ChangeType changeType;
+    private final List<EmployeeFieldChange> changes;
+
+    public EmployeeChangedEvent(long sequence, Long employeeId, ChangeType changeType, List<EmployeeFieldChange> changes) {
+        this.sequence = sequence;
+        this.employeeId = employeeId;
+        this.changeType = changeType;
+        this.changes = List.copyOf(changes);
+    }
+
+    // Verificar se um campo específico faz parte da alteração (ex.: "salary")
+    public boolean hasChanged(String field) {
+        return changes.stream().anyMatch(c -> c.getField().equals(field));
+    }
+
+    // --- Getters ---
+
+    public long getSequence() { return sequence; }
+    public Long getEmployeeId() { return employeeId; }
+    public ChangeType getChangeType() { return changeType; }
+    public List<EmployeeFieldChange> getChanges() { return changes; }
+}
@@ -0,0 +1,17 @@
+package com.payroll.exception;
+/*
+ * Exceção para requisições que conflitam com o estado atual do recurso.
+ * Usada, por exemplo, quando uma chave de idempotência é reaproveitada com outros parâmetros,
+ * mapeada para HTTP 409 (Conflict).
+ */
+
+import com.payroll.exception.base.AbstractBusinessException;
+
+public class ConflictBusinessException extends AbstractBusinessException {
+    public ConflictBusinessException(String message) {
+        super(message);
+    }
+    public ConflictBusinessException(String message, Object context) {
+        super(message, context);
+    }
+}
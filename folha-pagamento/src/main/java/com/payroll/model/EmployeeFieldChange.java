@@ -0,0 +1,33 @@
+package com.payroll.model;
+
+/*
+ * Modelo de domínio para a alteração de um campo do cadastro de funcionário.
+ * Registra o nome do campo e os valores anterior e novo (em texto normalizado),
+ * compondo o feed de mudanças consumido por dashboards, índices e recálculos.
+ */
+
+public class EmployeeFieldChange {
+
+    private String field;
+    private String oldValue;
+    private String newValue;
+
+    public EmployeeFieldChange() {}
+
+    public EmployeeFieldChange(String field, String oldValue, String newValue) {
+        this.field = field;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    // --- Getters e Setters ---
+
+    public String getField() { return field; }
+    public void setField(String field) { this.field = field; }
+
+    public String getOldValue() { return oldValue; }
+    public void setOldValue(String oldValue) { this.oldValue = oldValue; }
+
+    public String getNewValue() { return newValue; }
+    public void setNewValue(String newValue) { this.newValue = newValue; }
+}
@@ -0,0 +1,111 @@
+package com.payroll.model;
+
+/*
+ * Modelo de domínio imutável com as entradas do cálculo de folha de um funcionário.
+ * É uma cópia compacta e desacoplada da entidade JPA: pode ser calculada em paralelo
+ * e alterada (via with...) em simulações sem risco de o Hibernate persistir a mudança.
+ */
+
+import com.payroll.entity.Employee;
+
+import java.math.BigDecimal;
+
+public final class PayrollInput {
+
+    private final Long employeeId;
+    private final String position;
+    private final BigDecimal salary;
+    private final int weeklyHours;
+    private final int dependents;
+    private final boolean transportVoucher;
+    private final BigDecimal transportVoucherValue;
+    private final BigDecimal mealVoucherValue;
+    private final boolean dangerousWork;
+    private final BigDecimal dangerousPercentage;
+    private final String unhealthyLevel;
+    // Descontos de planos já resolvidos (zero quando o benefício não está ativo)
+    private final BigDecimal healthPlanDiscount;
+    private final BigDecimal dentalPlanDiscount;
+    private final BigDecimal gymDiscount;
+    private final boolean overtimeEligible;
+    private final BigDecimal overtimeHours;
+
+    private PayrollInput(Long employeeId, String position, BigDecimal salary, int weeklyHours, int dependents,
+                         boolean transportVoucher, BigDecimal transportVoucherValue, BigDecimal mealVoucherValue,
+                         boolean dangerousWork, BigDecimal dangerousPercentage, String unhealthyLevel,
+                         BigDecimal healthPlanDiscount, BigDecimal dentalPlanDiscount, BigDecimal gymDiscount,
+                         boolean overtimeEligible, BigDecimal overtimeHours) {
+        this.employeeId = employeeId;
+        this.position = position;
+        this.salary = salary;
+        this.weeklyHours = weeklyHours;
+        this.dependents = dependents;
+        this.transportVoucher = transportVoucher;
+        this.transportVoucherValue = transportVoucherValue;
+        this.mealVoucherValue = mealVoucherValue;
+        this.dangerousWork = dangerousWork;
+        this.dangerousPercentage = dangerousPercentage;
+        this.unhealthyLevel = unhealthyLevel;
+        this.healthPlanDiscount = healthPlanDiscount;
+        this.dentalPlanDiscount = dentalPlanDiscount;
+        this.gymDiscount = gymDiscount;
+        this.overtimeEligible = overtimeEligible;
+        this.overtimeHours = overtimeHours;
+    }
+
+    // Extrair as entradas do cadastro aplicando os mesmos padrões do cálculo da folha
+    public static PayrollInput from(Employee e) {
+        return new PayrollInput(
+                e.getId(),
+                e.getPosition(),
+                nz(e.getSalary()),
+                e.getWeeklyHours() != null ? e.getWeeklyHours() : 40,
+                e.getDependents() != null ? e.getDependents() : 0,
+                Boolean.TRUE.equals(e.getTransportVoucher()),
+                nz(e.getTransportVoucherValue()),
+                nz(e.getMealVoucherValue()),
+                Boolean.TRUE.equals(e.getDangerousWork()),
+                e.getDangerousPercentage(),
+                e.getUnhealthyLevel(),
+                Boolean.TRUE.equals(e.getHealthPlan()) ? nz(e.getHealthPlanValue()) : BigDecimal.ZERO,
+                Boolean.TRUE.equals(e.getDentalPlan()) ? nz(e.getDentalPlanValue()) : BigDecimal.ZERO,
+                Boolean.TRUE.equals(e.getGym()) ? nz(e.getGymValue()) : BigDecimal.ZERO,
+                Boolean.TRUE.equals(e.getOvertimeEligible()),
+                nz(e.getOvertimeHours()));
+    }
+
+    // Cópia com outro salário base (usado em simulações de reajuste)
+    public PayrollInput withSalary(BigDecimal newSalary) {
+        return new PayrollInput(employeeId, position, nz(newSalary), weeklyHours, dependents,
+                transportVoucher, transportVoucherValue, mealVoucherValue, dangerousWork, dangerousPercentage,
+                unhealthyLevel, healthPlanDiscount, dentalPlanDiscount, gymDiscount, overtimeEligible, overtimeHours);
+    }
+
+    // Cópia com as horas extras apuradas no ponto no lugar das informadas no cadastro
+    public PayrollInput withOvertimeHours(BigDecimal hours) {
+        return new PayrollInput(employeeId, position, salary, weeklyHours, dependents,
+                transportVoucher, transportVoucherValue, mealVoucherValue, dangerousWork, dangerousPercentage,
+                unhealthyLevel, healthPlanDiscount, dentalPlanDiscount, gymDiscount, overtimeEligible, nz(hours));
+    }
+
+    private static BigDecimal nz(BigDecimal v) { return v == null ? BigDecimal.ZERO : v; }
+
+    // --- Getters ---
+
+    public Long getEmployeeId() { return employeeId; }
+    public String getPosition() { return position; }
+    public BigDecimal getSalary() { return salary; }
+    public int getWeeklyHours() { return weeklyHours; }
+    public int getDependents() { return dependents; }
+    public boolean isTransportVoucher() { return transportVoucher; }
+    public BigDecimal getTransportVoucherValue() { return transportVoucherValue; }
+    public BigDecimal getMealVoucherValue() { return mealVoucherValue; }
+    public boolean isDangerousWork() { return dangerousWork; }
+    public BigDecimal getDangerousPercentage() { return dangerousPercentage; }
+    public String getUnhealthyLevel() { return unhealthyLevel; }
+    public BigDecimal getHealthPlanDiscount() { return healthPlanDiscount; }
+    public BigDecimal getDentalPlanDiscount() { return dentalPlanDiscount; }
+    public BigDecimal getGymDiscount() { return gymDiscount; }
+    public boolean isOvertimeEligible() { return overtimeEligible; }
+    public BigDecimal getOvertimeHours() { return overtimeHours; }
+}
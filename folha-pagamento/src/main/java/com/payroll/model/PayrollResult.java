@@ -0,0 +1,76 @@
+package com.payroll.model;
+
+/*
+ * Modelo de domínio imutável com os valores calculados de um holerite.
+ * Produzido pelo motor de cálculo sem efeitos colaterais; o PayrollService o copia
+ * para a entidade persistida e as simulações apenas o agregam em memória.
+ */
+
+import java.math.BigDecimal;
+
+public final class PayrollResult {
+
+    private final BigDecimal hourlyWage;
+    private final BigDecimal dangerousBonus;
+    private final BigDecimal unhealthyBonus;
+    private final BigDecimal mealVoucherValue;
+    private final BigDecimal overtimeValue;
+    private final BigDecimal grossSalary;
+    private final BigDecimal inssDiscount;
+    private final BigDecimal irrfDiscount;
+    private final BigDecimal transportDiscount;
+    private final BigDecimal fgtsValue;
+    private final BigDecimal healthPlanDiscount;
+    private final BigDecimal dentalPlanDiscount;
+    private final BigDecimal gymDiscount;
+    // Totais das regras configuráveis (PayrollRule): proventos já somados ao bruto, descontos ao total
+    private final BigDecimal otherEarnings;
+    private final BigDecimal otherDeductions;
+    private final BigDecimal totalDiscounts;
+    private final BigDecimal netSalary;
+
+    public PayrollResult(BigDecimal hourlyWage, BigDecimal dangerousBonus, BigDecimal unhealthyBonus,
+                         BigDecimal mealVoucherValue, BigDecimal overtimeValue, BigDecimal grossSalary,
+                         BigDecimal inssDiscount, BigDecimal irrfDiscount, BigDecimal transportDiscount,
+                         BigDecimal fgtsValue, BigDecimal healthPlanDiscount, BigDecimal dentalPlanDiscount,
+                         BigDecimal gymDiscount, BigDecimal otherEarnings, BigDecimal otherDeductions,
+                         BigDecimal totalDiscounts, BigDecimal netSalary) {
+        this.hourlyWage = hourlyWage;
+        this.dangerousBonus = dangerousBonus;
+        this.unhealthyBonus = unhealthyBonus;
+        this.mealVoucherValue = mealVoucherValue;
+        this.overtimeValue = overtimeValue;
+        this.grossSalary = grossSalary;
+        this.inssDiscount = inssDiscount;
+        this.irrfDiscount = irrfDiscount;
+        this.transportDiscount = transportDiscount;
+        this.fgtsValue = fgtsValue;
+        this.healthPlanDiscount = healthPlanDiscount;
+        this.dentalPlanDiscount = dentalPlanDiscount;
+        this.gymDiscount = gymDiscount;
+        this.otherEarnings = otherEarnings;
+        this.otherDeductions = otherDeductions;
+        this.totalDiscounts = totalDiscounts;
+        this.netSalary = netSalary;
+    }
+
+    // --- Getters ---
+
+    public BigDecimal getHourlyWage() { return hourlyWage; }
+    public BigDecimal getDangerousBonus() { return dangerousBonus; }
+    public BigDecimal getUnhealthyBonus() { return unhealthyBonus; }
+    public BigDecimal getMealVoucherValue() { return mealVoucherValue; }
+    public BigDecimal getOvertimeValue() { return overtimeValue; }
+    public BigDecimal getGrossSalary() { return grossSalary; }
+    public BigDecimal getInssDiscount() { return inssDiscount; }
+    public BigDecimal getIrrfDiscount() { return irrfDiscount; }
+    public BigDecimal getTransportDiscount() { return transportDiscount; }
+    public BigDecimal getFgtsValue() { return fgtsValue; }
+    public BigDecimal getHealthPlanDiscount() { return healthPlanDiscount; }
+    public BigDecimal getDentalPlanDiscount() { return dentalPlanDiscount; }
+    public BigDecimal getGymDiscount() { return gymDiscount; }
+    public BigDecimal getOtherEarnings() { return otherEarnings; }
+    public BigDecimal getOtherDeductions() { return otherDeductions; }
+    public BigDecimal getTotalDiscounts() { return totalDiscounts; }
+    public BigDecimal getNetSalary() { return netSalary; }
+}
@@ -0,0 +1,37 @@
+package com.payroll.repository;
+
+/*
+ * Interface de repositório do barramento de invalidação de cache.
+ * A leitura incremental usa apenas a chave primária (ID > cursor), então cada varredura
+ * das instâncias é uma busca por faixa no índice, sem varrer a tabela.
+ */
+
+import com.payroll.entity.CacheInvalidation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CacheInvalidationRepository extends BaseRepository<CacheInvalidation, Long> {
+
+    // Próximo lote após o cursor da instância
+    List<CacheInvalidation> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Releitura das lacunas (IDs reservados por transações que ainda não tinham confirmado)
+    List<CacheInvalidation> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    // Posição inicial do cursor: o que já foi gravado antes da instância subir não precisa ser aplicado
+    @Query("select coalesce(max(c.id), 0) from CacheInvalidation c")
+    long findMaxId();
+
+    // Limpeza das linhas já lidas por todas as instâncias
+    @Modifying
+    @Query("delete from CacheInvalidation c where c.createdAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,64 @@
+package com.payroll.repository;
+
+/*
+ * Interface de repositório dos totais mensais próprios de cada departamento.
+ * Assim como o razão mensal, as escritas são comandos atômicos no banco (incremento e reconstrução).
+ */
+
+import com.payroll.entity.DepartmentMonthTotals;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DepartmentMonthTotalsRepository extends BaseRepository<DepartmentMonthTotals, DepartmentMonthTotals.Key> {
+
+    List<DepartmentMonthTotals> findByReferenceMonth(String referenceMonth);
+
+    // Somar um holerite à linha do departamento; retorna 0 quando a linha ainda não existe
+    @Modifying(flushAutomatically = true)
+    @Query("update DepartmentMonthTotals t set t.headcount = t.headcount + 1, t.totalGross = t.totalGross + :gross, "
+            + "t.totalNet = t.totalNet + :net, t.totalFgts = t.totalFgts + :fgts, t.updatedAt = :updatedAt "
+            + "where t.departmentId = :departmentId and t.referenceMonth = :referenceMonth")
+    int increment(@Param("departmentId") Long departmentId,
+                  @Param("referenceMonth") String referenceMonth,
+                  @Param("gross") BigDecimal gross,
+                  @Param("net") BigDecimal net,
+                  @Param("fgts") BigDecimal fgts,
+                  @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Criar a linha do departamento na competência se ainda não existir, agregando os holerites já confirmados.
+    // Roda em transação própria: sem linha, o INSERT concorrente de outra transação vira chave duplicada
+    @Modifying
+    @Query(value = "INSERT INTO department_month_totals (department_id, reference_month, headcount, total_gross, "
+            + "total_net, total_fgts, updated_at) "
+            + "SELECT :departmentId, :referenceMonth, a.headcount, a.gross, a.net, a.fgts, CURRENT_TIMESTAMP "
+            + "FROM (SELECT COUNT(*) AS headcount, COALESCE(SUM(gross_salary), 0) AS gross, "
+            + "COALESCE(SUM(net_salary), 0) AS net, COALESCE(SUM(fgts_value), 0) AS fgts "
+            + "FROM payroll_calculations WHERE reference_month = :referenceMonth AND department_id = :departmentId) a "
+            + "WHERE NOT EXISTS (SELECT 1 FROM department_month_totals t "
+            + "WHERE t.department_id = :departmentId AND t.reference_month = :referenceMonth)",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("referenceMonth") String referenceMonth, @Param("departmentId") Long departmentId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from DepartmentMonthTotals t where t.referenceMonth = :referenceMonth")
+    int deleteTotals(@Param("referenceMonth") String referenceMonth);
+
+    // Reconstruir as linhas da competência a partir dos holerites (um departamento, ou todos com nulo)
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO department_month_totals (department_id, reference_month, headcount, total_gross, "
+            + "total_net, total_fgts, updated_at) "
+            + "SELECT department_id, reference_month, COUNT(*), COALESCE(SUM(gross_salary), 0), "
+            + "COALESCE(SUM(net_salary), 0), COALESCE(SUM(fgts_value), 0), CURRENT_TIMESTAMP "
+            + "FROM payroll_calculations WHERE reference_month = :referenceMonth AND department_id IS NOT NULL "
+            + "AND (CAST(:departmentId AS BIGINT) IS NULL OR department_id = :departmentId) "
+            + "GROUP BY department_id, reference_month",
+           nativeQuery = true)
+    int insertFromPayrolls(@Param("referenceMonth") String referenceMonth, @Param("departmentId") Long departmentId);
+}
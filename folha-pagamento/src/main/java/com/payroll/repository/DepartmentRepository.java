@@ -0,0 +1,33 @@
+package com.payroll.repository;
+
+/*
+ * Interface de repositório para a árvore de departamentos.
+ * A ordenação pelo caminho materializado devolve cada pai antes dos seus filhos;
+ * mover um nó reescreve o prefixo de toda a subárvore com um único UPDATE.
+ */
+
+import com.payroll.entity.Department;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DepartmentRepository extends BaseRepository<Department, Long> {
+
+    List<Department> findAllByOrderByPathAsc();
+
+    boolean existsByCode(String code);
+
+    // Trocar o prefixo do caminho e ajustar a profundidade do nó e de todos os descendentes
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE departments SET path = CONCAT(:newPrefix, SUBSTRING(path, :oldLength + 1)), "
+            + "depth = depth + :depthDelta WHERE path LIKE CONCAT(:oldPrefix, '%')",
+           nativeQuery = true)
+    int moveSubtree(@Param("oldPrefix") String oldPrefix,
+                    @Param("oldLength") int oldLength,
+                    @Param("newPrefix") String newPrefix,
+                    @Param("depthDelta") int depthDelta);
+}
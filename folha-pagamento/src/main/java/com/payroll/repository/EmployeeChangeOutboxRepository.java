@@ -0,0 +1,23 @@
+package com.payroll.repository;
+
+/*
+ * Interface de repositório para o outbox de alterações de funcionários.
+ * Fornece a leitura incremental do feed a partir de um cursor (sequence),
+ * sem necessidade de varrer a tabela 'employees'.
+ */
+
+import com.payroll.entity.EmployeeChangeOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EmployeeChangeOutboxRepository extends BaseRepository<EmployeeChangeOutbox, Long> {
+
+    // Ler o próximo lote do feed após o último cursor processado pelo consumidor
+    List<EmployeeChangeOutbox> findBySequenceGreaterThanOrderBySequenceAsc(Long sequence, Pageable pageable);
+
+    // Histórico de alterações de um funcionário específico (auditoria)
+    List<EmployeeChangeOutbox> findByEmployeeIdOrderBySequenceAsc(Long employeeId);
+}
@@ -0,0 +1,40 @@
+package com.payroll.repository;
+
+/*
+ * Interface de repositório para o histórico de remuneração de funcionários.
+ * As versões são lidas já ordenadas por funcionário e início de vigência, prontas para
+ * montar a linha do tempo usada na resolução "vigente em" (as-of) do cálculo da folha.
+ */
+
+import com.payroll.entity.EmployeeCompensation;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EmployeeCompensationRepository extends BaseRepository<EmployeeCompensation, Long> {
+
+    List<EmployeeCompensation> findByEmployeeIdOrderByValidFromAsc(Long employeeId);
+
+    // Carga em lote das linhas do tempo de vários funcionários (uma consulta por bloco de IDs)
+    List<EmployeeCompensation> findByEmployeeIdInOrderByEmployeeIdAscValidFromAsc(Collection<Long> employeeIds);
+
+    Optional<EmployeeCompensation> findByEmployeeIdAndValidFrom(Long employeeId, LocalDate validFrom);
+
+    Optional<EmployeeCompensation> findFirstByEmployeeIdOrderByValidFromDesc(Long employeeId);
+
+    // Funcionários sem nenhuma versão (cadastros anteriores ao histórico)
+    @Query("SELECT e.id FROM Employee e WHERE NOT EXISTS "
+            + "(SELECT 1 FROM EmployeeCompensation c WHERE c.employeeId = e.id)")
+    List<Long> findEmployeeIdsWithoutHistory();
+
+    @Modifying
+    @Query("DELETE FROM EmployeeCompensation c WHERE c.employeeId = :employeeId")
+    int deleteByEmployee(@Param("employeeId") Long employeeId);
+}
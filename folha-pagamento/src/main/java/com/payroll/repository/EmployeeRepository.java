@@ -6,7 +6,10 @@ package com.payroll.repository;
  * incluindo buscas específicas por CPF, nome e relatórios de admissão recente.
  */
 
+import com.payroll.dtos.employee.EmployeePositionSummaryDTO;
 import com.payroll.entity.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -25,4 +28,12 @@ public interface EmployeeRepository extends BaseRepository<Employee, Long> {
 
     // Retornar as 5 admissões mais recentes (utilizado para widget de "Recentes" no Dashboard)
     java.util.List<Employee> findTop5ByOrderByAdmissionDateDesc();
+
+    // Quadro por cargo (contagem e estatísticas de salário) agregado no banco
+    @Query("select new com.payroll.dtos.employee.EmployeePositionSummaryDTO(e.position, count(e), "
+            + "sum(e.salary), min(e.salary), max(e.salary)) from Employee e group by e.position order by e.position")
+    java.util.List<EmployeePositionSummaryDTO> summarizeByPosition();
+
+    // Próximo bloco de uma faixa de IDs, em ordem (fechamento em lote por partição)
+    java.util.List<Employee> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long afterId, Long upToId, Pageable pageable);
 }
\ No newline at end of file
@@ -6,9 +6,15 @@ package com.payroll.repository;
  * permitindo consultas por funcionário, período de competência e estatísticas gerais.
  */
 
+import com.payroll.dtos.report.PayrollSummaryRowDTO;
 import com.payroll.entity.PayrollCalculation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +30,61 @@ public interface PayrollCalculationRepository extends BaseRepository<PayrollCalc
     // Recuperar a última folha processada no sistema (para exibir "Último processamento" no Dashboard)
     Optional<PayrollCalculation> findTopByOrderByCreatedAtDesc();
 
+    // Carregar as folhas de uma competência já com o funcionário (evita N+1 no recálculo do mês)
+    @Query("select pc from PayrollCalculation pc join fetch pc.employee where pc.referenceMonth = :referenceMonth")
+    List<PayrollCalculation> findByReferenceMonthFetchEmployee(@Param("referenceMonth") String referenceMonth);
+
+    // Funcionários de um bloco que já têm holerite na competência (ignorados no fechamento em lote)
+    @Query("select pc.employee.id from PayrollCalculation pc "
+            + "where pc.referenceMonth = :referenceMonth and pc.employee.id in :employeeIds")
+    List<Long> findEmployeeIdsWithPayroll(@Param("referenceMonth") String referenceMonth,
+                                          @Param("employeeIds") List<Long> employeeIds);
+
     // Contar quantas folhas foram geradas em um determinado mês (para estatísticas/dashboard)
     long countByReferenceMonth(String referenceMonth);
+
+    // Auditoria: bruto não positivo ou descontos que consomem todo o bruto (comparação sobre a coluna persistida).
+    // A comparação entre colunas não usa índice: a competência filtra pelo índice (reference_month, employee_id)
+    @Query(value = "select pc from PayrollCalculation pc join fetch pc.employee "
+            + "where pc.referenceMonth = :referenceMonth "
+            + "and (pc.grossSalary <= 0 or pc.totalDiscounts >= pc.grossSalary)",
+           countQuery = "select count(pc) from PayrollCalculation pc "
+            + "where pc.referenceMonth = :referenceMonth "
+            + "and (pc.grossSalary <= 0 or pc.totalDiscounts >= pc.grossSalary)")
+    Page<PayrollCalculation> findEdgeCasesByReferenceMonth(@Param("referenceMonth") String referenceMonth, Pageable pageable);
+
+    // Auditoria de todas as competências (varredura da tabela)
+    @Query(value = "select pc from PayrollCalculation pc join fetch pc.employee "
+            + "where pc.grossSalary <= 0 or pc.totalDiscounts >= pc.grossSalary",
+           countQuery = "select count(pc) from PayrollCalculation pc "
+            + "where pc.grossSalary <= 0 or pc.totalDiscounts >= pc.grossSalary")
+    Page<PayrollCalculation> findEdgeCases(Pageable pageable);
+
+    // Soma de todos os descontos já aplicados a um funcionário
+    @Query("select coalesce(sum(pc.totalDiscounts), 0) from PayrollCalculation pc where pc.employee.id = :employeeId")
+    BigDecimal sumTotalDiscountsByEmployeeId(@Param("employeeId") Long employeeId);
+
+    // Resumo agregado por competência calculado no banco (uma linha por mês)
+    @Query("select new com.payroll.dtos.report.PayrollSummaryRowDTO(pc.referenceMonth, count(pc), "
+            + "sum(pc.grossSalary), sum(pc.netSalary), sum(pc.inssDiscount), sum(pc.irpfDiscount), sum(pc.fgtsValue), "
+            + "min(pc.netSalary), max(pc.netSalary)) "
+            + "from PayrollCalculation pc group by pc.referenceMonth order by pc.referenceMonth")
+    List<PayrollSummaryRowDTO> summarizeByMonth();
+
+    // Resumo agregado por cargo do funcionário em uma competência (filtra pelo índice de reference_month)
+    @Query("select new com.payroll.dtos.report.PayrollSummaryRowDTO(e.position, count(pc), "
+            + "sum(pc.grossSalary), sum(pc.netSalary), sum(pc.inssDiscount), sum(pc.irpfDiscount), sum(pc.fgtsValue), "
+            + "min(pc.netSalary), max(pc.netSalary)) "
+            + "from PayrollCalculation pc join pc.employee e "
+            + "where pc.referenceMonth = :referenceMonth "
+            + "group by e.position order by e.position")
+    List<PayrollSummaryRowDTO> summarizeByPositionAndReferenceMonth(@Param("referenceMonth") String referenceMonth);
+
+    // Resumo agregado por cargo de todas as competências (varredura da tabela)
+    @Query("select new com.payroll.dtos.report.PayrollSummaryRowDTO(e.position, count(pc), "
+            + "sum(pc.grossSalary), sum(pc.netSalary), sum(pc.inssDiscount), sum(pc.irpfDiscount), sum(pc.fgtsValue), "
+            + "min(pc.netSalary), max(pc.netSalary)) "
+            + "from PayrollCalculation pc join pc.employee e "
+            + "group by e.position order by e.position")
+    List<PayrollSummaryRowDTO> summarizeByPosition();
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.payroll.repository;
+
+/*
+ * Interface de repositório para as chaves de idempotência do cálculo de folha.
+ * A própria chave é a PK: a inserção concorrente da mesma chave falha no banco
+ * e o pedido perdedor passa a ler o registro vencedor.
+ */
+
+import com.payroll.entity.PayrollIdempotencyKey;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PayrollIdempotencyKeyRepository extends BaseRepository<PayrollIdempotencyKey, String> {}
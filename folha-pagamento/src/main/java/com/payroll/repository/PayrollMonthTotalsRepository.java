@@ -0,0 +1,80 @@
+package com.payroll.repository;
+
+/*
+ * Interface de repositório para o razão mensal da folha (payroll_month_totals).
+ * As escritas são feitas por comandos atômicos no banco (incremento e reconstrução),
+ * evitando ler-modificar-gravar a linha do mês quando vários holerites são gravados ao mesmo tempo.
+ */
+
+import com.payroll.dtos.payroll.PayrollMonthTotalsDTO;
+import com.payroll.entity.PayrollMonthTotals;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PayrollMonthTotalsRepository extends BaseRepository<PayrollMonthTotals, String> {
+
+    // Leitura de uma única linha já consolidada (projeção direto do banco, sem entidade gerenciada)
+    @Query("select new com.payroll.dtos.payroll.PayrollMonthTotalsDTO(t.referenceMonth, t.headcount, t.totalGross, "
+            + "t.totalNet, t.totalInss, t.totalIrrf, t.totalFgts, t.updatedAt) "
+            + "from PayrollMonthTotals t where t.referenceMonth = :referenceMonth")
+    Optional<PayrollMonthTotalsDTO> findTotals(@Param("referenceMonth") String referenceMonth);
+
+    @Query("select t.headcount from PayrollMonthTotals t where t.referenceMonth = :referenceMonth")
+    Optional<Long> findHeadcount(@Param("referenceMonth") String referenceMonth);
+
+    @Query("select new com.payroll.dtos.payroll.PayrollMonthTotalsDTO(t.referenceMonth, t.headcount, t.totalGross, "
+            + "t.totalNet, t.totalInss, t.totalIrrf, t.totalFgts, t.updatedAt) "
+            + "from PayrollMonthTotals t order by t.referenceMonth")
+    List<PayrollMonthTotalsDTO> findAllTotals();
+
+    // Somar um holerite à linha do mês; retorna 0 quando a competência ainda não tem linha
+    @Modifying(flushAutomatically = true)
+    @Query("update PayrollMonthTotals t set t.headcount = t.headcount + 1, t.totalGross = t.totalGross + :gross, "
+            + "t.totalNet = t.totalNet + :net, t.totalInss = t.totalInss + :inss, t.totalIrrf = t.totalIrrf + :irrf, "
+            + "t.totalFgts = t.totalFgts + :fgts, t.updatedAt = :updatedAt where t.referenceMonth = :referenceMonth")
+    int increment(@Param("referenceMonth") String referenceMonth,
+                  @Param("gross") BigDecimal gross,
+                  @Param("net") BigDecimal net,
+                  @Param("inss") BigDecimal inss,
+                  @Param("irrf") BigDecimal irrf,
+                  @Param("fgts") BigDecimal fgts,
+                  @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Criar a linha do mês se ainda não existir, agregando os holerites já confirmados da competência.
+    // Roda em transação própria: sem linha, o INSERT concorrente de outra transação vira chave duplicada
+    @Modifying
+    @Query(value = "INSERT INTO payroll_month_totals (reference_month, headcount, total_gross, total_net, "
+            + "total_inss, total_irrf, total_fgts, updated_at) "
+            + "SELECT :referenceMonth, a.headcount, a.gross, a.net, a.inss, a.irrf, a.fgts, CURRENT_TIMESTAMP "
+            + "FROM (SELECT COUNT(*) AS headcount, COALESCE(SUM(gross_salary), 0) AS gross, "
+            + "COALESCE(SUM(net_salary), 0) AS net, COALESCE(SUM(inss_discount), 0) AS inss, "
+            + "COALESCE(SUM(irpf_discount), 0) AS irrf, COALESCE(SUM(fgts_value), 0) AS fgts "
+            + "FROM payroll_calculations WHERE reference_month = :referenceMonth) a "
+            + "WHERE NOT EXISTS (SELECT 1 FROM payroll_month_totals t WHERE t.reference_month = :referenceMonth)",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("referenceMonth") String referenceMonth);
+
+    // Remover as linhas de uma competência (ou de todas, com mês nulo) antes da reconstrução
+    @Modifying(flushAutomatically = true)
+    @Query("delete from PayrollMonthTotals t where (:referenceMonth is null or t.referenceMonth = :referenceMonth)")
+    int deleteTotals(@Param("referenceMonth") String referenceMonth);
+
+    // Reconstruir as linhas agregando os holerites gravados (uma competência ou todas, com mês nulo)
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO payroll_month_totals (reference_month, headcount, total_gross, total_net, "
+            + "total_inss, total_irrf, total_fgts, updated_at) "
+            + "SELECT reference_month, COUNT(*), COALESCE(SUM(gross_salary), 0), COALESCE(SUM(net_salary), 0), "
+            + "COALESCE(SUM(inss_discount), 0), COALESCE(SUM(irpf_discount), 0), COALESCE(SUM(fgts_value), 0), "
+            + "CURRENT_TIMESTAMP FROM payroll_calculations "
+            + "WHERE (:referenceMonth IS NULL OR reference_month = :referenceMonth) GROUP BY reference_month",
+           nativeQuery = true)
+    int insertFromPayrolls(@Param("referenceMonth") String referenceMonth);
+}
@@ -0,0 +1,21 @@
+package com.payroll.repository;
+
+/*
+ * Interface de repositório para as regras configuráveis de proventos e descontos.
+ * As regras ativas são lidas já na ordem de execução para compor o conjunto compilado.
+ */
+
+import com.payroll.entity.PayrollRule;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PayrollRuleRepository extends BaseRepository<PayrollRule, Long> {
+
+    List<PayrollRule> findByActiveTrueOrderByPriorityAscIdAsc();
+
+    List<PayrollRule> findAllByOrderByKindAscPriorityAscIdAsc();
+
+    boolean existsByCode(String code);
+}
@@ -0,0 +1,91 @@
+package com.payroll.repository;
+
+/*
+ * Interface de repositório das partições dos fechamentos de folha em lote.
+ * Posse, renovação e conclusão são UPDATEs condicionais (compare-and-set) no banco:
+ * a linha só muda se ainda estiver no estado esperado, o que basta para coordenar
+ * várias instâncias da aplicação sem travas externas.
+ */
+
+import com.payroll.entity.PayrollRunPartition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PayrollRunPartitionRepository extends BaseRepository<PayrollRunPartition, Long> {
+
+    List<PayrollRunPartition> findByReferenceMonthOrderByRangeStartAsc(String referenceMonth);
+
+    long countByReferenceMonthAndStatusNot(String referenceMonth, String status);
+
+    // Partições disponíveis (uma competência, ou todas com nulo): pendentes, com concessão vencida
+    // ou com falha ainda dentro do limite de tentativas
+    @Query("select p.id from PayrollRunPartition p "
+            + "where (:referenceMonth is null or p.referenceMonth = :referenceMonth) "
+            + "and (p.status = 'PENDING' or (p.status = 'RUNNING' and p.leaseExpiresAt < :now) "
+            + "or (p.status = 'FAILED' and p.attempts < :maxAttempts)) "
+            + "order by p.referenceMonth, p.rangeStart")
+    List<Long> findClaimable(@Param("referenceMonth") String referenceMonth,
+                             @Param("now") LocalDateTime now,
+                             @Param("maxAttempts") int maxAttempts,
+                             Pageable pageable);
+
+    // Tomar a partição se ela ainda estiver disponível; 0 = outra instância chegou antes
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update PayrollRunPartition p set p.status = 'RUNNING', p.owner = :owner, "
+            + "p.leaseToken = p.leaseToken + 1, p.leaseExpiresAt = :expiresAt, p.heartbeatAt = :now, "
+            + "p.attempts = p.attempts + 1, p.startedAt = coalesce(p.startedAt, :now) "
+            + "where p.id = :id and (p.status = 'PENDING' or (p.status = 'RUNNING' and p.leaseExpiresAt < :now) "
+            + "or (p.status = 'FAILED' and p.attempts < :maxAttempts))")
+    int claim(@Param("id") Long id,
+              @Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("expiresAt") LocalDateTime expiresAt,
+              @Param("maxAttempts") int maxAttempts);
+
+    // Registrar o progresso de um bloco e renovar a concessão; 0 = a posse foi perdida
+    @Modifying(flushAutomatically = true)
+    @Query("update PayrollRunPartition p set p.cursorEmployeeId = :cursor, p.processed = p.processed + :processed, "
+            + "p.skipped = p.skipped + :skipped, p.failed = p.failed + :failed, "
+            + "p.lastError = coalesce(:lastError, p.lastError), p.leaseExpiresAt = :expiresAt, p.heartbeatAt = :now "
+            + "where p.id = :id and p.leaseToken = :token and p.status = 'RUNNING'")
+    int advance(@Param("id") Long id,
+                @Param("token") long token,
+                @Param("cursor") Long cursor,
+                @Param("processed") int processed,
+                @Param("skipped") int skipped,
+                @Param("failed") int failed,
+                @Param("lastError") String lastError,
+                @Param("now") LocalDateTime now,
+                @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Encerrar a posse com o estado final (DONE ou FAILED); 0 = a posse já havia sido perdida
+    @Modifying(flushAutomatically = true)
+    @Query("update PayrollRunPartition p set p.status = :status, p.lastError = coalesce(:lastError, p.lastError), "
+            + "p.leaseExpiresAt = null, p.finishedAt = :now "
+            + "where p.id = :id and p.leaseToken = :token and p.status = 'RUNNING'")
+    int release(@Param("id") Long id,
+                @Param("token") long token,
+                @Param("status") String status,
+                @Param("lastError") String lastError,
+                @Param("now") LocalDateTime now);
+
+    // Devolver ao rodízio as partições que esgotaram as tentativas (novo pedido de fechamento)
+    @Modifying(flushAutomatically = true)
+    @Query("update PayrollRunPartition p set p.attempts = 0 where p.referenceMonth = :referenceMonth and p.status = 'FAILED'")
+    int retryFailed(@Param("referenceMonth") String referenceMonth);
+
+    // Nova execução de uma competência já fechada: todas as partições voltam a pendentes
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update PayrollRunPartition p set p.status = 'PENDING', p.owner = null, p.leaseExpiresAt = null, "
+            + "p.cursorEmployeeId = null, p.attempts = 0, p.processed = 0, p.skipped = 0, p.failed = 0, "
+            + "p.lastError = null, p.calculatedBy = :calculatedBy, p.startedAt = null, p.finishedAt = null "
+            + "where p.referenceMonth = :referenceMonth")
+    int reset(@Param("referenceMonth") String referenceMonth, @Param("calculatedBy") Long calculatedBy);
+}
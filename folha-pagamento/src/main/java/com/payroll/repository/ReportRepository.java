@@ -8,6 +8,9 @@ package com.payroll.repository;
 
 import com.payroll.entity.Report;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -20,4 +23,9 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
 
     // Listar todo o histórico de relatórios gerados para um funcionário específico
     List<Report> findByEmployeeId(Long employeeId);
+
+    // Remover os relatórios de um lote (tipo + competência) antes de regravá-lo
+    @Modifying
+    @Query("delete from Report r where r.reportType = :reportType and r.referenceMonth = :referenceMonth")
+    int deleteBatch(@Param("reportType") String reportType, @Param("referenceMonth") String referenceMonth);
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.payroll.repository;
+
+/*
+ * Interface de repositório para os holerites especiais (13º salário e férias).
+ * Os lotes são substituídos por inteiro: a exclusão por tipo e competência é um único DELETE.
+ */
+
+import com.payroll.entity.SpecialPayslip;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SpecialPayslipRepository extends BaseRepository<SpecialPayslip, Long> {
+
+    List<SpecialPayslip> findByKindAndReferenceMonthOrderByEmployeeIdAsc(String kind, String referenceMonth);
+
+    // Holerite especial de um funcionário na competência, restrito aos tipos do relatório
+    List<SpecialPayslip> findByEmployeeIdAndReferenceMonthAndKindIn(Long employeeId, String referenceMonth,
+                                                                     Collection<String> kinds);
+
+    @Modifying
+    @Query("delete from SpecialPayslip sp where sp.kind = :kind and sp.referenceMonth = :referenceMonth")
+    int deleteBatch(@Param("kind") String kind, @Param("referenceMonth") String referenceMonth);
+}
@@ -0,0 +1,17 @@
+package com.payroll.serialization;
+/*
+ * Serialização das alterações de campos de Employee.
+ * Converte a lista de mudanças para o JSON gravado no outbox
+ * e reconstrói a lista ao entregar o feed aos consumidores.
+ */
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.payroll.model.EmployeeFieldChange;
+import org.springframework.stereotype.Service;
+
+@Service
+public class EmployeeFieldChangeSerializationService extends AbstractJacksonSerializationService<EmployeeFieldChange> {
+    public EmployeeFieldChangeSerializationService(ObjectMapper objectMapper) {
+        super(objectMapper, EmployeeFieldChange.class);
+    }
+}
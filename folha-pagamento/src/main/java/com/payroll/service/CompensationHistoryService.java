@@ -0,0 +1,280 @@
+package com.payroll.service;
+
+/*
+ * Serviço do histórico de remuneração com vigência por data e resolução "vigente em" (as-of).
+ * Cada alteração de salário, jornada, dependentes ou benefícios grava uma nova versão; o cálculo
+ * de uma competência usa a versão vigente no último dia do mês. As versões de cada funcionário
+ * ficam em memória como uma linha do tempo ordenada (datas em um array primitivo, busca binária),
+ * e recálculos em massa carregam as linhas do tempo em lote, sem uma consulta por funcionário.
+ */
+
+import com.payroll.dtos.employee.EmployeeCompensationDTO;
+import com.payroll.entity.CacheInvalidation;
+import com.payroll.entity.Employee;
+import com.payroll.entity.EmployeeCompensation;
+import com.payroll.event.CacheInvalidatedEvent;
+import com.payroll.exception.DatabaseConnectionException;
+import com.payroll.exception.InputValidationException;
+import com.payroll.repository.EmployeeCompensationRepository;
+import com.payroll.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class CompensationHistoryService {
+
+    // Campos do cadastro que, quando alterados, geram uma nova versão
+    public static final Set<String> TRACKED_FIELDS = Set.of(
+            "position", "salary", "weeklyHours", "dependents",
+            "transportVoucher", "transportVoucherValue", "mealVoucher", "mealVoucherValue",
+            "dangerousWork", "dangerousPercentage", "unhealthyWork", "unhealthyLevel",
+            "healthPlan", "healthPlanValue", "dentalPlan", "dentalPlanValue", "gym", "gymValue",
+            "overtimeEligible", "overtimeHours");
+
+    // IDs por consulta na carga em lote (limita o tamanho da cláusula IN)
+    static final int PRELOAD_CHUNK = 1_000;
+
+    @Autowired
+    private EmployeeCompensationRepository compensationRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    // Linhas do tempo confirmadas, por funcionário (vazia = funcionário sem histórico)
+    private final Map<Long, Timeline> timelines = new ConcurrentHashMap<>();
+
+    // Incrementada a cada descarte: linhas do tempo lidas antes dele não entram no cache
+    private final AtomicLong generation = new AtomicLong();
+
+    // Gravar a remuneração atual do cadastro vigente a partir da data; mesma data substitui a versão.
+    // Data nula: hoje (ou a última vigência, se ainda futura, como na admissão agendada)
+    @Transactional
+    public EmployeeCompensation record(Employee employee, LocalDate effectiveFrom) {
+        try {
+            EmployeeCompensation latest = compensationRepository
+                    .findFirstByEmployeeIdOrderByValidFromDesc(employee.getId()).orElse(null);
+            LocalDate validFrom = effectiveFrom;
+            if (validFrom == null) {
+                validFrom = LocalDate.now();
+                if (latest != null && latest.getValidFrom().isAfter(validFrom)) validFrom = latest.getValidFrom();
+            }
+            if (latest != null && validFrom.isBefore(latest.getValidFrom())) {
+                throw new InputValidationException("Inicio de vigencia anterior a ultima versao registrada",
+                        Map.of("validFrom", validFrom.toString(), "latestValidFrom", latest.getValidFrom().toString()));
+            }
+            EmployeeCompensation version;
+            if (latest != null && latest.getValidFrom().equals(validFrom)) {
+                latest.copyFrom(employee);
+                version = latest;
+            } else {
+                version = EmployeeCompensation.of(employee, validFrom);
+            }
+            EmployeeCompensation saved = compensationRepository.save(version);
+            markWritten(employee.getId());
+            return saved;
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao gravar historico de remuneracao", e);
+        }
+    }
+
+    // Versão inicial de um cadastro novo: vigente desde a admissão
+    @Transactional
+    public EmployeeCompensation recordInitial(Employee employee) {
+        return record(employee, initialValidFrom(employee));
+    }
+
+    @Transactional
+    public void deleteHistory(Long employeeId) {
+        compensationRepository.deleteByEmployee(employeeId);
+        markWritten(employeeId);
+    }
+
+    // Funcionário com a remuneração vigente no último dia da competência. A versão mais recente é o
+    // próprio cadastro (sem cópia); só competências cobertas por versões anteriores recebem uma cópia
+    public Employee asOf(Employee employee, String referenceMonth) {
+        if (employee == null || employee.getId() == null) return employee;
+        Timeline timeline = timeline(employee.getId());
+        EmployeeCompensation version = timeline.at(endOfMonth(referenceMonth));
+        return version == null || version == timeline.latest() ? employee : version.applyTo(employee);
+    }
+
+    // Carregar em lote as linhas do tempo ainda não cacheadas (antes de recálculos em massa)
+    public void preload(Collection<Long> employeeIds) {
+        List<Long> missing = new ArrayList<>();
+        Set<Long> written = writtenInTransaction();
+        for (Long id : employeeIds) {
+            if (id != null && !timelines.containsKey(id) && !written.contains(id)) missing.add(id);
+        }
+        try {
+            for (int from = 0; from < missing.size(); from += PRELOAD_CHUNK) {
+                List<Long> chunk = missing.subList(from, Math.min(from + PRELOAD_CHUNK, missing.size()));
+                long startedAt = generation.get();
+                List<EmployeeCompensation> rows = compensationRepository.findByEmployeeIdInOrderByEmployeeIdAscValidFromAsc(chunk);
+                if (generation.get() != startedAt) continue;
+                // Linhas ordenadas por funcionário: cada trecho contíguo é uma linha do tempo
+                int start = 0;
+                for (int i = 1; i <= rows.size(); i++) {
+                    if (i == rows.size() || !rows.get(i).getEmployeeId().equals(rows.get(start).getEmployeeId())) {
+                        timelines.put(rows.get(start).getEmployeeId(), Timeline.of(rows.subList(start, i)));
+                        start = i;
+                    }
+                }
+                for (Long id : chunk) timelines.putIfAbsent(id, Timeline.EMPTY);
+            }
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao carregar historico de remuneracao", e);
+        }
+    }
+
+    // Histórico completo de um funcionário, da versão mais antiga à atual (auditoria)
+    public List<EmployeeCompensationDTO> history(Long employeeId) {
+        try {
+            return compensationRepository.findByEmployeeIdOrderByValidFromAsc(employeeId).stream()
+                    .map(EmployeeCompensationDTO::fromEntity)
+                    .toList();
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao consultar historico de remuneracao", e);
+        }
+    }
+
+    // Criar a versão inicial dos cadastros anteriores ao histórico; devolve quantas foram criadas
+    @Transactional
+    public int backfill() {
+        List<Long> ids = compensationRepository.findEmployeeIdsWithoutHistory();
+        for (int from = 0; from < ids.size(); from += PRELOAD_CHUNK) {
+            List<EmployeeCompensation> versions = new ArrayList<>();
+            for (Employee e : employeeRepository.findAllById(ids.subList(from, Math.min(from + PRELOAD_CHUNK, ids.size())))) {
+                versions.add(EmployeeCompensation.of(e, initialValidFrom(e)));
+            }
+            compensationRepository.saveAll(versions);
+        }
+        evictAll();
+        return ids.size();
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        timelines.clear();
+    }
+
+    // Histórico gravado em outra instância: descartar a linha do tempo cacheada aqui
+    @EventListener(condition = "#event.remote")
+    public void onInvalidated(CacheInvalidatedEvent event) {
+        if (!event.isFor(CacheInvalidation.EMPLOYEE)) return;
+        if (event.isBulk()) {
+            evictAll();
+        } else {
+            evict(event.getEntityId());
+        }
+    }
+
+    // --- Infraestrutura ---
+
+    private Timeline timeline(Long employeeId) {
+        Timeline cached = timelines.get(employeeId);
+        if (cached != null) return cached;
+        long startedAt = generation.get();
+        Timeline loaded;
+        try {
+            loaded = Timeline.of(compensationRepository.findByEmployeeIdOrderByValidFromAsc(employeeId));
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao carregar historico de remuneracao", e);
+        }
+        // Versões gravadas na transação corrente ainda não foram confirmadas: não compartilhar.
+        // Um descarte durante a leitura (commit de outra transação) pode ter chegado depois da consulta
+        if (!writtenInTransaction().contains(employeeId) && generation.get() == startedAt) {
+            timelines.put(employeeId, loaded);
+        }
+        return loaded;
+    }
+
+    private void evict(Long employeeId) {
+        generation.incrementAndGet();
+        timelines.remove(employeeId);
+    }
+
+    // Descartar a linha do tempo agora e novamente ao fim da transação (commit ou rollback)
+    @SuppressWarnings("unchecked")
+    private void markWritten(Long employeeId) {
+        evict(employeeId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        Set<Long> written = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (written == null) {
+            Set<Long> created = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CompensationHistoryService.this);
+                    created.forEach(CompensationHistoryService.this::evict);
+                }
+            });
+            written = created;
+        }
+        written.add(employeeId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Long> writtenInTransaction() {
+        Object written = TransactionSynchronizationManager.getResource(this);
+        return written != null ? (Set<Long>) written : Set.of();
+    }
+
+    private static LocalDate initialValidFrom(Employee e) {
+        if (e.getAdmissionDate() != null) return e.getAdmissionDate();
+        return e.getCreatedAt() != null ? e.getCreatedAt().toLocalDate() : LocalDate.now();
+    }
+
+    private static LocalDate endOfMonth(String referenceMonth) {
+        return ReferenceMonths.parse(referenceMonth).atEndOfMonth();
+    }
+
+    // Versões de um funcionário ordenadas pelo início de vigência (dias desde a época em array primitivo)
+    static final class Timeline {
+
+        static final Timeline EMPTY = new Timeline(new long[0], new EmployeeCompensation[0]);
+
+        private final long[] validFrom;
+        private final EmployeeCompensation[] versions;
+
+        private Timeline(long[] validFrom, EmployeeCompensation[] versions) {
+            this.validFrom = validFrom;
+            this.versions = versions;
+        }
+
+        static Timeline of(List<EmployeeCompensation> sorted) {
+            long[] days = new long[sorted.size()];
+            EmployeeCompensation[] versions = sorted.toArray(new EmployeeCompensation[0]);
+            for (int i = 0; i < versions.length; i++) days[i] = versions[i].getValidFrom().toEpochDay();
+            return new Timeline(days, versions);
+        }
+
+        EmployeeCompensation latest() {
+            return versions.length == 0 ? null : versions[versions.length - 1];
+        }
+
+        // Última versão iniciada até a data; antes da primeira, a mais antiga conhecida
+        EmployeeCompensation at(LocalDate date) {
+            if (versions.length == 0) return null;
+            int i = Arrays.binarySearch(validFrom, date.toEpochDay());
+            if (i < 0) i = -i - 2;
+            return versions[Math.max(i, 0)];
+        }
+    }
+}
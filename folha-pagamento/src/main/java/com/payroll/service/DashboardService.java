@@ -12,6 +12,7 @@ import com.payroll.dtos.dashboard.SalaryDistributionDTO;
 import com.payroll.entity.Employee;
 import com.payroll.repository.EmployeeRepository;
 import com.payroll.repository.PayrollCalculationRepository;
+import com.payroll.snapshot.EmployeeSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -31,6 +32,12 @@ public class DashboardService {
     @Autowired
     private PayrollCalculationRepository payrollRepository;
 
+    @Autowired
+    private EmployeeSnapshot employeeSnapshot;
+
+    @Autowired
+    private PayrollMonthTotalsService monthTotalsService;
+
     public DashboardDTO getDashboardData(String currentUsername) {
         DashboardDTO dashboard = new DashboardDTO();
         
@@ -48,9 +55,9 @@ public class DashboardService {
                 .orElse("N/A")
         );
 
-        // 4. Contar folhas processadas na competência atual (Mês vigente)
+        // 4. Contar folhas processadas na competência atual (Mês vigente), lidas do razão mensal
         String currentMonth = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM"));
-        long totalPayrolls = payrollRepository.countByReferenceMonth(currentMonth);
+        long totalPayrolls = monthTotalsService.headcount(currentMonth);
         dashboard.setTotalPayrolls(totalPayrolls);
 
         // 5. Calcular pendências (Funcionários totais - Folhas geradas no mês atual)
@@ -69,46 +76,27 @@ public class DashboardService {
         )).collect(Collectors.toList());
         dashboard.setRecentEmployees(recentDTOs);
 
-        // 7. Calcular distribuição salarial para renderização de gráficos
-        List<Employee> allEmployees = employeeRepository.findAll();
-        dashboard.setSalaryDistribution(calculateSalaryDistribution(allEmployees));
+        // 7. Calcular distribuição salarial para renderização de gráficos (snapshot colunar, sem carregar entidades)
+        dashboard.setSalaryDistribution(calculateSalaryDistribution());
 
         // 8. Somar o montante total de salários base da empresa (Folha bruta estimada)
-        BigDecimal totalSalaries = allEmployees.stream()
-            .map(e -> e.getSalary() != null ? e.getSalary() : BigDecimal.ZERO)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        dashboard.setTotalSalaries(totalSalaries);
+        dashboard.setTotalSalaries(employeeSnapshot.totalSalaries());
 
         return dashboard;
     }
 
     // Método auxiliar para agrupar funcionários em faixas salariais (Histograma)
-    private List<SalaryDistributionDTO> calculateSalaryDistribution(List<Employee> employees) {
-        long range1 = 0; // Até 2.000
-        long range2 = 0; // 2.001 – 4.000
-        long range3 = 0; // 4.001 – 6.000
-        long range4 = 0; // 6.001 – 10.000
-        long range5 = 0; // Acima de 10.000
-
-        for (Employee e : employees) {
-            BigDecimal salary = e.getSalary();
-            if (salary == null) continue;
-            double val = salary.doubleValue();
-
-            if (val <= 2000) range1++;
-            else if (val <= 4000) range2++;
-            else if (val <= 6000) range3++;
-            else if (val <= 10000) range4++;
-            else range5++;
-        }
+    private List<SalaryDistributionDTO> calculateSalaryDistribution() {
+        long[] counts = employeeSnapshot.salaryHistogram(
+                new BigDecimal("2000"), new BigDecimal("4000"), new BigDecimal("6000"), new BigDecimal("10000"));
 
         List<SalaryDistributionDTO> distribution = new ArrayList<>();
-        distribution.add(new SalaryDistributionDTO("Até R$ 2.000", range1));
-        distribution.add(new SalaryDistributionDTO("R$ 2.001 – R$ 4.000", range2));
-        distribution.add(new SalaryDistributionDTO("R$ 4.001 – R$ 6.000", range3));
-        distribution.add(new SalaryDistributionDTO("R$ 6.001 – R$ 10.000", range4));
-        distribution.add(new SalaryDistributionDTO("Acima de R$ 10.000", range5));
+        distribution.add(new SalaryDistributionDTO("Até R$ 2.000", counts[0]));
+        distribution.add(new SalaryDistributionDTO("R$ 2.001 – R$ 4.000", counts[1]));
+        distribution.add(new SalaryDistributionDTO("R$ 4.001 – R$ 6.000", counts[2]));
+        distribution.add(new SalaryDistributionDTO("R$ 6.001 – R$ 10.000", counts[3]));
+        distribution.add(new SalaryDistributionDTO("Acima de R$ 10.000", counts[4]));
 
         return distribution;
     }
-}
\ No newline at end of file
+}
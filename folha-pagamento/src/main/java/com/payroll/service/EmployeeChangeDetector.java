@@ -0,0 +1,77 @@
+package com.payroll.service;
+
+/*
+ * Detector de alterações campo a campo no cadastro de funcionários.
+ * Tira um retrato (snapshot) dos campos editáveis antes da atualização e o compara
+ * com o estado final, produzindo apenas os campos que realmente mudaram.
+ */
+
+import com.payroll.entity.Employee;
+import com.payroll.model.EmployeeFieldChange;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+public final class EmployeeChangeDetector {
+
+    private EmployeeChangeDetector() {}
+
+    // Campos editáveis do cadastro acompanhados pelo feed
+    private static final String[] NAMES = {
+        "fullName", "cpf", "rg", "position", "admissionDate", "salary", "dependents", "weeklyHours",
+        "transportVoucher", "transportVoucherValue", "mealVoucher", "mealVoucherValue",
+        "dangerousWork", "dangerousPercentage", "unhealthyWork", "unhealthyLevel",
+        "healthPlan", "healthPlanValue", "dentalPlan", "dentalPlanValue", "gym", "gymValue",
+        "timeBank", "timeBankHours", "overtimeEligible", "overtimeHours",
+        "bankCode", "bankBranch", "bankAccount", "bankAccountDigit"
+    };
+
+    private static final List<Function<Employee, Object>> GETTERS = List.of(
+        Employee::getFullName, Employee::getCpf, Employee::getRg,
+        Employee::getPosition, Employee::getAdmissionDate, Employee::getSalary,
+        Employee::getDependents, Employee::getWeeklyHours, Employee::getTransportVoucher,
+        Employee::getTransportVoucherValue, Employee::getMealVoucher, Employee::getMealVoucherValue,
+        Employee::getDangerousWork, Employee::getDangerousPercentage, Employee::getUnhealthyWork,
+        Employee::getUnhealthyLevel, Employee::getHealthPlan, Employee::getHealthPlanValue,
+        Employee::getDentalPlan, Employee::getDentalPlanValue, Employee::getGym,
+        Employee::getGymValue, Employee::getTimeBank, Employee::getTimeBankHours,
+        Employee::getOvertimeEligible, Employee::getOvertimeHours,
+        Employee::getBankCode, Employee::getBankBranch, Employee::getBankAccount, Employee::getBankAccountDigit
+    );
+
+    // Capturar os valores atuais dos campos acompanhados (null gera um retrato vazio)
+    public static Object[] snapshot(Employee employee) {
+        Object[] values = new Object[NAMES.length];
+        if (employee == null) return values;
+        for (int i = 0; i < NAMES.length; i++) {
+            values[i] = GETTERS.get(i).apply(employee);
+        }
+        return values;
+    }
+
+    // Comparar dois retratos e listar somente os campos alterados
+    public static List<EmployeeFieldChange> diff(Object[] before, Object[] after) {
+        List<EmployeeFieldChange> changes = new ArrayList<>();
+        for (int i = 0; i < NAMES.length; i++) {
+            if (!sameValue(before[i], after[i])) {
+                changes.add(new EmployeeFieldChange(NAMES[i], text(before[i]), text(after[i])));
+            }
+        }
+        return changes;
+    }
+
+    // BigDecimal é comparado por valor (3000 == 3000.00), demais tipos por equals
+    private static boolean sameValue(Object a, Object b) {
+        if (a instanceof BigDecimal x && b instanceof BigDecimal y) return x.compareTo(y) == 0;
+        return Objects.equals(a, b);
+    }
+
+    private static String text(Object value) {
+        if (value == null) return null;
+        if (value instanceof BigDecimal d) return d.toPlainString();
+        return value.toString();
+    }
+}
@@ -0,0 +1,138 @@
+package com.payroll.service;
+
+/*
+ * Serviço do feed de alterações de funcionários (padrão Outbox).
+ * Grava cada alteração detectada no outbox append-only, na mesma transação do cadastro,
+ * publica o evento in-process correspondente e atende a leitura incremental por cursor.
+ * A sequence é reservada antes do commit, então uma transação lenta pode confirmar um número
+ * menor que o de linhas já visíveis: a leitura para na primeira lacuna (marca d'água) até a
+ * linha aparecer, até a transação ser desfeita nesta instância ou até o prazo de GAP_TIMEOUT.
+ */
+
+import com.payroll.dtos.employee.EmployeeChangeDTO;
+import com.payroll.entity.EmployeeChangeOutbox;
+import com.payroll.event.EmployeeChangedEvent;
+import com.payroll.event.EmployeeChangedEvent.ChangeType;
+import com.payroll.exception.DatabaseConnectionException;
+import com.payroll.model.EmployeeFieldChange;
+import com.payroll.repository.EmployeeChangeOutboxRepository;
+import com.payroll.serialization.EmployeeFieldChangeSerializationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class EmployeeChangeFeedService {
+
+    // Limite de itens por página do feed
+    static final int MAX_BATCH = 1000;
+
+    // Espera por uma sequence pulada antes de tratá-la como transação desfeita; limite de desfeitas lembradas
+    static final Duration GAP_TIMEOUT = Duration.ofSeconds(30);
+    static final int MAX_GAPS = 1_000;
+
+    // Sequences de transações desfeitas nesta instância, com o prazo em que deixam de importar
+    private final Map<Long, LocalDateTime> rolledBack = new ConcurrentHashMap<>();
+
+    @Autowired
+    private EmployeeChangeOutboxRepository outboxRepository;
+
+    @Autowired
+    private EmployeeFieldChangeSerializationService changeSerializer;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Registrar a alteração no outbox e notificar os ouvintes in-process
+    public EmployeeChangedEvent record(Long employeeId, ChangeType changeType, List<EmployeeFieldChange> changes) {
+        EmployeeChangeOutbox entry = new EmployeeChangeOutbox();
+        entry.setEmployeeId(employeeId);
+        entry.setChangeType(changeType);
+        entry.setChanges(changeSerializer.serializeList(changes));
+
+        try {
+            entry = outboxRepository.save(entry);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexão ao registrar alteração de funcionário", e);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            long sequence = entry.getSequence();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) markRolledBack(sequence);
+                }
+            });
+        }
+
+        EmployeeChangedEvent event = new EmployeeChangedEvent(entry.getSequence(), employeeId, changeType, changes);
+        eventPublisher.publishEvent(event);
+        return event;
+    }
+
+    // Ler o feed a partir do cursor informado (exclusivo), em ordem crescente de sequence,
+    // até a primeira sequence que ainda pode ser confirmada por uma transação em andamento
+    public List<EmployeeChangeDTO> readAfter(long afterSequence, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_BATCH));
+        List<EmployeeChangeOutbox> rows;
+        try {
+            rows = outboxRepository.findBySequenceGreaterThanOrderBySequenceAsc(afterSequence, PageRequest.of(0, size));
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexão ao ler feed de alterações", e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        rolledBack.values().removeIf(deadline -> deadline.isBefore(now));
+        List<EmployeeChangeDTO> feed = new ArrayList<>();
+        long previous = afterSequence;
+        for (EmployeeChangeOutbox row : rows) {
+            if (!gapSettled(previous, row, now)) break;
+            feed.add(toDTO(row));
+            previous = row.getSequence();
+        }
+        return feed;
+    }
+
+    // --- Infraestrutura ---
+
+    // As sequences entre 'previous' e a linha foram reservadas antes dela; a lacuna só é pulada
+    // quando todas foram desfeitas aqui ou quando a linha é mais antiga que o prazo
+    private boolean gapSettled(long previous, EmployeeChangeOutbox row, LocalDateTime now) {
+        long missing = row.getSequence() - previous - 1;
+        if (missing <= 0 || row.getOccurredAt().isBefore(now.minus(GAP_TIMEOUT))) return true;
+        if (missing > MAX_GAPS) return false;
+        for (long sequence = previous + 1; sequence < row.getSequence(); sequence++) {
+            if (!rolledBack.containsKey(sequence)) return false;
+        }
+        return true;
+    }
+
+    private void markRolledBack(long sequence) {
+        if (rolledBack.size() >= MAX_GAPS) return;
+        rolledBack.put(sequence, LocalDateTime.now().plus(GAP_TIMEOUT));
+    }
+
+    // Converter Entidade -> DTO
+    private EmployeeChangeDTO toDTO(EmployeeChangeOutbox entry) {
+        return new EmployeeChangeDTO(
+                entry.getSequence(),
+                entry.getEmployeeId(),
+                entry.getChangeType().name(),
+                entry.getOccurredAt(),
+                changeSerializer.deserializeList(entry.getChanges())
+        );
+    }
+}
@@ -6,24 +6,31 @@ package com.payroll.service;
  * além de fornecer filtros e agrupamentos em memória para relatórios e validações.
  */
 
+import com.payroll.dtos.employee.EmployeePositionSummaryDTO;
+import com.payroll.entity.CacheInvalidation;
 import com.payroll.entity.Employee;
+import com.payroll.event.EmployeeChangedEvent.ChangeType;
+import com.payroll.model.EmployeeFieldChange;
 import com.payroll.repository.EmployeeRepository;
+import com.payroll.service.cache.CacheInvalidationBus;
+import com.payroll.snapshot.EmployeeSnapshot;
 import com.payroll.exception.DataIntegrityBusinessException;
 import com.payroll.exception.DatabaseConnectionException;
 import com.payroll.exception.NotFoundBusinessException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
-import com.payroll.collections.CollectionOps;
-import com.payroll.collections.GroupBySpec;
 
 @Service
 public class EmployeeService implements IEmployeeService {
@@ -31,12 +38,33 @@ public class EmployeeService implements IEmployeeService {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private EmployeeChangeFeedService changeFeed;
+
+    @Autowired
+    private EmployeeSnapshot employeeSnapshot;
+
+    @Autowired
+    private CompensationHistoryService compensationHistory;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
     @Override
+    @Transactional
     public Employee createEmployee(Employee employee, Long createdBy) {
         try {
             // Vincular o ID do usuário responsável pela criação (Auditoria)
             employee.setCreatedBy(createdBy);
-            return employeeRepository.save(employee);
+            Employee saved = employeeRepository.saveAndFlush(employee);
+
+            // Primeira versão do histórico de remuneração, vigente desde a admissão
+            compensationHistory.recordInitial(saved);
+
+            // Registrar todos os campos preenchidos como alteração inicial no feed
+            recordChange(saved.getId(), ChangeType.CREATED,
+                    EmployeeChangeDetector.diff(EmployeeChangeDetector.snapshot(null), EmployeeChangeDetector.snapshot(saved)));
+            return saved;
         } catch (DataIntegrityViolationException e) {
             // Tratar erro de duplicidade (ex: CPF já existente)
             throw new DataIntegrityBusinessException("Funcionario com CPF ja cadastrado", e);
@@ -85,11 +113,20 @@ public class EmployeeService implements IEmployeeService {
     }
 
     @Override
+    @Transactional
     public Employee updateEmployee(Long id, Employee employeeDetails) {
+        return updateEmployee(id, employeeDetails, null);
+    }
+
+    // Atualizar o cadastro; alterações de remuneração passam a valer em 'effectiveFrom' (nulo: hoje)
+    @Override
+    @Transactional
+    public Employee updateEmployee(Long id, Employee employeeDetails, LocalDate effectiveFrom) {
         try {
             // Verificar existência antes de atualizar
             Employee employee = employeeRepository.findById(id)
                     .orElseThrow(() -> new NotFoundBusinessException("Funcionário não encontrado: " + id));
+            Object[] before = EmployeeChangeDetector.snapshot(employee);
 
             // Atualização manual dos campos cadastrais e contratuais
             employee.setFullName(employeeDetails.getFullName());
@@ -125,8 +162,23 @@ public class EmployeeService implements IEmployeeService {
             employee.setTimeBankHours(employeeDetails.getTimeBankHours());
             employee.setOvertimeEligible(employeeDetails.getOvertimeEligible());
             employee.setOvertimeHours(employeeDetails.getOvertimeHours());
-            
-            return employeeRepository.save(employee);
+
+            // Dados bancários
+            employee.setBankCode(employeeDetails.getBankCode());
+            employee.setBankBranch(employeeDetails.getBankBranch());
+            employee.setBankAccount(employeeDetails.getBankAccount());
+            employee.setBankAccountDigit(employeeDetails.getBankAccountDigit());
+
+            // Nada mudou: evita o UPDATE e não gera item no feed
+            List<EmployeeFieldChange> changes = EmployeeChangeDetector.diff(before, EmployeeChangeDetector.snapshot(employee));
+            if (changes.isEmpty()) return employee;
+
+            Employee saved = employeeRepository.saveAndFlush(employee);
+            if (changes.stream().anyMatch(c -> CompensationHistoryService.TRACKED_FIELDS.contains(c.getField()))) {
+                compensationHistory.record(saved, effectiveFrom);
+            }
+            recordChange(saved.getId(), ChangeType.UPDATED, changes);
+            return saved;
         } catch (DataIntegrityViolationException e) {
             throw new DataIntegrityBusinessException("Violação de integridade ao atualizar funcionário", e);
         } catch (DataAccessResourceFailureException e) {
@@ -135,46 +187,57 @@ public class EmployeeService implements IEmployeeService {
     }
 
     @Override
+    @Transactional
     public void deleteEmployee(Long id) {
         try {
             // Remover registro físico do banco de dados
+            boolean existed = employeeRepository.existsById(id);
+            compensationHistory.deleteHistory(id);
             employeeRepository.deleteById(id);
+            if (existed) recordChange(id, ChangeType.DELETED, List.of());
         } catch (DataAccessResourceFailureException e) {
             throw new DatabaseConnectionException("Falha de conexão ao deletar funcionário", e);
         }
     }
 
-    // Filtrar funcionários com salário base superior a um valor específico (lógica em memória)
+    // Registrar no feed e avisar as demais instâncias, com a sequence do feed como versão
+    private void recordChange(Long employeeId, ChangeType changeType, List<EmployeeFieldChange> changes) {
+        long sequence = changeFeed.record(employeeId, changeType, changes).getSequence();
+        invalidationBus.publish(CacheInvalidation.EMPLOYEE, employeeId, sequence);
+    }
+
+    // Filtrar funcionários com salário base superior a um valor específico (filtro no snapshot colunar;
+    // somente os funcionários selecionados são carregados como entidades)
     public List<Employee> filterEmployeesBySalaryMin(BigDecimal minSalary) {
-        List<Employee> all = getAllEmployees();
-        return CollectionOps.filter(all, e -> {
-            BigDecimal s = e.getSalary();
-            if (s == null) return false;
-            return minSalary == null || s.compareTo(minSalary) >= 0;
-        });
+        return findByIds(employeeSnapshot.idsWithSalaryAtLeast(minSalary));
     }
 
-    // Agrupar funcionários por cargo (Position) para visualização categorizada
-    public Map<String, List<Employee>> groupEmployeesByPosition() {
-        List<Employee> all = getAllEmployees();
-        return CollectionOps.groupBy(all, new GroupBySpec<String, Employee>() {
-            @Override
-            public String key(Employee item) {
-                return item.getPosition();
-            }
-        });
+    // Resumir o quadro por cargo no banco; se a agregação não puder rodar, usa o snapshot colunar em memória
+    public List<EmployeePositionSummaryDTO> summarizeEmployeesByPosition() {
+        try {
+            return employeeRepository.summarizeByPosition();
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexão ao resumir funcionários por cargo", e);
+        } catch (DataAccessException e) {
+            return employeeSnapshot.totalsByPosition().stream()
+                    .map(t -> new EmployeePositionSummaryDTO(t.position(), (long) t.headcount(),
+                            t.totalSalary(), t.minSalary(), t.maxSalary()))
+                    .toList();
+        }
     }
 
     // Identificar funcionários com dados inconsistentes (salário ou carga horária inválidos)
     public List<Employee> findInvalidEmployees() {
-        List<Employee> all = getAllEmployees();
-        return CollectionOps.filter(all, e -> {
-            BigDecimal salary = e.getSalary();
-            Integer weeklyHours = e.getWeeklyHours();
-            boolean nonPositiveSalary = salary == null || salary.compareTo(BigDecimal.ZERO) <= 0;
-            boolean invalidHours = weeklyHours == null || weeklyHours < 1;
-            return nonPositiveSalary || invalidHours;
-        });
+        return findByIds(employeeSnapshot.invalidIds());
+    }
+
+    private List<Employee> findByIds(long[] ids) {
+        if (ids.length == 0) return List.of();
+        try {
+            return employeeRepository.findAllById(Arrays.stream(ids).boxed().toList());
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexão ao buscar funcionários selecionados", e);
+        }
     }
 
     // Buscar funcionários por nome (busca parcial) ou retornar todos caso o termo seja vazio
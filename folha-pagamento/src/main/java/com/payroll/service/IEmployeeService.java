@@ -1,6 +1,7 @@
 package com.payroll.service;
 
 import com.payroll.entity.Employee;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -51,6 +52,15 @@ public interface IEmployeeService {
      * @return Funcionário atualizado
      */
     Employee updateEmployee(Long id, Employee employeeDetails);
+
+    /**
+     * Atualiza funcionário com início de vigência da nova remuneração
+     * @param id ID do funcionário
+     * @param employeeDetails Dados atualizados
+     * @param effectiveFrom Início de vigência (nulo: hoje)
+     * @return Funcionário atualizado
+     */
+    Employee updateEmployee(Long id, Employee employeeDetails, LocalDate effectiveFrom);
     
     /**
      * Deleta funcionário
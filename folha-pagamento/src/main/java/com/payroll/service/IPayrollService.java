@@ -1,7 +1,12 @@
 package com.payroll.service;
 
+import com.payroll.dtos.payroll.PayrollRecalculationResultDTO;
 import com.payroll.entity.PayrollCalculation;
 import com.payroll.model.Employee.GrauInsalubridade;
+import com.payroll.model.PayrollInput;
+import com.payroll.model.PayrollResult;
+import com.payroll.service.discount.TaxResultCache;
+import com.payroll.service.discount.TaxTable;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -19,6 +24,47 @@ public interface IPayrollService {
      * @return Cálculo realizado
      */
     PayrollCalculation calculatePayroll(Long employeeId, String referenceMonth, Long calculatedBy);
+
+    /**
+     * Calcula a folha de forma idempotente a partir de uma chave informada pelo cliente
+     * @param employeeId ID do funcionário
+     * @param referenceMonth Mês de referência (YYYY-MM)
+     * @param calculatedBy ID do usuário que calculou
+     * @param idempotencyKey Chave de idempotência (opcional)
+     * @return Cálculo realizado ou o já existente para a mesma chave
+     */
+    PayrollCalculation calculatePayroll(Long employeeId, String referenceMonth, Long calculatedBy, String idempotencyKey);
+
+    /**
+     * Recalcula as folhas de uma competência cujas entradas mudaram
+     * (fingerprint do funcionário/tabelas diferente do registrado na folha)
+     * @param referenceMonth Mês de referência
+     * @return Resumo com folhas avaliadas e recalculadas
+     */
+    PayrollRecalculationResultDTO recalculateMonth(String referenceMonth);
+
+    /**
+     * Executa as regras de cálculo sobre entradas desacopladas, sem persistir nada
+     * @param input Entradas do funcionário (snapshot imutável)
+     * @param taxTable Tabela de INSS/IRRF a aplicar
+     * @return Valores calculados do holerite
+     */
+    PayrollResult compute(PayrollInput input, TaxTable taxTable);
+
+    /**
+     * Executa as regras de cálculo memoizando INSS/IRRF por entrada normalizada
+     * @param input Entradas do funcionário (snapshot imutável)
+     * @param taxTable Tabela de INSS/IRRF a aplicar
+     * @param taxCache Cache de resultados (nulo desativa a memoização)
+     * @return Valores calculados do holerite
+     */
+    PayrollResult compute(PayrollInput input, TaxTable taxTable, TaxResultCache taxCache);
+
+    /**
+     * Cache de impostos compartilhado pelas execuções em lote com a tabela vigente
+     * @return Cache e suas métricas de acerto
+     */
+    TaxResultCache getBulkTaxCache();
     
     /**
      * Calcula salário por hora
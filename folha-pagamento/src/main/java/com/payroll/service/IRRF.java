@@ -1,44 +1,27 @@
 package com.payroll.service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 
-// IRRF: base = bruto - INSS - (dependentes*189,59) - pensao; imposto = base * aliquota
+import com.payroll.service.discount.TaxKernel;
+import com.payroll.service.discount.TaxTable;
+
+// IRRF: base = bruto - INSS - (dependentes*189,59) - pensao; imposto = base * aliquota - parcela a deduzir
+// Mesmo núcleo (TaxKernel.irrf) da estratégia de desconto usada na folha
 public class IRRF implements IDesconto {
 
     @Override
-    // Calcula IRRF conforme tabela (sem parcela a deduzir)
+    // Calcula IRRF progressivo conforme tabela
     public BigDecimal calcular(SheetCalculator.DescontoContext ctx) {
         BigDecimal salarioBruto = ctx.getSalarioBruto();
-        BigDecimal descontoINSS = ctx.getDescontoINSS() == null ? BigDecimal.ZERO : ctx.getDescontoINSS();
-        int dependentes = ctx.getDependentes();
-        BigDecimal pensao = ctx.getPensaoAlimenticia() == null ? BigDecimal.ZERO : ctx.getPensaoAlimenticia();
-
         if (salarioBruto == null) return BigDecimal.ZERO;
+        BigDecimal descontoINSS = ctx.getDescontoINSS() == null ? BigDecimal.ZERO : ctx.getDescontoINSS();
 
-        BigDecimal deducaoDependentes = PayrollConstants.DEDUCAO_DEPENDENTE.multiply(new BigDecimal(dependentes));
-        BigDecimal base = salarioBruto.subtract(descontoINSS).subtract(deducaoDependentes).subtract(pensao);
-
-        if (base.compareTo(PayrollConstants.IRPF_ISENTO) <= 0) return BigDecimal.ZERO;
-
-        int faixaIndex = faixa(base);
-        BigDecimal aliquota = PayrollConstants.IRPF_RATES[faixaIndex];
-
-        BigDecimal imposto = base.multiply(aliquota);
-        if (imposto.compareTo(BigDecimal.ZERO) < 0) return BigDecimal.ZERO;
-        return imposto.setScale(2, RoundingMode.HALF_UP);
-    }
-
-    // Retorna o indice da faixa do IR pela tabela
-    private int faixa(BigDecimal base) {
-        if (base.compareTo(PayrollConstants.IRPF_LIMITS[0]) <= 0) return 0;
-        if (base.compareTo(PayrollConstants.IRPF_LIMITS[1]) <= 0) return 1;
-        if (base.compareTo(PayrollConstants.IRPF_LIMITS[2]) <= 0) return 2;
-        if (base.compareTo(PayrollConstants.IRPF_LIMITS[3]) <= 0) return 3;
-        return 4;
+        TaxKernel kernel = TaxTable.DEFAULT.kernel();
+        return kernel.irrf(
+                kernel.irrfBase(salarioBruto, descontoINSS, ctx.getDependentes(), ctx.getPensaoAlimenticia()));
     }
 
     @Override
     // Prioridade de execucao: 2 (apos INSS)
     public int prioridade() { return 2; }
-}
\ No newline at end of file
+}
@@ -0,0 +1,88 @@
+package com.payroll.service;
+
+/*
+ * Acumulador do Informe de Rendimentos de um funcionário em um ano-calendário.
+ * Recebe os holerites do ano em sequência (um por competência) e mantém apenas os
+ * totais e as 12 linhas mensais, de modo que a memória do processamento anual fica
+ * limitada aos dados de um único funcionário por vez.
+ */
+
+import com.payroll.service.discount.TaxTable;
+
+import java.math.BigDecimal;
+
+public final class IncomeStatementAccumulator {
+
+    private final Long employeeId;
+    private final String employeeName;
+    private final String cpf;
+    private final int dependents;
+    private final int year;
+
+    private int months;
+    private BigDecimal gross = BigDecimal.ZERO;
+    private BigDecimal inss = BigDecimal.ZERO;
+    private BigDecimal irrf = BigDecimal.ZERO;
+    private BigDecimal net = BigDecimal.ZERO;
+
+    // Índice 0 = janeiro; competências sem holerite ficam nulas
+    private final BigDecimal[] monthlyGross = new BigDecimal[12];
+    private final BigDecimal[] monthlyInss = new BigDecimal[12];
+    private final BigDecimal[] monthlyIrrf = new BigDecimal[12];
+
+    public IncomeStatementAccumulator(Long employeeId, String employeeName, String cpf, Integer dependents, int year) {
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.cpf = cpf;
+        this.dependents = dependents != null ? dependents : 0;
+        this.year = year;
+    }
+
+    // Somar um holerite do ano; referenceMonth no formato yyyy-MM
+    public void add(String referenceMonth, BigDecimal grossSalary, BigDecimal inssDiscount,
+                    BigDecimal irrfDiscount, BigDecimal netSalary) {
+        int m = Integer.parseInt(referenceMonth.substring(5, 7)) - 1;
+        months++;
+        gross = plus(gross, grossSalary);
+        inss = plus(inss, inssDiscount);
+        irrf = plus(irrf, irrfDiscount);
+        net = plus(net, netSalary);
+        monthlyGross[m] = plus(monthlyGross[m], grossSalary);
+        monthlyInss[m] = plus(monthlyInss[m], inssDiscount);
+        monthlyIrrf[m] = plus(monthlyIrrf[m], irrfDiscount);
+    }
+
+    // Dedução anual por dependentes: valor mensal da tabela vigente × dependentes × meses pagos
+    public BigDecimal getDependentDeduction() {
+        return TaxTable.DEFAULT.getDependentDeduction()
+                .multiply(BigDecimal.valueOf((long) dependents * months));
+    }
+
+    // Rendimento tributável após INSS e dependentes (base do ajuste anual)
+    public BigDecimal getTaxableIncome() {
+        return gross.subtract(inss).subtract(getDependentDeduction()).max(BigDecimal.ZERO);
+    }
+
+    // --- Getters ---
+
+    public Long getEmployeeId() { return employeeId; }
+    public String getEmployeeName() { return employeeName; }
+    public String getCpf() { return cpf; }
+    public int getDependents() { return dependents; }
+    public int getYear() { return year; }
+    public int getMonths() { return months; }
+    public BigDecimal getGross() { return gross; }
+    public BigDecimal getInss() { return inss; }
+    public BigDecimal getIrrf() { return irrf; }
+    public BigDecimal getNet() { return net; }
+
+    // month de 1 a 12
+    public BigDecimal getMonthlyGross(int month) { return monthlyGross[month - 1]; }
+    public BigDecimal getMonthlyInss(int month) { return monthlyInss[month - 1]; }
+    public BigDecimal getMonthlyIrrf(int month) { return monthlyIrrf[month - 1]; }
+
+    private static BigDecimal plus(BigDecimal total, BigDecimal v) {
+        if (v == null) return total;
+        return total == null ? v : total.add(v);
+    }
+}
@@ -0,0 +1,113 @@
+package com.payroll.service;
+
+/*
+ * Agregação anual dos holerites para o Informe de Rendimentos.
+ * Percorre 'payroll_calculations' uma única vez para o ano-calendário, ordenado por
+ * funcionário e competência, e dobra as linhas em um acumulador por funcionário:
+ * ao trocar de funcionário o informe anterior é entregue ao consumidor e descartado.
+ * A leitura é feita via JDBC em streaming, sem materializar entidades nem a lista do ano.
+ */
+
+import com.payroll.exception.InputValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Service
+public class IncomeStatementService {
+
+    // Linhas buscadas por ida ao banco durante a varredura
+    static final int FETCH_SIZE = 500;
+
+    private static final String SELECT = "SELECT pc.employee_id, e.full_name, e.cpf, e.dependents, "
+            + "pc.reference_month, pc.gross_salary, pc.inss_discount, pc.irpf_discount, pc.net_salary "
+            + "FROM payroll_calculations pc JOIN employees e ON e.id = pc.employee_id "
+            + "WHERE pc.reference_month BETWEEN ? AND ?";
+
+    private static final String ORDER = " ORDER BY pc.employee_id, pc.reference_month";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Entregar um informe por funcionário com holerite no ano, em ordem de ID
+    public void forEachStatement(int year, Consumer<IncomeStatementAccumulator> sink) {
+        validateYear(year);
+        scan(SELECT + ORDER, year, null, sink);
+    }
+
+    // Informe de um único funcionário (vazio se não houver holerite no ano)
+    public Optional<IncomeStatementAccumulator> statementFor(Long employeeId, int year) {
+        validateYear(year);
+        IncomeStatementAccumulator[] found = new IncomeStatementAccumulator[1];
+        scan(SELECT + " AND pc.employee_id = ?" + ORDER, year, employeeId, s -> found[0] = s);
+        return Optional.ofNullable(found[0]);
+    }
+
+    // Extrair o ano de uma competência (yyyy-MM) ou de um ano isolado (yyyy)
+    public static int parseYear(String reference) {
+        if (reference == null || !reference.matches("\\d{4}(-\\d{2})?")) {
+            throw new InputValidationException("Ano-calendario invalido. Use o formato yyyy",
+                    Map.of("reference", String.valueOf(reference)));
+        }
+        return Integer.parseInt(reference.substring(0, 4));
+    }
+
+    private void scan(String sql, int year, Long employeeId, Consumer<IncomeStatementAccumulator> sink) {
+        String from = String.format("%04d-01", year);
+        String to = String.format("%04d-12", year);
+        StatementFold fold = new StatementFold(year, sink);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setString(1, from);
+            ps.setString(2, to);
+            if (employeeId != null) ps.setLong(3, employeeId);
+            return ps;
+        }, fold);
+        fold.finish();
+    }
+
+    private static void validateYear(int year) {
+        if (year < 1 || year > 9999) {
+            throw new InputValidationException("Ano-calendario invalido", Map.of("year", year));
+        }
+    }
+
+    // Dobra das linhas ordenadas: só o acumulador do funcionário corrente fica em memória
+    private static final class StatementFold implements RowCallbackHandler {
+
+        private final int year;
+        private final Consumer<IncomeStatementAccumulator> sink;
+        private IncomeStatementAccumulator current;
+
+        StatementFold(int year, Consumer<IncomeStatementAccumulator> sink) {
+            this.year = year;
+            this.sink = sink;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long employeeId = rs.getLong("employee_id");
+            if (current == null || current.getEmployeeId() != employeeId) {
+                finish();
+                current = new IncomeStatementAccumulator(employeeId, rs.getString("full_name"), rs.getString("cpf"),
+                        rs.getObject("dependents", Integer.class), year);
+            }
+            current.add(rs.getString("reference_month"), rs.getBigDecimal("gross_salary"),
+                    rs.getBigDecimal("inss_discount"), rs.getBigDecimal("irpf_discount"), rs.getBigDecimal("net_salary"));
+        }
+
+        void finish() {
+            if (current != null) sink.accept(current);
+            current = null;
+        }
+    }
+}
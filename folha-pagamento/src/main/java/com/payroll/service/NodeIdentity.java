@@ -0,0 +1,27 @@
+package com.payroll.service;
+
+/*
+ * Identificação desta instância da aplicação no cluster (host, processo e sufixo por contexto).
+ * Usada nas concessões do fechamento em lote e na origem das invalidações de cache, para que
+ * as duas tabelas apontem para a mesma instância.
+ */
+
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.UUID;
+
+@Component
+public class NodeIdentity {
+
+    private final String id = host() + ":" + ManagementFactory.getRuntimeMXBean().getPid() + ":"
+            + UUID.randomUUID().toString().substring(0, 8);
+
+    public String getId() { return id; }
+
+    // Nome do host pelo ambiente, sem resolução de DNS na inicialização
+    private static String host() {
+        String host = System.getenv("HOSTNAME");
+        return host != null && !host.isBlank() ? host : "node";
+    }
+}
@@ -9,6 +9,10 @@ public class PayrollConstants {
 
     private PayrollConstants() {}
 
+    // Versão das tabelas abaixo: deve ser incrementada a cada alteração de faixas/alíquotas,
+    // pois compõe a impressão digital (fingerprint) das folhas já calculadas
+    public static final String TAX_TABLE_VERSION = "2024.1";
+
     // TABELA DE INSS 2024
     public static final BigDecimal[] INSS_LIMITS = {
         new BigDecimal("1412.00"),  // até 1.412,00 → 7,5%
@@ -48,6 +52,11 @@ public class PayrollConstants {
     
 
     public static final BigDecimal FGTS_RATE = new BigDecimal("0.08");
+
+    // ENCARGOS DO EMPREGADOR (não descontados do funcionário)
+    public static final BigDecimal EMPLOYER_INSS_RATE = new BigDecimal("0.20");   // INSS patronal
+    public static final BigDecimal RAT_RATE = new BigDecimal("0.02");             // RAT/SAT (risco médio)
+    public static final BigDecimal THIRD_PARTY_RATE = new BigDecimal("0.058");    // Terceiros (Sistema S, salário-educação)
     public static final BigDecimal TRANSPORTE_RATE = new BigDecimal("0.06");
     public static final BigDecimal DANGER_RATE = new BigDecimal("0.30");
 
@@ -56,4 +65,15 @@ public class PayrollConstants {
     public static final BigDecimal INSALUBRITY_HIGH = new BigDecimal("0.40");
 
     public static final BigDecimal WEEKS_PER_MONTH = new BigDecimal("4.33");
+
+    // EMPRESA PAGADORA (remessa CNAB 240 de salários) - ajustar ao convênio firmado com o banco
+    public static final String REMESSA_BANCO = "001";
+    public static final String REMESSA_NOME_BANCO = "BANCO DO BRASIL S.A.";
+    public static final String REMESSA_CNPJ = "00000000000191";
+    public static final String REMESSA_CONVENIO = "";
+    public static final String REMESSA_AGENCIA = "0001";
+    public static final String REMESSA_AGENCIA_DV = "0";
+    public static final String REMESSA_CONTA = "000000000001";
+    public static final String REMESSA_CONTA_DV = "0";
+    public static final String REMESSA_EMPRESA = "RH PRO";
 }
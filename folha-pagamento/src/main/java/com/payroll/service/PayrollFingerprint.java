@@ -0,0 +1,81 @@
+package com.payroll.service;
+
+/*
+ * Impressão digital (fingerprint) das entradas de um cálculo de folha.
+ * Resume em um hash SHA-256 os campos do funcionário que influenciam o holerite,
+ * junto com a versão das tabelas de impostos, permitindo detectar folhas desatualizadas
+ * sem refazer o cálculo.
+ */
+
+import com.payroll.entity.Employee;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class PayrollFingerprint {
+
+    // Versão da fórmula do holerite: incrementar quando o cálculo muda sem mudar as tabelas
+    // (2: FGTS deixou de compor o total de descontos; 3: IRRF deixou de tributar de novo, na alíquota
+    // máxima, a base restante após a faixa final), para que recalculateMonth refaça as folhas antigas
+    static final int CALCULATION_VERSION = 3;
+
+    private PayrollFingerprint() {}
+
+    // Gerar o fingerprint a partir dos campos usados em PayrollService.calculatePayroll
+    public static String of(Employee e) {
+        return of(e, e.getOvertimeHours());
+    }
+
+    // Mesmo fingerprint com as horas extras efetivamente usadas (apuradas no ponto ou do cadastro)
+    public static String of(Employee e, BigDecimal overtimeHours) {
+        return of(e, overtimeHours, "");
+    }
+
+    // Inclui a versão das regras configuráveis e as variáveis que elas podem ler (RuleExpressionCompiler);
+    // sem regras ativas o hash é o mesmo de antes delas existirem
+    public static String of(Employee e, BigDecimal overtimeHours, String rulesVersion) {
+        StringBuilder sb = new StringBuilder(256)
+                .append(PayrollConstants.TAX_TABLE_VERSION).append('|')
+                .append(CALCULATION_VERSION).append('|')
+                .append(norm(e.getSalary())).append('|')
+                .append(e.getWeeklyHours()).append('|')
+                .append(e.getDependents()).append('|')
+                .append(e.getTransportVoucher()).append('|')
+                .append(norm(e.getTransportVoucherValue())).append('|')
+                .append(norm(e.getMealVoucherValue())).append('|')
+                .append(e.getDangerousWork()).append('|')
+                .append(norm(e.getDangerousPercentage())).append('|')
+                .append(e.getUnhealthyLevel()).append('|')
+                .append(e.getHealthPlan()).append('|')
+                .append(norm(e.getHealthPlanValue())).append('|')
+                .append(e.getDentalPlan()).append('|')
+                .append(norm(e.getDentalPlanValue())).append('|')
+                .append(e.getGym()).append('|')
+                .append(norm(e.getGymValue())).append('|')
+                .append(e.getOvertimeEligible()).append('|')
+                .append(norm(overtimeHours));
+        // Com regras ativas, também as variáveis que só as regras leem (as demais já estão acima)
+        if (rulesVersion != null && !rulesVersion.isEmpty()) {
+            sb.append("|rules:").append(rulesVersion).append('|').append(e.getPosition());
+        }
+        return sha256(sb.toString());
+    }
+
+    // Normalizar a escala para que 3000 e 3000.00 gerem o mesmo hash
+    private static String norm(BigDecimal v) {
+        return v == null ? "null" : v.stripTrailingZeros().toPlainString();
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 é obrigatório em toda JVM
+            throw new IllegalStateException(e);
+        }
+    }
+}
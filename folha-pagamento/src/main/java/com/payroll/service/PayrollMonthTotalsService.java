@@ -0,0 +1,112 @@
+package com.payroll.service;
+
+/*
+ * Serviço do razão mensal da folha (fechamento por competência).
+ * Cada holerite gravado soma seus valores à linha do mês dentro da mesma transação;
+ * a reconstrução reagrega a tabela de cálculos para reconciliar o razão após correções ou recálculos.
+ * A linha de uma competência nova é criada em transação própria (só os holerites já confirmados),
+ * para que holerites simultâneos do primeiro dia do mês não disputem o mesmo INSERT.
+ */
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.payroll.dtos.payroll.PayrollMonthTotalsDTO;
+import com.payroll.entity.PayrollCalculation;
+import com.payroll.exception.DataIntegrityBusinessException;
+import com.payroll.exception.DatabaseConnectionException;
+import com.payroll.repository.PayrollMonthTotalsRepository;
+
+@Service
+public class PayrollMonthTotalsService {
+
+    @Autowired
+    private PayrollMonthTotalsRepository totalsRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Somar um holerite recém-gravado ao mês; exige a transação que gravou o holerite
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(PayrollCalculation pc) {
+        try {
+            if (increment(pc) == 0) {
+                // Primeiro holerite da competência: criar a linha (sem este holerite, ainda não confirmado) e somar
+                createRow(pc.getReferenceMonth());
+                if (increment(pc) == 0) {
+                    throw new IllegalStateException("Linha de totais do mes ausente apos criacao: " + pc.getReferenceMonth());
+                }
+            }
+        } catch (DataIntegrityViolationException e) {
+            throw new DataIntegrityBusinessException("Violacao de integridade ao atualizar totais do mes", e);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao atualizar totais do mes", e);
+        }
+    }
+
+    private int increment(PayrollCalculation pc) {
+        return totalsRepository.increment(pc.getReferenceMonth(), pc.getGrossSalary(), pc.getNetSalary(),
+                pc.getInssDiscount(), pc.getIrpfDiscount(), pc.getFgtsValue(), LocalDateTime.now());
+    }
+
+    // Linha criada por outra transação ao mesmo tempo (chave duplicada) também serve
+    private void createRow(String referenceMonth) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            tx.executeWithoutResult(status -> totalsRepository.insertIfAbsent(referenceMonth));
+        } catch (DataIntegrityViolationException e) {
+            // Outra transação criou a linha primeiro
+        }
+    }
+
+    public Optional<PayrollMonthTotalsDTO> getTotals(String referenceMonth) {
+        try {
+            return totalsRepository.findTotals(referenceMonth);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao consultar totais do mes", e);
+        }
+    }
+
+    public List<PayrollMonthTotalsDTO> getAllTotals() {
+        try {
+            return totalsRepository.findAllTotals();
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao listar totais mensais", e);
+        }
+    }
+
+    // Holerites processados na competência (zero quando o mês ainda não tem linha)
+    public long headcount(String referenceMonth) {
+        try {
+            return totalsRepository.findHeadcount(referenceMonth).orElse(0L);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao consultar totais do mes", e);
+        }
+    }
+
+    // Reconciliar o razão com os holerites gravados; mês nulo reconstrói todas as competências
+    @Transactional
+    public int rebuild(String referenceMonth) {
+        String month = referenceMonth == null || referenceMonth.isBlank() ? null : referenceMonth;
+        try {
+            totalsRepository.deleteTotals(month);
+            return totalsRepository.insertFromPayrolls(month);
+        } catch (DataIntegrityViolationException e) {
+            throw new DataIntegrityBusinessException("Violacao de integridade ao reconstruir totais mensais", e);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao reconstruir totais mensais", e);
+        }
+    }
+}
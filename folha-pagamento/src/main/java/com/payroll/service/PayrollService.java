@@ -9,58 +9,168 @@ package com.payroll.service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.payroll.dtos.payroll.PayrollRecalculationResultDTO;
+import com.payroll.dtos.report.PayrollSummaryRowDTO;
+import com.payroll.entity.CacheInvalidation;
 import com.payroll.entity.PayrollCalculation;
 import com.payroll.entity.Employee;
+import com.payroll.entity.PayrollIdempotencyKey;
+import com.payroll.model.PayrollInput;
+import com.payroll.model.PayrollResult;
 import com.payroll.repository.PayrollCalculationRepository;
 import com.payroll.repository.EmployeeRepository;
+import com.payroll.repository.PayrollIdempotencyKeyRepository;
 import com.payroll.collections.CollectionOps;
-import com.payroll.collections.GroupBySpec;
+import com.payroll.exception.ConflictBusinessException;
 import com.payroll.exception.DataIntegrityBusinessException;
 import com.payroll.exception.DatabaseConnectionException;
 import com.payroll.exception.InputValidationException;
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
+import com.payroll.service.cache.CacheInvalidationBus;
 import com.payroll.service.discount.DiscountCalculationContext;
+import com.payroll.service.discount.DiscountPipeline;
 import com.payroll.service.discount.DiscountStrategy;
 import com.payroll.service.discount.DiscountType;
+import com.payroll.service.discount.TaxResultCache;
+import com.payroll.service.discount.TaxTable;
+import com.payroll.service.department.DepartmentTotalsService;
+import com.payroll.service.rules.CompiledRuleSet;
+import com.payroll.service.rules.PayrollRuleService;
+import com.payroll.service.rules.RuleContext;
+import com.payroll.service.timesheet.TimesheetService;
 
 @Service
 public class PayrollService implements IPayrollService {
 
+    private static final Logger logger = LoggerFactory.getLogger(PayrollService.class);
+
     @Autowired
     private PayrollCalculationRepository payrollRepository;
 
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private PayrollIdempotencyKeyRepository idempotencyKeyRepository;
+
     @Autowired
     private ReportsService reportsService;
 
-    // Injeção de todas as estratégias de desconto disponíveis no contexto do Spring
     @Autowired
-    private List<DiscountStrategy> discountStrategies;
+    private PayrollMonthTotalsService monthTotalsService;
+
+    @Autowired
+    private DepartmentTotalsService departmentTotalsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Remuneração vigente na competência (histórico com vigência por data)
+    @Autowired
+    private CompensationHistoryService compensationHistory;
+
+    // Horas extras apuradas no ponto eletrônico (substituem as informadas no cadastro)
+    @Autowired
+    private TimesheetService timesheetService;
+
+    // Regras configuráveis de proventos/descontos, já compiladas
+    @Autowired
+    private PayrollRuleService ruleService;
+
+    // Estratégias de desconto montadas na inicialização, já na ordem de dependência
+    @Autowired
+    private DiscountPipeline discountPipeline;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    // Memoização de INSS/IRRF da tabela vigente para execuções em lote (recálculo do mês, simulações)
+    private final TaxResultCache bulkTaxCache = new TaxResultCache(TaxResultCache.DEFAULT_MAX_ENTRIES);
 
-    // Mapa para acesso rápido às estratégias por tipo (cache local)
-    private Map<DiscountType, DiscountStrategy> discountStrategyMap;
+    // Tamanho máximo aceito para o cabeçalho Idempotency-Key (mesmo da coluna)
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
+
+    // Travas por (funcionário, competência): pedidos simultâneos do mesmo holerite são serializados
+    // nesta instância; entre instâncias, a constraint única do banco decide o vencedor
+    private final StripedLocks payrollLocks = new StripedLocks(64);
 
     @Override
     public PayrollCalculation calculatePayroll(Long employeeId, String referenceMonth, Long calculatedBy) {
+        ReentrantLock lock = payrollLocks.forKey(employeeId + ":" + referenceMonth);
+        lock.lock();
+        try {
+            return calculateOrGetExisting(employeeId, referenceMonth, calculatedBy);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public PayrollCalculation calculatePayroll(Long employeeId, String referenceMonth, Long calculatedBy, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return calculatePayroll(employeeId, referenceMonth, calculatedBy);
+        }
+        if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new InputValidationException("Idempotency-Key deve ter no maximo " + MAX_IDEMPOTENCY_KEY_LENGTH + " caracteres");
+        }
+        claimIdempotencyKey(idempotencyKey, employeeId, referenceMonth);
+        // Chave válida para estes parâmetros: o holerite é único por (funcionário, competência)
+        return calculatePayroll(employeeId, referenceMonth, calculatedBy);
+    }
+
+    // Registrar a chave para os parâmetros do pedido; repetição com outros parâmetros é conflito
+    private void claimIdempotencyKey(String idempotencyKey, Long employeeId, String referenceMonth) {
         try {
-            // Verificar idempotência: se já existe folha para este mês, retorna a existente
-            Optional<PayrollCalculation> existing = payrollRepository.findByEmployeeIdAndReferenceMonth(employeeId, referenceMonth);
-            if (existing.isPresent()) return existing.get();
+            PayrollIdempotencyKey claimed = idempotencyKeyRepository.findById(idempotencyKey).orElse(null);
+            if (claimed == null) {
+                try {
+                    idempotencyKeyRepository.saveAndFlush(new PayrollIdempotencyKey(idempotencyKey, employeeId, referenceMonth));
+                    return;
+                } catch (DataIntegrityViolationException e) {
+                    // Pedido concorrente com a mesma chave registrou primeiro
+                    claimed = idempotencyKeyRepository.findById(idempotencyKey)
+                            .orElseThrow(() -> new DataIntegrityBusinessException("Violacao de integridade ao registrar chave de idempotencia", e));
+                }
+            }
+            if (!claimed.matches(employeeId, referenceMonth)) {
+                throw new ConflictBusinessException("Idempotency-Key ja utilizada com outros parametros",
+                        Map.of("idempotencyKey", idempotencyKey,
+                               "employeeId", claimed.getEmployeeId(),
+                               "referenceMonth", claimed.getReferenceMonth()));
+            }
         } catch (DataAccessResourceFailureException e) {
-            throw new DatabaseConnectionException("Falha de conexao ao verificar folha existente", e);
+            throw new DatabaseConnectionException("Falha de conexao ao registrar chave de idempotencia", e);
         }
+    }
+
+    // Devolver o holerite já gravado ou calcular e gravar um novo (chamado sob a trava da chave)
+    private PayrollCalculation calculateOrGetExisting(Long employeeId, String referenceMonth, Long calculatedBy) {
+        // Verificar idempotência: se já existe folha para este mês, retorna a existente
+        Optional<PayrollCalculation> existing = findExisting(employeeId, referenceMonth);
+        if (existing.isPresent()) return existing.get();
 
         PayrollCalculation calculation = new PayrollCalculation();
         calculation.setReferenceMonth(referenceMonth);
@@ -75,23 +185,110 @@ public class PayrollService implements IPayrollService {
             throw new DatabaseConnectionException("Falha de conexao ao buscar empregado", e);
         }
         calculation.setEmployee(employee);
+        calculation.setDepartmentId(employee.getDepartmentId());
+
+        // Cálculo com a remuneração vigente no fim da competência, não necessariamente a atual
+        Employee asOf = compensationHistory.asOf(employee, referenceMonth);
+        BigDecimal punched = timesheetService.overtimeHours(employeeId, referenceMonth).orElse(null);
+        applyCalculation(calculation, asOf, overtimeHours(asOf, punched), ruleService.current(), null);
+
+        // --- Passo 5: Persistência e Auditoria ---
+        try {
+            // Holerite, totais do mês e do departamento são gravados juntos: ou todos entram, ou nenhum
+            PayrollCalculation saved = new TransactionTemplate(transactionManager).execute(status -> {
+                // Flush imediato: a violação da chave (funcionário, competência) chega aqui, e não
+                // embrulhada pela atualização dos totais, para devolver o holerite da outra instância
+                PayrollCalculation persisted = payrollRepository.saveAndFlush(calculation);
+                monthTotalsService.record(persisted);
+                departmentTotalsService.record(persisted);
+                invalidationBus.publish(CacheInvalidation.PAYROLL, employeeId);
+                return persisted;
+            });
+
+            // Gerar relatório PDF automaticamente
+            try {
+                reportsService.createReport(employeeId, referenceMonth, "PAYROLL", calculatedBy);
+            } catch (Exception e) {
+                // Logar falha no relatório sem abortar a transação principal
+                e.printStackTrace();
+            }
+            
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            // Outra instância gravou o mesmo holerite entre a verificação e o insert: devolver o vencedor
+            return findExisting(employeeId, referenceMonth)
+                    .orElseThrow(() -> new DataIntegrityBusinessException("Violacao de integridade ao salvar calculo de folha", e));
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao salvar calculo de folha", e);
+        }
+    }
+
+    private Optional<PayrollCalculation> findExisting(Long employeeId, String referenceMonth) {
+        try {
+            return payrollRepository.findByEmployeeIdAndReferenceMonth(employeeId, referenceMonth);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao verificar folha existente", e);
+        }
+    }
+
+    // Aplicar as regras de cálculo sobre uma folha (nova ou já persistida) a partir da remuneração informada
+    private void applyCalculation(PayrollCalculation calculation, Employee employee, BigDecimal overtimeHours,
+                                  CompiledRuleSet rules, TaxResultCache taxCache) {
+        PayrollResult r = compute(PayrollInput.from(employee).withOvertimeHours(overtimeHours), TaxTable.DEFAULT, taxCache, rules);
+
+        // Preenchimento dos resultados na entidade
+        calculation.setHourlyWage(r.getHourlyWage());
+        calculation.setDangerousBonus(r.getDangerousBonus());
+        calculation.setUnhealthyBonus(r.getUnhealthyBonus());
+        calculation.setOvertimeValue(r.getOvertimeValue());
+        calculation.setGrossSalary(r.getGrossSalary());
+        calculation.setInssDiscount(r.getInssDiscount());
+        calculation.setIrpfDiscount(r.getIrrfDiscount());
+        calculation.setTransportDiscount(r.getTransportDiscount());
+        calculation.setFgtsValue(r.getFgtsValue());
+        calculation.setMealVoucherValue(r.getMealVoucherValue());
+        calculation.setHealthPlanDiscount(r.getHealthPlanDiscount());
+        calculation.setDentalPlanDiscount(r.getDentalPlanDiscount());
+        calculation.setGymDiscount(r.getGymDiscount());
+        calculation.setOtherEarnings(r.getOtherEarnings());
+        calculation.setOtherDeductions(r.getOtherDeductions());
+        calculation.setNetSalary(r.getNetSalary());
+        calculation.setInputFingerprint(PayrollFingerprint.of(employee, overtimeHours, rules.getVersion()));
+    }
+
+    // Horas extras do cálculo: as apuradas no ponto quando há apuração no mês, senão as do cadastro
+    private static BigDecimal overtimeHours(Employee employee, BigDecimal punched) {
+        return punched != null ? punched : employee.getOvertimeHours();
+    }
 
+    // Motor de cálculo puro: não acessa o banco nem altera entidades, podendo rodar em paralelo
+    @Override
+    public PayrollResult compute(PayrollInput input, TaxTable taxTable) {
+        return compute(input, taxTable, null);
+    }
+
+    // Mesmo cálculo, reaproveitando INSS/IRRF já calculados para a mesma entrada (cache opcional)
+    @Override
+    public PayrollResult compute(PayrollInput input, TaxTable taxTable, TaxResultCache taxCache) {
+        return compute(input, taxTable, taxCache, ruleService.current());
+    }
+
+    // Cálculo com um conjunto de regras fixo (o mesmo cuja versão vai para o fingerprint)
+    private PayrollResult compute(PayrollInput input, TaxTable taxTable, TaxResultCache taxCache, CompiledRuleSet rules) {
         // --- Passo 1: Definição de Bases e Proventos ---
-        BigDecimal baseSalary = nz(employee.getSalary());
-        int weeklyHours = employee.getWeeklyHours() != null ? employee.getWeeklyHours() : 40;
-        int workDaysMonth = 22;
-        int dependents = employee.getDependents() != null ? employee.getDependents() : 0;
+        BigDecimal baseSalary = input.getSalary();
+        int dependents = input.getDependents();
+
+        BigDecimal hourlyWage = calcularSalarioHora(baseSalary, input.getWeeklyHours());
 
-        BigDecimal hourlyWage = calcularSalarioHora(baseSalary, weeklyHours);
-        
         // Cálculo de Adicional de Periculosidade (geralmente 30%)
-        BigDecimal dangerousBonus = employee.getDangerousWork() != null && employee.getDangerousWork()
-                ? baseSalary.multiply(employee.getDangerousPercentage() != null ? employee.getDangerousPercentage() : new BigDecimal("0.30"))
+        BigDecimal dangerousBonus = input.isDangerousWork()
+                ? baseSalary.multiply(input.getDangerousPercentage() != null ? input.getDangerousPercentage() : new BigDecimal("0.30"))
                 : BigDecimal.ZERO;
 
         // Cálculo de Adicional de Insalubridade (baseado no nível de exposição)
-        BigDecimal unhealthyBonus = BigDecimal.ZERO;
-        String level = employee.getUnhealthyLevel() != null ? employee.getUnhealthyLevel().toUpperCase() : "NONE";
+        BigDecimal unhealthyBonus;
+        String level = input.getUnhealthyLevel() != null ? input.getUnhealthyLevel().toUpperCase() : "NONE";
         switch (level) {
             case "LOW", "BAIXO" -> unhealthyBonus = baseSalary.multiply(new BigDecimal("0.10"));
             case "MEDIUM", "MEDIO", "MÉDIO" -> unhealthyBonus = baseSalary.multiply(new BigDecimal("0.20"));
@@ -99,76 +296,58 @@ public class PayrollService implements IPayrollService {
             default -> unhealthyBonus = BigDecimal.ZERO;
         }
 
-        BigDecimal mealVoucher = employee.getMealVoucherValue() != null ? employee.getMealVoucherValue() : BigDecimal.ZERO;
+        BigDecimal mealVoucher = input.getMealVoucherValue();
 
         // Cálculo de Horas Extras (Adicional de 50%)
-        BigDecimal overtimeHours = employee.getOvertimeHours() != null ? employee.getOvertimeHours() : BigDecimal.ZERO;
+        BigDecimal overtimeHours = input.getOvertimeHours();
         BigDecimal overtimeValue = BigDecimal.ZERO;
-        if (Boolean.TRUE.equals(employee.getOvertimeEligible()) && overtimeHours.compareTo(BigDecimal.ZERO) > 0) {
+        if (input.isOvertimeEligible() && overtimeHours.compareTo(BigDecimal.ZERO) > 0) {
              overtimeValue = hourlyWage.multiply(new BigDecimal("1.5")).multiply(overtimeHours).setScale(2, RoundingMode.HALF_UP);
         }
-        calculation.setOvertimeValue(overtimeValue);
+
+        // Proventos das regras configuráveis (funções já compiladas; sem regras ativas, zero)
+        RuleContext ruleContext = new RuleContext(input, hourlyWage);
+        BigDecimal otherEarnings = rules.applyEarnings(ruleContext);
 
         // Totalizar Salário Bruto
-        BigDecimal grossSalary = baseSalary.add(dangerousBonus).add(unhealthyBonus).add(mealVoucher).add(overtimeValue);
+        BigDecimal grossSalary = baseSalary.add(dangerousBonus).add(unhealthyBonus).add(mealVoucher).add(overtimeValue)
+                .add(otherEarnings);
 
         // --- Passo 2: Contexto para Cálculo de Descontos ---
         DiscountCalculationContext ctx = new DiscountCalculationContext()
                 .setGrossSalary(grossSalary)
                 .setDependents(dependents)
-                .setTransportEnabled(Boolean.TRUE.equals(employee.getTransportVoucher()))
-                .setPensionAlimony(BigDecimal.ZERO);
+                .setTransportEnabled(input.isTransportVoucher())
+                .setPensionAlimony(BigDecimal.ZERO)
+                .setTaxTable(taxTable);
 
         // Configurar Valor do Vale Transporte (Valor fixo ou percentual legal)
-        BigDecimal transportValue = nz(employee.getTransportVoucherValue());
+        BigDecimal transportValue = input.getTransportVoucherValue();
         if (transportValue.compareTo(BigDecimal.ZERO) <= 0) {
             transportValue = grossSalary.multiply(PayrollConstants.TRANSPORTE_RATE);
         }
         ctx.setTransportVoucherValue(transportValue);
 
-        // --- Passo 3: Execução das Estratégias de Desconto (Chain of Responsibility/Strategy) ---
-        BigDecimal inssDiscount = strategy(DiscountType.INSS).calculate(ctx);
-        ctx.setInssDiscount(inssDiscount); // Atualizar contexto pois o IRRF depende do INSS
-        
-        BigDecimal irrfDiscount = strategy(DiscountType.IRRF).calculate(ctx);
-        BigDecimal transportDiscount = strategy(DiscountType.TRANSPORT).calculate(ctx);
-
-        // Preenchimento dos resultados na entidade
-        calculation.setHourlyWage(hourlyWage);
-        calculation.setDangerousBonus(dangerousBonus.setScale(2, RoundingMode.HALF_UP));
-        calculation.setUnhealthyBonus(unhealthyBonus.setScale(2, RoundingMode.HALF_UP));
-        calculation.setGrossSalary(grossSalary.setScale(2, RoundingMode.HALF_UP));
-        calculation.setInssDiscount(inssDiscount.setScale(2, RoundingMode.HALF_UP));
-        calculation.setIrpfDiscount(irrfDiscount.setScale(2, RoundingMode.HALF_UP));
-        calculation.setTransportDiscount(transportDiscount.setScale(2, RoundingMode.HALF_UP));
+        // --- Passo 3: Execução das Estratégias de Desconto (pipeline em ordem de dependência: INSS antes do IRRF) ---
+        discountPipeline.execute(ctx, taxCache);
+        BigDecimal inssDiscount = ctx.getResult(DiscountType.INSS);
+        BigDecimal irrfDiscount = ctx.getResult(DiscountType.IRRF);
+        BigDecimal transportDiscount = ctx.getResult(DiscountType.TRANSPORT);
 
         BigDecimal fgts = calcularFGTS(grossSalary);
-        calculation.setFgtsValue(fgts.setScale(2, RoundingMode.HALF_UP));
-
-        calculation.setMealVoucherValue(mealVoucher.setScale(2, RoundingMode.HALF_UP));
 
         // --- Passo 4: Descontos de Benefícios Complementares (Planos) ---
-        BigDecimal healthPlanDiscount = BigDecimal.ZERO;
-        if (Boolean.TRUE.equals(employee.getHealthPlan())) {
-            healthPlanDiscount = nz(employee.getHealthPlanValue());
-        }
-        calculation.setHealthPlanDiscount(healthPlanDiscount);
+        BigDecimal healthPlanDiscount = input.getHealthPlanDiscount();
+        BigDecimal dentalPlanDiscount = input.getDentalPlanDiscount();
+        BigDecimal gymDiscount = input.getGymDiscount();
 
-        BigDecimal dentalPlanDiscount = BigDecimal.ZERO;
-        if (Boolean.TRUE.equals(employee.getDentalPlan())) {
-            dentalPlanDiscount = nz(employee.getDentalPlanValue());
-        }
-        calculation.setDentalPlanDiscount(dentalPlanDiscount);
-
-        BigDecimal gymDiscount = BigDecimal.ZERO;
-        if (Boolean.TRUE.equals(employee.getGym())) {
-            gymDiscount = nz(employee.getGymValue());
-        }
-        calculation.setGymDiscount(gymDiscount);
+        // Descontos das regras configuráveis, com bruto e impostos já conhecidos
+        BigDecimal otherDeductions = rules.applyDeductions(ruleContext.withTaxes(grossSalary, inssDiscount, irrfDiscount));
 
-        // Totalizar Descontos
-        BigDecimal totalDiscounts = inssDiscount.add(irrfDiscount).add(fgts).add(transportDiscount)
-                                            .add(healthPlanDiscount).add(dentalPlanDiscount).add(gymDiscount);
+        // Totalizar Descontos (FGTS é encargo do empregador e não sai do líquido)
+        BigDecimal totalDiscounts = inssDiscount.add(irrfDiscount).add(transportDiscount)
+                                            .add(healthPlanDiscount).add(dentalPlanDiscount).add(gymDiscount)
+                                            .add(otherDeductions);
 
         // Validações Finais de Integridade Financeira
         if (grossSalary.compareTo(BigDecimal.ZERO) <= 0) {
@@ -181,29 +360,121 @@ public class PayrollService implements IPayrollService {
         }
 
         BigDecimal netSalary = grossSalary.subtract(totalDiscounts);
-        calculation.setNetSalary(netSalary.setScale(2, RoundingMode.HALF_UP));
+        return new PayrollResult(
+                hourlyWage,
+                dangerousBonus.setScale(2, RoundingMode.HALF_UP),
+                unhealthyBonus.setScale(2, RoundingMode.HALF_UP),
+                mealVoucher.setScale(2, RoundingMode.HALF_UP),
+                overtimeValue,
+                grossSalary.setScale(2, RoundingMode.HALF_UP),
+                inssDiscount.setScale(2, RoundingMode.HALF_UP),
+                irrfDiscount.setScale(2, RoundingMode.HALF_UP),
+                transportDiscount.setScale(2, RoundingMode.HALF_UP),
+                fgts.setScale(2, RoundingMode.HALF_UP),
+                healthPlanDiscount,
+                dentalPlanDiscount,
+                gymDiscount,
+                otherEarnings,
+                otherDeductions,
+                totalDiscounts,
+                netSalary.setScale(2, RoundingMode.HALF_UP));
+    }
 
-        // --- Passo 5: Persistência e Auditoria ---
+    // Recalcular a competência apenas para os funcionários cujas entradas mudaram desde o último cálculo
+    @Override
+    @Transactional
+    public PayrollRecalculationResultDTO recalculateMonth(String referenceMonth) {
+        if (referenceMonth == null || referenceMonth.isBlank()) {
+            throw new InputValidationException("Mes de referencia obrigatorio");
+        }
         try {
-            PayrollCalculation saved = payrollRepository.save(calculation);
-            
-            // Gerar relatório PDF automaticamente
-            try {
-                reportsService.createReport(employeeId, referenceMonth, "PAYROLL", calculatedBy);
-            } catch (Exception e) {
-                // Logar falha no relatório sem abortar a transação principal
-                e.printStackTrace();
+            List<PayrollCalculation> payrolls = payrollRepository.findByReferenceMonthFetchEmployee(referenceMonth);
+            // Históricos de remuneração carregados em lote, sem uma consulta por holerite
+            compensationHistory.preload(payrolls.stream().map(pc -> pc.getEmployee().getId()).toList());
+            // Apuração do ponto da competência inteira em uma consulta
+            Map<Long, BigDecimal> punchedOvertime = timesheetService.overtimeHoursByEmployee(referenceMonth);
+            // Um único conjunto de regras para a execução inteira
+            CompiledRuleSet rules = ruleService.current();
+            int recalculated = 0;
+            for (PayrollCalculation pc : payrolls) {
+                Employee asOf = compensationHistory.asOf(pc.getEmployee(), referenceMonth);
+                BigDecimal overtime = overtimeHours(asOf, punchedOvertime.get(asOf.getId()));
+                // Fingerprint igual: holerite ainda reflete a remuneração vigente, o ponto e as tabelas
+                if (PayrollFingerprint.of(asOf, overtime, rules.getVersion()).equals(pc.getInputFingerprint())) continue;
+                applyCalculation(pc, asOf, overtime, rules, bulkTaxCache);
+                recalculated++;
             }
-            
-            return saved;
+            // Entidades gerenciadas: o flush envia os UPDATEs em batch
+            payrollRepository.flush();
+            // Valores dos holerites mudaram: reconciliar a linha do mês no razão
+            if (recalculated > 0) {
+                monthTotalsService.rebuild(referenceMonth);
+                departmentTotalsService.rebuild(referenceMonth);
+                invalidationBus.publish(CacheInvalidation.PAYROLL, null);
+            }
+            return new PayrollRecalculationResultDTO(referenceMonth, payrolls.size(), recalculated);
         } catch (DataIntegrityViolationException e) {
-            throw new DataIntegrityBusinessException("Violacao de integridade ao salvar calculo de folha", e);
+            throw new DataIntegrityBusinessException("Violacao de integridade ao recalcular folhas do mes", e);
         } catch (DataAccessResourceFailureException e) {
-            throw new DatabaseConnectionException("Falha de conexao ao salvar calculo de folha", e);
+            throw new DatabaseConnectionException("Falha de conexao ao recalcular folhas do mes", e);
         }
     }
 
-    private BigDecimal nz(BigDecimal v) { return v == null ? BigDecimal.ZERO : v; }
+    // Resultado de um bloco do fechamento em lote; 'lastEmployeeId' é o último funcionário tratado
+    public record ChunkResult(int calculated, int skipped, int failed, String lastError, Long lastEmployeeId) {}
+
+    // Fechamento em lote: calcular os holerites ainda inexistentes de um bloco de funcionários (ordenado por ID)
+    // e gravá-los com os relatórios em uma única transação. 'guard' roda nessa transação antes das gravações;
+    // se lançar exceção (ex.: a partição mudou de dono), nada do bloco é gravado. Os totais do mês e dos
+    // departamentos não são somados aqui: quem conclui o fechamento reconstrói o razão uma vez
+    public ChunkResult calculateChunk(List<Employee> employees, String referenceMonth, Long calculatedBy,
+                                      Consumer<ChunkResult> guard) {
+        if (employees.isEmpty()) return new ChunkResult(0, 0, 0, null, null);
+        List<Long> ids = employees.stream().map(Employee::getId).toList();
+        Long firstId = ids.get(0), lastId = ids.get(ids.size() - 1);
+        try {
+            Set<Long> existing = new HashSet<>(payrollRepository.findEmployeeIdsWithPayroll(referenceMonth, ids));
+            compensationHistory.preload(ids);
+            Map<Long, BigDecimal> punchedOvertime = timesheetService.overtimeHoursByEmployee(referenceMonth, firstId, lastId);
+            CompiledRuleSet rules = ruleService.current();
+
+            List<PayrollCalculation> calculations = new ArrayList<>(employees.size());
+            int failed = 0;
+            String lastError = null;
+            for (Employee employee : employees) {
+                if (existing.contains(employee.getId())) continue;
+                PayrollCalculation calculation = new PayrollCalculation();
+                calculation.setReferenceMonth(referenceMonth);
+                calculation.setCreatedBy(calculatedBy);
+                calculation.setEmployee(employee);
+                calculation.setDepartmentId(employee.getDepartmentId());
+                Employee asOf = compensationHistory.asOf(employee, referenceMonth);
+                try {
+                    applyCalculation(calculation, asOf, overtimeHours(asOf, punchedOvertime.get(employee.getId())),
+                            rules, bulkTaxCache);
+                } catch (InputValidationException e) {
+                    // Entradas inválidas não interrompem o bloco: o funcionário fica sem holerite e é contado
+                    failed++;
+                    lastError = "Funcionario " + employee.getId() + ": " + e.getMessage();
+                    continue;
+                }
+                calculations.add(calculation);
+            }
+
+            ChunkResult result = new ChunkResult(calculations.size(), existing.size(), failed, lastError, lastId);
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                guard.accept(result);
+                payrollRepository.saveAll(calculations);
+                reportsService.createPayrollReports(calculations, calculatedBy);
+                if (!calculations.isEmpty()) invalidationBus.publish(CacheInvalidation.PAYROLL, null);
+            });
+            return result;
+        } catch (DataIntegrityViolationException e) {
+            throw new DataIntegrityBusinessException("Violacao de integridade ao gravar bloco de holerites", e);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao gravar bloco de holerites", e);
+        }
+    }
 
     @Override
     public BigDecimal calcularSalarioHora(BigDecimal salarioBruto, int horasSemanais) {
@@ -304,55 +575,68 @@ public class PayrollService implements IPayrollService {
         });
     }
 
-    public Map<String, List<PayrollCalculation>> groupPayrollsByMonth() {
-        List<PayrollCalculation> all = getAllPayrolls();
-        return CollectionOps.groupBy(all, new GroupBySpec<String, PayrollCalculation>() {
-            @Override
-            public String key(PayrollCalculation item) {
-                return item.getReferenceMonth();
-            }
-        });
+    // Resumo por competência agregado no banco; só cai para a combinação em memória se a consulta não puder rodar
+    public List<PayrollSummaryRowDTO> summarizePayrollsByMonth() {
+        try {
+            return payrollRepository.summarizeByMonth();
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao resumir folhas por mes", e);
+        } catch (DataAccessException e) {
+            logger.warn("Agregacao por mes indisponivel no banco, combinando em memoria: {}", e.getMessage());
+            return PayrollSummaryAccumulator.summarize(getAllPayrolls(), PayrollCalculation::getReferenceMonth);
+        }
+    }
+
+    // Resumo por cargo do funcionário, opcionalmente de uma única competência
+    public List<PayrollSummaryRowDTO> summarizePayrollsByPosition(String referenceMonth) {
+        String month = referenceMonth == null || referenceMonth.isBlank() ? null : referenceMonth;
+        try {
+            return month != null
+                    ? payrollRepository.summarizeByPositionAndReferenceMonth(month)
+                    : payrollRepository.summarizeByPosition();
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao resumir folhas por cargo", e);
+        } catch (DataAccessException e) {
+            logger.warn("Agregacao por cargo indisponivel no banco, combinando em memoria: {}", e.getMessage());
+            List<PayrollCalculation> payrolls = month != null
+                    ? payrollRepository.findByReferenceMonthFetchEmployee(month)
+                    : getAllPayrolls();
+            return PayrollSummaryAccumulator.summarize(payrolls, pc -> pc.getEmployee().getPosition());
+        }
     }
 
-    // Busca de casos extremos (Salário Negativo ou Desconto Total) para auditoria
+    // Busca de casos extremos (Salário Negativo ou Desconto Total) para auditoria, filtrada no banco
     public List<PayrollCalculation> findEdgeCasePayrolls() {
-        List<PayrollCalculation> all = getAllPayrolls();
-        return CollectionOps.filter(all, pc -> {
-            BigDecimal gross = pc.getGrossSalary();
-            BigDecimal inss = pc.getInssDiscount();
-            BigDecimal irpf = pc.getIrpfDiscount();
-            BigDecimal transport = pc.getTransportDiscount();
-            BigDecimal fgts = pc.getFgtsValue();
-            BigDecimal totalDiscounts = CollectionOps.sum(List.of(inss, irpf, transport, fgts), v -> v);
-            boolean nonPositiveGross = gross == null || gross.compareTo(BigDecimal.ZERO) <= 0;
-            boolean fullDiscount = (gross != null) && totalDiscounts.compareTo(gross) >= 0;
-            return nonPositiveGross || fullDiscount;
-        });
+        return findEdgeCasePayrolls(null, Pageable.unpaged()).getContent();
+    }
+
+    // Versão paginada, opcionalmente restrita a uma competência
+    public Page<PayrollCalculation> findEdgeCasePayrolls(String referenceMonth, Pageable pageable) {
+        try {
+            return referenceMonth == null || referenceMonth.isBlank()
+                    ? payrollRepository.findEdgeCases(pageable)
+                    : payrollRepository.findEdgeCasesByReferenceMonth(referenceMonth, pageable);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao auditar folhas", e);
+        }
     }
 
-    // Soma total de descontos aplicados a um funcionário em todo o histórico
+    // Soma total de descontos aplicados a um funcionário em todo o histórico (agregada no banco)
     public BigDecimal totalDiscountsForEmployee(Long employeeId) {
-        List<PayrollCalculation> list = getEmployeePayrolls(employeeId);
-        return CollectionOps.sum(list, pc -> {
-            BigDecimal inss = pc.getInssDiscount();
-            BigDecimal irpf = pc.getIrpfDiscount();
-            BigDecimal transport = pc.getTransportDiscount();
-            BigDecimal fgts = pc.getFgtsValue();
-            BigDecimal total = BigDecimal.ZERO;
-            if (inss != null) total = total.add(inss);
-            if (irpf != null) total = total.add(irpf);
-            if (transport != null) total = total.add(transport);
-            if (fgts != null) total = total.add(fgts);
-            return total;
-        });
+        try {
+            return payrollRepository.sumTotalDiscountsByEmployeeId(employeeId);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao somar descontos do empregado", e);
+        }
     }
 
-    // Helper para selecionar a estratégia correta no mapa
+    // Cache compartilhado das execuções em lote com a tabela vigente
+    public TaxResultCache getBulkTaxCache() {
+        return bulkTaxCache;
+    }
+
+    // Helper para selecionar a estratégia correta no pipeline
     private DiscountStrategy strategy(DiscountType type) {
-        if (discountStrategyMap == null) {
-            discountStrategyMap = discountStrategies.stream()
-                    .collect(Collectors.toMap(DiscountStrategy::getType, s -> s));
-        }
-        return discountStrategyMap.get(type);
+        return discountPipeline.strategy(type);
     }
 }
\ No newline at end of file
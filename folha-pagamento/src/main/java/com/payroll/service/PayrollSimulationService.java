@@ -0,0 +1,204 @@
+package com.payroll.service;
+
+/*
+ * Serviço de simulação de folha ("what-if").
+ * Carrega uma única vez um snapshot imutável dos funcionários, aplica reajustes e tabelas
+ * de impostos alternativas e executa o motor de cálculo em paralelo, devolvendo apenas
+ * os totais agregados. Nada é gravado: nem folhas, nem relatórios.
+ */
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.payroll.dtos.payroll.PayrollSimulationRequestDTO;
+import com.payroll.dtos.payroll.PayrollSimulationResultDTO;
+import com.payroll.dtos.payroll.PayrollSimulationTotalsDTO;
+import com.payroll.dtos.payroll.TaxTableOverrideDTO;
+import com.payroll.exception.DatabaseConnectionException;
+import com.payroll.exception.InputValidationException;
+import com.payroll.model.PayrollInput;
+import com.payroll.model.PayrollResult;
+import com.payroll.repository.EmployeeRepository;
+import com.payroll.service.discount.TaxResultCache;
+import com.payroll.service.discount.TaxTable;
+
+@Service
+public class PayrollSimulationService {
+
+    // Cargo usado para agrupar funcionários sem cargo cadastrado
+    static final String NO_POSITION = "SEM CARGO";
+
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private IPayrollService payrollService;
+
+    // Executar a simulação sobre todo o quadro de funcionários
+    @Transactional(readOnly = true)
+    public PayrollSimulationResultDTO simulate(PayrollSimulationRequestDTO request) {
+        if (request == null) {
+            throw new InputValidationException("Parametros da simulacao obrigatorios");
+        }
+        validatePercent("salaryIncreasePercent", request.getSalaryIncreasePercent());
+        if (request.getPositionIncreasePercent() != null) {
+            request.getPositionIncreasePercent().forEach((position, pct) -> validatePercent(position, pct));
+        }
+        TaxTable simulatedTable = toTaxTable(request.getTaxTable());
+        // Tabela vigente usa o cache compartilhado; tabela alternativa tem cache próprio da execução,
+        // pois pode repetir a versão da vigente com faixas diferentes
+        TaxResultCache baselineCache = payrollService.getBulkTaxCache();
+        TaxResultCache simulatedCache = simulatedTable == TaxTable.DEFAULT
+                ? baselineCache : new TaxResultCache(TaxResultCache.DEFAULT_MAX_ENTRIES);
+
+        // Snapshot compacto e desacoplado: as entidades não são mais tocadas depois daqui
+        List<PayrollInput> snapshot;
+        try {
+            snapshot = employeeRepository.findAll().stream().map(PayrollInput::from).toList();
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao carregar funcionarios para simulacao", e);
+        }
+
+        // Cálculo atual e simulado por funcionário em paralelo, agregando por cargo
+        Map<String, Accumulator> byPosition = snapshot.parallelStream()
+                .map(input -> simulateOne(input, request, simulatedTable, baselineCache, simulatedCache))
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Row::position, TreeMap::new, Accumulator.collector()));
+
+        Accumulator total = new Accumulator();
+        byPosition.values().forEach(total::merge);
+
+        PayrollSimulationResultDTO result = new PayrollSimulationResultDTO();
+        result.setTaxTableVersion(simulatedTable.getVersion());
+        result.setSimulated(total.headcount);
+        result.setSkipped(snapshot.size() - total.headcount);
+        result.setTotal(total.toDTO(null));
+        result.setPositions(byPosition.entrySet().stream()
+                .map(e -> e.getValue().toDTO(e.getKey()))
+                .toList());
+        return result;
+    }
+
+    // Calcular o holerite atual e o simulado; funcionários com entradas inválidas ficam de fora
+    private Row simulateOne(PayrollInput input, PayrollSimulationRequestDTO request, TaxTable simulatedTable,
+                            TaxResultCache baselineCache, TaxResultCache simulatedCache) {
+        String position = input.getPosition() != null ? input.getPosition() : NO_POSITION;
+        BigDecimal pct = increaseFor(position, request);
+        PayrollInput adjusted = pct.signum() == 0 ? input
+                : input.withSalary(input.getSalary().multiply(BigDecimal.ONE.add(pct.divide(HUNDRED)))
+                        .setScale(2, RoundingMode.HALF_UP));
+        try {
+            PayrollResult baseline = payrollService.compute(input, TaxTable.DEFAULT, baselineCache);
+            PayrollResult simulated = payrollService.compute(adjusted, simulatedTable, simulatedCache);
+            return new Row(position, baseline, simulated);
+        } catch (InputValidationException e) {
+            return null;
+        }
+    }
+
+    private BigDecimal increaseFor(String position, PayrollSimulationRequestDTO request) {
+        Map<String, BigDecimal> byPosition = request.getPositionIncreasePercent();
+        if (byPosition != null && byPosition.get(position) != null) return byPosition.get(position);
+        return request.getSalaryIncreasePercent() != null ? request.getSalaryIncreasePercent() : BigDecimal.ZERO;
+    }
+
+    private void validatePercent(String field, BigDecimal pct) {
+        // Reajuste de -100% ou menos zeraria (ou inverteria) o salário
+        if (pct != null && pct.compareTo(HUNDRED.negate()) <= 0) {
+            throw new InputValidationException("Percentual de reajuste invalido", Map.of(field, pct));
+        }
+    }
+
+    // Montar a tabela simulada completando os campos ausentes com a tabela vigente
+    private TaxTable toTaxTable(TaxTableOverrideDTO o) {
+        if (o == null) return TaxTable.DEFAULT;
+        try {
+            return new TaxTable(
+                    o.getVersion() != null ? o.getVersion() : PayrollConstants.TAX_TABLE_VERSION + "-simulada",
+                    o.getInssLimits() != null ? o.getInssLimits().toArray(BigDecimal[]::new) : PayrollConstants.INSS_LIMITS,
+                    o.getInssRates() != null ? o.getInssRates().toArray(BigDecimal[]::new) : PayrollConstants.INSS_RATES,
+                    o.getIrrfExemptLimit() != null ? o.getIrrfExemptLimit() : PayrollConstants.IRPF_ISENTO,
+                    o.getIrrfLimits() != null ? o.getIrrfLimits().toArray(BigDecimal[]::new) : PayrollConstants.IRPF_LIMITS,
+                    o.getIrrfRates() != null ? o.getIrrfRates().toArray(BigDecimal[]::new) : PayrollConstants.IRPF_RATES,
+                    o.getDependentDeduction() != null ? o.getDependentDeduction() : PayrollConstants.DEDUCAO_DEPENDENTE);
+        } catch (IllegalArgumentException e) {
+            throw new InputValidationException("Tabela de impostos invalida: " + e.getMessage());
+        }
+    }
+
+    private record Row(String position, PayrollResult baseline, PayrollResult simulated) {}
+
+    // Somatório mutável por cargo; combinável entre as threads do parallel stream
+    private static final class Accumulator {
+        int headcount;
+        BigDecimal baseGross = BigDecimal.ZERO, baseInss = BigDecimal.ZERO, baseIrrf = BigDecimal.ZERO,
+                baseNet = BigDecimal.ZERO, baseFgts = BigDecimal.ZERO;
+        BigDecimal simGross = BigDecimal.ZERO, simInss = BigDecimal.ZERO, simIrrf = BigDecimal.ZERO,
+                simNet = BigDecimal.ZERO, simFgts = BigDecimal.ZERO;
+
+        static Collector<Row, Accumulator, Accumulator> collector() {
+            return Collector.of(Accumulator::new, Accumulator::add, Accumulator::merge);
+        }
+
+        void add(Row row) {
+            headcount++;
+            PayrollResult b = row.baseline();
+            PayrollResult s = row.simulated();
+            baseGross = baseGross.add(b.getGrossSalary());
+            baseInss = baseInss.add(b.getInssDiscount());
+            baseIrrf = baseIrrf.add(b.getIrrfDiscount());
+            baseNet = baseNet.add(b.getNetSalary());
+            baseFgts = baseFgts.add(b.getFgtsValue());
+            simGross = simGross.add(s.getGrossSalary());
+            simInss = simInss.add(s.getInssDiscount());
+            simIrrf = simIrrf.add(s.getIrrfDiscount());
+            simNet = simNet.add(s.getNetSalary());
+            simFgts = simFgts.add(s.getFgtsValue());
+        }
+
+        Accumulator merge(Accumulator o) {
+            headcount += o.headcount;
+            baseGross = baseGross.add(o.baseGross);
+            baseInss = baseInss.add(o.baseInss);
+            baseIrrf = baseIrrf.add(o.baseIrrf);
+            baseNet = baseNet.add(o.baseNet);
+            baseFgts = baseFgts.add(o.baseFgts);
+            simGross = simGross.add(o.simGross);
+            simInss = simInss.add(o.simInss);
+            simIrrf = simIrrf.add(o.simIrrf);
+            simNet = simNet.add(o.simNet);
+            simFgts = simFgts.add(o.simFgts);
+            return this;
+        }
+
+        PayrollSimulationTotalsDTO toDTO(String position) {
+            PayrollSimulationTotalsDTO dto = new PayrollSimulationTotalsDTO();
+            dto.setPosition(position);
+            dto.setHeadcount(headcount);
+            dto.setBaselineGross(baseGross);
+            dto.setBaselineInss(baseInss);
+            dto.setBaselineIrrf(baseIrrf);
+            dto.setBaselineNet(baseNet);
+            dto.setBaselineFgts(baseFgts);
+            dto.setSimulatedGross(simGross);
+            dto.setSimulatedInss(simInss);
+            dto.setSimulatedIrrf(simIrrf);
+            dto.setSimulatedNet(simNet);
+            dto.setSimulatedFgts(simFgts);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.payroll.service;
+
+/*
+ * Acumulador de resumo de folhas usado quando a agregação não pode ser feita no banco.
+ * Combina os holerites em uma única passada (contagem, somas e mínimo/máximo do líquido),
+ * podendo ser mesclado entre threads; produz as mesmas linhas da consulta agregada em SQL.
+ */
+
+import com.payroll.collections.CollectionOps;
+import com.payroll.collections.ExecutionPolicy;
+import com.payroll.collections.GroupBySpec;
+import com.payroll.dtos.report.PayrollSummaryRowDTO;
+import com.payroll.entity.PayrollCalculation;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collector;
+
+public final class PayrollSummaryAccumulator {
+
+    private long count;
+    private BigDecimal gross = BigDecimal.ZERO;
+    private BigDecimal net = BigDecimal.ZERO;
+    private BigDecimal inss = BigDecimal.ZERO;
+    private BigDecimal irrf = BigDecimal.ZERO;
+    private BigDecimal fgts = BigDecimal.ZERO;
+    private BigDecimal minNet;
+    private BigDecimal maxNet;
+
+    // Resumir uma lista já carregada, agrupando pela chave informada
+    public static List<PayrollSummaryRowDTO> summarize(List<PayrollCalculation> payrolls,
+                                                       GroupBySpec<String, PayrollCalculation> key) {
+        Map<String, PayrollSummaryAccumulator> groups =
+                CollectionOps.groupBy(payrolls, key, collector(), ExecutionPolicy.PARALLEL_ABOVE_DEFAULT);
+        return groups.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.nullsFirst(Comparator.naturalOrder())))
+                .map(e -> e.getValue().toRow(e.getKey()))
+                .toList();
+    }
+
+    public static Collector<PayrollCalculation, PayrollSummaryAccumulator, PayrollSummaryAccumulator> collector() {
+        return Collector.of(PayrollSummaryAccumulator::new, PayrollSummaryAccumulator::add, PayrollSummaryAccumulator::merge);
+    }
+
+    // Valores nulos são ignorados, como no SUM/MIN/MAX do SQL
+    public void add(PayrollCalculation pc) {
+        count++;
+        gross = plus(gross, pc.getGrossSalary());
+        net = plus(net, pc.getNetSalary());
+        inss = plus(inss, pc.getInssDiscount());
+        irrf = plus(irrf, pc.getIrpfDiscount());
+        fgts = plus(fgts, pc.getFgtsValue());
+        minNet = min(minNet, pc.getNetSalary());
+        maxNet = max(maxNet, pc.getNetSalary());
+    }
+
+    public PayrollSummaryAccumulator merge(PayrollSummaryAccumulator o) {
+        count += o.count;
+        gross = gross.add(o.gross);
+        net = net.add(o.net);
+        inss = inss.add(o.inss);
+        irrf = irrf.add(o.irrf);
+        fgts = fgts.add(o.fgts);
+        minNet = min(minNet, o.minNet);
+        maxNet = max(maxNet, o.maxNet);
+        return this;
+    }
+
+    public PayrollSummaryRowDTO toRow(String key) {
+        return new PayrollSummaryRowDTO(key, count, gross, net, inss, irrf, fgts, minNet, maxNet);
+    }
+
+    private static BigDecimal plus(BigDecimal total, BigDecimal v) {
+        return v == null ? total : total.add(v);
+    }
+
+    private static BigDecimal min(BigDecimal a, BigDecimal b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.min(b);
+    }
+
+    private static BigDecimal max(BigDecimal a, BigDecimal b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.max(b);
+    }
+}
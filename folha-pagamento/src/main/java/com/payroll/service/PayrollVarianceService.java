@@ -0,0 +1,206 @@
+package com.payroll.service;
+
+/*
+ * Relatório de variação da folha entre duas competências (conferência antes do fechamento).
+ * Lê as duas competências em uma única consulta ordenada por funcionário e faz o merge-join
+ * em streaming: as linhas de um mesmo funcionário chegam adjacentes, então basta reter a
+ * linha anterior para parear. Valores são comparados em centavos e somente as linhas que
+ * variaram acima do limite (ou que entraram/saíram da folha) são materializadas.
+ */
+
+import com.payroll.collections.CollectionOps;
+import com.payroll.dtos.payroll.PayrollVarianceDTO;
+import com.payroll.dtos.payroll.PayrollVarianceRowDTO;
+import com.payroll.exception.InputValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.Map;
+
+@Service
+public class PayrollVarianceService {
+
+    public static final BigDecimal DEFAULT_THRESHOLD = new BigDecimal("0.01");
+    public static final int DEFAULT_LIMIT = 500;
+    public static final int MAX_LIMIT = 10_000;
+
+    // Linhas buscadas por ida ao banco durante a varredura
+    static final int FETCH_SIZE = 1_000;
+
+    // Filtra pelo índice (reference_month, employee_id); a ordenação por funcionário deixa os pares adjacentes
+    private static final String SELECT = "SELECT pc.employee_id, e.full_name, pc.reference_month, "
+            + "pc.gross_salary, pc.net_salary, pc.inss_discount, pc.irpf_discount "
+            + "FROM payroll_calculations pc JOIN employees e ON e.id = pc.employee_id "
+            + "WHERE pc.reference_month IN (?, ?) ORDER BY pc.employee_id, pc.reference_month";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Comparar a competência com a anterior (previousMonth nulo: mês imediatamente anterior)
+    public PayrollVarianceDTO compare(String referenceMonth, String previousMonth, BigDecimal threshold, Integer limit) {
+        YearMonth current = ReferenceMonths.parse(referenceMonth, "referenceMonth");
+        YearMonth previous = previousMonth == null || previousMonth.isBlank()
+                ? current.minusMonths(1) : ReferenceMonths.parse(previousMonth, "previousMonth");
+        if (previous.equals(current)) {
+            throw new InputValidationException("As competencias comparadas devem ser diferentes",
+                    Map.of("referenceMonth", referenceMonth, "previousMonth", previousMonth));
+        }
+        BigDecimal minDelta = threshold != null ? threshold : DEFAULT_THRESHOLD;
+        int maxRows = limit != null ? limit : DEFAULT_LIMIT;
+        if (minDelta.signum() < 0 || maxRows < 0 || maxRows > MAX_LIMIT) {
+            throw new InputValidationException("Parametros de variacao invalidos",
+                    Map.of("threshold", minDelta, "limit", maxRows));
+        }
+
+        VarianceMerge merge = new VarianceMerge(previous.toString(), CollectionOps.toCents(minDelta), maxRows);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setString(1, previous.toString());
+            ps.setString(2, current.toString());
+            return ps;
+        }, merge);
+        merge.finish();
+
+        PayrollVarianceDTO report = merge.report;
+        report.setReferenceMonth(current.toString());
+        report.setPreviousMonth(previous.toString());
+        report.setThreshold(minDelta);
+        return report;
+    }
+
+    // Linha lida do banco, em centavos; duas instâncias são reaproveitadas durante a varredura
+    private static final class Slot {
+        long employeeId;
+        String name;
+        boolean previous;
+        long gross;
+        long net;
+        long inss;
+        long irrf;
+    }
+
+    // Merge-join das linhas ordenadas por funcionário: retém no máximo uma linha pendente
+    private static final class VarianceMerge implements RowCallbackHandler {
+
+        private final String previousMonth;
+        private final long thresholdCents;
+        private final int maxRows;
+        private final PayrollVarianceDTO report = new PayrollVarianceDTO();
+
+        private final Slot first = new Slot();
+        private final Slot second = new Slot();
+        private Slot held;
+
+        private long prevGross, prevNet, prevInss, prevIrrf;
+        private long curGross, curNet, curInss, curIrrf;
+
+        VarianceMerge(String previousMonth, long thresholdCents, int maxRows) {
+            this.previousMonth = previousMonth;
+            this.thresholdCents = thresholdCents;
+            this.maxRows = maxRows;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            Slot row = held == first ? second : first;
+            row.employeeId = rs.getLong("employee_id");
+            row.name = rs.getString("full_name");
+            row.previous = previousMonth.equals(rs.getString("reference_month"));
+            row.gross = CollectionOps.toCents(rs.getBigDecimal("gross_salary"));
+            row.net = CollectionOps.toCents(rs.getBigDecimal("net_salary"));
+            row.inss = CollectionOps.toCents(rs.getBigDecimal("inss_discount"));
+            row.irrf = CollectionOps.toCents(rs.getBigDecimal("irpf_discount"));
+            accumulate(row);
+
+            if (held != null && held.employeeId == row.employeeId) {
+                Slot before = held.previous ? held : row;
+                Slot after = held.previous ? row : held;
+                pair(before, after);
+                held = null;
+                return;
+            }
+            if (held != null) single(held);
+            held = row;
+        }
+
+        void finish() {
+            if (held != null) single(held);
+            held = null;
+            report.setPreviousTotalGross(CollectionOps.fromCents(prevGross));
+            report.setPreviousTotalNet(CollectionOps.fromCents(prevNet));
+            report.setPreviousTotalInss(CollectionOps.fromCents(prevInss));
+            report.setPreviousTotalIrrf(CollectionOps.fromCents(prevIrrf));
+            report.setCurrentTotalGross(CollectionOps.fromCents(curGross));
+            report.setCurrentTotalNet(CollectionOps.fromCents(curNet));
+            report.setCurrentTotalInss(CollectionOps.fromCents(curInss));
+            report.setCurrentTotalIrrf(CollectionOps.fromCents(curIrrf));
+        }
+
+        private void accumulate(Slot row) {
+            if (row.previous) {
+                prevGross += row.gross; prevNet += row.net; prevInss += row.inss; prevIrrf += row.irrf;
+            } else {
+                curGross += row.gross; curNet += row.net; curInss += row.inss; curIrrf += row.irrf;
+            }
+        }
+
+        private void pair(Slot before, Slot after) {
+            report.setCompared(report.getCompared() + 1);
+            if (!exceeds(after.gross - before.gross) && !exceeds(after.net - before.net)
+                    && !exceeds(after.inss - before.inss) && !exceeds(after.irrf - before.irrf)) {
+                return;
+            }
+            report.setChanged(report.getChanged() + 1);
+            PayrollVarianceRowDTO dto = emit("CHANGED", after);
+            if (dto == null) return;
+            fillPrevious(dto, before);
+            fillCurrent(dto, after);
+        }
+
+        // Funcionário presente em apenas uma das competências
+        private void single(Slot row) {
+            if (row.previous) report.setRemoved(report.getRemoved() + 1);
+            else report.setAdded(report.getAdded() + 1);
+            PayrollVarianceRowDTO dto = emit(row.previous ? "REMOVED" : "ADDED", row);
+            if (dto == null) return;
+            if (row.previous) fillPrevious(dto, row);
+            else fillCurrent(dto, row);
+        }
+
+        private boolean exceeds(long deltaCents) {
+            return deltaCents != 0 && Math.abs(deltaCents) >= thresholdCents;
+        }
+
+        private PayrollVarianceRowDTO emit(String status, Slot row) {
+            if (report.getRows().size() >= maxRows) {
+                report.setTruncated(true);
+                return null;
+            }
+            PayrollVarianceRowDTO dto = new PayrollVarianceRowDTO(status, row.employeeId, row.name);
+            report.getRows().add(dto);
+            return dto;
+        }
+
+        private static void fillPrevious(PayrollVarianceRowDTO dto, Slot row) {
+            dto.setPreviousGross(CollectionOps.fromCents(row.gross));
+            dto.setPreviousNet(CollectionOps.fromCents(row.net));
+            dto.setPreviousInss(CollectionOps.fromCents(row.inss));
+            dto.setPreviousIrrf(CollectionOps.fromCents(row.irrf));
+        }
+
+        private static void fillCurrent(PayrollVarianceRowDTO dto, Slot row) {
+            dto.setCurrentGross(CollectionOps.fromCents(row.gross));
+            dto.setCurrentNet(CollectionOps.fromCents(row.net));
+            dto.setCurrentInss(CollectionOps.fromCents(row.inss));
+            dto.setCurrentIrrf(CollectionOps.fromCents(row.irrf));
+        }
+    }
+}
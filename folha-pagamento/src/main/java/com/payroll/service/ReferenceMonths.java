@@ -0,0 +1,32 @@
+package com.payroll.service;
+
+/*
+ * Validação da competência (yyyy-MM) recebida pelas APIs de folha, ponto, custos e arquivos.
+ * Concentra a conversão e a mensagem de erro para que todos os serviços respondam igual.
+ */
+
+import com.payroll.exception.InputValidationException;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+public final class ReferenceMonths {
+
+    private ReferenceMonths() {
+    }
+
+    public static YearMonth parse(String referenceMonth) {
+        return parse(referenceMonth, "referenceMonth");
+    }
+
+    // Campo informado no erro quando a competência não vem no parâmetro padrão
+    public static YearMonth parse(String month, String field) {
+        try {
+            return YearMonth.parse(month);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new InputValidationException("Competencia invalida. Use o formato yyyy-MM",
+                    Map.of(field, String.valueOf(month)));
+        }
+    }
+}
@@ -3,7 +3,7 @@ package com.payroll.service;
 /*
  * Serviço responsável pela geração e gestão de relatórios do sistema.
  * Utiliza a biblioteca iText (OpenPDF) para renderizar documentos PDF dinâmicos 
- * (como Holerites e Fichas Cadastrais), além de manter o histórico de auditoria.
+ * (como Holerites, Fichas Cadastrais e Informes de Rendimentos), além de manter o histórico de auditoria.
  */
 
 import com.lowagie.text.Chunk;
@@ -21,10 +21,12 @@ import com.payroll.dtos.report.ReportResponseDTO;
 import com.payroll.entity.Employee;
 import com.payroll.entity.PayrollCalculation;
 import com.payroll.entity.Report;
+import com.payroll.entity.SpecialPayslip;
 import com.payroll.entity.User;
 import com.payroll.repository.EmployeeRepository;
 import com.payroll.repository.PayrollCalculationRepository;
 import com.payroll.repository.ReportRepository;
+import com.payroll.repository.SpecialPayslipRepository;
 import com.payroll.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -32,10 +34,17 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 @Service
 public class ReportsService {
@@ -52,6 +61,12 @@ public class ReportsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private SpecialPayslipRepository specialPayslipRepository;
+
+    @Autowired
+    private IncomeStatementService incomeStatementService;
+
     // Recuperar histórico de relatórios aplicando filtros de pesquisa
     public List<ReportResponseDTO> getHistory(Long employeeId, String referenceMonth, String type) {
         List<Report> reports = reportRepository.findAll();
@@ -80,6 +95,11 @@ public class ReportsService {
             return generatePayrollReport(reportId);
         } else if ("employee".equalsIgnoreCase(report.getReportType()) || "EMPLOYEE".equalsIgnoreCase(report.getReportType())) {
             return generateEmployeeReport(reportId);
+        } else if ("RENDIMENTOS".equalsIgnoreCase(report.getReportType())) {
+            return generateIncomeStatementReport(reportId);
+        } else if (SpecialPayrollService.REPORT_THIRTEENTH.equalsIgnoreCase(report.getReportType())
+                || SpecialPayrollService.REPORT_VACATION.equalsIgnoreCase(report.getReportType())) {
+            return generateSpecialPayslipReport(report);
         } else if ("summary".equalsIgnoreCase(report.getReportType())) {
             // Fallback: usa o layout de holerite para resumos por enquanto
             return generatePayrollReport(reportId);
@@ -155,6 +175,12 @@ public class ReportsService {
         if (calc.getGymDiscount().compareTo(BigDecimal.ZERO) > 0)
             addRow(calcTable, "GymPass", calc.getGymDiscount().negate());
 
+        // Regras configuráveis (holerites anteriores às regras não têm os campos)
+        if (calc.getOtherEarnings() != null && calc.getOtherEarnings().compareTo(BigDecimal.ZERO) > 0)
+            addRow(calcTable, "Outros Proventos", calc.getOtherEarnings());
+        if (calc.getOtherDeductions() != null && calc.getOtherDeductions().compareTo(BigDecimal.ZERO) > 0)
+            addRow(calcTable, "Outros Descontos", calc.getOtherDeductions().negate());
+
         document.add(calcTable);
         document.add(Chunk.NEWLINE);
 
@@ -176,6 +202,69 @@ public class ReportsService {
         return out.toByteArray();
     }
 
+    // Gerador de PDF para 13º salário e férias (holerite especial do lote)
+    public byte[] generateSpecialPayslipReport(Report report) throws DocumentException {
+        boolean vacation = SpecialPayrollService.REPORT_VACATION.equalsIgnoreCase(report.getReportType());
+        Set<String> kinds = vacation
+                ? Set.of(SpecialPayslip.VACATION)
+                : Set.of(SpecialPayslip.THIRTEENTH_FIRST, SpecialPayslip.THIRTEENTH_SECOND);
+        SpecialPayslip slip = specialPayslipRepository
+                .findByEmployeeIdAndReferenceMonthAndKindIn(report.getEmployeeId(), report.getReferenceMonth(), kinds)
+                .stream().findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Special payslip not found for this report"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Document document = new Document();
+        PdfWriter.getInstance(document, out);
+        document.open();
+
+        String heading = vacation ? "Recibo de Ferias"
+                : SpecialPayslip.THIRTEENTH_FIRST.equals(slip.getKind()) ? "13o Salario - 1a Parcela" : "13o Salario - 2a Parcela";
+        Paragraph title = new Paragraph(heading, FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18));
+        title.setAlignment(Element.ALIGN_CENTER);
+        document.add(title);
+        document.add(Chunk.NEWLINE);
+
+        PdfPTable infoTable = new PdfPTable(2);
+        infoTable.setWidthPercentage(100);
+        addInfoRow(infoTable, "Funcionario", report.getEmployeeName());
+        addInfoRow(infoTable, "Mes Referencia", slip.getReferenceMonth());
+        addInfoRow(infoTable, "Avos", slip.getMonthsWorked() + "/12");
+        document.add(infoTable);
+        document.add(Chunk.NEWLINE);
+
+        PdfPTable calcTable = new PdfPTable(2);
+        calcTable.setWidthPercentage(100);
+        calcTable.addCell(createCell("Descricao", true));
+        calcTable.addCell(createCell("Valor", true));
+        addRow(calcTable, "Remuneracao Base", slip.getMonthlyBase());
+        if (slip.getVariableAverage().compareTo(BigDecimal.ZERO) > 0)
+            addRow(calcTable, "Media de Variaveis", slip.getVariableAverage());
+        if (slip.getVacationBonus().compareTo(BigDecimal.ZERO) > 0)
+            addRow(calcTable, "Terco Constitucional", slip.getVacationBonus());
+        addRow(calcTable, "Valor Bruto", slip.getGrossValue());
+        addRow(calcTable, "INSS", slip.getInssDiscount().negate());
+        addRow(calcTable, "IRRF", slip.getIrrfDiscount().negate());
+        if (slip.getAdvanceDeduction().compareTo(BigDecimal.ZERO) > 0)
+            addRow(calcTable, "Adiantamento 1a Parcela", slip.getAdvanceDeduction().negate());
+        document.add(calcTable);
+        document.add(Chunk.NEWLINE);
+
+        Paragraph total = new Paragraph("Valor Liquido: R$ " + slip.getNetValue().toString(),
+                FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14));
+        total.setAlignment(Element.ALIGN_RIGHT);
+        document.add(total);
+
+        document.add(Chunk.NEWLINE);
+        Paragraph signature = new Paragraph("__________________________________________________\nGerado automaticamente pelo RH Pro",
+                FontFactory.getFont(FontFactory.HELVETICA_OBLIQUE, 10));
+        signature.setAlignment(Element.ALIGN_CENTER);
+        document.add(signature);
+
+        document.close();
+        return out.toByteArray();
+    }
+
     // Gerador de PDF para Ficha de Funcionário (Layout Informativo)
     public byte[] generateEmployeeReport(Long reportId) throws DocumentException {
         Report report = reportRepository.findById(reportId)
@@ -212,6 +301,101 @@ public class ReportsService {
         return out.toByteArray();
     }
 
+    // Gerador de PDF para Informe de Rendimentos (ano-calendário da competência do relatório)
+    public byte[] generateIncomeStatementReport(Long reportId) throws DocumentException {
+        Report report = reportRepository.findById(reportId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Report not found"));
+
+        int year = IncomeStatementService.parseYear(report.getReferenceMonth());
+        IncomeStatementAccumulator statement = incomeStatementService.statementFor(report.getEmployeeId(), year)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No payroll found for this year"));
+        return generateIncomeStatementPdf(statement);
+    }
+
+    // Informe de um funcionário já agregado
+    public byte[] generateIncomeStatementPdf(IncomeStatementAccumulator statement) throws DocumentException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Document document = new Document();
+        PdfWriter.getInstance(document, out);
+        document.open();
+
+        Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18);
+        Paragraph title = new Paragraph("Informe de Rendimentos - Ano-Calendario " + statement.getYear(), titleFont);
+        title.setAlignment(Element.ALIGN_CENTER);
+        document.add(title);
+        document.add(Chunk.NEWLINE);
+
+        PdfPTable infoTable = new PdfPTable(2);
+        infoTable.setWidthPercentage(100);
+        addInfoRow(infoTable, "Beneficiario", statement.getEmployeeName());
+        addInfoRow(infoTable, "CPF", statement.getCpf());
+        addInfoRow(infoTable, "Dependentes", String.valueOf(statement.getDependents()));
+        addInfoRow(infoTable, "Meses com pagamento", String.valueOf(statement.getMonths()));
+        document.add(infoTable);
+        document.add(Chunk.NEWLINE);
+
+        // Totais anuais
+        PdfPTable totalsTable = new PdfPTable(2);
+        totalsTable.setWidthPercentage(100);
+        totalsTable.addCell(createCell("Descricao", true));
+        totalsTable.addCell(createCell("Valor", true));
+        addRow(totalsTable, "Total dos Rendimentos", statement.getGross());
+        addRow(totalsTable, "Contribuicao Previdenciaria Oficial (INSS)", statement.getInss());
+        addRow(totalsTable, "Deducao por Dependentes", statement.getDependentDeduction());
+        addRow(totalsTable, "Rendimento Tributavel", statement.getTaxableIncome());
+        addRow(totalsTable, "Imposto sobre a Renda Retido na Fonte", statement.getIrrf());
+        addRow(totalsTable, "Total Liquido Recebido", statement.getNet());
+        document.add(totalsTable);
+        document.add(Chunk.NEWLINE);
+
+        // Detalhamento mensal (apenas competências com holerite)
+        PdfPTable monthsTable = new PdfPTable(4);
+        monthsTable.setWidthPercentage(100);
+        monthsTable.addCell(createCell("Mes", true));
+        monthsTable.addCell(createCell("Rendimentos", true));
+        monthsTable.addCell(createCell("INSS", true));
+        monthsTable.addCell(createCell("IRRF", true));
+        for (int m = 1; m <= 12; m++) {
+            if (statement.getMonthlyGross(m) == null) continue;
+            monthsTable.addCell(createCell(String.format("%04d-%02d", statement.getYear(), m), false));
+            monthsTable.addCell(createCell("R$ " + statement.getMonthlyGross(m), false));
+            monthsTable.addCell(createCell("R$ " + orZero(statement.getMonthlyInss(m)), false));
+            monthsTable.addCell(createCell("R$ " + orZero(statement.getMonthlyIrrf(m)), false));
+        }
+        document.add(monthsTable);
+
+        document.add(Chunk.NEWLINE);
+        Paragraph signature = new Paragraph("__________________________________________________\nGerado automaticamente pelo RH Pro",
+                FontFactory.getFont(FontFactory.HELVETICA_OBLIQUE, 10));
+        signature.setAlignment(Element.ALIGN_CENTER);
+        document.add(signature);
+
+        document.close();
+        return out.toByteArray();
+    }
+
+    // Gravar um ZIP com um PDF por funcionário; cada informe é renderizado e descartado antes do próximo
+    public int writeIncomeStatementArchive(int year, OutputStream out) throws IOException {
+        int[] count = new int[1];
+        ZipOutputStream zip = new ZipOutputStream(out);
+        try {
+            incomeStatementService.forEachStatement(year, statement -> {
+                try {
+                    zip.putNextEntry(new ZipEntry(String.format("informe_%d_%d.pdf", year, statement.getEmployeeId())));
+                    zip.write(generateIncomeStatementPdf(statement));
+                    zip.closeEntry();
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        zip.finish();
+        return count[0];
+    }
+
     // --- Métodos Auxiliares de Construção de PDF ---
     
     private PdfPCell createCell(String text, boolean bold) {
@@ -231,6 +415,10 @@ public class ReportsService {
         table.addCell(createCell(value != null ? value : "-", false));
     }
 
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
     // --- Persistência e Auditoria de Relatórios ---
 
     // Sobrecarga para criação via nome de usuário
@@ -257,6 +445,24 @@ public class ReportsService {
         return saveReport(emp, referenceMonth, type, user);
     }
 
+    // Relatórios PAYROLL de um bloco de holerites gravados juntos (fechamento em lote), em INSERTs em batch
+    public void createPayrollReports(List<PayrollCalculation> payrolls, Long userId) {
+        if (payrolls.isEmpty()) return;
+        User user = userId != null ? userRepository.findById(userId).orElse(null) : null;
+        List<Report> reports = new ArrayList<>(payrolls.size());
+        for (PayrollCalculation pc : payrolls) {
+            Report report = new Report();
+            report.setEmployeeId(pc.getEmployee().getId());
+            report.setEmployeeName(pc.getEmployee().getFullName());
+            report.setReferenceMonth(pc.getReferenceMonth());
+            report.setReportType("PAYROLL");
+            report.setStatus("COMPLETED");
+            report.setGeneratedBy(user);
+            reports.add(report);
+        }
+        reportRepository.saveAll(reports);
+    }
+
     // Wrappers para retornar DTOs diretamente
     public ReportResponseDTO createReportDto(Long employeeId, String referenceMonth, String type, String username) {
         return toResponseDTO(createReport(employeeId, referenceMonth, type, username));
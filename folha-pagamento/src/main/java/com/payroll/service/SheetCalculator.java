@@ -1,6 +1,8 @@
 package com.payroll.service;
 
 import com.payroll.model.Employee;
+import com.payroll.service.discount.TaxKernel;
+import com.payroll.service.discount.TaxTable;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 
@@ -26,19 +28,16 @@ public class SheetCalculator {
         public BigDecimal getPensaoAlimenticia() { return pensaoAlimenticia; }
     }
 
-    // INSS progressivo
+    // INSS progressivo (mesmo núcleo das estratégias de desconto, sem criar contexto)
     public static BigDecimal calcularINSS(BigDecimal salarioContribuicao) {
-        if (salarioContribuicao == null || salarioContribuicao.compareTo(BigDecimal.ZERO) <= 0)
-            return BigDecimal.ZERO;
-        DescontoContext ctx = new DescontoContext(salarioContribuicao, BigDecimal.ZERO, 0, BigDecimal.ZERO);
-        return new INSS().calcular(ctx);
+        return TaxTable.DEFAULT.kernel().inss(salarioContribuicao);
     }
 
-    // IRRF
+    // IRRF progressivo (mesmo núcleo da classe IRRF e das estratégias de desconto)
     public static BigDecimal calcularIRRF(BigDecimal salarioBruto, BigDecimal descontoINSS, int numDependentes) {
         if (salarioBruto == null || descontoINSS == null) return BigDecimal.ZERO;
-        DescontoContext ctx = new DescontoContext(salarioBruto, descontoINSS, numDependentes, BigDecimal.ZERO);
-        return new IRRF().calcular(ctx);
+        TaxKernel kernel = TaxTable.DEFAULT.kernel();
+        return kernel.irrf(kernel.irrfBase(salarioBruto, descontoINSS, numDependentes, null));
     }
 
     // ====================== NOVOS MÉTODOS PARA TESTES ======================
@@ -0,0 +1,294 @@
+package com.payroll.service;
+
+/*
+ * Lotes de holerites especiais: 13º salário (1ª e 2ª parcelas) e férias acrescidas de 1/3.
+ * Os meses trabalhados (avos) e a média das verbas variáveis de cada funcionário saem de uma
+ * única consulta agrupada sobre 'payroll_calculations'; os holerites são calculados em paralelo
+ * sobre entradas já desacopladas das entidades, com INSS/IRRF pelas estratégias de desconto,
+ * e gravados em lote junto com os relatórios do tipo próprio (DECIMO_TERCEIRO ou FERIAS).
+ * Executar de novo o mesmo lote substitui os holerites e relatórios anteriores.
+ */
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.payroll.dtos.payroll.SpecialPayrollRunDTO;
+import com.payroll.dtos.payroll.SpecialPayslipDTO;
+import com.payroll.entity.Employee;
+import com.payroll.entity.Report;
+import com.payroll.entity.SpecialPayslip;
+import com.payroll.entity.User;
+import com.payroll.exception.DataIntegrityBusinessException;
+import com.payroll.exception.DatabaseConnectionException;
+import com.payroll.exception.InputValidationException;
+import com.payroll.model.PayrollInput;
+import com.payroll.model.PayrollResult;
+import com.payroll.repository.EmployeeRepository;
+import com.payroll.repository.ReportRepository;
+import com.payroll.repository.SpecialPayslipRepository;
+import com.payroll.repository.UserRepository;
+import com.payroll.service.discount.DiscountCalculationContext;
+import com.payroll.service.discount.DiscountPipeline;
+import com.payroll.service.discount.DiscountType;
+import com.payroll.service.discount.TaxTable;
+
+@Service
+public class SpecialPayrollService {
+
+    // Tipos de relatório dos holerites especiais
+    public static final String REPORT_THIRTEENTH = "DECIMO_TERCEIRO";
+    public static final String REPORT_VACATION = "FERIAS";
+
+    private static final BigDecimal TWELVE = new BigDecimal("12");
+    private static final BigDecimal THREE = new BigDecimal("3");
+    private static final BigDecimal TWO = new BigDecimal("2");
+
+    // Avos e soma das verbas variáveis por funcionário no período, em uma única varredura agrupada
+    private static final String BASIS_SQL = "SELECT employee_id, COUNT(*) AS months, "
+            + "SUM(COALESCE(overtime_value, 0) + COALESCE(other_earnings, 0)) AS variable_total "
+            + "FROM payroll_calculations WHERE reference_month BETWEEN ? AND ? "
+            + "GROUP BY employee_id ORDER BY employee_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SpecialPayslipRepository specialPayslipRepository;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IPayrollService payrollService;
+
+    @Autowired
+    private CompensationHistoryService compensationHistory;
+
+    @Autowired
+    private DiscountPipeline discountPipeline;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // 1ª parcela do 13º (novembro): metade do proporcional, sem INSS/IRRF
+    public SpecialPayrollRunDTO runThirteenthFirst(int year, Long calculatedBy) {
+        validateYear(year);
+        String reference = String.format("%04d-11", year);
+        return run(SpecialPayslip.THIRTEENTH_FIRST, reference, String.format("%04d-01", year), reference, calculatedBy);
+    }
+
+    // 2ª parcela do 13º (dezembro): valor integral com INSS/IRRF, abatendo o adiantamento da 1ª
+    public SpecialPayrollRunDTO runThirteenthSecond(int year, Long calculatedBy) {
+        validateYear(year);
+        String reference = String.format("%04d-12", year);
+        return run(SpecialPayslip.THIRTEENTH_SECOND, reference, String.format("%04d-01", year), reference, calculatedBy);
+    }
+
+    // Férias + 1/3 pagas na competência, sobre os 12 meses anteriores (proporcional com menos meses)
+    public SpecialPayrollRunDTO runVacation(String referenceMonth, Long calculatedBy) {
+        YearMonth month = ReferenceMonths.parse(referenceMonth);
+        return run(SpecialPayslip.VACATION, month.toString(),
+                month.minusMonths(12).toString(), month.minusMonths(1).toString(), calculatedBy);
+    }
+
+    // Holerites especiais gravados de um lote
+    public List<SpecialPayslipDTO> list(String kind, String referenceMonth) {
+        try {
+            return specialPayslipRepository.findByKindAndReferenceMonthOrderByEmployeeIdAsc(kind, referenceMonth)
+                    .stream().map(SpecialPayslipDTO::fromEntity).toList();
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao listar holerites especiais", e);
+        }
+    }
+
+    private SpecialPayrollRunDTO run(String kind, String reference, String from, String to, Long calculatedBy) {
+        try {
+            // --- Passo 1: bases do período e entradas desacopladas, carregadas de uma vez ---
+            List<Basis> bases = loadBases(from, to);
+            Map<Long, BigDecimal> advances = SpecialPayslip.THIRTEENTH_SECOND.equals(kind)
+                    ? advancesPaid(reference.substring(0, 4) + "-11") : Map.of();
+
+            // --- Passo 2: cálculo em paralelo (motor puro, sem acesso ao banco) ---
+            List<SpecialPayslip> payslips = bases.parallelStream()
+                    .map(b -> compute(kind, reference, b, advances.getOrDefault(b.employeeId(), BigDecimal.ZERO)))
+                    .filter(Objects::nonNull)
+                    .toList();
+            for (SpecialPayslip s : payslips) s.setCreatedBy(calculatedBy);
+
+            // --- Passo 3: substituição do lote e relatórios na mesma transação, com INSERTs em batch ---
+            Map<Long, String> names = new HashMap<>();
+            for (Basis b : bases) names.put(b.employeeId(), b.employeeName());
+            String reportType = SpecialPayslip.VACATION.equals(kind) ? REPORT_VACATION : REPORT_THIRTEENTH;
+            User user = calculatedBy != null ? userRepository.findById(calculatedBy).orElse(null) : null;
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                specialPayslipRepository.deleteBatch(kind, reference);
+                reportRepository.deleteBatch(reportType, reference);
+                specialPayslipRepository.saveAll(payslips);
+                List<Report> reports = new ArrayList<>(payslips.size());
+                for (SpecialPayslip s : payslips) {
+                    Report report = new Report();
+                    report.setEmployeeId(s.getEmployeeId());
+                    report.setEmployeeName(names.get(s.getEmployeeId()));
+                    report.setReferenceMonth(reference);
+                    report.setReportType(reportType);
+                    report.setStatus("COMPLETED");
+                    report.setGeneratedBy(user);
+                    reports.add(report);
+                }
+                reportRepository.saveAll(reports);
+            });
+
+            SpecialPayrollRunDTO result = new SpecialPayrollRunDTO(kind, reference);
+            result.setScanned(bases.size());
+            result.setGenerated(payslips.size());
+            result.setSkipped(bases.size() - payslips.size());
+            for (SpecialPayslip s : payslips) {
+                result.setTotalGross(result.getTotalGross().add(s.getGrossValue()));
+                result.setTotalInss(result.getTotalInss().add(s.getInssDiscount()));
+                result.setTotalIrrf(result.getTotalIrrf().add(s.getIrrfDiscount()));
+                result.setTotalNet(result.getTotalNet().add(s.getNetValue()));
+                result.setTotalFgts(result.getTotalFgts().add(s.getFgtsValue()));
+            }
+            return result;
+        } catch (DataIntegrityViolationException e) {
+            throw new DataIntegrityBusinessException("Violacao de integridade ao gravar holerites especiais", e);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao gerar holerites especiais", e);
+        }
+    }
+
+    // Avos e médias do período, com o cadastro vigente no fim do período já convertido em entrada do motor
+    private List<Basis> loadBases(String from, String to) {
+        List<Object[]> rows = jdbcTemplate.query(BASIS_SQL,
+                (rs, i) -> new Object[] { rs.getLong("employee_id"), rs.getInt("months"), rs.getBigDecimal("variable_total") },
+                from, to);
+        List<Long> ids = rows.stream().map(r -> (Long) r[0]).toList();
+        Map<Long, Employee> employees = new HashMap<>();
+        for (Employee e : employeeRepository.findAllById(ids)) employees.put(e.getId(), e);
+        compensationHistory.preload(ids);
+
+        List<Basis> bases = new ArrayList<>(rows.size());
+        for (Object[] r : rows) {
+            Employee employee = employees.get((Long) r[0]);
+            if (employee == null) continue;
+            Employee asOf = compensationHistory.asOf(employee, to);
+            int months = Math.min((Integer) r[1], 12);
+            BigDecimal variable = r[2] != null ? (BigDecimal) r[2] : BigDecimal.ZERO;
+            BigDecimal average = variable.divide(BigDecimal.valueOf((Integer) r[1]), 2, RoundingMode.HALF_UP);
+            bases.add(new Basis(employee.getId(), employee.getFullName(), months, average, PayrollInput.from(asOf)));
+        }
+        return bases;
+    }
+
+    // Valor líquido da 1ª parcela já gravada, por funcionário
+    private Map<Long, BigDecimal> advancesPaid(String firstInstallmentMonth) {
+        Map<Long, BigDecimal> advances = new HashMap<>();
+        for (SpecialPayslip s : specialPayslipRepository
+                .findByKindAndReferenceMonthOrderByEmployeeIdAsc(SpecialPayslip.THIRTEENTH_FIRST, firstInstallmentMonth)) {
+            advances.put(s.getEmployeeId(), s.getNetValue());
+        }
+        return advances;
+    }
+
+    // Calcular um holerite especial; nulo quando não há valor a pagar ou a entrada é inválida
+    private SpecialPayslip compute(String kind, String reference, Basis basis, BigDecimal advance) {
+        PayrollResult monthly;
+        try {
+            // Adicionais fixos (periculosidade/insalubridade) pelo mesmo motor da folha mensal
+            monthly = payrollService.compute(basis.input(), TaxTable.DEFAULT, payrollService.getBulkTaxCache());
+        } catch (InputValidationException e) {
+            return null;
+        }
+        BigDecimal monthlyBase = basis.input().getSalary()
+                .add(monthly.getDangerousBonus()).add(monthly.getUnhealthyBonus())
+                .add(basis.variableAverage());
+        // Proporcional aos avos: 1/12 por mês com holerite no período
+        BigDecimal proportional = monthlyBase.multiply(BigDecimal.valueOf(basis.months()))
+                .divide(TWELVE, 2, RoundingMode.HALF_UP);
+
+        BigDecimal vacationBonus = BigDecimal.ZERO;
+        BigDecimal gross, inss = BigDecimal.ZERO, irrf = BigDecimal.ZERO, fgtsBase;
+        BigDecimal advanceDeduction = BigDecimal.ZERO;
+        switch (kind) {
+            case SpecialPayslip.THIRTEENTH_FIRST -> {
+                gross = proportional.divide(TWO, 2, RoundingMode.HALF_UP);
+                fgtsBase = gross;
+            }
+            case SpecialPayslip.THIRTEENTH_SECOND -> {
+                // Tributação exclusiva sobre o 13º integral; o adiantamento só reduz o líquido e a base do FGTS
+                gross = proportional;
+                DiscountCalculationContext ctx = taxes(gross, basis.input().getDependents());
+                inss = ctx.getResult(DiscountType.INSS);
+                irrf = ctx.getResult(DiscountType.IRRF);
+                advanceDeduction = advance.min(gross);
+                fgtsBase = gross.subtract(advanceDeduction);
+            }
+            default -> {
+                vacationBonus = proportional.divide(THREE, 2, RoundingMode.HALF_UP);
+                gross = proportional.add(vacationBonus);
+                DiscountCalculationContext ctx = taxes(gross, basis.input().getDependents());
+                inss = ctx.getResult(DiscountType.INSS);
+                irrf = ctx.getResult(DiscountType.IRRF);
+                fgtsBase = gross;
+            }
+        }
+        if (gross.signum() <= 0) return null;
+        BigDecimal net = gross.subtract(inss).subtract(irrf).subtract(advanceDeduction);
+
+        SpecialPayslip s = new SpecialPayslip();
+        s.setEmployeeId(basis.employeeId());
+        s.setKind(kind);
+        s.setReferenceMonth(reference);
+        s.setMonthsWorked(basis.months());
+        s.setMonthlyBase(monthlyBase.setScale(2, RoundingMode.HALF_UP));
+        s.setVariableAverage(basis.variableAverage());
+        s.setVacationBonus(vacationBonus);
+        s.setGrossValue(gross);
+        s.setInssDiscount(inss.setScale(2, RoundingMode.HALF_UP));
+        s.setIrrfDiscount(irrf.setScale(2, RoundingMode.HALF_UP));
+        s.setAdvanceDeduction(advanceDeduction);
+        s.setNetValue(net.setScale(2, RoundingMode.HALF_UP));
+        s.setFgtsValue(payrollService.calcularFGTS(fgtsBase));
+        return s;
+    }
+
+    // INSS e IRRF pelas estratégias de desconto (sem vale-transporte), reaproveitando o cache do lote
+    private DiscountCalculationContext taxes(BigDecimal gross, int dependents) {
+        DiscountCalculationContext ctx = new DiscountCalculationContext()
+                .setGrossSalary(gross)
+                .setDependents(dependents)
+                .setTransportEnabled(false)
+                .setPensionAlimony(BigDecimal.ZERO);
+        return discountPipeline.execute(ctx, payrollService.getBulkTaxCache());
+    }
+
+    private static void validateYear(int year) {
+        if (year < 1 || year > 9999) {
+            throw new InputValidationException("Ano invalido", Map.of("year", year));
+        }
+    }
+
+    // Bases de um funcionário no período: avos, média das variáveis e entrada do motor
+    private record Basis(Long employeeId, String employeeName, int months, BigDecimal variableAverage,
+                         PayrollInput input) {}
+}
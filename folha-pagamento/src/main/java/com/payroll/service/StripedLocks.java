@@ -0,0 +1,27 @@
+package com.payroll.service;
+
+/*
+ * Conjunto fixo de travas indexadas pelo hash de uma chave (lock striping).
+ * Serializa operações sobre a mesma chave dentro da instância sem uma trava global:
+ * chaves diferentes quase sempre caem em travas diferentes e seguem em paralelo.
+ */
+
+import java.util.concurrent.locks.ReentrantLock;
+
+final class StripedLocks {
+
+    private final ReentrantLock[] stripes;
+
+    // Quantidade de travas arredondada para potência de 2 (índice por máscara)
+    StripedLocks(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) this.stripes[i] = new ReentrantLock();
+    }
+
+    ReentrantLock forKey(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16); // espalhar os bits altos, como no HashMap
+        return stripes[h & (stripes.length - 1)];
+    }
+}
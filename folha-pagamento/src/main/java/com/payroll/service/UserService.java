@@ -6,11 +6,14 @@ package com.payroll.service;
  * garantindo a criptografia de senhas e validações de unicidade de login.
  */
 
+import com.payroll.entity.CacheInvalidation;
 import com.payroll.entity.User;
 import com.payroll.repository.UserRepository;
+import com.payroll.service.cache.CacheInvalidationBus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -26,12 +29,16 @@ public class UserService implements IUserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
     @Override
+    @Transactional
     public User createUser(User user, Long adminId) {
         // Criptografar a senha (hash) antes de persistir no banco para segurança
         user.setPassword(passwordEncoder.encode(user.getPassword()));
         user.setCreatedBy(adminId);
-        return userRepository.save(user);
+        return saved(userRepository.save(user));
     }
 
     @Override
@@ -66,6 +73,7 @@ public class UserService implements IUserService {
     }
 
     @Override
+    @Transactional
     public User updateUser(Long id, User userDetails) {
         User user = userRepository.findById(id).orElseThrow();
         user.setUsername(userDetails.getUsername());
@@ -77,15 +85,18 @@ public class UserService implements IUserService {
         }
         
         user.setRole(userDetails.getRole());
-        return userRepository.save(user);
+        return saved(userRepository.save(user));
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        invalidationBus.publish(CacheInvalidation.USER, id);
     }
 
     @Override
+    @Transactional
     public User updateUsernamePassword(String currentUsername, String newUsername, String newPassword) {
         User user = userRepository.findByUsername(currentUsername)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
@@ -103,10 +114,11 @@ public class UserService implements IUserService {
             user.setPassword(passwordEncoder.encode(newPassword));
         }
 
-        return userRepository.save(user);
+        return saved(userRepository.save(user));
     }
 
     @Override
+    @Transactional
     public User updatePassword(String currentUsername, String newPassword) {
         // Método dedicado para rotação de senha (ex: "Esqueci minha senha" ou troca simples)
         if (newPassword == null || newPassword.isBlank()) {
@@ -116,6 +128,12 @@ public class UserService implements IUserService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
         
         user.setPassword(passwordEncoder.encode(newPassword));
-        return userRepository.save(user);
+        return saved(userRepository.save(user));
+    }
+
+    // Avisar as demais instâncias de que a conta mudou
+    private User saved(User user) {
+        invalidationBus.publish(CacheInvalidation.USER, user.getId());
+        return user;
     }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.payroll.service.bank;
+
+/*
+ * Geração do arquivo de remessa bancária (CNAB 240) com o líquido de uma competência.
+ * Os holerites são lidos de 'payroll_calculations' junto aos dados bancários do funcionário
+ * em uma varredura JDBC ordenada, e cada linha é gravada imediatamente no arquivo; nada além
+ * da linha corrente é mantido em memória, independentemente do número de funcionários.
+ * Funcionários sem conta válida ou com líquido não positivo ficam fora do arquivo.
+ */
+
+import com.payroll.collections.CollectionOps;
+import com.payroll.exception.InputValidationException;
+import com.payroll.exception.NotFoundBusinessException;
+import com.payroll.service.PayrollConstants;
+import com.payroll.service.PayrollMonthTotalsService;
+import com.payroll.service.ReferenceMonths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Service
+public class BankFileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BankFileService.class);
+
+    // Linhas buscadas por ida ao banco durante a varredura
+    static final int FETCH_SIZE = 1_000;
+
+    // Buffer de saída: agrupa ~68 registros por escrita no canal da resposta
+    static final int OUTPUT_BUFFER = 16 * 1024;
+
+    private static final String SELECT = "SELECT pc.id, pc.net_salary, e.full_name, e.cpf, "
+            + "e.bank_code, e.bank_branch, e.bank_account, e.bank_account_digit "
+            + "FROM payroll_calculations pc JOIN employees e ON e.id = pc.employee_id "
+            + "WHERE pc.reference_month = ? ORDER BY pc.employee_id";
+
+    static final Cnab240Writer.Remitter REMITTER = new Cnab240Writer.Remitter(
+            PayrollConstants.REMESSA_BANCO, PayrollConstants.REMESSA_NOME_BANCO, PayrollConstants.REMESSA_CNPJ,
+            PayrollConstants.REMESSA_CONVENIO, PayrollConstants.REMESSA_AGENCIA, PayrollConstants.REMESSA_AGENCIA_DV,
+            PayrollConstants.REMESSA_CONTA, PayrollConstants.REMESSA_CONTA_DV, PayrollConstants.REMESSA_EMPRESA);
+
+    // Resultado da geração: créditos gravados, holerites ignorados e soma em centavos
+    public record Result(long payments, long skipped, long totalCents) {}
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PayrollMonthTotalsService monthTotalsService;
+
+    // Validar antes de começar a escrever a resposta (erros depois disso não chegam ao cliente)
+    public void checkMonth(String referenceMonth, Integer fileSequence) {
+        ReferenceMonths.parse(referenceMonth);
+        if (fileSequence != null && (fileSequence < 1 || fileSequence > 999_999)) {
+            throw new InputValidationException("Sequencial do arquivo deve estar entre 1 e 999999",
+                    Map.of("fileSequence", fileSequence));
+        }
+        if (monthTotalsService.headcount(referenceMonth) == 0) {
+            throw new NotFoundBusinessException("Nenhuma folha processada na competencia: " + referenceMonth);
+        }
+    }
+
+    // Gravar o arquivo completo (header, um lote de créditos e trailer) no stream informado
+    public Result writeBankFile(String referenceMonth, LocalDate paymentDate, int fileSequence, OutputStream target)
+            throws IOException {
+        BufferedOutputStream out = new BufferedOutputStream(target, OUTPUT_BUFFER);
+        Cnab240Writer writer = new Cnab240Writer(out, REMITTER);
+        writer.writeFileHeader(LocalDateTime.now(), fileSequence);
+        writer.beginBatch(paymentDate);
+
+        long[] skipped = new long[1];
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(SELECT, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setString(1, referenceMonth);
+                return ps;
+            }, rs -> {
+                BigDecimal net = rs.getBigDecimal("net_salary");
+                String bankCode = rs.getString("bank_code");
+                String branch = rs.getString("bank_branch");
+                String account = rs.getString("bank_account");
+                String cpf = rs.getString("cpf");
+                if (net == null || net.signum() <= 0
+                        || !Cnab240Writer.fitsNumeric(bankCode, 3) || !Cnab240Writer.fitsNumeric(branch, 5)
+                        || !Cnab240Writer.fitsNumeric(account, 12) || !Cnab240Writer.fitsNumeric(cpf, 14)) {
+                    skipped[0]++;
+                    return;
+                }
+                try {
+                    writer.addCredit(bankCode, branch, account, rs.getString("bank_account_digit"),
+                            rs.getString("full_name"), cpf, rs.getLong("id"), CollectionOps.toCents(net));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.endBatch();
+        writer.writeFileTrailer();
+        if (skipped[0] > 0) {
+            logger.warn("Remessa {}: {} holerite(s) sem dados bancarios validos ou com liquido nao positivo",
+                    referenceMonth, skipped[0]);
+        }
+        return new Result(writer.getPayments(), skipped[0], writer.getTotalCents());
+    }
+}
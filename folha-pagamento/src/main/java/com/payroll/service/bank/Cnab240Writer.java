@@ -0,0 +1,291 @@
+package com.payroll.service.bank;
+
+/*
+ * Gravador de arquivo de remessa CNAB 240 (layout FEBRABAN) para pagamento de salários.
+ * Cada registro de 240 posições é montado campo a campo em um único buffer de bytes reutilizado
+ * e enviado direto ao OutputStream, sem concatenação de Strings por linha. As quantidades e a
+ * soma dos valores exigidas nos trailers são acumuladas à medida que os créditos são gravados,
+ * de modo que o arquivo inteiro é produzido em memória constante, em uma única passada.
+ * Posições seguem a numeração do manual (1 a 240, intervalos inclusivos).
+ */
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+public final class Cnab240Writer {
+
+    public static final int RECORD_LENGTH = 240;
+
+    // Serviço 30 = pagamento de salários; forma 01 = crédito em conta corrente
+    private static final String SERVICE_SALARY = "30";
+    private static final String FORM_CREDIT_ACCOUNT = "01";
+    private static final String FILE_LAYOUT_VERSION = "089";
+    private static final String BATCH_LAYOUT_VERSION = "045";
+
+    // Câmara: 000 = crédito no próprio banco; 018 = TED para outros bancos
+    private static final String CLEARING_SAME_BANK = "000";
+    private static final String CLEARING_TED = "018";
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    // Transliteração Latin-1 -> ASCII maiúsculo, calculada uma vez (ex.: 'ç' -> 'C', 'ã' -> 'A')
+    private static final byte[] FOLD = buildFoldTable();
+
+    // Conta da empresa pagadora (convênio com o banco)
+    public record Remitter(String bankCode, String bankName, String cnpj, String agreement,
+                           String branch, String branchDigit, String account, String accountDigit,
+                           String companyName) {}
+
+    private final OutputStream out;
+    private final Remitter remitter;
+    private final byte[] record = new byte[RECORD_LENGTH];
+
+    private int batchNumber;
+    private int batchRecords;
+    private int batchSequence;
+    private long batchAmountCents;
+    private LocalDate paymentDate;
+
+    private int batches;
+    private int fileRecords;
+    private long payments;
+    private long totalCents;
+
+    public Cnab240Writer(OutputStream out, Remitter remitter) {
+        this.out = out;
+        this.remitter = remitter;
+    }
+
+    // Registro 0: header do arquivo
+    public void writeFileHeader(LocalDateTime generatedAt, int fileSequence) throws IOException {
+        clear();
+        numeric(1, 3, remitter.bankCode());
+        numeric(4, 7, 0);
+        numeric(8, 8, 0);
+        numeric(18, 18, 2);
+        numeric(19, 32, remitter.cnpj());
+        alpha(33, 52, remitter.agreement());
+        numeric(53, 57, remitter.branch());
+        alpha(58, 58, remitter.branchDigit());
+        numeric(59, 70, remitter.account());
+        alpha(71, 71, remitter.accountDigit());
+        alpha(73, 102, remitter.companyName());
+        alpha(103, 132, remitter.bankName());
+        numeric(143, 143, 1);
+        date(144, generatedAt.toLocalDate());
+        numeric(152, 153, generatedAt.getHour());
+        numeric(154, 155, generatedAt.getMinute());
+        numeric(156, 157, generatedAt.getSecond());
+        numeric(158, 163, fileSequence);
+        alpha(164, 166, FILE_LAYOUT_VERSION);
+        numeric(167, 171, 1600);
+        emit();
+    }
+
+    // Registro 1: header do lote de créditos com a data de pagamento
+    public void beginBatch(LocalDate paymentDate) throws IOException {
+        this.paymentDate = paymentDate;
+        batchNumber++;
+        batchRecords = 0;
+        batchSequence = 0;
+        batchAmountCents = 0;
+
+        clear();
+        numeric(1, 3, remitter.bankCode());
+        numeric(4, 7, batchNumber);
+        numeric(8, 8, 1);
+        alpha(9, 9, "C");
+        alpha(10, 11, SERVICE_SALARY);
+        alpha(12, 13, FORM_CREDIT_ACCOUNT);
+        alpha(14, 16, BATCH_LAYOUT_VERSION);
+        numeric(18, 18, 2);
+        numeric(19, 32, remitter.cnpj());
+        alpha(33, 52, remitter.agreement());
+        numeric(53, 57, remitter.branch());
+        alpha(58, 58, remitter.branchDigit());
+        numeric(59, 70, remitter.account());
+        alpha(71, 71, remitter.accountDigit());
+        alpha(73, 102, remitter.companyName());
+        numeric(173, 177, 0);
+        numeric(213, 220, 0);
+        alpha(223, 224, FORM_CREDIT_ACCOUNT);
+        emitInBatch();
+    }
+
+    // Segmentos A (crédito) e B (CPF do favorecido) de um pagamento
+    public void addCredit(String bankCode, String branch, String account, String accountDigit,
+                          String name, String cpf, long reference, long amountCents) throws IOException {
+        if (paymentDate == null) throw new IllegalStateException("Lote nao iniciado");
+        if (amountCents <= 0) throw new IllegalArgumentException("Valor do credito deve ser positivo");
+
+        clear();
+        numeric(1, 3, remitter.bankCode());
+        numeric(4, 7, batchNumber);
+        numeric(8, 8, 3);
+        numeric(9, 13, ++batchSequence);
+        alpha(14, 14, "A");
+        numeric(15, 15, 0);
+        numeric(16, 17, 0);
+        alpha(18, 20, sameDigits(bankCode, remitter.bankCode()) ? CLEARING_SAME_BANK : CLEARING_TED);
+        numeric(21, 23, bankCode);
+        numeric(24, 28, branch);
+        numeric(30, 41, account);
+        alpha(42, 42, accountDigit);
+        alpha(44, 73, name);
+        numeric(74, 93, reference);
+        date(94, paymentDate);
+        alpha(102, 104, "BRL");
+        numeric(105, 119, 0);
+        numeric(120, 134, amountCents);
+        numeric(155, 162, 0);
+        numeric(163, 177, 0);
+        numeric(230, 230, 0);
+        emitInBatch();
+
+        clear();
+        numeric(1, 3, remitter.bankCode());
+        numeric(4, 7, batchNumber);
+        numeric(8, 8, 3);
+        numeric(9, 13, ++batchSequence);
+        alpha(14, 14, "B");
+        numeric(18, 18, 1);
+        numeric(19, 32, cpf);
+        numeric(63, 67, 0);
+        numeric(118, 125, 0);
+        date(128, paymentDate);
+        numeric(136, 210, 0);
+        numeric(226, 226, 0);
+        emitInBatch();
+
+        batchAmountCents = Math.addExact(batchAmountCents, amountCents);
+        totalCents = Math.addExact(totalCents, amountCents);
+        payments++;
+    }
+
+    // Registro 5: trailer do lote com quantidade de registros e soma dos valores acumuladas
+    public void endBatch() throws IOException {
+        if (paymentDate == null) throw new IllegalStateException("Lote nao iniciado");
+        clear();
+        numeric(1, 3, remitter.bankCode());
+        numeric(4, 7, batchNumber);
+        numeric(8, 8, 5);
+        numeric(18, 23, batchRecords + 1);
+        numeric(24, 41, batchAmountCents);
+        numeric(42, 59, 0);
+        numeric(60, 65, 0);
+        emitInBatch();
+        batches++;
+        paymentDate = null;
+    }
+
+    // Registro 9: trailer do arquivo (inclui o próprio trailer na contagem)
+    public void writeFileTrailer() throws IOException {
+        if (paymentDate != null) throw new IllegalStateException("Lote aberto");
+        clear();
+        numeric(1, 3, remitter.bankCode());
+        numeric(4, 7, 9999);
+        numeric(8, 8, 9);
+        numeric(18, 23, batches);
+        numeric(24, 29, fileRecords + 1);
+        numeric(30, 35, 0);
+        emit();
+        out.flush();
+    }
+
+    public long getPayments() { return payments; }
+    public long getTotalCents() { return totalCents; }
+    public int getRecords() { return fileRecords; }
+
+    // Quantidade de dígitos (ignorando pontuação) cabe no campo numérico
+    public static boolean fitsNumeric(String value, int width) {
+        if (value == null) return false;
+        int digits = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') digits++;
+            else if (Character.isLetter(c)) return false;
+        }
+        return digits > 0 && digits <= width;
+    }
+
+    // --- Montagem do registro ---
+
+    private void clear() {
+        Arrays.fill(record, (byte) ' ');
+    }
+
+    private void emitInBatch() throws IOException {
+        batchRecords++;
+        emit();
+    }
+
+    private void emit() throws IOException {
+        out.write(record);
+        out.write(CRLF);
+        fileRecords++;
+    }
+
+    // Numérico: alinhado à direita, completado com zeros
+    private void numeric(int from, int to, long value) {
+        if (value < 0) throw new IllegalArgumentException("Campo numerico negativo na posicao " + from);
+        for (int i = to - 1; i >= from - 1; i--) {
+            record[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        if (value != 0) throw new IllegalArgumentException("Valor excede o campo " + from + "-" + to);
+    }
+
+    // Numérico a partir de texto: somente os dígitos são considerados (CPF/CNPJ formatados)
+    private void numeric(int from, int to, String value) {
+        int i = to - 1;
+        if (value != null) {
+            for (int k = value.length() - 1; k >= 0; k--) {
+                char c = value.charAt(k);
+                if (c < '0' || c > '9') continue;
+                if (i < from - 1) throw new IllegalArgumentException("Valor excede o campo " + from + "-" + to);
+                record[i--] = (byte) c;
+            }
+        }
+        for (; i >= from - 1; i--) record[i] = '0';
+    }
+
+    // Alfanumérico: alinhado à esquerda, maiúsculo, sem acentos, completado com brancos e truncado
+    private void alpha(int from, int to, String value) {
+        if (value == null) return;
+        int len = Math.min(value.length(), to - from + 1);
+        for (int k = 0; k < len; k++) {
+            char c = value.charAt(k);
+            record[from - 1 + k] = c < FOLD.length ? FOLD[c] : (byte) ' ';
+        }
+    }
+
+    // Data no formato DDMMAAAA
+    private void date(int from, LocalDate date) {
+        numeric(from, from + 1, date.getDayOfMonth());
+        numeric(from + 2, from + 3, date.getMonthValue());
+        numeric(from + 4, from + 7, date.getYear());
+    }
+
+    private static boolean sameDigits(String a, String b) {
+        if (a == null || b == null) return false;
+        try {
+            return Integer.parseInt(a.trim()) == Integer.parseInt(b.trim());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static byte[] buildFoldTable() {
+        byte[] table = new byte[256];
+        for (char c = 0; c < 256; c++) {
+            char folded = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD).charAt(0);
+            folded = Character.toUpperCase(folded);
+            table[c] = folded >= 0x20 && folded < 0x7F ? (byte) folded : (byte) ' ';
+        }
+        return table;
+    }
+}
@@ -0,0 +1,243 @@
+package com.payroll.service.cache;
+
+/*
+ * Barramento de invalidação de cache entre as instâncias da aplicação, sem broker externo.
+ * Quem grava funcionários, usuários, holerites ou regras de folha anexa (entidade, ID, versão)
+ * à tabela 'cache_invalidations' na mesma transação da gravação; cada instância lê a tabela
+ * periodicamente a partir do seu cursor (busca por faixa na chave primária) e republica as
+ * linhas das outras instâncias como CacheInvalidatedEvent, para que os caches locais descartem
+ * as entradas afetadas. Como o ID é reservado antes do commit, uma transação lenta pode
+ * confirmar um ID menor que o cursor: esses IDs ficam como lacunas e são relidos até aparecerem
+ * ou até o prazo (transação desfeita). O atraso de propagação é medido por linha aplicada,
+ * comparando o horário da gravação na origem com o da aplicação (relógios sincronizados via NTP).
+ */
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.payroll.dtos.cache.CacheInvalidationStatsDTO;
+import com.payroll.entity.CacheInvalidation;
+import com.payroll.event.CacheInvalidatedEvent;
+import com.payroll.exception.DatabaseConnectionException;
+import com.payroll.repository.CacheInvalidationRepository;
+import com.payroll.service.NodeIdentity;
+
+import jakarta.annotation.PostConstruct;
+
+@Service
+public class CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    // Intervalo entre varreduras da tabela por esta instância
+    static final long POLL_INTERVAL_MS = 1_000;
+
+    // Linhas lidas por varredura
+    static final int BATCH_SIZE = 500;
+
+    // Espera por um ID pulado antes de tratá-lo como transação desfeita; limite de lacunas acompanhadas
+    static final Duration GAP_TIMEOUT = Duration.ofSeconds(30);
+    static final int MAX_GAPS = 1_000;
+
+    // Linhas mais antigas que a retenção já foram lidas por todas as instâncias ativas
+    static final Duration RETENTION = Duration.ofHours(1);
+    static final int PRUNE_EVERY_POLLS = 300;
+
+    @Autowired
+    private CacheInvalidationRepository invalidationRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Identificação desta instância nas linhas gravadas
+    @Autowired
+    private NodeIdentity nodeIdentity;
+
+    // Estado da leitura, protegido pelo monitor de drain(); -1 = cursor ainda não posicionado
+    private long cursor = -1;
+    private final Map<Long, LocalDateTime> gaps = new LinkedHashMap<>();
+    private long polls;
+
+    // Contadores expostos em stats()
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong lastLagMs = new AtomicLong();
+    private final AtomicLong maxLagMs = new AtomicLong();
+    private final AtomicLong totalLagMs = new AtomicLong();
+    private volatile long cursorView;
+    private volatile int gapsView;
+    private volatile LocalDateTime lastPollAt;
+
+    public String getNodeId() { return nodeIdentity.getId(); }
+
+    // Posicionar o cursor no fim da tabela ao subir: os caches desta instância ainda estão vazios
+    @PostConstruct
+    void init() {
+        try {
+            positionCursor();
+        } catch (RuntimeException e) {
+            logger.warn("Cursor de invalidacao sera posicionado na primeira varredura: {}", e.getMessage());
+        }
+    }
+
+    // Registrar a invalidação na transação corrente; os ouvintes locais são avisados após o commit
+    public void publish(String entity, Long entityId, Long version) {
+        CacheInvalidation row;
+        try {
+            row = invalidationRepository.save(new CacheInvalidation(entity, entityId, version, getNodeId()));
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao registrar invalidacao de cache", e);
+        }
+        published.incrementAndGet();
+        CacheInvalidatedEvent event = toEvent(row, false);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eventPublisher.publishEvent(event);
+                }
+            });
+        } else {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    // Entidade sem contador de versão próprio: vale o ID da linha
+    public void publish(String entity, Long entityId) {
+        publish(entity, entityId, null);
+    }
+
+    // Varredura periódica da tabela
+    @Scheduled(fixedDelay = POLL_INTERVAL_MS, initialDelay = POLL_INTERVAL_MS)
+    public void poll() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            logger.warn("Falha na leitura das invalidacoes de cache: {}", e.getMessage());
+        }
+    }
+
+    // Ler as linhas novas e as lacunas pendentes; devolve quantas linhas de outras instâncias foram aplicadas
+    public synchronized int drain() {
+        LocalDateTime now = LocalDateTime.now();
+        lastPollAt = now;
+        if (cursor < 0) {
+            positionCursor();
+            return 0;
+        }
+        List<CacheInvalidation> rows = new ArrayList<>();
+        try {
+            if (!gaps.isEmpty()) {
+                for (CacheInvalidation row : invalidationRepository.findByIdInOrderByIdAsc(gaps.keySet())) {
+                    gaps.remove(row.getId());
+                    rows.add(row);
+                }
+            }
+            for (CacheInvalidation row : invalidationRepository.findByIdGreaterThanOrderByIdAsc(
+                    cursor, PageRequest.of(0, BATCH_SIZE))) {
+                trackGaps(row.getId(), now);
+                cursor = row.getId();
+                rows.add(row);
+            }
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao ler invalidacoes de cache", e);
+        }
+
+        int count = 0;
+        for (CacheInvalidation row : rows) {
+            // As gravações desta instância já foram aplicadas no commit
+            if (getNodeId().equals(row.getOriginNode())) continue;
+            deliver(row, now);
+            count++;
+        }
+        gaps.values().removeIf(deadline -> deadline.isBefore(now));
+        cursorView = cursor;
+        gapsView = gaps.size();
+        if (++polls % PRUNE_EVERY_POLLS == 0) prune(now);
+        return count;
+    }
+
+    public CacheInvalidationStatsDTO stats() {
+        CacheInvalidationStatsDTO dto = new CacheInvalidationStatsDTO();
+        long count = applied.get();
+        dto.setNodeId(getNodeId());
+        dto.setCursor(cursorView);
+        dto.setPendingGaps(gapsView);
+        dto.setPublished(published.get());
+        dto.setApplied(count);
+        dto.setLastLagMs(lastLagMs.get());
+        dto.setMeanLagMs(count > 0 ? totalLagMs.get() / count : 0);
+        dto.setMaxLagMs(maxLagMs.get());
+        dto.setLastPollAt(lastPollAt);
+        return dto;
+    }
+
+    // --- Infraestrutura ---
+
+    private void positionCursor() {
+        long max = invalidationRepository.findMaxId();
+        synchronized (this) {
+            if (cursor < 0) {
+                cursor = max;
+                cursorView = max;
+            }
+        }
+    }
+
+    // IDs entre o cursor e a linha lida foram reservados por transações ainda não confirmadas
+    private void trackGaps(long id, LocalDateTime now) {
+        for (long missing = Math.max(cursor + 1, id - MAX_GAPS); missing < id; missing++) {
+            if (gaps.size() >= MAX_GAPS) {
+                logger.warn("Limite de lacunas de invalidacao atingido; IDs a partir de {} nao serao relidos", missing);
+                return;
+            }
+            gaps.put(missing, now.plus(GAP_TIMEOUT));
+        }
+    }
+
+    private void deliver(CacheInvalidation row, LocalDateTime now) {
+        long lag = Math.max(0, Duration.between(row.getCreatedAt(), now).toMillis());
+        lastLagMs.set(lag);
+        maxLagMs.accumulateAndGet(lag, Math::max);
+        totalLagMs.addAndGet(lag);
+        applied.incrementAndGet();
+        try {
+            eventPublisher.publishEvent(toEvent(row, true));
+        } catch (RuntimeException e) {
+            // Um cache com falha não impede os demais de receberem a invalidação
+            logger.warn("Falha ao aplicar invalidacao {} {}: {}", row.getEntity(), row.getEntityId(), e.getMessage());
+        }
+    }
+
+    private void prune(LocalDateTime now) {
+        Integer removed = new TransactionTemplate(transactionManager).execute(status ->
+                invalidationRepository.deleteOlderThan(now.minus(RETENTION)));
+        if (removed != null && removed > 0) logger.debug("{} invalidacoes de cache antigas removidas", removed);
+    }
+
+    private CacheInvalidatedEvent toEvent(CacheInvalidation row, boolean remote) {
+        Long version = row.getVersion() != null ? row.getVersion() : row.getId();
+        return new CacheInvalidatedEvent(row.getEntity(), row.getEntityId(), version, row.getOriginNode(), remote);
+    }
+}
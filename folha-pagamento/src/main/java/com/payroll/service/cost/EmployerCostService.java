@@ -0,0 +1,304 @@
+package com.payroll.service.cost;
+
+/*
+ * Motor de custo do empregador: FGTS, INSS patronal (com RAT e terceiros) e provisões mensais
+ * de 13º e férias + 1/3, com os encargos incidentes sobre as provisões.
+ * A projeção roda em paralelo sobre um snapshot compacto do quadro (remuneração vigente na
+ * competência, já convertida em entrada do motor de cálculo) e é agregada por cargo e departamento.
+ * O resultado fica em cache por competência para o painel financeiro: alterações no cadastro ou
+ * na lotação descartam o cache, e mudanças nas regras de folha são detectadas pela versão.
+ * Horas extras apontadas no ponto não entram na projeção; vale a quantidade do cadastro.
+ */
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.payroll.dtos.payroll.EmployerCostDTO;
+import com.payroll.dtos.payroll.EmployerCostReportDTO;
+import com.payroll.dtos.payroll.EmployerCostTotalsDTO;
+import com.payroll.entity.CacheInvalidation;
+import com.payroll.entity.Department;
+import com.payroll.entity.Employee;
+import com.payroll.event.CacheInvalidatedEvent;
+import com.payroll.event.EmployeeChangedEvent;
+import com.payroll.exception.DatabaseConnectionException;
+import com.payroll.exception.InputValidationException;
+import com.payroll.exception.NotFoundBusinessException;
+import com.payroll.model.PayrollInput;
+import com.payroll.repository.DepartmentRepository;
+import com.payroll.repository.EmployeeRepository;
+import com.payroll.service.CompensationHistoryService;
+import com.payroll.service.IPayrollService;
+import com.payroll.service.PayrollConstants;
+import com.payroll.service.ReferenceMonths;
+import com.payroll.service.discount.TaxTable;
+import com.payroll.service.rules.PayrollRuleService;
+
+@Service
+public class EmployerCostService {
+
+    // Cargo usado para agrupar funcionários sem cargo cadastrado
+    static final String NO_POSITION = "SEM CARGO";
+
+    // Alíquota patronal total sobre a remuneração (INSS 20% + RAT + terceiros)
+    static final BigDecimal EMPLOYER_SOCIAL_RATE = PayrollConstants.EMPLOYER_INSS_RATE
+            .add(PayrollConstants.RAT_RATE).add(PayrollConstants.THIRD_PARTY_RATE);
+
+    // Encargos que incidem também sobre as provisões de 13º e férias
+    private static final BigDecimal PROVISION_CHARGE_RATE = EMPLOYER_SOCIAL_RATE.add(PayrollConstants.FGTS_RATE);
+
+    private static final BigDecimal TWELVE = new BigDecimal("12");
+    private static final BigDecimal FOUR = new BigDecimal("4");
+    private static final BigDecimal THIRTY_SIX = new BigDecimal("36");
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private CompensationHistoryService compensationHistory;
+
+    @Autowired
+    private PayrollRuleService ruleService;
+
+    @Autowired
+    private IPayrollService payrollService;
+
+    // Projeções já calculadas, por competência (yyyy-MM)
+    private final Map<String, EmployerCostReportDTO> byMonth = new ConcurrentHashMap<>();
+
+    // Incrementada a cada descarte: projeções iniciadas antes dele não entram no cache
+    private final AtomicLong generation = new AtomicLong();
+
+    // Projeção da competência; calcula apenas na primeira leitura ou depois de um descarte
+    @Transactional(readOnly = true)
+    public EmployerCostReportDTO forMonth(String referenceMonth) {
+        String month = ReferenceMonths.parse(referenceMonth).toString();
+        String rulesVersion = ruleService.current().getVersion();
+        EmployerCostReportDTO cached = byMonth.get(month);
+        if (cached != null && cached.getRulesVersion().equals(rulesVersion)) return cached;
+
+        long startedAt = generation.get();
+        EmployerCostReportDTO computed = project(month, rulesVersion);
+        if (generation.get() == startedAt) byMonth.put(month, computed);
+        return computed;
+    }
+
+    // Custo de um único funcionário na competência (fora do cache)
+    @Transactional(readOnly = true)
+    public EmployerCostDTO forEmployee(Long employeeId, String referenceMonth) {
+        String month = ReferenceMonths.parse(referenceMonth).toString();
+        try {
+            Employee employee = employeeRepository.findById(employeeId)
+                    .orElseThrow(() -> new NotFoundBusinessException("Funcionário não encontrado: " + employeeId));
+            return cost(snapshotRow(compensationHistory.asOf(employee, month), employee.getDepartmentId()), month);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao projetar custo do funcionario", e);
+        }
+    }
+
+    // Descartar todas as projeções agora e de novo ao fim da transação (commit ou rollback)
+    public void evictAll() {
+        generation.incrementAndGet();
+        byMonth.clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    generation.incrementAndGet();
+                    byMonth.clear();
+                }
+            });
+        }
+    }
+
+    // Qualquer alteração no cadastro pode mudar remuneração, cargo ou quadro
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        evictAll();
+    }
+
+    // Cadastro ou regras de folha alterados em outra instância
+    @EventListener(condition = "#event.remote")
+    public void onInvalidated(CacheInvalidatedEvent event) {
+        if (event.isFor(CacheInvalidation.EMPLOYEE, CacheInvalidation.PAYROLL_RULE)) evictAll();
+    }
+
+    // Cálculo do custo de um funcionário a partir da remuneração bruta projetada
+    static EmployerCostDTO cost(Long employeeId, String position, Long departmentId, String month, BigDecimal gross) {
+        BigDecimal fgts = gross.multiply(PayrollConstants.FGTS_RATE).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal employerInss = gross.multiply(EMPLOYER_SOCIAL_RATE).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal thirteenth = gross.divide(TWELVE, 2, RoundingMode.HALF_UP);
+        // (remuneração + 1/3) / 12 = remuneração * 4 / 36
+        BigDecimal vacation = gross.multiply(FOUR).divide(THIRTY_SIX, 2, RoundingMode.HALF_UP);
+        BigDecimal charges = thirteenth.add(vacation).multiply(PROVISION_CHARGE_RATE).setScale(2, RoundingMode.HALF_UP);
+
+        EmployerCostDTO dto = new EmployerCostDTO();
+        dto.setEmployeeId(employeeId);
+        dto.setPosition(position);
+        dto.setDepartmentId(departmentId);
+        dto.setReferenceMonth(month);
+        dto.setGrossPayroll(gross);
+        dto.setFgts(fgts);
+        dto.setEmployerInss(employerInss);
+        dto.setThirteenthProvision(thirteenth);
+        dto.setVacationProvision(vacation);
+        dto.setProvisionCharges(charges);
+        dto.setTotalCost(gross.add(fgts).add(employerInss).add(thirteenth).add(vacation).add(charges));
+        return dto;
+    }
+
+    // --- Projeção ---
+
+    private EmployerCostReportDTO project(String month, String rulesVersion) {
+        // Snapshot compacto e desacoplado: as entidades não são mais tocadas depois daqui
+        List<Row> snapshot;
+        Map<Long, String> departmentNames = new HashMap<>();
+        try {
+            LocalDate endOfMonth = YearMonth.parse(month).atEndOfMonth();
+            List<Employee> employees = employeeRepository.findAll().stream()
+                    .filter(e -> e.getAdmissionDate() == null || !e.getAdmissionDate().isAfter(endOfMonth))
+                    .toList();
+            compensationHistory.preload(employees.stream().map(Employee::getId).toList());
+            snapshot = new ArrayList<>(employees.size());
+            for (Employee e : employees) {
+                snapshot.add(snapshotRow(compensationHistory.asOf(e, month), e.getDepartmentId()));
+            }
+            for (Department d : departmentRepository.findAll()) departmentNames.put(d.getId(), d.getName());
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao carregar funcionarios para custo do empregador", e);
+        }
+
+        // Custo por funcionário em paralelo (motor puro, sem acesso ao banco)
+        List<EmployerCostDTO> costs = snapshot.parallelStream()
+                .map(row -> costOrNull(row, month))
+                .filter(Objects::nonNull)
+                .toList();
+
+        Map<String, Accumulator> byPosition = costs.stream()
+                .collect(Collectors.groupingBy(EmployerCostDTO::getPosition, TreeMap::new, Accumulator.collector()));
+        // Chave -1 agrupa os funcionários sem lotação (TreeMap não aceita chave nula)
+        Map<Long, Accumulator> byDepartment = costs.stream()
+                .collect(Collectors.groupingBy(c -> c.getDepartmentId() != null ? c.getDepartmentId() : -1L,
+                        TreeMap::new, Accumulator.collector()));
+        Accumulator total = new Accumulator();
+        byPosition.values().forEach(total::merge);
+
+        EmployerCostReportDTO report = new EmployerCostReportDTO();
+        report.setReferenceMonth(month);
+        report.setRulesVersion(rulesVersion);
+        report.setComputedAt(LocalDateTime.now());
+        report.setSkipped(snapshot.size() - costs.size());
+        report.setTotal(total.toDTO());
+        report.setPositions(byPosition.entrySet().stream().map(e -> {
+            EmployerCostTotalsDTO dto = e.getValue().toDTO();
+            dto.setPosition(e.getKey());
+            return dto;
+        }).toList());
+        report.setDepartments(byDepartment.entrySet().stream().map(e -> {
+            EmployerCostTotalsDTO dto = e.getValue().toDTO();
+            Long departmentId = e.getKey() >= 0 ? e.getKey() : null;
+            dto.setDepartmentId(departmentId);
+            dto.setDepartmentName(departmentId != null ? departmentNames.get(departmentId) : null);
+            return dto;
+        }).sorted(Comparator.comparing(EmployerCostTotalsDTO::getTotalCost).reversed()).toList());
+        return report;
+    }
+
+    private static Row snapshotRow(Employee asOf, Long departmentId) {
+        PayrollInput input = PayrollInput.from(asOf);
+        String position = input.getPosition() != null ? input.getPosition() : NO_POSITION;
+        return new Row(position, departmentId, input);
+    }
+
+    private EmployerCostDTO cost(Row row, String month) {
+        BigDecimal gross = payrollService.compute(row.input(), TaxTable.DEFAULT, payrollService.getBulkTaxCache())
+                .getGrossSalary();
+        return cost(row.input().getEmployeeId(), row.position(), row.departmentId(), month, gross);
+    }
+
+    // Funcionários com entradas inválidas ficam de fora dos totais
+    private EmployerCostDTO costOrNull(Row row, String month) {
+        try {
+            return cost(row, month);
+        } catch (InputValidationException e) {
+            return null;
+        }
+    }
+
+    private record Row(String position, Long departmentId, PayrollInput input) {}
+
+    // Somatório mutável de um grupo; combinável entre as threads
+    private static final class Accumulator {
+        int headcount;
+        BigDecimal gross = BigDecimal.ZERO, fgts = BigDecimal.ZERO, employerInss = BigDecimal.ZERO,
+                thirteenth = BigDecimal.ZERO, vacation = BigDecimal.ZERO, charges = BigDecimal.ZERO,
+                total = BigDecimal.ZERO;
+
+        static Collector<EmployerCostDTO, Accumulator, Accumulator> collector() {
+            return Collector.of(Accumulator::new, Accumulator::add, Accumulator::merge);
+        }
+
+        void add(EmployerCostDTO c) {
+            headcount++;
+            gross = gross.add(c.getGrossPayroll());
+            fgts = fgts.add(c.getFgts());
+            employerInss = employerInss.add(c.getEmployerInss());
+            thirteenth = thirteenth.add(c.getThirteenthProvision());
+            vacation = vacation.add(c.getVacationProvision());
+            charges = charges.add(c.getProvisionCharges());
+            total = total.add(c.getTotalCost());
+        }
+
+        Accumulator merge(Accumulator o) {
+            headcount += o.headcount;
+            gross = gross.add(o.gross);
+            fgts = fgts.add(o.fgts);
+            employerInss = employerInss.add(o.employerInss);
+            thirteenth = thirteenth.add(o.thirteenth);
+            vacation = vacation.add(o.vacation);
+            charges = charges.add(o.charges);
+            total = total.add(o.total);
+            return this;
+        }
+
+        EmployerCostTotalsDTO toDTO() {
+            EmployerCostTotalsDTO dto = new EmployerCostTotalsDTO();
+            dto.setHeadcount(headcount);
+            dto.setGrossPayroll(gross);
+            dto.setFgts(fgts);
+            dto.setEmployerInss(employerInss);
+            dto.setThirteenthProvision(thirteenth);
+            dto.setVacationProvision(vacation);
+            dto.setProvisionCharges(charges);
+            dto.setTotalCost(total);
+            return dto;
+        }
+    }
+}
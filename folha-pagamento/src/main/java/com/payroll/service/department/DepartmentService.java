@@ -0,0 +1,156 @@
+package com.payroll.service.department;
+
+/*
+ * Serviço da árvore de departamentos / centros de custo e da lotação dos funcionários.
+ * Os nós guardam o caminho materializado desde a raiz; mover um nó reescreve o caminho da
+ * subárvore inteira em um único UPDATE. Holerites já gravados mantêm o departamento da época.
+ */
+
+import com.payroll.dtos.department.DepartmentDTO;
+import com.payroll.entity.CacheInvalidation;
+import com.payroll.entity.Department;
+import com.payroll.entity.Employee;
+import com.payroll.exception.ConflictBusinessException;
+import com.payroll.exception.DataIntegrityBusinessException;
+import com.payroll.exception.DatabaseConnectionException;
+import com.payroll.exception.InputValidationException;
+import com.payroll.exception.NotFoundBusinessException;
+import com.payroll.repository.DepartmentRepository;
+import com.payroll.repository.EmployeeRepository;
+import com.payroll.service.cache.CacheInvalidationBus;
+import com.payroll.service.cost.EmployerCostService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+@Service
+public class DepartmentService {
+
+    private static final Pattern CODE_PATTERN = Pattern.compile("[A-Z][A-Z0-9_]{0,29}");
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EmployerCostService employerCostService;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    // Árvore inteira, cada pai antes dos seus filhos
+    public List<DepartmentDTO> list() {
+        try {
+            return departmentRepository.findAllByOrderByPathAsc().stream().map(DepartmentDTO::fromEntity).toList();
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao listar departamentos", e);
+        }
+    }
+
+    @Transactional
+    public DepartmentDTO create(DepartmentDTO payload) {
+        String code = payload.getCode() != null ? payload.getCode().trim().toUpperCase() : null;
+        if (code == null || !CODE_PATTERN.matcher(code).matches()) {
+            throw new InputValidationException("Codigo do departamento invalido (letras maiusculas, digitos e _; ate 30)",
+                    Map.of("code", String.valueOf(payload.getCode())));
+        }
+        if (payload.getName() == null || payload.getName().isBlank()) {
+            throw new InputValidationException("Nome do departamento obrigatorio");
+        }
+        try {
+            if (departmentRepository.existsByCode(code)) {
+                throw new ConflictBusinessException("Ja existe departamento com este codigo", Map.of("code", code));
+            }
+            Department parent = payload.getParentId() != null ? find(payload.getParentId()) : null;
+
+            Department department = new Department();
+            department.setCode(code);
+            department.setName(payload.getName().trim());
+            department.setCostCenter(payload.getCostCenter());
+            department.setParentId(parent != null ? parent.getId() : null);
+            department.setDepth(parent != null ? parent.getDepth() + 1 : 0);
+            // O caminho inclui o próprio ID: gravar primeiro para obtê-lo (entidade gerenciada, um único INSERT no flush)
+            department.setPath("/");
+            Department saved = departmentRepository.save(department);
+            saved.setPath(childPath(parent, saved.getId()));
+            return DepartmentDTO.fromEntity(departmentRepository.saveAndFlush(saved));
+        } catch (DataIntegrityViolationException e) {
+            throw new DataIntegrityBusinessException("Violacao de integridade ao salvar departamento", e);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao salvar departamento", e);
+        }
+    }
+
+    // Alterar nome e centro de custo (a posição na árvore muda apenas por move)
+    @Transactional
+    public DepartmentDTO update(Long id, DepartmentDTO payload) {
+        try {
+            Department department = find(id);
+            if (payload.getName() != null && !payload.getName().isBlank()) department.setName(payload.getName().trim());
+            if (payload.getCostCenter() != null) department.setCostCenter(payload.getCostCenter());
+            return DepartmentDTO.fromEntity(departmentRepository.save(department));
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao salvar departamento", e);
+        }
+    }
+
+    // Mover o nó (com toda a subárvore) para outro pai; nulo torna o nó uma raiz
+    @Transactional
+    public DepartmentDTO move(Long id, Long newParentId) {
+        try {
+            Department department = find(id);
+            Department parent = newParentId != null ? find(newParentId) : null;
+            // O novo pai não pode estar dentro da subárvore movida (criaria um ciclo)
+            if (parent != null && parent.getPath().startsWith(department.getPath())) {
+                throw new InputValidationException("Departamento nao pode ser movido para dentro da propria subarvore",
+                        Map.of("id", id, "parentId", newParentId));
+            }
+            String oldPath = department.getPath();
+            String newPath = childPath(parent, id);
+            int depthDelta = (parent != null ? parent.getDepth() + 1 : 0) - department.getDepth();
+
+            department.setParentId(parent != null ? parent.getId() : null);
+            departmentRepository.save(department);
+            if (!oldPath.equals(newPath)) {
+                departmentRepository.moveSubtree(oldPath, oldPath.length(), newPath, depthDelta);
+            }
+            return DepartmentDTO.fromEntity(find(id));
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao mover departamento", e);
+        }
+    }
+
+    // Lotar o funcionário no departamento (nulo remove a lotação); vale para os próximos holerites
+    @Transactional
+    public void assignEmployee(Long employeeId, Long departmentId) {
+        try {
+            if (departmentId != null) find(departmentId);
+            Employee employee = employeeRepository.findById(employeeId)
+                    .orElseThrow(() -> new NotFoundBusinessException("Funcionário não encontrado: " + employeeId));
+            employee.setDepartmentId(departmentId);
+            employeeRepository.save(employee);
+            // A lotação não passa pelo feed do cadastro: a projeção por departamento é descartada aqui
+            employerCostService.evictAll();
+            invalidationBus.publish(CacheInvalidation.EMPLOYEE, employeeId);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao lotar funcionario", e);
+        }
+    }
+
+    private Department find(Long id) {
+        return departmentRepository.findById(id)
+                .orElseThrow(() -> new NotFoundBusinessException("Departamento nao encontrado: " + id));
+    }
+
+    private static String childPath(Department parent, Long id) {
+        return (parent != null ? parent.getPath() : "/") + id + "/";
+    }
+}
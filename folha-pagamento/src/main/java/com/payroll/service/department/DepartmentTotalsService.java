@@ -0,0 +1,161 @@
+package com.payroll.service.department;
+
+/*
+ * Totais de folha por departamento.
+ * Cada holerite gravado soma bruto, líquido e FGTS à linha própria do seu departamento na mesma
+ * transação (um UPDATE, independente da profundidade do nó). Os totais da árvore são dobrados
+ * na leitura: com os nós ordenados pelo caminho, percorrê-los de trás para frente somando cada
+ * subárvore ao pai custa O(nós), sem reler os holerites. A linha de um departamento ainda sem
+ * holerites na competência é criada em transação própria, como no razão mensal.
+ */
+
+import com.payroll.dtos.department.DepartmentRollupDTO;
+import com.payroll.entity.Department;
+import com.payroll.entity.DepartmentMonthTotals;
+import com.payroll.entity.PayrollCalculation;
+import com.payroll.exception.DataIntegrityBusinessException;
+import com.payroll.exception.DatabaseConnectionException;
+import com.payroll.exception.NotFoundBusinessException;
+import com.payroll.repository.DepartmentMonthTotalsRepository;
+import com.payroll.repository.DepartmentRepository;
+import com.payroll.service.ReferenceMonths;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class DepartmentTotalsService {
+
+    @Autowired
+    private DepartmentMonthTotalsRepository totalsRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Somar um holerite recém-gravado ao seu departamento; exige a transação que gravou o holerite
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(PayrollCalculation pc) {
+        if (pc.getDepartmentId() == null) return;
+        try {
+            if (increment(pc) == 0) {
+                // Primeiro holerite do departamento na competência: criar a linha (sem este holerite) e somar
+                createRow(pc.getReferenceMonth(), pc.getDepartmentId());
+                if (increment(pc) == 0) {
+                    throw new IllegalStateException("Linha de totais do departamento ausente apos criacao: "
+                            + pc.getDepartmentId() + "/" + pc.getReferenceMonth());
+                }
+            }
+        } catch (DataIntegrityViolationException e) {
+            throw new DataIntegrityBusinessException("Violacao de integridade ao atualizar totais do departamento", e);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao atualizar totais do departamento", e);
+        }
+    }
+
+    private int increment(PayrollCalculation pc) {
+        return totalsRepository.increment(pc.getDepartmentId(), pc.getReferenceMonth(),
+                pc.getGrossSalary(), pc.getNetSalary(), pc.getFgtsValue(), LocalDateTime.now());
+    }
+
+    // Linha criada por outra transação ao mesmo tempo (chave duplicada) também serve
+    private void createRow(String referenceMonth, Long departmentId) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            tx.executeWithoutResult(status -> totalsRepository.insertIfAbsent(referenceMonth, departmentId));
+        } catch (DataIntegrityViolationException e) {
+            // Outra transação criou a linha primeiro
+        }
+    }
+
+    // Reconciliar os totais da competência com os holerites gravados (após recálculos)
+    @Transactional
+    public int rebuild(String referenceMonth) {
+        ReferenceMonths.parse(referenceMonth);
+        try {
+            totalsRepository.deleteTotals(referenceMonth);
+            return totalsRepository.insertFromPayrolls(referenceMonth, null);
+        } catch (DataIntegrityViolationException e) {
+            throw new DataIntegrityBusinessException("Violacao de integridade ao reconstruir totais por departamento", e);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao reconstruir totais por departamento", e);
+        }
+    }
+
+    // Totais próprios e da subárvore de todos os nós, na ordem da árvore
+    public List<DepartmentRollupDTO> rollup(String referenceMonth) {
+        ReferenceMonths.parse(referenceMonth);
+        try {
+            List<Department> nodes = departmentRepository.findAllByOrderByPathAsc();
+            Map<Long, DepartmentMonthTotals> own = new HashMap<>();
+            for (DepartmentMonthTotals t : totalsRepository.findByReferenceMonth(referenceMonth)) {
+                own.put(t.getDepartmentId(), t);
+            }
+
+            Map<Long, DepartmentRollupDTO> byId = new HashMap<>(nodes.size() * 2);
+            List<DepartmentRollupDTO> rows = new ArrayList<>(nodes.size());
+            for (Department d : nodes) {
+                DepartmentRollupDTO row = toRow(d, own.get(d.getId()));
+                byId.put(d.getId(), row);
+                rows.add(row);
+            }
+            // Filhos vêm depois dos pais: de trás para frente, cada subárvore já está completa ao subir
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                DepartmentRollupDTO row = rows.get(i);
+                DepartmentRollupDTO parent = row.getParentId() != null ? byId.get(row.getParentId()) : null;
+                if (parent == null) continue;
+                parent.setSubtreeHeadcount(parent.getSubtreeHeadcount() + row.getSubtreeHeadcount());
+                parent.setSubtreeGross(parent.getSubtreeGross().add(row.getSubtreeGross()));
+                parent.setSubtreeNet(parent.getSubtreeNet().add(row.getSubtreeNet()));
+                parent.setSubtreeFgts(parent.getSubtreeFgts().add(row.getSubtreeFgts()));
+            }
+            return rows;
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao consolidar totais por departamento", e);
+        }
+    }
+
+    // Totais de um único nó (próprios e da subárvore)
+    public DepartmentRollupDTO rollup(Long departmentId, String referenceMonth) {
+        return rollup(referenceMonth).stream()
+                .filter(r -> r.getDepartmentId().equals(departmentId))
+                .findFirst()
+                .orElseThrow(() -> new NotFoundBusinessException("Departamento nao encontrado: " + departmentId));
+    }
+
+    private static DepartmentRollupDTO toRow(Department d, DepartmentMonthTotals t) {
+        DepartmentRollupDTO row = new DepartmentRollupDTO();
+        row.setDepartmentId(d.getId());
+        row.setCode(d.getCode());
+        row.setName(d.getName());
+        row.setCostCenter(d.getCostCenter());
+        row.setParentId(d.getParentId());
+        row.setDepth(d.getDepth());
+        if (t != null) {
+            row.setHeadcount(t.getHeadcount());
+            row.setGross(t.getTotalGross());
+            row.setNet(t.getTotalNet());
+            row.setFgts(t.getTotalFgts());
+        }
+        row.setSubtreeHeadcount(row.getHeadcount());
+        row.setSubtreeGross(row.getGross());
+        row.setSubtreeNet(row.getNet());
+        row.setSubtreeFgts(row.getFgts());
+        return row;
+    }
+}
@@ -0,0 +1,143 @@
+package com.payroll.service.discount;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Cálculo de INSS e IRRF em lote sobre arrays de valores em centavos, para simulações com
+ * muitos funcionários. Reproduz exatamente {@link InssDiscountStrategy} e {@link IrrfDiscountStrategy}
+ * quando as entradas estão em centavos inteiros: alíquotas viram inteiros escalados, as somas
+ * são exatas em {@code long} e o arredondamento HALF_UP para centavos acontece só no final.
+ * Cada faixa é aplicada a todo o array com {@code min/max} (sem desvio por funcionário),
+ * laço que o JIT consegue vetorizar.
+ */
+public final class BatchTaxCalculator {
+
+    // Maior escala de alíquota suportada (ex.: 0,075 tem escala 3)
+    private static final int MAX_RATE_SCALE = 6;
+
+    private final String tableVersion;
+
+    // Fator de escala das alíquotas: valor em centavos * alíquota escalada = 10^scale frações de centavo
+    private final long rateFactor;
+
+    private final long[] inssLower;
+    private final long[] inssWidth;
+    private final long[] inssRate;
+
+    private final long irrfExempt;
+    private final long[] irrfLower;
+    private final long[] irrfWidth; // Long.MAX_VALUE na última faixa (aberta)
+    private final long[] irrfRate;
+    private final long dependentDeduction;
+
+    public BatchTaxCalculator(TaxTable table) {
+        this.tableVersion = table.getVersion();
+
+        int scale = 0;
+        for (int i = 0; i < table.inssBrackets(); i++) scale = Math.max(scale, rateScale(table.inssRate(i)));
+        for (int i = 0; i <= table.irrfBrackets(); i++) scale = Math.max(scale, rateScale(table.irrfRate(i)));
+        this.rateFactor = pow10(scale);
+
+        int n = table.inssBrackets();
+        inssLower = new long[n];
+        inssWidth = new long[n];
+        inssRate = new long[n];
+        for (int i = 0; i < n; i++) {
+            inssLower[i] = i > 0 ? cents(table.inssLimit(i - 1)) : 0;
+            inssWidth[i] = cents(table.inssLimit(i)) - inssLower[i];
+            inssRate[i] = scaledRate(table.inssRate(i), scale);
+        }
+
+        int m = table.irrfBrackets() + 1;
+        irrfLower = new long[m];
+        irrfWidth = new long[m];
+        irrfRate = new long[m];
+        for (int i = 0; i < m; i++) {
+            irrfLower[i] = i > 0 ? cents(table.irrfLimit(i - 1)) : 0;
+            irrfWidth[i] = i < m - 1 ? cents(table.irrfLimit(i)) - irrfLower[i] : Long.MAX_VALUE;
+            irrfRate[i] = scaledRate(table.irrfRate(i), scale);
+        }
+        this.irrfExempt = cents(table.getIrrfExemptLimit());
+        this.dependentDeduction = cents(table.getDependentDeduction());
+    }
+
+    public String getTableVersion() {
+        return tableVersion;
+    }
+
+    // Resultado do lote, em centavos, na mesma ordem das entradas
+    public record BatchResult(long[] inss, long[] irrf) {}
+
+    public BatchResult calculateBatch(long[] grossCents, int[] dependents, long[] pensionCents) {
+        long[] inss = new long[grossCents.length];
+        long[] irrf = new long[grossCents.length];
+        calculateBatch(grossCents, dependents, pensionCents, inss, irrf);
+        return new BatchResult(inss, irrf);
+    }
+
+    // Versão sem alocação: preenche os arrays de saída informados (pensão pode ser nula = zero)
+    public void calculateBatch(long[] grossCents, int[] dependents, long[] pensionCents, long[] inssOut, long[] irrfOut) {
+        int len = grossCents.length;
+        if (dependents.length != len || inssOut.length < len || irrfOut.length < len
+                || (pensionCents != null && pensionCents.length != len)) {
+            throw new IllegalArgumentException("Arrays do lote com tamanhos diferentes");
+        }
+
+        // INSS: soma das faixas, cada uma limitada à sua largura (acima do teto não incide)
+        Arrays.fill(inssOut, 0, len, 0L);
+        for (int b = 0; b < inssRate.length; b++) {
+            long lower = inssLower[b], width = inssWidth[b], rate = inssRate[b];
+            for (int j = 0; j < len; j++) {
+                inssOut[j] += Math.min(Math.max(grossCents[j] - lower, 0L), width) * rate;
+            }
+        }
+        for (int j = 0; j < len; j++) inssOut[j] = roundHalfUp(inssOut[j]);
+
+        // Base do IRRF (reaproveita irrfOut como área de trabalho)
+        for (int j = 0; j < len; j++) {
+            long pension = pensionCents != null ? pensionCents[j] : 0L;
+            irrfOut[j] = grossCents[j] - inssOut[j] - dependents[j] * dependentDeduction - pension;
+        }
+        for (int j = 0; j < len; j++) {
+            long base = irrfOut[j];
+            long tax = 0;
+            for (int b = 0; b < irrfRate.length; b++) {
+                tax += Math.min(Math.max(base - irrfLower[b], 0L), irrfWidth[b]) * irrfRate[b];
+            }
+            irrfOut[j] = base <= irrfExempt ? 0L : roundHalfUp(tax);
+        }
+    }
+
+    // Frações de centavo (10^scale) para centavos, HALF_UP simétrico como BigDecimal
+    private long roundHalfUp(long scaled) {
+        long half = rateFactor / 2;
+        return scaled >= 0 ? (scaled + half) / rateFactor : -((-scaled + half) / rateFactor);
+    }
+
+    private static long cents(BigDecimal value) {
+        try {
+            return value.movePointRight(2).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Valor da tabela nao esta em centavos inteiros: " + value);
+        }
+    }
+
+    private static int rateScale(BigDecimal rate) {
+        int scale = Math.max(0, rate.stripTrailingZeros().scale());
+        if (scale > MAX_RATE_SCALE) {
+            throw new IllegalArgumentException("Aliquota com casas decimais demais para o calculo em lote: " + rate);
+        }
+        return scale;
+    }
+
+    private static long scaledRate(BigDecimal rate, int scale) {
+        return rate.movePointRight(scale).longValueExact();
+    }
+
+    private static long pow10(int exp) {
+        long v = 1;
+        for (int i = 0; i < exp; i++) v *= 10;
+        return v;
+    }
+}
@@ -7,11 +7,14 @@ import java.math.BigDecimal;
  */
 public class DiscountCalculationContext {
     private BigDecimal grossSalary;
-    private BigDecimal inssDiscount;
+    // Resultado de cada desconto já calculado, indexado por DiscountType.ordinal()
+    private final BigDecimal[] results = new BigDecimal[DiscountType.values().length];
     private int dependents;
     private BigDecimal transportVoucherValue;
     private boolean transportEnabled;
     private BigDecimal pensionAlimony;
+    // Tabela de faixas/alíquotas; a vigente por padrão, substituível em simulações
+    private TaxTable taxTable = TaxTable.DEFAULT;
 
     public BigDecimal getGrossSalary() {
         return grossSalary;
@@ -23,11 +26,20 @@ public class DiscountCalculationContext {
     }
 
     public BigDecimal getInssDiscount() {
-        return inssDiscount;
+        return results[DiscountType.INSS.ordinal()];
     }
 
     public DiscountCalculationContext setInssDiscount(BigDecimal inssDiscount) {
-        this.inssDiscount = inssDiscount;
+        return setResult(DiscountType.INSS, inssDiscount);
+    }
+
+    // Valor calculado para o desconto (nulo se ainda não executado)
+    public BigDecimal getResult(DiscountType type) {
+        return results[type.ordinal()];
+    }
+
+    public DiscountCalculationContext setResult(DiscountType type, BigDecimal value) {
+        results[type.ordinal()] = value;
         return this;
     }
 
@@ -66,4 +78,13 @@ public class DiscountCalculationContext {
         this.pensionAlimony = pensionAlimony;
         return this;
     }
+
+    public TaxTable getTaxTable() {
+        return taxTable;
+    }
+
+    public DiscountCalculationContext setTaxTable(TaxTable taxTable) {
+        this.taxTable = taxTable != null ? taxTable : TaxTable.DEFAULT;
+        return this;
+    }
 }
@@ -0,0 +1,121 @@
+package com.payroll.service.discount;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registro imutável das estratégias de desconto, montado uma única vez na inicialização.
+ * As estratégias ficam em um array indexado por {@link DiscountType#ordinal()} e a ordem de
+ * execução é resolvida por ordenação topológica das dependências declaradas em
+ * {@link DiscountStrategy#dependsOn()} (ex.: IRRF depende do INSS). Tipo sem estratégia,
+ * estratégia duplicada ou ciclo de dependências impedem a aplicação de subir.
+ */
+@Component
+public class DiscountPipeline {
+
+    private static final DiscountType[] TYPES = DiscountType.values();
+
+    // Estratégia por DiscountType.ordinal()
+    private final DiscountStrategy[] byType = new DiscountStrategy[TYPES.length];
+
+    // Estratégias na ordem em que devem ser executadas
+    private final DiscountStrategy[] ordered;
+
+    // Tipos cujo resultado pode vir do TaxResultCache, por DiscountType.ordinal()
+    private final boolean[] memoizable = new boolean[TYPES.length];
+
+    @Autowired
+    public DiscountPipeline(List<DiscountStrategy> strategies) {
+        for (DiscountStrategy s : strategies) {
+            int i = s.getType().ordinal();
+            if (byType[i] != null) {
+                throw new IllegalStateException("Mais de uma estrategia de desconto para " + s.getType());
+            }
+            byType[i] = s;
+        }
+        for (DiscountType type : TYPES) {
+            if (byType[type.ordinal()] == null) {
+                throw new IllegalStateException("Nenhuma estrategia de desconto para " + type);
+            }
+        }
+        this.ordered = topologicalOrder();
+        for (DiscountStrategy s : ordered) memoizable[s.getType().ordinal()] = isMemoizable(s);
+    }
+
+    // Acesso direto por tipo (sem mapa)
+    public DiscountStrategy strategy(DiscountType type) {
+        return byType[type.ordinal()];
+    }
+
+    // Ordem de execução resolvida na inicialização
+    public List<DiscountType> executionOrder() {
+        List<DiscountType> types = new ArrayList<>(ordered.length);
+        for (DiscountStrategy s : ordered) types.add(s.getType());
+        return types;
+    }
+
+    // Executar todos os descontos em ordem, gravando cada resultado no contexto
+    public DiscountCalculationContext execute(DiscountCalculationContext context) {
+        for (DiscountStrategy s : ordered) {
+            BigDecimal value = s.calculate(context);
+            context.setResult(s.getType(), value);
+        }
+        return context;
+    }
+
+    // Executar com memoização: descontos memoizáveis vêm do cache quando a mesma entrada já foi calculada
+    public DiscountCalculationContext execute(DiscountCalculationContext context, TaxResultCache cache) {
+        if (cache == null || context.getGrossSalary() == null) return execute(context);
+
+        TaxResultCache.Key key = TaxResultCache.Key.of(context);
+        BigDecimal[] cached = cache.get(key);
+        for (DiscountStrategy s : ordered) {
+            int i = s.getType().ordinal();
+            BigDecimal value = cached != null && memoizable[i] ? cached[i] : s.calculate(context);
+            context.setResult(s.getType(), value);
+        }
+        if (cached == null) {
+            BigDecimal[] values = new BigDecimal[TYPES.length];
+            for (int i = 0; i < TYPES.length; i++) {
+                if (memoizable[i]) values[i] = context.getResult(TYPES[i]);
+            }
+            cache.put(key, values);
+        }
+        return context;
+    }
+
+    // Só é memoizável se todas as dependências também forem (senão o resultado depende de algo fora da chave)
+    private boolean isMemoizable(DiscountStrategy s) {
+        if (!s.memoizable()) return false;
+        for (DiscountType dependency : s.dependsOn()) {
+            if (!memoizable[dependency.ordinal()]) return false;
+        }
+        return true;
+    }
+
+    // Ordenação topológica por busca em profundidade; ordem do enum como desempate estável
+    private DiscountStrategy[] topologicalOrder() {
+        List<DiscountStrategy> result = new ArrayList<>(TYPES.length);
+        byte[] state = new byte[TYPES.length]; // 0 = novo, 1 = em visita, 2 = concluído
+        for (DiscountType type : TYPES) visit(type, state, result);
+        return result.toArray(new DiscountStrategy[0]);
+    }
+
+    private void visit(DiscountType type, byte[] state, List<DiscountStrategy> result) {
+        int i = type.ordinal();
+        if (state[i] == 2) return;
+        if (state[i] == 1) {
+            throw new IllegalStateException("Dependencia circular entre descontos envolvendo " + type);
+        }
+        state[i] = 1;
+        for (DiscountType dependency : TYPES) {
+            if (byType[i].dependsOn().contains(dependency)) visit(dependency, state, result);
+        }
+        state[i] = 2;
+        result.add(byType[i]);
+    }
+}
@@ -1,8 +1,19 @@
 package com.payroll.service.discount;
 
 import java.math.BigDecimal;
+import java.util.Set;
 
 public interface DiscountStrategy {
     DiscountType getType();
     BigDecimal calculate(DiscountCalculationContext context);
+
+    // Descontos cujo resultado precisa estar no contexto antes deste (ordem do pipeline)
+    default Set<DiscountType> dependsOn() {
+        return Set.of();
+    }
+
+    // Resultado depende apenas de (bruto, dependentes, pensão, tabela) e pode ser memoizado
+    default boolean memoizable() {
+        return false;
+    }
 }
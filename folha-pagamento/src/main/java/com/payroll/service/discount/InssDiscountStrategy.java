@@ -1,12 +1,9 @@
 package com.payroll.service.discount;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 import org.springframework.stereotype.Component;
 
-import com.payroll.service.PayrollConstants;
-
 @Component
 public class InssDiscountStrategy implements DiscountStrategy {
 
@@ -16,27 +13,12 @@ public class InssDiscountStrategy implements DiscountStrategy {
     }
 
     @Override
-    public BigDecimal calculate(DiscountCalculationContext context) {
-        BigDecimal salarioContribuicao = context.getGrossSalary();
-        if (salarioContribuicao == null || salarioContribuicao.compareTo(BigDecimal.ZERO) <= 0) {
-            return BigDecimal.ZERO;
-        }
-
-        BigDecimal totalDesconto = BigDecimal.ZERO;
-        BigDecimal salarioRestante = salarioContribuicao;
-
-        for (int i = 0; i < PayrollConstants.INSS_LIMITS.length && salarioRestante.compareTo(BigDecimal.ZERO) > 0; i++) {
-            BigDecimal limite = PayrollConstants.INSS_LIMITS[i];
-            BigDecimal limiteAnterior = i > 0 ? PayrollConstants.INSS_LIMITS[i - 1] : BigDecimal.ZERO;
-            BigDecimal valorTributavel = salarioRestante.min(limite.subtract(limiteAnterior));
-
-            if (valorTributavel.compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal desconto = valorTributavel.multiply(PayrollConstants.INSS_RATES[i]);
-                totalDesconto = totalDesconto.add(desconto);
-                salarioRestante = salarioRestante.subtract(valorTributavel);
-            }
-        }
+    public boolean memoizable() {
+        return true;
+    }
 
-        return totalDesconto.setScale(2, RoundingMode.HALF_UP);
+    @Override
+    public BigDecimal calculate(DiscountCalculationContext context) {
+        return context.getTaxTable().kernel().inss(context.getGrossSalary());
     }
 }
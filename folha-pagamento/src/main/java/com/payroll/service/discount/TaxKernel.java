@@ -0,0 +1,99 @@
+package com.payroll.service.discount;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Núcleo único de cálculo de INSS e IRRF, compartilhado pelas estratégias de desconto e pela API
+ * legada ({@code SheetCalculator}, {@code INSS}, {@code IRRF}).
+ * Na construção pré-calcula, para cada faixa da {@link TaxTable}, o imposto acumulado das faixas
+ * anteriores e a parcela a deduzir; cada cálculo vira uma busca de faixa e uma multiplicação,
+ * sem percorrer as faixas nem criar objetos de contexto. Os valores são exatos até o arredondamento
+ * final (2 casas, HALF_UP), idênticos ao cálculo faixa a faixa.
+ */
+public final class TaxKernel {
+
+    private static final BigDecimal ZERO = BigDecimal.ZERO;
+
+    private final BigDecimal[] inssLimits;
+    private final BigDecimal[] inssRates;
+    // INSS acumulado até o limite superior de cada faixa
+    private final BigDecimal[] inssCumulative;
+
+    private final BigDecimal irrfExemptLimit;
+    private final BigDecimal[] irrfLimits;
+    // Alíquotas por faixa; a última incide sobre o que excede o último limite
+    private final BigDecimal[] irrfRates;
+    // Parcela a deduzir de cada faixa: imposto = base * alíquota - parcela
+    private final BigDecimal[] irrfDeductions;
+    private final BigDecimal dependentDeduction;
+
+    TaxKernel(BigDecimal[] inssLimits, BigDecimal[] inssRates, BigDecimal irrfExemptLimit,
+              BigDecimal[] irrfLimits, BigDecimal[] irrfRates, BigDecimal dependentDeduction) {
+        this.inssLimits = inssLimits;
+        this.inssRates = inssRates;
+        this.inssCumulative = new BigDecimal[inssLimits.length];
+        BigDecimal acc = ZERO;
+        for (int i = 0; i < inssLimits.length; i++) {
+            acc = acc.add(inssLimits[i].subtract(lower(inssLimits, i)).multiply(inssRates[i]));
+            inssCumulative[i] = acc;
+        }
+
+        this.irrfExemptLimit = irrfExemptLimit;
+        this.irrfLimits = irrfLimits;
+        this.irrfRates = irrfRates;
+        this.dependentDeduction = dependentDeduction;
+        this.irrfDeductions = new BigDecimal[irrfRates.length];
+        acc = ZERO;
+        for (int i = 0; i < irrfRates.length; i++) {
+            BigDecimal lower = lower(irrfLimits, i);
+            // Parcela = lower * alíquota - imposto acumulado das faixas anteriores
+            irrfDeductions[i] = lower.multiply(irrfRates[i]).subtract(acc);
+            if (i < irrfLimits.length) acc = acc.add(irrfLimits[i].subtract(lower).multiply(irrfRates[i]));
+        }
+    }
+
+    // INSS progressivo sobre o salário de contribuição (limitado ao teto da última faixa)
+    public BigDecimal inss(BigDecimal contributionSalary) {
+        if (contributionSalary == null || contributionSalary.signum() <= 0) return ZERO;
+        int last = inssLimits.length - 1;
+        if (contributionSalary.compareTo(inssLimits[last]) >= 0) {
+            return inssCumulative[last].setScale(2, RoundingMode.HALF_UP);
+        }
+        int i = bracket(inssLimits, contributionSalary);
+        BigDecimal previous = i > 0 ? inssCumulative[i - 1] : ZERO;
+        return previous.add(contributionSalary.subtract(lower(inssLimits, i)).multiply(inssRates[i]))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // Base do IRRF: bruto - INSS - dedução por dependente - pensão alimentícia
+    public BigDecimal irrfBase(BigDecimal grossSalary, BigDecimal inssDiscount, int dependents, BigDecimal pensionAlimony) {
+        BigDecimal base = grossSalary.subtract(inssDiscount);
+        if (dependents != 0) base = base.subtract(dependentDeduction.multiply(BigDecimal.valueOf(dependents)));
+        if (pensionAlimony != null) base = base.subtract(pensionAlimony);
+        return base;
+    }
+
+    // IRRF progressivo (equivalente à tabela com parcela a deduzir); zero até o limite de isenção
+    public BigDecimal irrf(BigDecimal base) {
+        if (base.compareTo(irrfExemptLimit) <= 0) return ZERO;
+        int i = bracket(irrfLimits, base);
+        return base.multiply(irrfRates[i]).subtract(irrfDeductions[i]).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // Parcela a deduzir da faixa (informativo para conferência com a tabela oficial)
+    public BigDecimal irrfDeduction(int bracket) {
+        return irrfDeductions[bracket];
+    }
+
+    // Primeira faixa cujo limite superior é >= valor; limites.length quando acima de todas
+    private static int bracket(BigDecimal[] limits, BigDecimal value) {
+        int i = 0;
+        while (i < limits.length && value.compareTo(limits[i]) > 0) i++;
+        return i;
+    }
+
+    private static BigDecimal lower(BigDecimal[] limits, int i) {
+        return i > 0 ? limits[i - 1] : ZERO;
+    }
+}
@@ -0,0 +1,116 @@
+package com.payroll.service.discount;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoização limitada dos descontos que dependem apenas de (bruto, dependentes, pensão, tabela).
+ * Em execuções em lote muitos funcionários compartilham a mesma faixa salarial; o resultado de
+ * INSS/IRRF é calculado uma vez e reaproveitado. A chave inclui a versão da tabela de impostos e
+ * os valores normalizados (3000 e 3000.00 são a mesma entrada). O despejo é LRU por segmento,
+ * com travas independentes para que as threads das simulações paralelas não disputem uma única trava.
+ */
+public final class TaxResultCache {
+
+    // Capacidade padrão: cobre com folga as combinações distintas de uma empresa grande
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment[] segments;
+    private final int maxEntries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TaxResultCache(int maxEntries) {
+        if (maxEntries < 1) throw new IllegalArgumentException("maxEntries deve ser positivo");
+        this.maxEntries = maxEntries;
+        int count = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxEntries));
+        int perSegment = (maxEntries + count - 1) / count;
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) segments[i] = new Segment(perSegment);
+    }
+
+    // Entrada normalizada do cálculo; valores nulos de pensão equivalem a zero
+    public record Key(String tableVersion, BigDecimal grossSalary, int dependents, BigDecimal pensionAlimony) {
+
+        static Key of(DiscountCalculationContext ctx) {
+            BigDecimal pension = ctx.getPensionAlimony() != null ? ctx.getPensionAlimony() : BigDecimal.ZERO;
+            return new Key(ctx.getTaxTable().getVersion(), ctx.getGrossSalary().stripTrailingZeros(),
+                    ctx.getDependents(), pension.stripTrailingZeros());
+        }
+    }
+
+    // Resultados por DiscountType.ordinal(); o array devolvido não deve ser alterado
+    BigDecimal[] get(Key key) {
+        Segment segment = segmentFor(key);
+        BigDecimal[] values;
+        synchronized (segment) {
+            values = segment.get(key);
+        }
+        if (values != null) hits.increment();
+        else misses.increment();
+        return values;
+    }
+
+    void put(Key key, BigDecimal[] values) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, values);
+        }
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public Stats stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+        return new Stats(h, m, evictions.sum(), size(), maxEntries, h + m == 0 ? 0.0 : (double) h / (h + m));
+    }
+
+    // Métricas acumuladas desde a criação do cache
+    public record Stats(long hits, long misses, long evictions, int size, int maxEntries, double hitRate) {}
+
+    private Segment segmentFor(Key key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (segments.length - 1)];
+    }
+
+    // LinkedHashMap em ordem de acesso: o mais antigo sem uso é despejado ao exceder a capacidade
+    private final class Segment extends LinkedHashMap<Key, BigDecimal[]> {
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, BigDecimal[]> eldest) {
+            if (size() <= capacity) return false;
+            evictions.increment();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.payroll.service.discount;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import com.payroll.service.PayrollConstants;
+
+/**
+ * Conjunto imutável de faixas e alíquotas de INSS/IRRF usado pelas estratégias de desconto.
+ * A tabela vigente ({@link #DEFAULT}) vem de {@link PayrollConstants}; simulações podem
+ * montar tabelas alternativas sem alterar as constantes globais. Os cálculos são feitos
+ * pelo {@link TaxKernel} associado, montado uma vez por tabela.
+ */
+public final class TaxTable {
+
+    public static final TaxTable DEFAULT = new TaxTable(
+            PayrollConstants.TAX_TABLE_VERSION,
+            PayrollConstants.INSS_LIMITS,
+            PayrollConstants.INSS_RATES,
+            PayrollConstants.IRPF_ISENTO,
+            PayrollConstants.IRPF_LIMITS,
+            PayrollConstants.IRPF_RATES,
+            PayrollConstants.DEDUCAO_DEPENDENTE);
+
+    private final String version;
+    private final BigDecimal[] inssLimits;
+    private final BigDecimal[] inssRates;
+    private final BigDecimal irrfExemptLimit;
+    private final BigDecimal[] irrfLimits;
+    private final BigDecimal[] irrfRates;
+    private final BigDecimal dependentDeduction;
+    // Núcleo de cálculo com os acumulados/parcelas desta tabela já pré-calculados
+    private final TaxKernel kernel;
+
+    public TaxTable(String version, BigDecimal[] inssLimits, BigDecimal[] inssRates,
+                    BigDecimal irrfExemptLimit, BigDecimal[] irrfLimits, BigDecimal[] irrfRates,
+                    BigDecimal dependentDeduction) {
+        if (inssLimits.length != inssRates.length) {
+            throw new IllegalArgumentException("Faixas e aliquotas de INSS com tamanhos diferentes");
+        }
+        // A última alíquota de IRRF incide sobre o que excede a última faixa
+        if (irrfRates.length != irrfLimits.length + 1) {
+            throw new IllegalArgumentException("IRRF deve ter uma aliquota a mais que o numero de faixas");
+        }
+        this.version = version;
+        this.inssLimits = inssLimits.clone();
+        this.inssRates = inssRates.clone();
+        this.irrfExemptLimit = irrfExemptLimit;
+        this.irrfLimits = irrfLimits.clone();
+        this.irrfRates = irrfRates.clone();
+        this.dependentDeduction = dependentDeduction;
+        this.kernel = new TaxKernel(this.inssLimits, this.inssRates, irrfExemptLimit,
+                this.irrfLimits, this.irrfRates, dependentDeduction);
+    }
+
+    public TaxKernel kernel() { return kernel; }
+
+    public String getVersion() { return version; }
+
+    public int inssBrackets() { return inssLimits.length; }
+    public BigDecimal inssLimit(int i) { return inssLimits[i]; }
+    public BigDecimal inssRate(int i) { return inssRates[i]; }
+
+    public BigDecimal getIrrfExemptLimit() { return irrfExemptLimit; }
+    public int irrfBrackets() { return irrfLimits.length; }
+    public BigDecimal irrfLimit(int i) { return irrfLimits[i]; }
+    public BigDecimal irrfRate(int i) { return irrfRates[i]; }
+    public BigDecimal irrfTopRate() { return irrfRates[irrfRates.length - 1]; }
+
+    public BigDecimal getDependentDeduction() { return dependentDeduction; }
+
+    @Override
+    public String toString() {
+        return "TaxTable{version=" + version + ", inss=" + Arrays.toString(inssLimits)
+                + ", irrf=" + Arrays.toString(irrfLimits) + "}";
+    }
+}
@@ -0,0 +1,66 @@
+package com.payroll.service.rules;
+
+/*
+ * Conjunto imutável das regras ativas já compiladas, separado por natureza em arrays planos
+ * na ordem de execução. O cálculo de cada holerite só percorre os arrays chamando as funções;
+ * a versão identifica o conteúdo das regras e entra no fingerprint dos holerites.
+ */
+
+import com.payroll.exception.InputValidationException;
+import com.payroll.service.rules.RuleExpressionCompiler.NumericRule;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+
+public final class CompiledRuleSet {
+
+    // Sem regras ativas: versão vazia, que não altera o fingerprint dos holerites
+    public static final CompiledRuleSet EMPTY =
+            new CompiledRuleSet("", new String[0], new NumericRule[0], new String[0], new NumericRule[0]);
+
+    private final String version;
+    private final String[] earningCodes;
+    private final NumericRule[] earnings;
+    private final String[] deductionCodes;
+    private final NumericRule[] deductions;
+
+    CompiledRuleSet(String version, String[] earningCodes, NumericRule[] earnings,
+                    String[] deductionCodes, NumericRule[] deductions) {
+        this.version = version;
+        this.earningCodes = earningCodes;
+        this.earnings = earnings;
+        this.deductionCodes = deductionCodes;
+        this.deductions = deductions;
+    }
+
+    public String getVersion() { return version; }
+
+    public boolean isEmpty() { return earnings.length == 0 && deductions.length == 0; }
+
+    // Soma dos proventos configurados (somado ao bruto, antes dos impostos)
+    public BigDecimal applyEarnings(RuleContext ctx) {
+        return sum(earningCodes, earnings, ctx);
+    }
+
+    // Soma dos descontos configurados (após INSS/IRRF, com o bruto já conhecido)
+    public BigDecimal applyDeductions(RuleContext ctx) {
+        return sum(deductionCodes, deductions, ctx);
+    }
+
+    // Cada regra é arredondada a centavos; resultados negativos não geram lançamento
+    private static BigDecimal sum(String[] codes, NumericRule[] rules, RuleContext ctx) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < rules.length; i++) {
+            BigDecimal value;
+            try {
+                value = rules[i].apply(ctx);
+            } catch (ArithmeticException e) {
+                throw new InputValidationException("Regra de folha " + codes[i] + " falhou: " + e.getMessage(),
+                        Map.of("rule", codes[i]));
+            }
+            if (value != null && value.signum() > 0) total = total.add(value.setScale(2, RoundingMode.HALF_UP));
+        }
+        return total;
+    }
+}
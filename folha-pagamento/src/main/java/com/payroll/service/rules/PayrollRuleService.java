@@ -0,0 +1,224 @@
+package com.payroll.service.rules;
+
+/*
+ * Serviço das regras configuráveis de proventos e descontos da folha.
+ * Valida cada expressão no cadastro (compilando-a) e mantém em memória o conjunto compilado
+ * das regras ativas. O conjunto é recompilado apenas quando a versão muda: gravações descartam
+ * o conjunto ao fim da transação (e, pelo barramento de invalidação, nas demais instâncias)
+ * e a próxima leitura recarrega as regras.
+ */
+
+import com.payroll.dtos.payroll.PayrollRuleDTO;
+import com.payroll.entity.CacheInvalidation;
+import com.payroll.entity.PayrollRule;
+import com.payroll.event.CacheInvalidatedEvent;
+import com.payroll.exception.ConflictBusinessException;
+import com.payroll.exception.DataIntegrityBusinessException;
+import com.payroll.exception.DatabaseConnectionException;
+import com.payroll.exception.InputValidationException;
+import com.payroll.exception.NotFoundBusinessException;
+import com.payroll.repository.PayrollRuleRepository;
+import com.payroll.service.cache.CacheInvalidationBus;
+import com.payroll.service.rules.RuleExpressionCompiler.NumericRule;
+import com.payroll.service.rules.RuleExpressionCompiler.Scope;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+@Service
+public class PayrollRuleService {
+
+    private static final Pattern CODE_PATTERN = Pattern.compile("[A-Z][A-Z0-9_]{0,29}");
+
+    @Autowired
+    private PayrollRuleRepository ruleRepository;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    // Conjunto compilado das regras ativas (nulo: recarregar na próxima leitura)
+    private volatile CompiledRuleSet current;
+
+    // Incrementada a cada descarte: conjuntos lidos antes dele não ficam como vigentes
+    private final AtomicLong generation = new AtomicLong();
+
+    // Conjunto vigente para o cálculo; recompila só quando as regras mudaram desde a última carga
+    public CompiledRuleSet current() {
+        CompiledRuleSet rules = current;
+        return rules != null ? rules : refresh();
+    }
+
+    public synchronized CompiledRuleSet refresh() {
+        try {
+            long startedAt = generation.get();
+            List<PayrollRule> active = ruleRepository.findByActiveTrueOrderByPriorityAscIdAsc();
+            String version = versionOf(active);
+            CompiledRuleSet rules = current;
+            if (rules == null || !rules.getVersion().equals(version)) {
+                rules = compile(active, version);
+            }
+            // Um descarte durante a leitura (commit de outra gravação) pode ter chegado depois da consulta;
+            // o descarte incrementa antes de limpar, então a conferência após publicar não perde nenhum
+            current = rules;
+            if (generation.get() != startedAt) current = null;
+            return rules;
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao carregar regras de folha", e);
+        }
+    }
+
+    public List<PayrollRuleDTO> list() {
+        try {
+            return ruleRepository.findAllByOrderByKindAscPriorityAscIdAsc().stream()
+                    .map(PayrollRuleDTO::fromEntity)
+                    .toList();
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao listar regras de folha", e);
+        }
+    }
+
+    @Transactional
+    public PayrollRuleDTO create(PayrollRuleDTO payload) {
+        String code = payload.getCode() != null ? payload.getCode().trim().toUpperCase() : null;
+        if (code == null || !CODE_PATTERN.matcher(code).matches()) {
+            throw new InputValidationException("Codigo da regra invalido (letras maiusculas, digitos e _; ate 30)",
+                    Map.of("code", String.valueOf(payload.getCode())));
+        }
+        if (ruleRepository.existsByCode(code)) {
+            throw new ConflictBusinessException("Ja existe regra com este codigo", Map.of("code", code));
+        }
+        PayrollRule rule = new PayrollRule();
+        rule.setCode(code);
+        apply(rule, payload);
+        return save(rule);
+    }
+
+    @Transactional
+    public PayrollRuleDTO update(Long id, PayrollRuleDTO payload) {
+        PayrollRule rule = find(id);
+        apply(rule, payload);
+        return save(rule);
+    }
+
+    // Regras não são excluídas: desativar preserva o histórico de quais regras existiram
+    @Transactional
+    public PayrollRuleDTO deactivate(Long id) {
+        PayrollRule rule = find(id);
+        rule.setActive(false);
+        return save(rule);
+    }
+
+    // Regras alteradas em outra instância: recarregar na próxima leitura
+    @EventListener(condition = "#event.remote")
+    public void onInvalidated(CacheInvalidatedEvent event) {
+        if (event.isFor(CacheInvalidation.PAYROLL_RULE)) evict();
+    }
+
+    // --- Infraestrutura ---
+
+    private PayrollRule find(Long id) {
+        return ruleRepository.findById(id)
+                .orElseThrow(() -> new NotFoundBusinessException("Regra de folha nao encontrada: " + id));
+    }
+
+    // Copiar os campos editáveis, validando natureza e expressão antes de gravar
+    private static void apply(PayrollRule rule, PayrollRuleDTO payload) {
+        String kind = payload.getKind() != null ? payload.getKind().trim().toUpperCase() : rule.getKind();
+        if (!PayrollRule.EARNING.equals(kind) && !PayrollRule.DEDUCTION.equals(kind)) {
+            throw new InputValidationException("Natureza da regra deve ser EARNING ou DEDUCTION",
+                    Map.of("kind", String.valueOf(payload.getKind())));
+        }
+        String expression = payload.getExpression() != null ? payload.getExpression().trim() : rule.getExpression();
+        RuleExpressionCompiler.compile(expression, scopeOf(kind));
+
+        rule.setKind(kind);
+        rule.setExpression(expression);
+        if (payload.getDescription() != null) rule.setDescription(payload.getDescription());
+        if (payload.getPriority() != null) rule.setPriority(payload.getPriority());
+        if (payload.getActive() != null) rule.setActive(payload.getActive());
+        rule.setUpdatedAt(LocalDateTime.now());
+    }
+
+    private PayrollRuleDTO save(PayrollRule rule) {
+        try {
+            PayrollRule saved = ruleRepository.save(rule);
+            invalidate();
+            invalidationBus.publish(CacheInvalidation.PAYROLL_RULE, saved.getId());
+            return PayrollRuleDTO.fromEntity(saved);
+        } catch (DataIntegrityViolationException e) {
+            throw new DataIntegrityBusinessException("Violacao de integridade ao salvar regra de folha", e);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao salvar regra de folha", e);
+        }
+    }
+
+    // Descartar o conjunto compilado agora e de novo ao fim da transação (commit ou rollback)
+    private void invalidate() {
+        evict();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict();
+                }
+            });
+        }
+    }
+
+    private void evict() {
+        generation.incrementAndGet();
+        current = null;
+    }
+
+    private static CompiledRuleSet compile(List<PayrollRule> active, String version) {
+        if (active.isEmpty()) return CompiledRuleSet.EMPTY;
+        List<String> earningCodes = new ArrayList<>(), deductionCodes = new ArrayList<>();
+        List<NumericRule> earnings = new ArrayList<>(), deductions = new ArrayList<>();
+        for (PayrollRule rule : active) {
+            boolean earning = PayrollRule.EARNING.equals(rule.getKind());
+            NumericRule fn = RuleExpressionCompiler.compile(rule.getExpression(), scopeOf(rule.getKind()));
+            (earning ? earningCodes : deductionCodes).add(rule.getCode());
+            (earning ? earnings : deductions).add(fn);
+        }
+        return new CompiledRuleSet(version,
+                earningCodes.toArray(new String[0]), earnings.toArray(new NumericRule[0]),
+                deductionCodes.toArray(new String[0]), deductions.toArray(new NumericRule[0]));
+    }
+
+    private static Scope scopeOf(String kind) {
+        return PayrollRule.DEDUCTION.equals(kind) ? Scope.DEDUCTION : Scope.EARNING;
+    }
+
+    // Versão = hash do conteúdo das regras ativas, igual em todas as instâncias para as mesmas regras
+    private static String versionOf(List<PayrollRule> active) {
+        if (active.isEmpty()) return "";
+        StringBuilder sb = new StringBuilder();
+        for (PayrollRule r : active) {
+            sb.append(r.getCode()).append('|').append(r.getKind()).append('|')
+              .append(r.getPriority()).append('|').append(r.getExpression()).append('\n');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 é obrigatório em toda JVM
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.payroll.service.rules;
+
+/*
+ * Valores disponíveis às regras de folha durante o cálculo de um holerite.
+ * Proventos enxergam as entradas do funcionário e o salário-hora; descontos enxergam
+ * também o bruto e os impostos já calculados (preenchidos por withTaxes).
+ */
+
+import com.payroll.model.PayrollInput;
+
+import java.math.BigDecimal;
+
+public final class RuleContext {
+
+    private final PayrollInput input;
+    private final BigDecimal hourlyWage;
+    private BigDecimal grossSalary = BigDecimal.ZERO;
+    private BigDecimal inss = BigDecimal.ZERO;
+    private BigDecimal irrf = BigDecimal.ZERO;
+
+    public RuleContext(PayrollInput input, BigDecimal hourlyWage) {
+        this.input = input;
+        this.hourlyWage = hourlyWage;
+    }
+
+    // Bruto e impostos do holerite, antes de executar as regras de desconto
+    public RuleContext withTaxes(BigDecimal grossSalary, BigDecimal inss, BigDecimal irrf) {
+        this.grossSalary = grossSalary;
+        this.inss = inss;
+        this.irrf = irrf;
+        return this;
+    }
+
+    // --- Getters ---
+
+    public PayrollInput getInput() { return input; }
+    public BigDecimal getHourlyWage() { return hourlyWage; }
+    public BigDecimal getGrossSalary() { return grossSalary; }
+    public BigDecimal getInss() { return inss; }
+    public BigDecimal getIrrf() { return irrf; }
+}
@@ -0,0 +1,400 @@
+package com.payroll.service.rules;
+
+/*
+ * Compilador das expressões das regras de folha.
+ * O texto é analisado uma única vez (descida recursiva) e cada nó vira uma função Java já
+ * tipada (número, booleano ou texto), com as variáveis resolvidas para chamadas diretas aos
+ * getters e as subexpressões constantes pré-calculadas. Erros de sintaxe, variáveis
+ * desconhecidas e tipos incompatíveis são detectados aqui, no cadastro da regra, e não no cálculo.
+ *
+ * Sintaxe: números, textos ('...' ou "..."), true/false, + - * /, < <= > >= == !=, && || !,
+ * condição ? a : b, min(a, b), max(a, b), round(a) (duas casas) e parênteses.
+ */
+
+import com.payroll.exception.InputValidationException;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+
+public final class RuleExpressionCompiler {
+
+    // Escopo das variáveis: proventos não enxergam o bruto nem os impostos (ainda não calculados)
+    public enum Scope { EARNING, DEDUCTION }
+
+    // Função compilada de uma regra: valor da regra para o holerite em cálculo
+    @FunctionalInterface
+    public interface NumericRule {
+        BigDecimal apply(RuleContext ctx);
+    }
+
+    @FunctionalInterface
+    private interface BooleanRule {
+        boolean test(RuleContext ctx);
+    }
+
+    @FunctionalInterface
+    private interface TextRule {
+        String apply(RuleContext ctx);
+    }
+
+    static final int MAX_LENGTH = 1_000;
+
+    private static final MathContext DIVISION = MathContext.DECIMAL64;
+
+    private static final Map<String, NumericRule> NUMERIC_VARS = Map.of(
+            "salary", ctx -> ctx.getInput().getSalary(),
+            "hourlyWage", RuleContext::getHourlyWage,
+            "weeklyHours", ctx -> BigDecimal.valueOf(ctx.getInput().getWeeklyHours()),
+            "dependents", ctx -> BigDecimal.valueOf(ctx.getInput().getDependents()),
+            "overtimeHours", ctx -> ctx.getInput().getOvertimeHours(),
+            "mealVoucherValue", ctx -> ctx.getInput().getMealVoucherValue(),
+            "transportVoucherValue", ctx -> ctx.getInput().getTransportVoucherValue());
+
+    private static final Map<String, NumericRule> DEDUCTION_VARS = Map.of(
+            "grossSalary", RuleContext::getGrossSalary,
+            "inss", RuleContext::getInss,
+            "irrf", RuleContext::getIrrf);
+
+    private static final Map<String, BooleanRule> BOOLEAN_VARS = Map.of(
+            "dangerousWork", ctx -> ctx.getInput().isDangerousWork(),
+            "transportVoucher", ctx -> ctx.getInput().isTransportVoucher(),
+            "overtimeEligible", ctx -> ctx.getInput().isOvertimeEligible());
+
+    private static final Map<String, TextRule> TEXT_VARS = Map.of(
+            "position", ctx -> ctx.getInput().getPosition(),
+            "unhealthyLevel", ctx -> ctx.getInput().getUnhealthyLevel());
+
+    private RuleExpressionCompiler() {}
+
+    // Compilar a expressão de uma regra; o resultado precisa ser numérico
+    public static NumericRule compile(String expression, Scope scope) {
+        if (expression == null || expression.isBlank()) {
+            throw new InputValidationException("Expressao da regra obrigatoria");
+        }
+        if (expression.length() > MAX_LENGTH) {
+            throw new InputValidationException("Expressao da regra deve ter no maximo " + MAX_LENGTH + " caracteres");
+        }
+        Parser parser = new Parser(expression, scope);
+        Node node = parser.expression();
+        parser.expectEnd();
+        if (node.type != Type.NUMBER) {
+            throw parser.error("a expressao deve resultar em valor numerico", 0);
+        }
+        return node.numeric();
+    }
+
+    private enum Type { NUMBER, BOOLEAN, TEXT }
+
+    // Nó compilado: tipo, função e, quando a subexpressão não depende do funcionário, o valor constante
+    private record Node(Type type, Object fn, Object constant) {
+
+        static Node number(NumericRule fn) { return new Node(Type.NUMBER, fn, null); }
+        static Node bool(BooleanRule fn) { return new Node(Type.BOOLEAN, fn, null); }
+        static Node text(TextRule fn) { return new Node(Type.TEXT, fn, null); }
+
+        static Node constant(BigDecimal v) { return new Node(Type.NUMBER, (NumericRule) ctx -> v, v); }
+        static Node constant(boolean v) { return new Node(Type.BOOLEAN, (BooleanRule) ctx -> v, v); }
+        static Node constant(String v) { return new Node(Type.TEXT, (TextRule) ctx -> v, v); }
+
+        NumericRule numeric() { return (NumericRule) fn; }
+        BooleanRule bool() { return (BooleanRule) fn; }
+        TextRule text() { return (TextRule) fn; }
+        boolean isConstant() { return constant != null; }
+    }
+
+    // Analisador por descida recursiva; a precedência segue a ordem dos métodos (ternário ... primário)
+    private static final class Parser {
+
+        private final String src;
+        private final Scope scope;
+        private int pos;
+
+        Parser(String src, Scope scope) {
+            this.src = src;
+            this.scope = scope;
+        }
+
+        Node expression() {
+            int start = skipSpaces();
+            Node condition = or();
+            if (!accept("?")) return condition;
+            require(condition, Type.BOOLEAN, start);
+            Node whenTrue = expression();
+            expect(":");
+            Node whenFalse = expression();
+            if (whenTrue.type != whenFalse.type) {
+                throw error("os dois lados do operador ?: devem ter o mesmo tipo", start);
+            }
+            if (condition.isConstant()) return (Boolean) condition.constant ? whenTrue : whenFalse;
+            BooleanRule c = condition.bool();
+            return switch (whenTrue.type) {
+                case NUMBER -> {
+                    NumericRule a = whenTrue.numeric(), b = whenFalse.numeric();
+                    yield Node.number(ctx -> c.test(ctx) ? a.apply(ctx) : b.apply(ctx));
+                }
+                case BOOLEAN -> {
+                    BooleanRule a = whenTrue.bool(), b = whenFalse.bool();
+                    yield Node.bool(ctx -> c.test(ctx) ? a.test(ctx) : b.test(ctx));
+                }
+                case TEXT -> {
+                    TextRule a = whenTrue.text(), b = whenFalse.text();
+                    yield Node.text(ctx -> c.test(ctx) ? a.apply(ctx) : b.apply(ctx));
+                }
+            };
+        }
+
+        private Node or() {
+            int start = skipSpaces();
+            Node left = and();
+            while (accept("||")) {
+                Node right = and();
+                require(left, Type.BOOLEAN, start);
+                require(right, Type.BOOLEAN, start);
+                BooleanRule l = left.bool(), r = right.bool();
+                left = Node.bool(ctx -> l.test(ctx) || r.test(ctx));
+            }
+            return left;
+        }
+
+        private Node and() {
+            int start = skipSpaces();
+            Node left = comparison();
+            while (accept("&&")) {
+                Node right = comparison();
+                require(left, Type.BOOLEAN, start);
+                require(right, Type.BOOLEAN, start);
+                BooleanRule l = left.bool(), r = right.bool();
+                left = Node.bool(ctx -> l.test(ctx) && r.test(ctx));
+            }
+            return left;
+        }
+
+        private Node comparison() {
+            int start = skipSpaces();
+            Node left = additive();
+            String op = acceptAny("<=", ">=", "==", "!=", "<", ">");
+            if (op == null) return left;
+            Node right = additive();
+            if (left.type != right.type) throw error("comparacao entre tipos diferentes", start);
+
+            if (left.type == Type.NUMBER) {
+                NumericRule l = left.numeric(), r = right.numeric();
+                return switch (op) {
+                    case "<" -> Node.bool(ctx -> l.apply(ctx).compareTo(r.apply(ctx)) < 0);
+                    case "<=" -> Node.bool(ctx -> l.apply(ctx).compareTo(r.apply(ctx)) <= 0);
+                    case ">" -> Node.bool(ctx -> l.apply(ctx).compareTo(r.apply(ctx)) > 0);
+                    case ">=" -> Node.bool(ctx -> l.apply(ctx).compareTo(r.apply(ctx)) >= 0);
+                    case "==" -> Node.bool(ctx -> l.apply(ctx).compareTo(r.apply(ctx)) == 0);
+                    default -> Node.bool(ctx -> l.apply(ctx).compareTo(r.apply(ctx)) != 0);
+                };
+            }
+            boolean negate = op.equals("!=");
+            if (!negate && !op.equals("==")) throw error("operador " + op + " aceita apenas numeros", start);
+            if (left.type == Type.BOOLEAN) {
+                BooleanRule l = left.bool(), r = right.bool();
+                return Node.bool(ctx -> (l.test(ctx) == r.test(ctx)) != negate);
+            }
+            // Textos do cadastro são comparados sem diferenciar maiúsculas
+            TextRule l = left.text(), r = right.text();
+            return Node.bool(ctx -> {
+                String a = l.apply(ctx), b = r.apply(ctx);
+                boolean equal = a == null ? b == null : a.equalsIgnoreCase(b);
+                return equal != negate;
+            });
+        }
+
+        private Node additive() {
+            int start = skipSpaces();
+            Node left = multiplicative();
+            String op;
+            while ((op = acceptAny("+", "-")) != null) {
+                Node right = multiplicative();
+                left = arithmetic(left, right, op.equals("+") ? BigDecimal::add : BigDecimal::subtract, start);
+            }
+            return left;
+        }
+
+        private Node multiplicative() {
+            int start = skipSpaces();
+            Node left = unary();
+            String op;
+            while ((op = acceptAny("*", "/")) != null) {
+                Node right = unary();
+                left = arithmetic(left, right, op.equals("*") ? BigDecimal::multiply : (a, b) -> a.divide(b, DIVISION), start);
+            }
+            return left;
+        }
+
+        private Node unary() {
+            int start = skipSpaces();
+            if (accept("-")) {
+                Node operand = unary();
+                require(operand, Type.NUMBER, start);
+                if (operand.isConstant()) return Node.constant(((BigDecimal) operand.constant).negate());
+                NumericRule f = operand.numeric();
+                return Node.number(ctx -> f.apply(ctx).negate());
+            }
+            if (peek('!') && !src.startsWith("!=", pos)) {
+                pos++;
+                Node operand = unary();
+                require(operand, Type.BOOLEAN, start);
+                BooleanRule f = operand.bool();
+                return Node.bool(ctx -> !f.test(ctx));
+            }
+            return primary();
+        }
+
+        private Node primary() {
+            int start = skipSpaces();
+            if (pos >= src.length()) throw error("expressao incompleta", pos);
+            char ch = src.charAt(pos);
+
+            if (accept("(")) {
+                Node inner = expression();
+                expect(")");
+                return inner;
+            }
+            if (Character.isDigit(ch) || ch == '.') return number();
+            if (ch == '\'' || ch == '"') return text(ch);
+            if (Character.isLetter(ch) || ch == '_') {
+                String name = identifier();
+                if (accept("(")) return function(name, start);
+                return variable(name, start);
+            }
+            throw error("caractere inesperado '" + ch + "'", pos);
+        }
+
+        private Node number() {
+            int start = pos;
+            while (pos < src.length() && (Character.isDigit(src.charAt(pos)) || src.charAt(pos) == '.')) pos++;
+            try {
+                return Node.constant(new BigDecimal(src.substring(start, pos)));
+            } catch (NumberFormatException e) {
+                throw error("numero invalido", start);
+            }
+        }
+
+        private Node text(char quote) {
+            int start = pos++;
+            int end = src.indexOf(quote, pos);
+            if (end < 0) throw error("texto sem aspas de fechamento", start);
+            String value = src.substring(pos, end);
+            pos = end + 1;
+            return Node.constant(value);
+        }
+
+        private String identifier() {
+            int start = pos;
+            while (pos < src.length() && (Character.isLetterOrDigit(src.charAt(pos)) || src.charAt(pos) == '_')) pos++;
+            return src.substring(start, pos);
+        }
+
+        private Node variable(String name, int at) {
+            if (name.equals("true")) return Node.constant(true);
+            if (name.equals("false")) return Node.constant(false);
+            NumericRule numeric = NUMERIC_VARS.get(name);
+            if (numeric != null) return Node.number(numeric);
+            if (DEDUCTION_VARS.containsKey(name)) {
+                if (scope != Scope.DEDUCTION) throw error("variavel '" + name + "' disponivel apenas em descontos", at);
+                return Node.number(DEDUCTION_VARS.get(name));
+            }
+            BooleanRule bool = BOOLEAN_VARS.get(name);
+            if (bool != null) return Node.bool(bool);
+            TextRule text = TEXT_VARS.get(name);
+            if (text != null) return Node.text(text);
+            throw error("variavel desconhecida '" + name + "'", at);
+        }
+
+        private Node function(String name, int at) {
+            Node first = expression();
+            require(first, Type.NUMBER, at);
+            switch (name) {
+                case "round" -> {
+                    expect(")");
+                    if (first.isConstant()) return Node.constant(((BigDecimal) first.constant).setScale(2, RoundingMode.HALF_UP));
+                    NumericRule f = first.numeric();
+                    return Node.number(ctx -> f.apply(ctx).setScale(2, RoundingMode.HALF_UP));
+                }
+                case "min", "max" -> {
+                    expect(",");
+                    Node second = expression();
+                    expect(")");
+                    return arithmetic(first, second, name.equals("min") ? BigDecimal::min : BigDecimal::max, at);
+                }
+                default -> throw error("funcao desconhecida '" + name + "'", at);
+            }
+        }
+
+        // Operação numérica binária; com os dois lados constantes o resultado é calculado já na compilação
+        private Node arithmetic(Node left, Node right, BinaryOperator<BigDecimal> op, int at) {
+            require(left, Type.NUMBER, at);
+            require(right, Type.NUMBER, at);
+            if (left.isConstant() && right.isConstant()) {
+                try {
+                    return Node.constant(op.apply((BigDecimal) left.constant, (BigDecimal) right.constant));
+                } catch (ArithmeticException e) {
+                    throw error("operacao invalida (" + e.getMessage() + ")", at);
+                }
+            }
+            NumericRule l = left.numeric(), r = right.numeric();
+            return Node.number(ctx -> op.apply(l.apply(ctx), r.apply(ctx)));
+        }
+
+        // --- Leitura de símbolos ---
+
+        private int skipSpaces() {
+            while (pos < src.length() && Character.isWhitespace(src.charAt(pos))) pos++;
+            return pos;
+        }
+
+        private boolean peek(char ch) {
+            skipSpaces();
+            return pos < src.length() && src.charAt(pos) == ch;
+        }
+
+        private boolean accept(String token) {
+            skipSpaces();
+            if (!src.startsWith(token, pos)) return false;
+            pos += token.length();
+            return true;
+        }
+
+        // Tokens mais longos primeiro ("<=" antes de "<")
+        private String acceptAny(String... tokens) {
+            for (String token : tokens) {
+                if (accept(token)) return token;
+            }
+            return null;
+        }
+
+        private void expect(String token) {
+            if (!accept(token)) throw error("esperado '" + token + "'", pos);
+        }
+
+        void expectEnd() {
+            skipSpaces();
+            if (pos < src.length()) throw error("conteudo inesperado apos o fim da expressao", pos);
+        }
+
+        private void require(Node node, Type type, int at) {
+            if (node.type != type) {
+                throw error("esperado valor " + switch (type) {
+                    case NUMBER -> "numerico";
+                    case BOOLEAN -> "booleano";
+                    case TEXT -> "de texto";
+                }, at);
+            }
+        }
+
+        InputValidationException error(String message, int at) {
+            Map<String, Object> details = new HashMap<>();
+            details.put("expression", src);
+            details.put("position", at);
+            return new InputValidationException("Expressao invalida: " + message, details);
+        }
+    }
+}
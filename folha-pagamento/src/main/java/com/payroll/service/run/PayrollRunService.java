@@ -0,0 +1,300 @@
+package com.payroll.service.run;
+
+/*
+ * Fechamento de folha em lote distribuído entre as instâncias da aplicação.
+ * O pedido de fechamento divide o quadro em faixas de IDs de funcionários ('payroll_run_partitions');
+ * cada instância toma partições livres com um UPDATE condicional, grava os holerites em blocos e,
+ * na mesma transação de cada bloco, renova a concessão conferindo o token: se outra instância
+ * assumiu a partição (concessão vencida), o bloco inteiro é desfeito e nenhum funcionário é
+ * calculado duas vezes. Partições com falha voltam ao rodízio até o limite de tentativas.
+ * Todas as instâncias varrem periodicamente as partições livres, então mais nós dividem o trabalho;
+ * quem conclui a última partição reconstrói os totais do mês e dos departamentos.
+ */
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.payroll.dtos.payroll.PayrollRunPartitionDTO;
+import com.payroll.dtos.payroll.PayrollRunStatusDTO;
+import com.payroll.entity.Employee;
+import com.payroll.entity.PayrollRunPartition;
+import com.payroll.exception.DataIntegrityBusinessException;
+import com.payroll.exception.DatabaseConnectionException;
+import com.payroll.exception.InputValidationException;
+import com.payroll.exception.NotFoundBusinessException;
+import com.payroll.repository.EmployeeRepository;
+import com.payroll.repository.PayrollRunPartitionRepository;
+import com.payroll.service.NodeIdentity;
+import com.payroll.service.PayrollMonthTotalsService;
+import com.payroll.service.PayrollService;
+import com.payroll.service.ReferenceMonths;
+import com.payroll.service.department.DepartmentTotalsService;
+
+@Service
+public class PayrollRunService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollRunService.class);
+
+    // Funcionários por partição (padrão e máximo aceito no pedido)
+    static final int DEFAULT_PARTITION_SIZE = 500;
+    static final int MAX_PARTITION_SIZE = 10_000;
+
+    // Funcionários gravados por transação; cada bloco também renova a concessão
+    static final int CHUNK_SIZE = 100;
+
+    // Prazo da concessão: sem renovação nesse intervalo, outra instância pode assumir a partição
+    static final Duration LEASE = Duration.ofSeconds(60);
+
+    // Tentativas por partição antes de exigir um novo pedido de fechamento
+    static final int MAX_ATTEMPTS = 3;
+
+    // Intervalo da varredura de partições livres em cada instância
+    static final long POLL_INTERVAL_MS = 5_000;
+
+    // Candidatas lidas por tentativa de posse (embaralhadas para espalhar as instâncias)
+    private static final int CLAIM_CANDIDATES = 8;
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    // Primeiro ID de cada faixa: um a cada 'partitionSize' funcionários, calculado no banco
+    private static final String BOUNDARIES_SQL = "SELECT id FROM (SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS rn "
+            + "FROM employees) t WHERE MOD(rn - 1, ?) = 0 ORDER BY id";
+
+    @Autowired
+    private PayrollRunPartitionRepository partitionRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private PayrollMonthTotalsService monthTotalsService;
+
+    @Autowired
+    private DepartmentTotalsService departmentTotalsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Identificação desta instância nas concessões
+    @Autowired
+    private NodeIdentity nodeIdentity;
+
+    public String getNodeId() { return nodeIdentity.getId(); }
+
+    // Pedir o fechamento da competência: planeja as partições na primeira vez, reabre um fechamento já
+    // concluído (funcionários novos entram na última faixa) e devolve partições esgotadas ao rodízio
+    public PayrollRunStatusDTO start(String referenceMonth, Integer partitionSize, Long calculatedBy) {
+        String month = ReferenceMonths.parse(referenceMonth).toString();
+        if (calculatedBy == null) {
+            throw new InputValidationException("Usuario responsavel pelo fechamento obrigatorio");
+        }
+        int size = partitionSize != null ? partitionSize : DEFAULT_PARTITION_SIZE;
+        if (size < 1 || size > MAX_PARTITION_SIZE) {
+            throw new InputValidationException("Tamanho de particao deve estar entre 1 e " + MAX_PARTITION_SIZE,
+                    Map.of("partitionSize", size));
+        }
+        try {
+            List<PayrollRunPartition> existing = partitionRepository.findByReferenceMonthOrderByRangeStartAsc(month);
+            if (existing.isEmpty()) {
+                plan(month, size, calculatedBy);
+            } else if (existing.stream().allMatch(p -> PayrollRunPartition.DONE.equals(p.getStatus()))) {
+                inTransaction(() -> partitionRepository.reset(month, calculatedBy));
+            } else {
+                inTransaction(() -> partitionRepository.retryFailed(month));
+            }
+            return toStatus(month, partitionRepository.findByReferenceMonthOrderByRangeStartAsc(month));
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao iniciar fechamento em lote", e);
+        }
+    }
+
+    public PayrollRunStatusDTO status(String referenceMonth) {
+        String month = ReferenceMonths.parse(referenceMonth).toString();
+        try {
+            List<PayrollRunPartition> partitions = partitionRepository.findByReferenceMonthOrderByRangeStartAsc(month);
+            if (partitions.isEmpty()) {
+                throw new NotFoundBusinessException("Nenhum fechamento em lote para a competencia: " + month);
+            }
+            return toStatus(month, partitions);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao consultar fechamento em lote", e);
+        }
+    }
+
+    // Trabalhar nas partições livres (de uma competência, ou de todas com nulo) até não restar nenhuma;
+    // devolve quantas partições esta instância concluiu
+    public int work(String referenceMonth) {
+        String month = referenceMonth != null ? ReferenceMonths.parse(referenceMonth).toString() : null;
+        int completed = 0;
+        Claim claim;
+        while ((claim = claimNext(month)) != null) {
+            if (process(claim)) completed++;
+        }
+        return completed;
+    }
+
+    // Varredura periódica: toda instância participa dos fechamentos pedidos em qualquer outra
+    @Scheduled(fixedDelay = POLL_INTERVAL_MS, initialDelay = POLL_INTERVAL_MS)
+    public void poll() {
+        try {
+            work(null);
+        } catch (RuntimeException e) {
+            logger.warn("Falha na varredura de fechamentos em lote: {}", e.getMessage());
+        }
+    }
+
+    // --- Planejamento ---
+
+    private void plan(String month, int size, Long calculatedBy) {
+        List<Long> starts = jdbcTemplate.queryForList(BOUNDARIES_SQL, Long.class, size);
+        if (starts.isEmpty()) return;
+        List<PayrollRunPartition> partitions = new ArrayList<>(starts.size());
+        for (int i = 0; i < starts.size(); i++) {
+            PayrollRunPartition p = new PayrollRunPartition();
+            p.setReferenceMonth(month);
+            // A primeira faixa começa em 0 e a última é aberta: o plano cobre todo o espaço de IDs
+            p.setRangeStart(i == 0 ? 0L : starts.get(i));
+            p.setRangeEnd(i + 1 < starts.size() ? starts.get(i + 1) - 1 : Long.MAX_VALUE);
+            p.setCalculatedBy(calculatedBy);
+            partitions.add(p);
+        }
+        try {
+            inTransaction(() -> partitionRepository.saveAll(partitions));
+            logger.info("Fechamento {} planejado em {} particoes", month, partitions.size());
+        } catch (DataIntegrityViolationException e) {
+            // Outra instância planejou a mesma competência ao mesmo tempo: vale o plano já gravado
+            logger.info("Fechamento {} ja planejado por outra instancia", month);
+        }
+    }
+
+    // --- Execução ---
+
+    private record Claim(PayrollRunPartition partition, long token) {}
+
+    // Sinaliza que a partição passou a outra instância; o bloco em curso é desfeito
+    private static final class LeaseLostException extends RuntimeException {
+        LeaseLostException(Long partitionId) {
+            super("Concessao da particao " + partitionId + " perdida");
+        }
+    }
+
+    private Claim claimNext(String month) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> candidates = new ArrayList<>(partitionRepository.findClaimable(month, now, MAX_ATTEMPTS,
+                PageRequest.of(0, CLAIM_CANDIDATES)));
+        Collections.shuffle(candidates);
+        for (Long id : candidates) {
+            Claim claim = new TransactionTemplate(transactionManager).execute(status -> {
+                if (partitionRepository.claim(id, getNodeId(), now, now.plus(LEASE), MAX_ATTEMPTS) == 0) return null;
+                PayrollRunPartition p = partitionRepository.findById(id).orElseThrow();
+                return new Claim(p, p.getLeaseToken());
+            });
+            if (claim != null) return claim;
+        }
+        return null;
+    }
+
+    // Processar a partição a partir do cursor; falso se a posse foi perdida ou a partição falhou
+    private boolean process(Claim claim) {
+        PayrollRunPartition p = claim.partition();
+        String month = p.getReferenceMonth();
+        Long after = p.getCursorEmployeeId() != null ? p.getCursorEmployeeId() : p.getRangeStart() - 1;
+        try {
+            while (true) {
+                List<Employee> chunk = employeeRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                        after, p.getRangeEnd(), PageRequest.of(0, CHUNK_SIZE));
+                if (chunk.isEmpty()) break;
+                after = payrollService.calculateChunk(chunk, month, p.getCalculatedBy(),
+                        result -> heartbeat(p.getId(), claim.token(), result)).lastEmployeeId();
+                if (chunk.size() < CHUNK_SIZE) break;
+            }
+            boolean released = inTransaction(() -> partitionRepository.release(p.getId(), claim.token(),
+                    PayrollRunPartition.DONE, null, LocalDateTime.now())) == 1;
+            if (released) finishIfComplete(month);
+            return released;
+        } catch (LeaseLostException e) {
+            logger.info("{}: outra instancia assumiu a particao", e.getMessage());
+            return false;
+        } catch (RuntimeException e) {
+            logger.warn("Particao {} do fechamento {} falhou: {}", p.getId(), month, e.getMessage());
+            inTransaction(() -> partitionRepository.release(p.getId(), claim.token(),
+                    PayrollRunPartition.FAILED, truncate(e.getMessage()), LocalDateTime.now()));
+            return false;
+        }
+    }
+
+    // Dentro da transação do bloco: registrar o progresso e renovar a concessão, ou desfazer o bloco
+    private void heartbeat(Long partitionId, long token, PayrollService.ChunkResult result) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = partitionRepository.advance(partitionId, token, result.lastEmployeeId(), result.calculated(),
+                result.skipped(), result.failed(), truncate(result.lastError()), now, now.plus(LEASE));
+        if (updated == 0) throw new LeaseLostException(partitionId);
+    }
+
+    // Última partição concluída: reconciliar os razões do mês e dos departamentos uma única vez
+    private void finishIfComplete(String month) {
+        if (partitionRepository.countByReferenceMonthAndStatusNot(month, PayrollRunPartition.DONE) > 0) return;
+        try {
+            monthTotalsService.rebuild(month);
+            departmentTotalsService.rebuild(month);
+            logger.info("Fechamento {} concluido; totais do mes reconstruidos", month);
+        } catch (DataIntegrityBusinessException e) {
+            // Outra instância concluiu a última partição ao mesmo tempo e já reconstruiu os totais
+            logger.info("Totais do fechamento {} reconstruidos por outra instancia", month);
+        }
+    }
+
+    // --- Infraestrutura ---
+
+    private <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+
+    private static PayrollRunStatusDTO toStatus(String month, List<PayrollRunPartition> partitions) {
+        PayrollRunStatusDTO dto = new PayrollRunStatusDTO(month);
+        dto.setPartitions(partitions.size());
+        for (PayrollRunPartition p : partitions) {
+            switch (p.getStatus()) {
+                case PayrollRunPartition.PENDING -> dto.setPending(dto.getPending() + 1);
+                case PayrollRunPartition.RUNNING -> dto.setRunning(dto.getRunning() + 1);
+                case PayrollRunPartition.DONE -> dto.setDone(dto.getDone() + 1);
+                default -> dto.setFailedPartitions(dto.getFailedPartitions() + 1);
+            }
+            dto.setProcessed(dto.getProcessed() + p.getProcessed());
+            dto.setSkipped(dto.getSkipped() + p.getSkipped());
+            dto.setFailed(dto.getFailed() + p.getFailed());
+            dto.getDetails().add(PayrollRunPartitionDTO.fromEntity(p));
+        }
+        dto.setFinished(!partitions.isEmpty() && dto.getDone() == partitions.size());
+        return dto;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.payroll.service.timesheet;
+
+/*
+ * Serviço de ingestão de marcações de ponto em lotes NDJSON (um objeto JSON por linha).
+ * O corpo é lido em streaming, linha a linha, e as marcações válidas são agrupadas em
+ * blocos gravados cada um em uma transação, de modo que rajadas de fim de turno com milhares
+ * de marcações não ficam inteiras em memória nem em uma única transação longa.
+ * Linhas inválidas são rejeitadas sem interromper o restante do lote.
+ */
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.payroll.dtos.timesheet.PunchEventDTO;
+import com.payroll.dtos.timesheet.PunchIngestionResultDTO;
+import com.payroll.exception.InputValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class PunchIngestionService {
+
+    // Marcações gravadas por transação
+    static final int CHUNK_SIZE = 2_000;
+
+    // Rejeições descritas na resposta (as demais são apenas contadas)
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final int READ_BUFFER = 64 * 1024;
+
+    @Autowired
+    private TimesheetService timesheetService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Ler o corpo NDJSON e gravar as marcações; blocos já gravados permanecem se um bloco posterior falhar
+    // (o reenvio do lote inteiro é seguro: marcações repetidas são ignoradas)
+    public PunchIngestionResultDTO ingest(InputStream body) {
+        ObjectReader reader = objectMapper.readerFor(PunchEventDTO.class);
+        PunchIngestionResultDTO result = new PunchIngestionResultDTO();
+        List<TimesheetService.Punch> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), READ_BUFFER)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                result.setReceived(result.getReceived() + 1);
+
+                PunchEventDTO event;
+                try {
+                    event = reader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    reject(result, lineNumber, "JSON invalido");
+                    continue;
+                }
+                if (event == null || event.getEmployeeId() == null || event.getPunchedAt() == null) {
+                    reject(result, lineNumber, "employeeId e punchedAt sao obrigatorios");
+                    continue;
+                }
+                chunk.add(new TimesheetService.Punch(lineNumber, event.getEmployeeId(),
+                        event.getPunchedAt().truncatedTo(ChronoUnit.SECONDS)));
+                if (chunk.size() == CHUNK_SIZE) flush(chunk, result);
+            }
+        } catch (IOException e) {
+            throw new InputValidationException("Falha ao ler o corpo NDJSON: " + e.getMessage());
+        }
+        flush(chunk, result);
+        return result;
+    }
+
+    private void flush(List<TimesheetService.Punch> chunk, PunchIngestionResultDTO result) {
+        if (chunk.isEmpty()) return;
+        TimesheetService.AppendResult appended = timesheetService.append(chunk);
+        result.setAccepted(result.getAccepted() + appended.accepted());
+        result.setDuplicates(result.getDuplicates() + appended.duplicates());
+        for (int line : appended.unknownEmployeeLines()) {
+            reject(result, line, "funcionario inexistente");
+        }
+        chunk.clear();
+    }
+
+    private static void reject(PunchIngestionResultDTO result, int line, String reason) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add("linha " + line + ": " + reason);
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package com.payroll.service.timesheet;
+
+/*
+ * Serviço do ponto eletrônico: log de marcações e apuração incremental por dia e por mês.
+ * As marcações de um funcionário formam turnos (separados por um descanso de SHIFT_BREAK ou mais),
+ * e cada turno é apurado no dia em que começou: o turno noturno que vira a meia-noite fica inteiro
+ * num dia só. Cada lote de marcações é gravado no log e, na mesma transação, refaz apenas os dias
+ * vizinhos às marcações novas e as linhas mensais desses dias. O cálculo da folha lê as horas
+ * extras da linha mensal. A apuração trava as linhas dos funcionários do lote (SELECT ... FOR UPDATE),
+ * o que serializa lotes de todas as instâncias; a reconstrução do mês reconcilia a apuração com o log.
+ */
+
+import com.payroll.dtos.timesheet.TimesheetMonthDTO;
+import com.payroll.exception.DataIntegrityBusinessException;
+import com.payroll.exception.DatabaseConnectionException;
+import com.payroll.exception.NotFoundBusinessException;
+import com.payroll.service.ReferenceMonths;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class TimesheetService {
+
+    // Linhas buscadas por ida ao banco na varredura do log
+    static final int FETCH_SIZE = 1_000;
+
+    // Dias apurados por batch de INSERT na reconstrução
+    static final int REBUILD_BATCH = 1_000;
+
+    // Jornada semanal dividida em dias úteis (segunda a sexta); sábado e domingo não têm jornada prevista
+    static final int WORKDAYS_PER_WEEK = 5;
+
+    // Descanso mínimo entre jornadas (CLT, art. 66): marcações mais próximas pertencem ao mesmo turno
+    static final Duration SHIFT_BREAK = Duration.ofHours(11);
+
+    // Trava os funcionários em ordem de ID: lotes concorrentes de outras instâncias esperam o commit
+    private static final String LOCK_SCHEDULES =
+            "SELECT id, weekly_hours, time_bank FROM employees WHERE id IN (:ids) ORDER BY id FOR UPDATE";
+
+    private static final String LOCK_MONTH_EMPLOYEES = "SELECT id FROM employees WHERE id IN "
+            + "(SELECT employee_id FROM time_punches WHERE punched_at >= ? AND punched_at < ?) ORDER BY id FOR UPDATE";
+
+    private static final String SELECT_PUNCHES = "SELECT employee_id, punched_at FROM time_punches "
+            + "WHERE employee_id IN (:ids) AND punched_at >= :from AND punched_at < :to";
+
+    private static final String INSERT_PUNCH =
+            "INSERT INTO time_punches (employee_id, punched_at, received_at) VALUES (?, ?, ?)";
+
+    private static final String DELETE_DAY = "DELETE FROM timesheet_days WHERE employee_id = ? AND work_date = ?";
+
+    private static final String INSERT_DAY = "INSERT INTO timesheet_days (employee_id, work_date, worked_minutes, "
+            + "overtime_minutes, time_bank_minutes, punches, incomplete) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_MONTH = "DELETE FROM timesheet_months WHERE employee_id = ? AND reference_month = ?";
+
+    // Linha do mês = soma das linhas diárias do período (um funcionário ou todos)
+    private static final String INSERT_MONTH_FROM_DAYS = "INSERT INTO timesheet_months (employee_id, reference_month, "
+            + "worked_minutes, overtime_minutes, time_bank_minutes, days_worked, incomplete_days, updated_at) "
+            + "SELECT employee_id, CAST(? AS VARCHAR(7)), SUM(worked_minutes), SUM(overtime_minutes), "
+            + "SUM(time_bank_minutes), COUNT(*), SUM(CASE WHEN incomplete THEN 1 ELSE 0 END), CURRENT_TIMESTAMP "
+            + "FROM timesheet_days WHERE work_date BETWEEN ? AND ? ";
+
+    private static final String SELECT_MONTH_PUNCHES = "SELECT p.employee_id, p.punched_at, e.weekly_hours, e.time_bank "
+            + "FROM time_punches p JOIN employees e ON e.id = p.employee_id "
+            + "WHERE p.punched_at >= ? AND p.punched_at < ? ORDER BY p.employee_id, p.punched_at";
+
+    private static final String SELECT_MONTH = "SELECT employee_id, reference_month, worked_minutes, overtime_minutes, "
+            + "time_bank_minutes, days_worked, incomplete_days, updated_at FROM timesheet_months ";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Marcação já validada (linha de origem para relatar rejeições)
+    public record Punch(int line, long employeeId, LocalDateTime punchedAt) {}
+
+    // Resultado de um lote: gravadas, repetidas e linhas de funcionários inexistentes
+    public record AppendResult(int accepted, int duplicates, List<Integer> unknownEmployeeLines) {}
+
+    // Apuração de um dia de um funcionário
+    record DayTotals(long employeeId, LocalDate workDate, int workedMinutes, int overtimeMinutes,
+                     int timeBankMinutes, int punches, boolean incomplete) {}
+
+    private record Schedule(int dailyMinutes, boolean timeBank) {}
+
+    private record DayKey(long employeeId, LocalDate workDate) {}
+
+    private record Shift(LocalDate workDate, List<LocalDateTime> punches) {}
+
+    private record MonthKey(long employeeId, YearMonth month) {}
+
+    // Gravar um lote de marcações e refazer a apuração dos dias e meses afetados (uma transação por lote)
+    public AppendResult append(List<Punch> punches) {
+        if (punches.isEmpty()) return new AppendResult(0, 0, List.of());
+        try {
+            return new TransactionTemplate(transactionManager).execute(status -> appendLocked(punches));
+        } catch (DataIntegrityViolationException e) {
+            // Outra instância gravou a mesma marcação ao mesmo tempo: o reenvio do lote é idempotente
+            throw new DataIntegrityBusinessException("Violacao de integridade ao gravar marcacoes de ponto", e);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao gravar marcacoes de ponto", e);
+        }
+    }
+
+    private AppendResult appendLocked(List<Punch> punches) {
+        Set<Long> ids = new HashSet<>();
+        LocalDate from = null, to = null;
+        for (Punch p : punches) {
+            ids.add(p.employeeId());
+            LocalDate day = p.punchedAt().toLocalDate();
+            if (from == null || day.isBefore(from)) from = day;
+            if (to == null || day.isAfter(to)) to = day;
+        }
+        Map<Long, Schedule> schedules = lockSchedules(ids);
+        // Marcações já gravadas ao redor do lote: servem à deduplicação e à apuração dos turnos tocados.
+        // Um dia refeito (d-1 a d+1 de cada marcação) pode ter turno começando na véspera ou terminando no dia seguinte
+        Map<Long, List<LocalDateTime>> logged = schedules.isEmpty()
+                ? new HashMap<>() : loadPunches(schedules.keySet(), from.minusDays(2), to.plusDays(3));
+
+        List<Punch> fresh = new ArrayList<>(punches.size());
+        List<Integer> unknown = new ArrayList<>();
+        Set<DayKey> touched = new HashSet<>();
+        int duplicates = 0;
+        for (Punch p : punches) {
+            if (!schedules.containsKey(p.employeeId())) {
+                unknown.add(p.line());
+                continue;
+            }
+            List<LocalDateTime> times = logged.computeIfAbsent(p.employeeId(), k -> new ArrayList<>());
+            // Poucas marcações por funcionário na janela: a busca linear é mais barata que um conjunto
+            if (times.contains(p.punchedAt())) {
+                duplicates++;
+                continue;
+            }
+            times.add(p.punchedAt());
+            fresh.add(p);
+            // A marcação nova pode unir ou separar turnos do dia anterior e do seguinte
+            LocalDate day = p.punchedAt().toLocalDate();
+            for (int offset = -1; offset <= 1; offset++) {
+                touched.add(new DayKey(p.employeeId(), day.plusDays(offset)));
+            }
+        }
+        if (fresh.isEmpty()) return new AppendResult(0, duplicates, unknown);
+
+        LocalDateTime receivedAt = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_PUNCH, fresh, fresh.size(), (ps, p) -> {
+            ps.setLong(1, p.employeeId());
+            ps.setTimestamp(2, Timestamp.valueOf(p.punchedAt()));
+            ps.setTimestamp(3, Timestamp.valueOf(receivedAt));
+        });
+
+        List<DayTotals> totals = new ArrayList<>(touched.size());
+        Set<MonthKey> months = new HashSet<>();
+        for (DayKey key : touched) {
+            months.add(new MonthKey(key.employeeId(), YearMonth.from(key.workDate())));
+        }
+        for (Map.Entry<Long, List<LocalDateTime>> entry : logged.entrySet()) {
+            Schedule schedule = schedules.get(entry.getKey());
+            List<LocalDateTime> times = entry.getValue();
+            Collections.sort(times);
+            for (Shift shift : shifts(times)) {
+                if (!touched.contains(new DayKey(entry.getKey(), shift.workDate()))) continue;
+                totals.add(computeDay(entry.getKey(), shift.workDate(), shift.punches(),
+                        schedule.dailyMinutes(), schedule.timeBank()));
+            }
+        }
+        replaceDays(touched, totals);
+        refreshMonths(months);
+        return new AppendResult(fresh.size(), duplicates, unknown);
+    }
+
+    // Refazer a apuração de uma competência inteira a partir do log; devolve os dias apurados
+    public int rebuild(String referenceMonth) {
+        YearMonth month = ReferenceMonths.parse(referenceMonth);
+        LocalDate first = month.atDay(1);
+        LocalDate last = month.atEndOfMonth();
+        // Turnos do primeiro dia podem ter começado na véspera; os do último dia podem terminar no mês seguinte
+        Timestamp scanFrom = Timestamp.valueOf(first.minusDays(1).atStartOfDay());
+        Timestamp scanTo = Timestamp.valueOf(last.plusDays(2).atStartOfDay());
+        try {
+            Integer rebuilt = new TransactionTemplate(transactionManager).execute(status -> {
+                jdbcTemplate.query(LOCK_MONTH_EMPLOYEES, (RowCallbackHandler) rs -> { }, scanFrom, scanTo);
+                jdbcTemplate.update("DELETE FROM timesheet_days WHERE work_date BETWEEN ? AND ?", first, last);
+                jdbcTemplate.update("DELETE FROM timesheet_months WHERE reference_month = ?", month.toString());
+
+                DayFold fold = new DayFold(first, last);
+                jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(SELECT_MONTH_PUNCHES,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(FETCH_SIZE);
+                    ps.setTimestamp(1, scanFrom);
+                    ps.setTimestamp(2, scanTo);
+                    return ps;
+                }, fold);
+                fold.finish();
+
+                jdbcTemplate.update(INSERT_MONTH_FROM_DAYS + "GROUP BY employee_id", month.toString(), first, last);
+                return fold.days;
+            });
+            return rebuilt != null ? rebuilt : 0;
+        } catch (DataIntegrityViolationException e) {
+            throw new DataIntegrityBusinessException("Violacao de integridade ao reconstruir apuracao do ponto", e);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao reconstruir apuracao do ponto", e);
+        }
+    }
+
+    // Horas extras apuradas no mês (vazio quando o funcionário não tem ponto na competência)
+    public Optional<BigDecimal> overtimeHours(Long employeeId, String referenceMonth) {
+        try {
+            List<BigDecimal> hours = jdbcTemplate.query(
+                    "SELECT overtime_minutes FROM timesheet_months WHERE employee_id = ? AND reference_month = ?",
+                    (rs, i) -> toHours(rs.getLong(1)), employeeId, referenceMonth);
+            return hours.stream().findFirst();
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao consultar apuracao do ponto", e);
+        }
+    }
+
+    // Horas extras de todos os funcionários com ponto na competência (recálculo em massa)
+    public Map<Long, BigDecimal> overtimeHoursByEmployee(String referenceMonth) {
+        Map<Long, BigDecimal> hours = new HashMap<>();
+        try {
+            jdbcTemplate.query("SELECT employee_id, overtime_minutes FROM timesheet_months WHERE reference_month = ?",
+                    (RowCallbackHandler) rs -> hours.put(rs.getLong(1), toHours(rs.getLong(2))), referenceMonth);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao consultar apuracao do ponto", e);
+        }
+        return hours;
+    }
+
+    // Horas extras de uma faixa de funcionários com ponto na competência (blocos do fechamento em lote)
+    public Map<Long, BigDecimal> overtimeHoursByEmployee(String referenceMonth, long fromEmployeeId, long toEmployeeId) {
+        Map<Long, BigDecimal> hours = new HashMap<>();
+        try {
+            jdbcTemplate.query("SELECT employee_id, overtime_minutes FROM timesheet_months "
+                            + "WHERE reference_month = ? AND employee_id BETWEEN ? AND ?",
+                    (RowCallbackHandler) rs -> hours.put(rs.getLong(1), toHours(rs.getLong(2))),
+                    referenceMonth, fromEmployeeId, toEmployeeId);
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao consultar apuracao do ponto", e);
+        }
+        return hours;
+    }
+
+    public TimesheetMonthDTO getMonth(Long employeeId, String referenceMonth) {
+        String month = ReferenceMonths.parse(referenceMonth).toString();
+        try {
+            return jdbcTemplate.query(SELECT_MONTH + "WHERE employee_id = ? AND reference_month = ?",
+                            (rs, i) -> new TimesheetMonthDTO(rs.getLong("employee_id"), rs.getString("reference_month"),
+                                    toHours(rs.getLong("worked_minutes")), toHours(rs.getLong("overtime_minutes")),
+                                    toHours(rs.getLong("time_bank_minutes")), rs.getInt("days_worked"),
+                                    rs.getInt("incomplete_days"), rs.getObject("updated_at", LocalDateTime.class)),
+                            employeeId, month)
+                    .stream().findFirst()
+                    .orElseThrow(() -> new NotFoundBusinessException("Apuracao de ponto nao encontrada para o funcionario "
+                            + employeeId + " em " + month));
+        } catch (DataAccessResourceFailureException e) {
+            throw new DatabaseConnectionException("Falha de conexao ao consultar apuracao do ponto", e);
+        }
+    }
+
+    // Marcações ordenadas de um funcionário em turnos: um descanso de SHIFT_BREAK ou mais abre um turno novo,
+    // apurado no dia da sua primeira marcação
+    private static List<Shift> shifts(List<LocalDateTime> sorted) {
+        List<Shift> shifts = new ArrayList<>();
+        List<LocalDateTime> current = new ArrayList<>();
+        for (LocalDateTime at : sorted) {
+            if (!current.isEmpty() && startsShift(current.get(current.size() - 1), at)) {
+                shifts.add(new Shift(current.get(0).toLocalDate(), current));
+                current = new ArrayList<>();
+            }
+            current.add(at);
+        }
+        if (!current.isEmpty()) shifts.add(new Shift(current.get(0).toLocalDate(), current));
+        return shifts;
+    }
+
+    // Apuração de um turno: pares (1ª, 2ª), (3ª, 4ª)... das marcações ordenadas; o excedente à jornada
+    // vira hora extra, ou saldo do banco de horas (positivo ou negativo) para quem tem banco
+    static DayTotals computeDay(long employeeId, LocalDate workDate, List<LocalDateTime> sorted,
+                                int dailyMinutes, boolean timeBank) {
+        long seconds = 0;
+        for (int i = 0; i + 1 < sorted.size(); i += 2) {
+            seconds += Duration.between(sorted.get(i), sorted.get(i + 1)).getSeconds();
+        }
+        int worked = (int) (seconds / 60);
+        boolean incomplete = sorted.size() % 2 != 0;
+        int expected = isWeekend(workDate) ? 0 : dailyMinutes;
+        int excess = incomplete ? 0 : worked - expected;
+        int overtime = timeBank ? 0 : Math.max(excess, 0);
+        int bank = timeBank ? excess : 0;
+        return new DayTotals(employeeId, workDate, worked, overtime, bank, sorted.size(), incomplete);
+    }
+
+    // --- Infraestrutura ---
+
+    private Map<Long, Schedule> lockSchedules(Collection<Long> ids) {
+        Map<Long, Schedule> schedules = new HashMap<>();
+        namedJdbcTemplate.query(LOCK_SCHEDULES, new MapSqlParameterSource("ids", ids),
+                (RowCallbackHandler) rs -> schedules.put(rs.getLong("id"), schedule(rs)));
+        return schedules;
+    }
+
+    private Map<Long, List<LocalDateTime>> loadPunches(Collection<Long> ids, LocalDate from, LocalDate to) {
+        Map<Long, List<LocalDateTime>> punches = new HashMap<>();
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids)
+                .addValue("from", Timestamp.valueOf(from.atStartOfDay()))
+                .addValue("to", Timestamp.valueOf(to.atStartOfDay()));
+        namedJdbcTemplate.query(SELECT_PUNCHES, params, (RowCallbackHandler) rs -> {
+            LocalDateTime at = rs.getTimestamp("punched_at").toLocalDateTime();
+            punches.computeIfAbsent(rs.getLong("employee_id"), k -> new ArrayList<>()).add(at);
+        });
+        return punches;
+    }
+
+    // Dias refeitos sem turno começando neles (marcação que passou para o turno da véspera) ficam sem linha
+    private void replaceDays(Set<DayKey> days, List<DayTotals> totals) {
+        List<DayKey> keys = new ArrayList<>(days);
+        jdbcTemplate.batchUpdate(DELETE_DAY, keys, keys.size(), (ps, k) -> {
+            ps.setLong(1, k.employeeId());
+            ps.setObject(2, k.workDate());
+        });
+        insertDays(totals);
+    }
+
+    private void insertDays(List<DayTotals> totals) {
+        jdbcTemplate.batchUpdate(INSERT_DAY, totals, totals.size(), (ps, d) -> {
+            ps.setLong(1, d.employeeId());
+            ps.setObject(2, d.workDate());
+            ps.setInt(3, d.workedMinutes());
+            ps.setInt(4, d.overtimeMinutes());
+            ps.setInt(5, d.timeBankMinutes());
+            ps.setInt(6, d.punches());
+            ps.setBoolean(7, d.incomplete());
+        });
+    }
+
+    private void refreshMonths(Set<MonthKey> months) {
+        List<MonthKey> keys = new ArrayList<>(months);
+        jdbcTemplate.batchUpdate(DELETE_MONTH, keys, keys.size(), (ps, k) -> {
+            ps.setLong(1, k.employeeId());
+            ps.setString(2, k.month().toString());
+        });
+        jdbcTemplate.batchUpdate(INSERT_MONTH_FROM_DAYS + "AND employee_id = ? GROUP BY employee_id",
+                keys, keys.size(), (ps, k) -> {
+                    ps.setString(1, k.month().toString());
+                    ps.setObject(2, k.month().atDay(1));
+                    ps.setObject(3, k.month().atEndOfMonth());
+                    ps.setLong(4, k.employeeId());
+                });
+    }
+
+    private static Schedule schedule(ResultSet rs) throws SQLException {
+        int weeklyHours = rs.getInt("weekly_hours");
+        if (rs.wasNull() || weeklyHours <= 0) weeklyHours = 40;
+        return new Schedule(weeklyHours * 60 / WORKDAYS_PER_WEEK, rs.getBoolean("time_bank"));
+    }
+
+    private static boolean startsShift(LocalDateTime previous, LocalDateTime at) {
+        return Duration.between(previous, at).compareTo(SHIFT_BREAK) >= 0;
+    }
+
+    private static boolean isWeekend(LocalDate day) {
+        DayOfWeek dow = day.getDayOfWeek();
+        return dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY;
+    }
+
+    private static BigDecimal toHours(long minutes) {
+        return BigDecimal.valueOf(minutes).divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP);
+    }
+
+    // Varredura do mês ordenada por funcionário e instante: cada turno (funcionário, dia de início)
+    // que começa dentro do mês vira uma linha
+    private final class DayFold implements RowCallbackHandler {
+
+        private final LocalDate first;
+        private final LocalDate last;
+        private final List<DayTotals> pending = new ArrayList<>(REBUILD_BATCH);
+        private final List<LocalDateTime> times = new ArrayList<>();
+        private long employeeId = -1;
+        private Schedule schedule;
+        private int days;
+
+        DayFold(LocalDate first, LocalDate last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("employee_id");
+            LocalDateTime at = rs.getTimestamp("punched_at").toLocalDateTime();
+            if (id != employeeId || (!times.isEmpty() && startsShift(times.get(times.size() - 1), at))) {
+                emit();
+                if (id != employeeId) schedule = schedule(rs);
+                employeeId = id;
+            }
+            times.add(at);
+        }
+
+        void finish() {
+            emit();
+            if (!pending.isEmpty()) insertDays(pending);
+            pending.clear();
+        }
+
+        private void emit() {
+            if (times.isEmpty()) return;
+            LocalDate workDate = times.get(0).toLocalDate();
+            if (workDate.isBefore(first) || workDate.isAfter(last)) {
+                times.clear();
+                return;
+            }
+            pending.add(computeDay(employeeId, workDate, times, schedule.dailyMinutes(), schedule.timeBank()));
+            times.clear();
+            days++;
+            if (pending.size() == REBUILD_BATCH) {
+                insertDays(pending);
+                pending.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.payroll.snapshot;
+
+/*
+ * Indicadores booleanos do cadastro de funcionários armazenados como bitsets no snapshot colunar.
+ * Cada constante conhece a coluna da tabela 'employees' e o nome do campo usado no feed de alterações.
+ */
+
+public enum BenefitFlag {
+    TRANSPORT_VOUCHER("transport_voucher", "transportVoucher"),
+    MEAL_VOUCHER("meal_voucher", "mealVoucher"),
+    DANGEROUS_WORK("dangerous_work", "dangerousWork"),
+    UNHEALTHY_WORK("unhealthy_work", "unhealthyWork"),
+    HEALTH_PLAN("health_plan", "healthPlan"),
+    DENTAL_PLAN("dental_plan", "dentalPlan"),
+    GYM("gym", "gym"),
+    TIME_BANK("time_bank", "timeBank"),
+    OVERTIME_ELIGIBLE("overtime_eligible", "overtimeEligible");
+
+    private final String column;
+    private final String field;
+
+    BenefitFlag(String column, String field) {
+        this.column = column;
+        this.field = field;
+    }
+
+    public String getColumn() { return column; }
+    public String getField() { return field; }
+}
@@ -0,0 +1,187 @@
+package com.payroll.snapshot;
+
+/*
+ * Armazenamento colunar dos campos numéricos e indicadores do cadastro de funcionários.
+ * Cada coluna é um array primitivo denso (sem objetos por linha): salário em centavos,
+ * carga horária, cargo codificado em dicionário e um bitset por benefício.
+ * Remoções movem a última linha para a posição liberada, mantendo os arrays sem lacunas.
+ * Não é thread-safe: o acesso concorrente é coordenado por EmployeeSnapshot.
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class EmployeeColumns {
+
+    // Marcador de salário ausente (NULL no banco)
+    static final long NULL_CENTS = Long.MIN_VALUE;
+
+    private static final BenefitFlag[] FLAGS = BenefitFlag.values();
+
+    // Linha lida do banco, já convertida para tipos primitivos
+    record Row(long id, String position, long salaryCents, int weeklyHours, int flagMask) {}
+
+    private int size;
+    private long[] ids;
+    private long[] salaryCents;
+    private int[] weeklyHours;
+    private int[] positionCodes;
+    private final BitSet[] flags = new BitSet[FLAGS.length];
+
+    // Dicionário de cargos: código -> nome e nome -> código
+    private final List<String> positionNames = new ArrayList<>();
+    private final Map<String, Integer> positionIndex = new HashMap<>();
+
+    private final Map<Long, Integer> rowById;
+
+    EmployeeColumns(int capacity) {
+        int cap = Math.max(capacity, 16);
+        ids = new long[cap];
+        salaryCents = new long[cap];
+        weeklyHours = new int[cap];
+        positionCodes = new int[cap];
+        for (int f = 0; f < flags.length; f++) flags[f] = new BitSet(cap);
+        rowById = new HashMap<>(cap * 2);
+    }
+
+    int size() { return size; }
+
+    // Inserir ou sobrescrever a linha do funcionário
+    void upsert(Row r) {
+        Integer existing = rowById.get(r.id());
+        int i;
+        if (existing != null) {
+            i = existing;
+        } else {
+            ensureCapacity(size + 1);
+            i = size++;
+            rowById.put(r.id(), i);
+        }
+        ids[i] = r.id();
+        salaryCents[i] = r.salaryCents();
+        weeklyHours[i] = r.weeklyHours();
+        positionCodes[i] = encode(r.position());
+        for (int f = 0; f < flags.length; f++) {
+            flags[f].set(i, (r.flagMask() & (1 << f)) != 0);
+        }
+    }
+
+    // Remover a linha trocando-a pela última
+    boolean remove(long id) {
+        Integer removed = rowById.remove(id);
+        if (removed == null) return false;
+        int i = removed;
+        int last = --size;
+        if (i != last) {
+            ids[i] = ids[last];
+            salaryCents[i] = salaryCents[last];
+            weeklyHours[i] = weeklyHours[last];
+            positionCodes[i] = positionCodes[last];
+            for (BitSet bits : flags) bits.set(i, bits.get(last));
+            rowById.put(ids[i], i);
+        }
+        for (BitSet bits : flags) bits.clear(last);
+        return true;
+    }
+
+    // --- Consultas (laços diretos sobre os arrays) ---
+
+    long totalSalaryCents() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            long s = salaryCents[i];
+            if (s != NULL_CENTS) total += s;
+        }
+        return total;
+    }
+
+    long[] idsWithSalaryAtLeast(long minCents) {
+        long[] out = new long[size];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            long s = salaryCents[i];
+            if (s != NULL_CENTS && s >= minCents) out[n++] = ids[i];
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // Salário ausente/não positivo ou carga horária menor que 1
+    long[] invalidIds() {
+        long[] out = new long[size];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            long s = salaryCents[i];
+            if (s == NULL_CENTS || s <= 0 || weeklyHours[i] < 1) out[n++] = ids[i];
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    int countWithFlag(BenefitFlag flag) {
+        return flags[flag.ordinal()].cardinality();
+    }
+
+    // Contagem por faixa: faixa k recebe salários <= upperBounds[k]; a última recebe o restante
+    long[] salaryHistogram(long[] upperBoundsCents) {
+        long[] counts = new long[upperBoundsCents.length + 1];
+        for (int i = 0; i < size; i++) {
+            long s = salaryCents[i];
+            if (s == NULL_CENTS) continue;
+            int k = 0;
+            while (k < upperBoundsCents.length && s > upperBoundsCents[k]) k++;
+            counts[k]++;
+        }
+        return counts;
+    }
+
+    List<PositionTotals> totalsByPosition() {
+        int groups = positionNames.size();
+        int[] headcount = new int[groups];
+        long[] sums = new long[groups];
+        long[] mins = new long[groups];
+        long[] maxs = new long[groups];
+        Arrays.fill(mins, NULL_CENTS);
+        Arrays.fill(maxs, NULL_CENTS);
+        for (int i = 0; i < size; i++) {
+            int code = positionCodes[i];
+            headcount[code]++;
+            long s = salaryCents[i];
+            if (s == NULL_CENTS) continue;
+            sums[code] += s;
+            if (mins[code] == NULL_CENTS || s < mins[code]) mins[code] = s;
+            if (maxs[code] == NULL_CENTS || s > maxs[code]) maxs[code] = s;
+        }
+        List<PositionTotals> out = new ArrayList<>();
+        for (int code = 0; code < groups; code++) {
+            // Códigos sem linhas restam de cargos que deixaram de existir
+            if (headcount[code] > 0) {
+                out.add(new PositionTotals(positionNames.get(code), headcount[code], sums[code], mins[code], maxs[code]));
+            }
+        }
+        out.sort(Comparator.comparing(PositionTotals::position, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return out;
+    }
+
+    private int encode(String position) {
+        Integer code = positionIndex.get(position);
+        if (code == null) {
+            code = positionNames.size();
+            positionNames.add(position);
+            positionIndex.put(position, code);
+        }
+        return code;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= ids.length) return;
+        int cap = Math.max(needed, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, cap);
+        salaryCents = Arrays.copyOf(salaryCents, cap);
+        weeklyHours = Arrays.copyOf(weeklyHours, cap);
+        positionCodes = Arrays.copyOf(positionCodes, cap);
+    }
+}
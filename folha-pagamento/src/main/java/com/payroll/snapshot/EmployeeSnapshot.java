@@ -0,0 +1,210 @@
+package com.payroll.snapshot;
+
+/*
+ * Snapshot colunar, somente leitura, do cadastro de funcionários para agregações.
+ * É carregado direto da tabela 'employees' via JDBC (sem materializar entidades) no primeiro uso
+ * e mantido em dia de forma incremental pelo feed de alterações: após cada commit, apenas a linha
+ * do funcionário alterado é relida (alterações de outras instâncias chegam pelo barramento de
+ * invalidação). Filtros, agrupamentos e somas rodam sobre arrays primitivos.
+ */
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.payroll.collections.CollectionOps;
+import com.payroll.entity.CacheInvalidation;
+import com.payroll.event.CacheInvalidatedEvent;
+import com.payroll.event.EmployeeChangedEvent;
+
+@Component
+public class EmployeeSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSnapshot.class);
+
+    private static final BenefitFlag[] FLAGS = BenefitFlag.values();
+
+    private static final String SELECT = "SELECT id, position, salary, weekly_hours, "
+            + Arrays.stream(FLAGS).map(BenefitFlag::getColumn).collect(Collectors.joining(", "))
+            + " FROM employees";
+
+    // Campos do feed que alteram alguma coluna do snapshot
+    private static final Set<String> TRACKED_FIELDS = trackedFields();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Protegido por lock; volatile apenas para a verificação de carga preguiçosa
+    private volatile EmployeeColumns columns;
+
+    // Recarregar todas as linhas (usado na primeira consulta e para ressincronizar)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            columns = loadAll();
+            logger.info("Snapshot de funcionarios carregado com {} linhas", columns.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Reler uma única linha; funcionário inexistente é removido do snapshot
+    public void refresh(Long employeeId) {
+        if (columns == null || employeeId == null) return;
+        List<EmployeeColumns.Row> rows = committedRead(() ->
+                jdbcTemplate.query(SELECT + " WHERE id = ?", this::mapRow, employeeId));
+        lock.writeLock().lock();
+        try {
+            if (rows.isEmpty()) columns.remove(employeeId);
+            else columns.upsert(rows.get(0));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Atualização incremental após o commit da alteração no cadastro
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        // Ainda não carregado: a primeira consulta já lerá o estado atual
+        if (columns == null) return;
+        if (event.getChangeType() == EmployeeChangedEvent.ChangeType.DELETED) {
+            lock.writeLock().lock();
+            try {
+                columns.remove(event.getEmployeeId());
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+        if (event.getChangeType() == EmployeeChangedEvent.ChangeType.CREATED
+                || TRACKED_FIELDS.stream().anyMatch(event::hasChanged)) {
+            refresh(event.getEmployeeId());
+        }
+    }
+
+    // Funcionário alterado em outra instância: reler a linha (ou tudo, após gravação em lote)
+    @EventListener(condition = "#event.remote")
+    public void onInvalidated(CacheInvalidatedEvent event) {
+        if (columns == null || !event.isFor(CacheInvalidation.EMPLOYEE)) return;
+        if (event.isBulk()) rebuild();
+        else refresh(event.getEntityId());
+    }
+
+    // --- Consultas ---
+
+    public int count() {
+        return read(EmployeeColumns::size);
+    }
+
+    public BigDecimal totalSalaries() {
+        return CollectionOps.fromCents(read(EmployeeColumns::totalSalaryCents));
+    }
+
+    // IDs com salário >= mínimo (mínimo nulo: todos com salário informado)
+    public long[] idsWithSalaryAtLeast(BigDecimal minSalary) {
+        long minCents = minSalary == null ? Long.MIN_VALUE + 1
+                : minSalary.movePointRight(2).setScale(0, RoundingMode.CEILING).longValueExact();
+        return read(c -> c.idsWithSalaryAtLeast(minCents));
+    }
+
+    // IDs com salário ausente/não positivo ou carga horária inválida
+    public long[] invalidIds() {
+        return read(EmployeeColumns::invalidIds);
+    }
+
+    public int countWithFlag(BenefitFlag flag) {
+        return read(c -> c.countWithFlag(flag));
+    }
+
+    // Quantidade de salários por faixa; limites superiores inclusivos, última faixa aberta
+    public long[] salaryHistogram(BigDecimal... upperBounds) {
+        long[] bounds = new long[upperBounds.length];
+        for (int k = 0; k < upperBounds.length; k++) bounds[k] = CollectionOps.toCents(upperBounds[k]);
+        return read(c -> c.salaryHistogram(bounds));
+    }
+
+    public List<PositionTotals> totalsByPosition() {
+        return read(EmployeeColumns::totalsByPosition);
+    }
+
+    // --- Infraestrutura ---
+
+    private <R> R read(Function<EmployeeColumns, R> query) {
+        if (columns == null) {
+            lock.writeLock().lock();
+            try {
+                if (columns == null) columns = loadAll();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        lock.readLock().lock();
+        try {
+            return query.apply(columns);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private EmployeeColumns loadAll() {
+        return committedRead(() -> {
+            Integer total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees", Integer.class);
+            EmployeeColumns loaded = new EmployeeColumns(total != null ? total : 0);
+            jdbcTemplate.query(SELECT, rs -> { loaded.upsert(mapRow(rs, rs.getRow())); });
+            return loaded;
+        });
+    }
+
+    // Ler em transação própria para enxergar apenas dados confirmados, nunca os da transação corrente
+    private <R> R committedRead(Supplier<R> work) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        tx.setReadOnly(true);
+        return tx.execute(status -> work.get());
+    }
+
+    private EmployeeColumns.Row mapRow(ResultSet rs, int rowNum) throws SQLException {
+        BigDecimal salary = rs.getBigDecimal("salary");
+        int mask = 0;
+        for (int f = 0; f < FLAGS.length; f++) {
+            if (rs.getBoolean(FLAGS[f].getColumn())) mask |= 1 << f;
+        }
+        return new EmployeeColumns.Row(
+                rs.getLong("id"),
+                rs.getString("position"),
+                salary == null ? EmployeeColumns.NULL_CENTS : CollectionOps.toCents(salary),
+                rs.getInt("weekly_hours"), // NULL vira 0, tratado como carga inválida
+                mask);
+    }
+
+    private static Set<String> trackedFields() {
+        Set<String> fields = new HashSet<>(Set.of("position", "salary", "weeklyHours"));
+        for (BenefitFlag flag : FLAGS) fields.add(flag.getField());
+        return Set.copyOf(fields);
+    }
+}
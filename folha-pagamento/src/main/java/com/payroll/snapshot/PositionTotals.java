@@ -0,0 +1,26 @@
+package com.payroll.snapshot;
+
+/*
+ * Linha de resumo por cargo produzida pelo snapshot colunar:
+ * quantidade de funcionários, soma e mínimo/máximo dos salários base em centavos.
+ * Mínimo e máximo valem EmployeeColumns.NULL_CENTS quando nenhum salário foi informado.
+ */
+
+import com.payroll.collections.CollectionOps;
+
+import java.math.BigDecimal;
+
+public record PositionTotals(String position, int headcount, long salaryCents, long minSalaryCents, long maxSalaryCents) {
+
+    public BigDecimal totalSalary() {
+        return CollectionOps.fromCents(salaryCents);
+    }
+
+    public BigDecimal minSalary() {
+        return minSalaryCents == EmployeeColumns.NULL_CENTS ? null : CollectionOps.fromCents(minSalaryCents);
+    }
+
+    public BigDecimal maxSalary() {
+        return maxSalaryCents == EmployeeColumns.NULL_CENTS ? null : CollectionOps.fromCents(maxSalaryCents);
+    }
+}
@@ -34,6 +34,11 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.NOT_FOUND, ex.getMessage(), req.getRequestURI(), ex.getContext());
     }
 
+    @ExceptionHandler(ConflictBusinessException.class)
+    public ResponseEntity<ApiError<Object>> handleConflict(ConflictBusinessException ex, HttpServletRequest req) {
+        return build(HttpStatus.CONFLICT, ex.getMessage(), req.getRequestURI(), ex.getContext());
+    }
+
     @ExceptionHandler(DataIntegrityBusinessException.class)
     public ResponseEntity<ApiError<Object>> handleIntegrity(DataIntegrityBusinessException ex, HttpServletRequest req) {
         return build(HttpStatus.BAD_REQUEST, ex.getMessage(), req.getRequestURI(), null);
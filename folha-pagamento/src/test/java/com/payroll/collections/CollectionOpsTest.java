@@ -0,0 +1,91 @@
+package com.payroll.collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CollectionOpsTest {
+
+    private record Item(String key, BigDecimal value) {}
+
+    @Test
+    @DisplayName("Soma em centavos com 1 milhão de itens dá o mesmo resultado em paralelo e sequencial")
+    // O caminho paralelo não pode perder nem duplicar elementos
+    void deveSomarCentavosIgualEmParaleloESequencial() {
+        List<Item> items = IntStream.range(0, 1_000_000)
+                .mapToObj(i -> new Item("k" + (i % 7), BigDecimal.valueOf(i % 1000, 2)))
+                .toList();
+
+        long sequential = CollectionOps.sumToLongCents(items, Item::value, ExecutionPolicy.SEQUENTIAL);
+        long parallel = CollectionOps.sumToLongCents(items, Item::value, ExecutionPolicy.PARALLEL_ABOVE_DEFAULT);
+
+        // 1000 ciclos completos de 0..999 centavos
+        assertEquals(1000L * (999L * 1000 / 2), sequential);
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    @DisplayName("Agrupa em acumuladores por chave sem materializar listas")
+    // Contagem, soma, mínimo e máximo por chave devem coincidir nos dois modos de execução
+    void deveAgruparComAcumuladoresPorChave() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) items.add(new Item(i % 2 == 0 ? "par" : "impar", BigDecimal.valueOf(i)));
+        items.add(null);
+
+        Map<String, LongSummaryStatistics> seq = CollectionOps.groupBy(items, Item::key,
+                Collectors.summarizingLong(it -> CollectionOps.toCents(it.value())), ExecutionPolicy.SEQUENTIAL);
+        Map<String, LongSummaryStatistics> par = CollectionOps.groupBy(items, Item::key,
+                Collectors.summarizingLong(it -> CollectionOps.toCents(it.value())), ExecutionPolicy.parallelAbove(1_000));
+
+        assertEquals(25_000, seq.get("par").getCount());
+        assertEquals(0, seq.get("par").getMin());
+        assertEquals(4_999_900, seq.get("impar").getMax());
+        for (String key : List.of("par", "impar")) {
+            assertEquals(seq.get(key).getCount(), par.get(key).getCount());
+            assertEquals(seq.get(key).getSum(), par.get(key).getSum());
+            assertEquals(seq.get(key).getMin(), par.get(key).getMin());
+            assertEquals(seq.get(key).getMax(), par.get(key).getMax());
+        }
+    }
+
+    @Test
+    @DisplayName("Agrupa chave nula como um grupo nos caminhos sequencial e paralelo")
+    // O resultado não pode depender do tamanho da lista: acima do limite de paralelismo a chave nula também vale
+    void deveAgruparChaveNulaNosDoisModos() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) items.add(new Item(i % 3 == 0 ? null : "cargo", BigDecimal.ONE));
+
+        Map<String, Long> seq = CollectionOps.groupBy(items, Item::key, Collectors.counting(), ExecutionPolicy.SEQUENTIAL);
+        Map<String, Long> par = CollectionOps.groupBy(items, Item::key, Collectors.counting(),
+                ExecutionPolicy.parallelAbove(1_000));
+
+        assertEquals(1_000L, seq.get(null));
+        assertEquals(2_000L, seq.get("cargo"));
+        assertEquals(seq, par);
+    }
+
+    @Test
+    @DisplayName("Nova geração preserva negativos e propaga exceções")
+    // Ao contrário da soma legada, valores negativos entram na conta e erros não viram zero
+    void devePreservarNegativosEPropagarExcecoes() {
+        List<Item> items = Arrays.asList(new Item("a", new BigDecimal("10.50")), new Item("b", new BigDecimal("-3.25")), null);
+
+        assertEquals(725L, CollectionOps.sumToLongCents(items, Item::value, ExecutionPolicy.SEQUENTIAL));
+        assertEquals(0, new BigDecimal("10.50").compareTo(CollectionOps.sum(items, Item::value)));
+
+        assertThrows(IllegalStateException.class, () -> CollectionOps.filter(items, it -> {
+            throw new IllegalStateException("falha");
+        }, ExecutionPolicy.SEQUENTIAL));
+        assertTrue(CollectionOps.filter(items, it -> { throw new IllegalStateException("falha"); }).isEmpty());
+    }
+}
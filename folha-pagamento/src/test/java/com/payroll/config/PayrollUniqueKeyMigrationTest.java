@@ -0,0 +1,91 @@
+package com.payroll.config;
+
+import com.payroll.entity.Employee;
+import com.payroll.service.EmployeeService;
+import com.payroll.service.PayrollService;
+import com.payroll.test.EmployeeFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sem @Transactional: a migração altera a constraint, e DDL confirma a transação no H2
+@SpringBootTest
+class PayrollUniqueKeyMigrationTest {
+
+    private static final String MONTH = "2043-07";
+    private static final long DEPARTMENT_ID = 990_101L;
+
+    @Autowired
+    private PayrollUniqueKeyMigration migration;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long employeeId;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute(PayrollUniqueKeyMigration.CONSTRAINT_SQL);
+        if (employeeId == null) return;
+        jdbcTemplate.update("DELETE FROM reports WHERE employee_id = ?", employeeId);
+        jdbcTemplate.update("DELETE FROM payroll_calculations WHERE employee_id = ?", employeeId);
+        jdbcTemplate.update("DELETE FROM employee_change_outbox WHERE employee_id = ?", employeeId);
+        jdbcTemplate.update("DELETE FROM employee_compensation_history WHERE employee_id = ?", employeeId);
+        jdbcTemplate.update("DELETE FROM employees WHERE id = ?", employeeId);
+        jdbcTemplate.update("DELETE FROM payroll_month_totals WHERE reference_month = ?", MONTH);
+        jdbcTemplate.update("DELETE FROM department_month_totals WHERE department_id = ?", DEPARTMENT_ID);
+    }
+
+    @Test
+    @DisplayName("Mantém o holerite mais recente e reconstrói os totais mensais e por departamento")
+    // Base legada com dois holerites para o mesmo funcionário e competência: sobra o de maior ID
+    void deveManterUltimoHoleriteEReconstruirTotais() {
+        Employee emp = employeeService.createEmployee(EmployeeFixtures.analyst("43070101010", "3000"), 1L);
+        employeeId = emp.getId();
+        long first = payrollService.calculatePayroll(employeeId, MONTH, 1L).getId();
+        jdbcTemplate.update("UPDATE payroll_calculations SET department_id = ? WHERE id = ?", DEPARTMENT_ID, first);
+
+        jdbcTemplate.execute("ALTER TABLE payroll_calculations DROP CONSTRAINT uk_payroll_employee_month");
+        long latest = duplicate(first);
+        jdbcTemplate.update("UPDATE payroll_calculations SET gross_salary = 9999.00 WHERE id = ?", latest);
+
+        migration.run();
+
+        assertEquals(List.of(latest), jdbcTemplate.queryForList(
+                "SELECT id FROM payroll_calculations WHERE employee_id = ? AND reference_month = ?",
+                Long.class, employeeId, MONTH));
+        assertEquals(0, new BigDecimal("9999.00").compareTo(jdbcTemplate.queryForObject(
+                "SELECT total_gross FROM payroll_month_totals WHERE reference_month = ?", BigDecimal.class, MONTH)));
+        assertEquals(0, new BigDecimal("9999.00").compareTo(jdbcTemplate.queryForObject(
+                "SELECT total_gross FROM department_month_totals WHERE department_id = ? AND reference_month = ?",
+                BigDecimal.class, DEPARTMENT_ID, MONTH)));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS "
+                        + "WHERE CONSTRAINT_NAME = 'UK_PAYROLL_EMPLOYEE_MONTH'", Integer.class));
+    }
+
+    // Copia o holerite com um ID maior, como um segundo clique gravado depois do primeiro
+    private long duplicate(long id) {
+        String columns = String.join(", ", jdbcTemplate.queryForList(
+                "SELECT COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS "
+                        + "WHERE TABLE_NAME = 'PAYROLL_CALCULATIONS' AND COLUMN_NAME <> 'ID'", String.class));
+        long copy = id + 1_000_000;
+        jdbcTemplate.update("INSERT INTO payroll_calculations (id, " + columns + ") SELECT ?, " + columns
+                + " FROM payroll_calculations WHERE id = ?", copy, id);
+        return copy;
+    }
+}
@@ -0,0 +1,44 @@
+package com.payroll.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SequenceMigrationTest {
+
+    @Autowired
+    private SequenceMigration sequenceMigration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM users WHERE username = 'legado'");
+    }
+
+    @Test
+    @DisplayName("Reposiciona a sequência acima de IDs legados gerados por IDENTITY")
+    // Simula um registro antigo com ID alto e garante que o próximo bloco alocado começa depois dele
+    void deveReposicionarSequenciaAcimaDoMaiorId() {
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, role, active) "
+                + "VALUES (5000, 'legado', 'legado@payroll.com', 'secret123', 'USER', TRUE)");
+
+        sequenceMigration.alignSequence("users", "users_seq");
+
+        Long next = jdbcTemplate.queryForObject(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'USERS_SEQ'", Long.class);
+        assertEquals(5000 + SequenceMigration.ALLOCATION_SIZE, next);
+
+        // Executar de novo não deve recuar a sequência
+        sequenceMigration.alignSequence("users", "users_seq");
+        assertEquals(next, jdbcTemplate.queryForObject(
+                "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'USERS_SEQ'", Long.class));
+    }
+}
@@ -1,9 +1,18 @@
 package com.payroll.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.payroll.dto.EmployeeDTO;
 import com.payroll.entity.Employee;
+import com.payroll.repository.CacheInvalidationRepository;
+import com.payroll.repository.EmployeeChangeOutboxRepository;
+import com.payroll.repository.EmployeeCompensationRepository;
 import com.payroll.repository.EmployeeRepository;
+import com.payroll.serialization.EmployeeFieldChangeSerializationService;
+import com.payroll.service.CompensationHistoryService;
+import com.payroll.service.EmployeeChangeFeedService;
 import com.payroll.service.EmployeeService;
+import com.payroll.service.NodeIdentity;
+import com.payroll.service.cache.CacheInvalidationBus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,6 +33,15 @@ class EmployeeControllerTest {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private EmployeeChangeOutboxRepository outboxRepository;
+
+    @Autowired
+    private EmployeeCompensationRepository compensationRepository;
+
+    @Autowired
+    private CacheInvalidationRepository invalidationRepository;
+
     private EmployeeService employeeService;
     private EmployeeController employeeController;
 
@@ -36,11 +54,37 @@ class EmployeeControllerTest {
         repoField.setAccessible(true);
         repoField.set(employeeService, employeeRepository);
 
+        // Feed de alterações montado manualmente (fora do contexto completo do Spring)
+        EmployeeChangeFeedService changeFeed = new EmployeeChangeFeedService();
+        inject(changeFeed, "outboxRepository", outboxRepository);
+        inject(changeFeed, "changeSerializer", new EmployeeFieldChangeSerializationService(new ObjectMapper()));
+        inject(changeFeed, "eventPublisher", (org.springframework.context.ApplicationEventPublisher) event -> {});
+        inject(employeeService, "changeFeed", changeFeed);
+
+        // Histórico de remuneração também montado manualmente
+        CompensationHistoryService compensationHistory = new CompensationHistoryService();
+        inject(compensationHistory, "compensationRepository", compensationRepository);
+        inject(compensationHistory, "employeeRepository", employeeRepository);
+        inject(employeeService, "compensationHistory", compensationHistory);
+
+        // Barramento de invalidação entre instâncias, sem ouvintes
+        CacheInvalidationBus invalidationBus = new CacheInvalidationBus();
+        inject(invalidationBus, "invalidationRepository", invalidationRepository);
+        inject(invalidationBus, "eventPublisher", (org.springframework.context.ApplicationEventPublisher) event -> {});
+        inject(invalidationBus, "nodeIdentity", new NodeIdentity());
+        inject(employeeService, "invalidationBus", invalidationBus);
+
         Field serviceField = EmployeeController.class.getDeclaredField("employeeService");
         serviceField.setAccessible(true);
         serviceField.set(employeeController, employeeService);
     }
 
+    private static void inject(Object target, String fieldName, Object value) throws Exception {
+        Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
     private EmployeeDTO buildDTO(String cpf, String position, String name) {
         EmployeeDTO dto = new EmployeeDTO();
         dto.cpf = cpf;
@@ -90,7 +134,7 @@ class EmployeeControllerTest {
 
         EmployeeDTO updateDTO = buildDTO("12345678903", "Junior Developer", "Maria Oliveira");
 
-        ResponseEntity<?> response = employeeController.updateEmployee(saved.getId(), updateDTO);
+        ResponseEntity<?> response = employeeController.updateEmployee(saved.getId(), updateDTO, null);
 
         assertEquals(200, response.getStatusCode().value());
         EmployeeDTO updatedEmployee = (EmployeeDTO) response.getBody();
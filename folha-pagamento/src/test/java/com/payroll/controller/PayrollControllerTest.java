@@ -1,7 +1,9 @@
 package com.payroll.controller;
 
+import com.payroll.dto.PayrollDTO;
 import com.payroll.entity.Employee;
 import com.payroll.service.EmployeeService;
+import com.payroll.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,6 +11,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -29,6 +33,9 @@ class PayrollControllerTest {
     @Autowired
     private EmployeeService employeeService;
 
+    @Autowired
+    private UserService userService;
+
     private Employee employee;
 
     @BeforeEach
@@ -64,7 +71,7 @@ class PayrollControllerTest {
         request.put("employeeId", "abc");
         request.put("referenceMonth", "2025-10");
 
-        ResponseEntity<?> response = controller.calculatePayroll(request, null);
+        ResponseEntity<?> response = controller.calculatePayroll(request, null, null);
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertTrue(response.getBody().toString().contains("Erro ao calcular folha"));
     }
@@ -84,4 +91,31 @@ class PayrollControllerTest {
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertEquals("Funcionario nao encontrado", response.getBody());
     }
+
+    @Test
+    @DisplayName("Repetir o cálculo com a mesma Idempotency-Key devolve o mesmo holerite")
+    // Reaproveitar a chave com outra competência é rejeitado com 409
+    void deveRespeitarIdempotencyKeyNoCalculo() {
+        Map<String, String> request = new HashMap<>();
+        request.put("employeeId", employee.getId().toString());
+        request.put("referenceMonth", "2025-10");
+        // Usuário próprio do teste: o cálculo exige o autor para auditoria
+        com.payroll.entity.User author = new com.payroll.entity.User();
+        author.setUsername("idempotencia");
+        author.setEmail("idempotencia@payroll.com");
+        author.setPassword("senha123");
+        author.setRole(com.payroll.entity.User.Role.USER);
+        userService.createUser(author, null);
+        UserDetails currentUser = User.withUsername("idempotencia").password("x").roles("USER").build();
+
+        ResponseEntity<?> first = controller.calculatePayroll(request, "req-123", currentUser);
+        ResponseEntity<?> retry = controller.calculatePayroll(request, "req-123", currentUser);
+        assertEquals(HttpStatus.CREATED, first.getStatusCode());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals(((PayrollDTO) first.getBody()).id, ((PayrollDTO) retry.getBody()).id);
+
+        request.put("referenceMonth", "2025-11");
+        ResponseEntity<?> reused = controller.calculatePayroll(request, "req-123", currentUser);
+        assertEquals(HttpStatus.CONFLICT, reused.getStatusCode());
+    }
 }
@@ -0,0 +1,83 @@
+package com.payroll.service;
+
+import com.payroll.dto.EmployeeDTO;
+import com.payroll.dtos.employee.EmployeeCompensationDTO;
+import com.payroll.entity.Employee;
+import com.payroll.entity.PayrollCalculation;
+import com.payroll.exception.InputValidationException;
+import com.payroll.test.EmployeeFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class CompensationHistoryServiceTest {
+
+    @Autowired
+    private CompensationHistoryService compensationHistory;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Test
+    @DisplayName("Resolve a remuneração vigente em cada competência e calcula a folha com ela")
+    // Reajuste vigente a partir de junho: maio usa o salário antigo, junho o novo
+    void deveResolverRemuneracaoVigenteNaCompetencia() {
+        Employee emp = employeeService.createEmployee(EmployeeFixtures.analyst("70780890901", "3000"), 1L);
+        PayrollCalculation mayBefore = payrollService.calculatePayroll(emp.getId(), "2035-04", 1L);
+
+        employeeService.updateEmployee(emp.getId(), withSalary(emp, "3600"), LocalDate.of(2035, 6, 1));
+
+        Employee may = compensationHistory.asOf(emp, "2035-05");
+        Employee june = compensationHistory.asOf(emp, "2035-06");
+        assertEquals(0, new BigDecimal("3000").compareTo(may.getSalary()));
+        assertEquals(0, new BigDecimal("3600").compareTo(june.getSalary()));
+
+        // Competência anterior ao reajuste calculada depois dele: continua com o salário antigo
+        PayrollCalculation mayAfter = payrollService.calculatePayroll(emp.getId(), "2035-05", 1L);
+        PayrollCalculation juneAfter = payrollService.calculatePayroll(emp.getId(), "2035-06", 1L);
+        assertEquals(0, mayBefore.getGrossSalary().compareTo(mayAfter.getGrossSalary()));
+        assertTrue(juneAfter.getGrossSalary().compareTo(mayAfter.getGrossSalary()) > 0);
+
+        // Recalcular abril não altera nada: o fingerprint bate com a versão vigente em abril
+        assertEquals(0, payrollService.recalculateMonth("2035-04").getRecalculated());
+
+        List<EmployeeCompensationDTO> history = compensationHistory.history(emp.getId());
+        assertEquals(2, history.size());
+        assertEquals(LocalDate.of(2020, 1, 1), history.get(0).getValidFrom());
+        assertEquals(LocalDate.of(2035, 6, 1), history.get(1).getValidFrom());
+    }
+
+    @Test
+    @DisplayName("Recusa vigência anterior à última versão registrada")
+    // Versões só podem ser acrescentadas ao fim da linha do tempo
+    void deveRecusarVigenciaRetroativa() {
+        Employee emp = employeeService.createEmployee(EmployeeFixtures.analyst("80890901012", "4000"), 1L);
+        employeeService.updateEmployee(emp.getId(), withSalary(emp, "4400"), LocalDate.of(2035, 6, 1));
+
+        Employee retroactive = withSalary(emp, "4800");
+        assertThrows(InputValidationException.class,
+                () -> employeeService.updateEmployee(emp.getId(), retroactive, LocalDate.of(2035, 3, 1)));
+        assertThrows(InputValidationException.class, () -> compensationHistory.asOf(emp, "2035-13"));
+    }
+
+
+    // Payload desanexado, como o enviado pelo controller (a entidade gerenciada não pode ser alterada direto)
+    private static Employee withSalary(Employee emp, String salary) {
+        Employee details = EmployeeDTO.toEntity(EmployeeDTO.fromEntity(emp));
+        details.setSalary(new BigDecimal(salary));
+        return details;
+    }
+}
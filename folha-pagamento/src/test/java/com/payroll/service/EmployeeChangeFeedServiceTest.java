@@ -0,0 +1,123 @@
+package com.payroll.service;
+
+import com.payroll.dtos.employee.EmployeeChangeDTO;
+import com.payroll.entity.Employee;
+import com.payroll.entity.EmployeeChangeOutbox;
+import com.payroll.event.EmployeeChangedEvent;
+import com.payroll.model.EmployeeFieldChange;
+import com.payroll.repository.EmployeeChangeOutboxRepository;
+import com.payroll.test.EmployeeFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class EmployeeChangeFeedServiceTest {
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private EmployeeChangeFeedService changeFeedService;
+
+    @Autowired
+    private EmployeeChangeOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Cursor na última alteração do funcionário: lacunas deixadas por outros testes ficam antes dele
+    private long lastSequence(Long employeeId) {
+        List<EmployeeChangeOutbox> all = outboxRepository.findByEmployeeIdOrderBySequenceAsc(employeeId);
+        return all.isEmpty() ? 0 : all.get(all.size() - 1).getSequence();
+    }
+
+    @Test
+    @DisplayName("Registra no feed apenas os campos alterados na atualização")
+    // Garante que a alteração de salário gera um único item UPDATED com valores antigo e novo
+    void deveRegistrarSomenteCamposAlterados() {
+        Employee saved = employeeService.createEmployee(EmployeeFixtures.employee("55566677788", "Analista", "3000.00"), 1L);
+        long cursor = lastSequence(saved.getId());
+
+        employeeService.updateEmployee(saved.getId(), EmployeeFixtures.employee("55566677788", "Analista", "3500.00"));
+
+        List<EmployeeChangeDTO> feed = changeFeedService.readAfter(cursor, 100);
+        assertEquals(1, feed.size());
+        assertEquals("UPDATED", feed.get(0).getChangeType());
+        assertEquals(saved.getId(), feed.get(0).getEmployeeId());
+
+        List<EmployeeFieldChange> changes = feed.get(0).getChanges();
+        assertEquals(1, changes.size());
+        assertEquals("salary", changes.get(0).getField());
+        assertEquals("3000.00", changes.get(0).getOldValue());
+        assertEquals("3500.00", changes.get(0).getNewValue());
+    }
+
+    @Test
+    @DisplayName("Atualização sem mudanças não gera item no feed")
+    // Garante que valores equivalentes (3000 vs 3000.00) não são tratados como alteração
+    void naoRegistraAtualizacaoSemMudancas() {
+        Employee saved = employeeService.createEmployee(EmployeeFixtures.employee("55566677788", "Analista", "3000.00"), 1L);
+        long cursor = lastSequence(saved.getId());
+
+        employeeService.updateEmployee(saved.getId(), EmployeeFixtures.employee("55566677788", "Analista", "3000"));
+
+        assertTrue(changeFeedService.readAfter(cursor, 100).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Não avança o feed além da sequence de uma transação ainda não confirmada")
+    // Outra transação reserva uma sequence e fica aberta enquanto uma alteração posterior é gravada:
+    // a leitura para na lacuna e só entrega a alteração depois que a transação lenta é desfeita
+    void deveAguardarSequenceDeTransacaoEmAndamento() throws Exception {
+        Employee saved = employeeService.createEmployee(EmployeeFixtures.employee("55566677788", "Analista", "3000.00"), 1L);
+        long cursor = lastSequence(saved.getId());
+
+        CountDownLatch reserved = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slow = pool.submit(() -> tx.executeWithoutResult(status -> {
+                changeFeedService.record(saved.getId(), EmployeeChangedEvent.ChangeType.UPDATED, List.of());
+                reserved.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                status.setRollbackOnly();
+            }));
+            assertTrue(reserved.await(10, TimeUnit.SECONDS));
+
+            employeeService.updateEmployee(saved.getId(), EmployeeFixtures.employee("55566677788", "Analista", "3500.00"));
+            assertTrue(changeFeedService.readAfter(cursor, 100).isEmpty());
+
+            release.countDown();
+            slow.get(10, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<EmployeeChangeDTO> feed = changeFeedService.readAfter(cursor, 100);
+        assertEquals(1, feed.size());
+        assertEquals(cursor + 2, feed.get(0).getSequence());
+        assertEquals("salary", feed.get(0).getChanges().get(0).getField());
+    }
+}
@@ -1,5 +1,6 @@
 package com.payroll.service;
 
+import com.payroll.dtos.employee.EmployeePositionSummaryDTO;
 import com.payroll.entity.Employee;
 import com.payroll.entity.PayrollCalculation;
 import org.junit.jupiter.api.BeforeEach;
@@ -101,4 +102,17 @@ class EmployeeServiceTest {
         // O mesmo objeto deve ser retornado se já existe
         assertEquals(first.getId(), second.getId());
     }
+
+    @Test
+    @DisplayName("Resume o quadro por cargo sem carregar a lista de funcionários")
+    // O cargo do colaborador criado deve aparecer com contagem e faixa salarial coerentes
+    void deveResumirFuncionariosPorCargo() {
+        EmployeePositionSummaryDTO developers = employeeService.summarizeEmployeesByPosition().stream()
+                .filter(r -> "Developer".equals(r.getPosition())).findFirst().orElseThrow();
+
+        assertTrue(developers.getHeadcount() >= 1);
+        assertTrue(developers.getMinSalary().compareTo(new BigDecimal("3000")) <= 0);
+        assertTrue(developers.getMaxSalary().compareTo(new BigDecimal("3000")) >= 0);
+        assertTrue(developers.getTotalSalary().compareTo(new BigDecimal("3000")) >= 0);
+    }
 }
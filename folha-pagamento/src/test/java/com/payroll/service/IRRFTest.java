@@ -11,9 +11,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 class IRRFTest {
 
     @Test
-    @DisplayName("calcularIRRF_semParcelaDeduzir_variandoDependentes")
-    // Calcula IRRF (sem parcela a deduzir) usando salário do Employee e variando dependentes
-    void calcularIRRF_semParcelaDeduzir_variandoDependentes() {
+    @DisplayName("calcularIRRF_comParcelaDeduzir_variandoDependentes")
+    // Calcula IRRF progressivo (alíquota da faixa menos a parcela a deduzir) variando dependentes
+    void calcularIRRF_comParcelaDeduzir_variandoDependentes() {
         Employee e = new Employee();
         e.setSalary(new BigDecimal("3000.00"));
 
@@ -27,13 +27,13 @@ class IRRFTest {
         SheetCalculator.DescontoContext ctx0 = new SheetCalculator.DescontoContext(
                 e.getSalary(), inss, 0, BigDecimal.ZERO
         );
-        assertEquals(new BigDecimal("205.59"), new IRRF().calcular(ctx0));
+        assertEquals(new BigDecimal("36.15"), new IRRF().calcular(ctx0));
 
         // Dependentes = 2
         SheetCalculator.DescontoContext ctx2 = new SheetCalculator.DescontoContext(
                 e.getSalary(), inss, 2, BigDecimal.ZERO
         );
-        assertEquals(new BigDecimal("177.15"), new IRRF().calcular(ctx2));
+        assertEquals(new BigDecimal("7.71"), new IRRF().calcular(ctx2));
 
         // Dependentes = 3 (isento)
         SheetCalculator.DescontoContext ctx3 = new SheetCalculator.DescontoContext(
@@ -0,0 +1,101 @@
+package com.payroll.service;
+
+import com.payroll.entity.Employee;
+import com.payroll.entity.PayrollCalculation;
+import com.payroll.test.EmployeeFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class IncomeStatementServiceTest {
+
+    private static final int YEAR = 2032;
+
+    @Autowired
+    private IncomeStatementService incomeStatementService;
+
+    @Autowired
+    private ReportsService reportsService;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Test
+    @DisplayName("Agrega os holerites do ano em um informe por funcionário em uma única varredura")
+    // Competências fora do ano não entram; cada funcionário é entregue uma vez, com os totais do ano
+    void deveAgregarHoleritesDoAnoPorFuncionario() {
+        Employee withDependents = EmployeeFixtures.analyst("12312312300", "4500");
+        withDependents.setDependents(2);
+        Employee a = employeeService.createEmployee(withDependents, 1L);
+        Employee b = employeeService.createEmployee(EmployeeFixtures.analyst("45645645600", "9000"), 1L);
+        PayrollCalculation jan = payrollService.calculatePayroll(a.getId(), YEAR + "-01", 1L);
+        PayrollCalculation feb = payrollService.calculatePayroll(a.getId(), YEAR + "-02", 1L);
+        payrollService.calculatePayroll(a.getId(), (YEAR + 1) + "-01", 1L);
+        PayrollCalculation mar = payrollService.calculatePayroll(b.getId(), YEAR + "-03", 1L);
+
+        List<IncomeStatementAccumulator> statements = new ArrayList<>();
+        incomeStatementService.forEachStatement(YEAR, s -> {
+            if (s.getEmployeeId().equals(a.getId()) || s.getEmployeeId().equals(b.getId())) statements.add(s);
+        });
+
+        assertEquals(2, statements.size());
+        IncomeStatementAccumulator sa = statements.get(0);
+        assertEquals(a.getId(), sa.getEmployeeId());
+        assertEquals(2, sa.getMonths());
+        assertEquals(2, sa.getDependents());
+        assertEquals(0, jan.getGrossSalary().add(feb.getGrossSalary()).compareTo(sa.getGross()));
+        assertEquals(0, jan.getInssDiscount().add(feb.getInssDiscount()).compareTo(sa.getInss()));
+        assertEquals(0, jan.getIrpfDiscount().add(feb.getIrpfDiscount()).compareTo(sa.getIrrf()));
+        assertEquals(0, feb.getGrossSalary().compareTo(sa.getMonthlyGross(2)));
+        assertNull(sa.getMonthlyGross(3));
+
+        IncomeStatementAccumulator sb = statements.get(1);
+        assertEquals(1, sb.getMonths());
+        assertEquals(0, mar.getIrpfDiscount().compareTo(sb.getIrrf()));
+
+        // Consulta individual usa a mesma dobra e chega aos mesmos totais
+        IncomeStatementAccumulator single = incomeStatementService.statementFor(a.getId(), YEAR).orElseThrow();
+        assertEquals(0, sa.getGross().compareTo(single.getGross()));
+        assertTrue(incomeStatementService.statementFor(b.getId(), YEAR + 1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Gera um arquivo ZIP com um PDF por funcionário")
+    // Cada entrada do arquivo deve ser um PDF válido nomeado pelo ano e pelo funcionário
+    void deveGerarArquivoComUmPdfPorFuncionario() throws Exception {
+        Employee withDependent = EmployeeFixtures.analyst("78978978900", "3200");
+        withDependent.setDependents(1);
+        Employee a = employeeService.createEmployee(withDependent, 1L);
+        payrollService.calculatePayroll(a.getId(), YEAR + "-06", 1L);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = reportsService.writeIncomeStatementArchive(YEAR, out);
+
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry; (entry = zip.getNextEntry()) != null; ) {
+                names.add(entry.getName());
+                byte[] header = zip.readNBytes(4);
+                assertEquals("%PDF", new String(header));
+            }
+        }
+        assertEquals(written, names.size());
+        assertTrue(names.contains("informe_" + YEAR + "_" + a.getId() + ".pdf"));
+    }
+}
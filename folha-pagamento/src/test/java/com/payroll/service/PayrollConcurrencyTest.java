@@ -0,0 +1,209 @@
+package com.payroll.service;
+
+import com.payroll.entity.Employee;
+import com.payroll.entity.PayrollCalculation;
+import com.payroll.service.department.DepartmentTotalsService;
+import com.payroll.test.EmployeeFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sem @Transactional: cada thread precisa da própria transação para disputar o mesmo holerite
+@SpringBootTest
+class PayrollConcurrencyTest {
+
+    private static final String MONTH = "2032-03";
+    private static final String NEW_MONTH = "2032-04";
+    private static final String DEPARTMENT_MONTH = "2032-05";
+    private static final long DEPARTMENT_ID = 990_001L;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private DepartmentTotalsService departmentTotalsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long employeeId;
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (Long id : created) {
+            jdbcTemplate.update("DELETE FROM payroll_idempotency_keys WHERE employee_id = ?", id);
+            jdbcTemplate.update("DELETE FROM reports WHERE employee_id = ?", id);
+            jdbcTemplate.update("DELETE FROM payroll_calculations WHERE employee_id = ?", id);
+            jdbcTemplate.update("DELETE FROM employee_change_outbox WHERE employee_id = ?", id);
+            jdbcTemplate.update("DELETE FROM employee_compensation_history WHERE employee_id = ?", id);
+            jdbcTemplate.update("DELETE FROM employees WHERE id = ?", id);
+        }
+        jdbcTemplate.update("DELETE FROM payroll_month_totals WHERE reference_month IN (?, ?)", MONTH, NEW_MONTH);
+        jdbcTemplate.update("DELETE FROM department_month_totals WHERE department_id = ?", DEPARTMENT_ID);
+    }
+
+    @Test
+    @DisplayName("Cálculos simultâneos do mesmo holerite gravam uma única folha")
+    // Vários cliques ao mesmo tempo devem devolver o mesmo holerite e contar uma vez no razão mensal
+    void deveGravarUmUnicoHoleriteSobConcorrencia() throws Exception {
+        employeeId = createEmployee("32132132100").getId();
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<PayrollCalculation>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                String key = i % 2 == 0 ? "concorrente" : null;
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return payrollService.calculatePayroll(employeeId, MONTH, 1L, key);
+                }));
+            }
+            start.countDown();
+            Long firstId = results.get(0).get().getId();
+            for (Future<PayrollCalculation> r : results) assertEquals(firstId, r.get().getId());
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payroll_calculations WHERE employee_id = ? AND reference_month = ?",
+                Integer.class, employeeId, MONTH));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT headcount FROM payroll_month_totals WHERE reference_month = ?", Long.class, MONTH));
+    }
+
+    @Test
+    @DisplayName("Sem a trava local, a instância que perde a corrida devolve o holerite gravado pela outra")
+    // Simula instâncias diferentes chamando o cálculo sem a trava em memória, num mês que já tem linha
+    // no razão: a chave única do holerite decide o vencedor e os demais devolvem o holerite dele
+    void deveDevolverHoleriteDaOutraInstancia() throws Exception {
+        payrollService.calculatePayroll(createEmployee("32132132101").getId(), MONTH, 1L);
+        employeeId = createEmployee("32132132102").getId();
+        PayrollService target = AopTestUtils.getTargetObject(payrollService);
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<PayrollCalculation>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return ReflectionTestUtils.<PayrollCalculation>invokeMethod(
+                            target, "calculateOrGetExisting", employeeId, MONTH, 1L);
+                }));
+            }
+            start.countDown();
+            Long firstId = results.get(0).get().getId();
+            for (Future<PayrollCalculation> r : results) assertEquals(firstId, r.get().getId());
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT headcount FROM payroll_month_totals WHERE reference_month = ?", Long.class, MONTH));
+    }
+
+    @Test
+    @DisplayName("Primeiros holerites simultâneos de uma competência nova entram todos no razão")
+    // Funcionários diferentes, mês sem linha no razão: todas as transações encontram 0 linhas no UPDATE,
+    // e apenas uma cria a linha; as demais somam sobre ela em vez de falhar com chave duplicada
+    void deveCriarLinhaDoMesSobConcorrencia() throws Exception {
+        int threads = 8;
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < threads; i++) ids.add(createEmployee(String.format("3213213%04d", i)).getId());
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<PayrollCalculation>> results = new ArrayList<>();
+            for (Long id : ids) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return payrollService.calculatePayroll(id, NEW_MONTH, 1L);
+                }));
+            }
+            start.countDown();
+            for (Future<PayrollCalculation> r : results) assertNotNull(r.get().getId());
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(threads, jdbcTemplate.queryForObject(
+                "SELECT headcount FROM payroll_month_totals WHERE reference_month = ?", Long.class, NEW_MONTH));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT SUM(gross_salary) FROM payroll_calculations WHERE reference_month = ?", BigDecimal.class, NEW_MONTH)
+                .compareTo(jdbcTemplate.queryForObject(
+                        "SELECT total_gross FROM payroll_month_totals WHERE reference_month = ?", BigDecimal.class, NEW_MONTH)));
+    }
+
+    @Test
+    @DisplayName("Primeiros holerites simultâneos de um departamento na competência entram todos nos totais")
+    // Cada transação soma um holerite a um departamento ainda sem linha no mês; só uma cria a linha
+    void deveCriarLinhaDoDepartamentoSobConcorrencia() throws Exception {
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    tx.executeWithoutResult(status -> departmentTotalsService.record(payslip(DEPARTMENT_ID)));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> r : results) r.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(threads, jdbcTemplate.queryForObject(
+                "SELECT headcount FROM department_month_totals WHERE department_id = ? AND reference_month = ?",
+                Long.class, DEPARTMENT_ID, DEPARTMENT_MONTH));
+        assertEquals(0, new BigDecimal("1000.00").multiply(BigDecimal.valueOf(threads)).compareTo(jdbcTemplate.queryForObject(
+                "SELECT total_gross FROM department_month_totals WHERE department_id = ? AND reference_month = ?",
+                BigDecimal.class, DEPARTMENT_ID, DEPARTMENT_MONTH)));
+    }
+
+    private static PayrollCalculation payslip(Long departmentId) {
+        PayrollCalculation pc = new PayrollCalculation();
+        pc.setReferenceMonth(DEPARTMENT_MONTH);
+        pc.setDepartmentId(departmentId);
+        pc.setGrossSalary(new BigDecimal("1000.00"));
+        pc.setNetSalary(new BigDecimal("900.00"));
+        pc.setFgtsValue(new BigDecimal("80.00"));
+        return pc;
+    }
+
+    private Employee createEmployee(String cpf) {
+        Employee saved = employeeService.createEmployee(EmployeeFixtures.analyst(cpf, "4200"), 1L);
+        created.add(saved.getId());
+        return saved;
+    }
+}
@@ -0,0 +1,67 @@
+package com.payroll.service;
+
+import com.payroll.dtos.payroll.PayrollMonthTotalsDTO;
+import com.payroll.entity.Employee;
+import com.payroll.entity.PayrollCalculation;
+import com.payroll.test.EmployeeFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class PayrollMonthTotalsServiceTest {
+
+    private static final String MONTH = "2031-01";
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private PayrollMonthTotalsService monthTotalsService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Soma cada holerite gravado à linha do mês")
+    // Dois holerites na mesma competência: contagem e totais devem bater com a soma dos holerites
+    void deveAcumularTotaisAoGravarHolerites() {
+        PayrollCalculation a = payrollService.calculatePayroll(employeeService.createEmployee(EmployeeFixtures.analyst("11122233344", "3000"), 1L).getId(), MONTH, 1L);
+        PayrollCalculation b = payrollService.calculatePayroll(employeeService.createEmployee(EmployeeFixtures.analyst("55566677788", "7500"), 1L).getId(), MONTH, 1L);
+        // Recalcular o mesmo mês devolve o holerite existente e não pode contar em dobro
+        payrollService.calculatePayroll(a.getEmployee().getId(), MONTH, 1L);
+
+        PayrollMonthTotalsDTO totals = monthTotalsService.getTotals(MONTH).orElseThrow();
+        assertEquals(2, totals.getHeadcount());
+        assertEquals(2, monthTotalsService.headcount(MONTH));
+        assertEquals(0, a.getGrossSalary().add(b.getGrossSalary()).compareTo(totals.getTotalGross()));
+        assertEquals(0, a.getNetSalary().add(b.getNetSalary()).compareTo(totals.getTotalNet()));
+        assertEquals(0, a.getInssDiscount().add(b.getInssDiscount()).compareTo(totals.getTotalInss()));
+        assertEquals(0, a.getIrpfDiscount().add(b.getIrpfDiscount()).compareTo(totals.getTotalIrrf()));
+        assertEquals(0, a.getFgtsValue().add(b.getFgtsValue()).compareTo(totals.getTotalFgts()));
+        assertEquals(0, monthTotalsService.headcount("2031-02"));
+    }
+
+    @Test
+    @DisplayName("Reconstrução reconcilia o razão com os holerites gravados")
+    // Uma linha divergente é corrigida pela reagregação da tabela de cálculos
+    void deveReconstruirTotaisDivergentes() {
+        PayrollCalculation a = payrollService.calculatePayroll(employeeService.createEmployee(EmployeeFixtures.analyst("11122233344", "3000"), 1L).getId(), MONTH, 1L);
+        jdbcTemplate.update("UPDATE payroll_month_totals SET headcount = 99, total_gross = 0 WHERE reference_month = ?", MONTH);
+
+        assertEquals(1, monthTotalsService.rebuild(MONTH));
+
+        PayrollMonthTotalsDTO totals = monthTotalsService.getTotals(MONTH).orElseThrow();
+        assertEquals(1, totals.getHeadcount());
+        assertEquals(0, a.getGrossSalary().compareTo(totals.getTotalGross()));
+    }
+}
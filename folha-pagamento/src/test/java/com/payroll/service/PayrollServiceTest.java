@@ -1,13 +1,18 @@
 package com.payroll.service;
 
+import com.payroll.dtos.payroll.PayrollRecalculationResultDTO;
+import com.payroll.dtos.report.PayrollSummaryRowDTO;
 import com.payroll.entity.Employee;
 import com.payroll.entity.PayrollCalculation;
 import com.payroll.repository.EmployeeRepository;
+import com.payroll.repository.PayrollCalculationRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -29,6 +34,9 @@ class PayrollServiceTest {
     @Autowired
     private EmployeeRepository employeeRepository;
 
+    @Autowired
+    private PayrollCalculationRepository payrollRepository;
+
     private Employee employee;
 
     @BeforeEach
@@ -101,4 +109,96 @@ class PayrollServiceTest {
 
         assertEquals(first.getId(), second.getId());
     }
+
+    @Test
+    @DisplayName("Recalcula o mês apenas quando as entradas do colaborador mudam")
+    // Garante que o recálculo ignora folhas atualizadas e refaz as que ficaram desatualizadas
+    void deveRecalcularMesSomenteComFingerprintDivergente() {
+        PayrollCalculation original = payrollService.calculatePayroll(employee.getId(), "2025-10", employee.getCreatedBy());
+        BigDecimal grossBefore = original.getGrossSalary();
+
+        PayrollRecalculationResultDTO unchanged = payrollService.recalculateMonth("2025-10");
+        assertEquals(1, unchanged.getScanned());
+        assertEquals(0, unchanged.getRecalculated());
+
+        employee.setSalary(new BigDecimal("4000"));
+        employeeRepository.save(employee);
+
+        PayrollRecalculationResultDTO changed = payrollService.recalculateMonth("2025-10");
+        assertEquals(1, changed.getRecalculated());
+
+        PayrollCalculation updated = payrollService.calculatePayroll(employee.getId(), "2025-10", employee.getCreatedBy());
+        assertEquals(original.getId(), updated.getId());
+        assertTrue(updated.getGrossSalary().compareTo(grossBefore) > 0);
+    }
+
+    @Test
+    @DisplayName("Resume folhas por mês e por cargo no banco com o mesmo resultado da combinação em memória")
+    // Compara a agregação SQL com o acumulador de uma passada usado como alternativa
+    void deveResumirFolhasPorMesECargo() {
+        payrollService.calculatePayroll(employee.getId(), "2025-10", employee.getCreatedBy());
+        PayrollCalculation nov = payrollService.calculatePayroll(employee.getId(), "2025-11", employee.getCreatedBy());
+
+        List<PayrollSummaryRowDTO> sql = payrollService.summarizePayrollsByMonth();
+        List<PayrollSummaryRowDTO> memory = PayrollSummaryAccumulator.summarize(
+                payrollService.getAllPayrolls(), PayrollCalculation::getReferenceMonth);
+        assertEquals(memory.size(), sql.size());
+        for (int i = 0; i < sql.size(); i++) {
+            assertEquals(memory.get(i).getKey(), sql.get(i).getKey());
+            assertEquals(memory.get(i).getCount(), sql.get(i).getCount());
+            assertEquals(0, memory.get(i).getTotalGross().compareTo(sql.get(i).getTotalGross()));
+            assertEquals(0, memory.get(i).getTotalNet().compareTo(sql.get(i).getTotalNet()));
+            assertEquals(0, memory.get(i).getTotalFgts().compareTo(sql.get(i).getTotalFgts()));
+            assertEquals(0, memory.get(i).getMaxNet().compareTo(sql.get(i).getMaxNet()));
+        }
+
+        PayrollSummaryRowDTO developer = payrollService.summarizePayrollsByPosition("2025-11").stream()
+                .filter(r -> "Developer".equals(r.getKey())).findFirst().orElseThrow();
+        assertEquals(1, developer.getCount());
+        assertEquals(0, nov.getNetSalary().compareTo(developer.getAvgNet()));
+        assertEquals(0, nov.getIrpfDiscount().compareTo(developer.getTotalIrrf()));
+
+        // Sem competência, o resumo cobre todos os meses gravados
+        PayrollSummaryRowDTO allMonths = payrollService.summarizePayrollsByPosition(null).stream()
+                .filter(r -> "Developer".equals(r.getKey())).findFirst().orElseThrow();
+        PayrollSummaryRowDTO expected = PayrollSummaryAccumulator.summarize(
+                        payrollService.getAllPayrolls(), pc -> pc.getEmployee().getPosition()).stream()
+                .filter(r -> "Developer".equals(r.getKey())).findFirst().orElseThrow();
+        assertTrue(allMonths.getCount() >= 2);
+        assertEquals(expected.getCount(), allMonths.getCount());
+        assertEquals(0, expected.getTotalGross().compareTo(allMonths.getTotalGross()));
+    }
+
+    @Test
+    @DisplayName("Audita no banco folhas com descontos que consomem todo o bruto")
+    // O total de descontos persistido permite filtrar por comparação simples e somar por funcionário
+    void deveAuditarCasosExtremosPeloTotalPersistido() {
+        PayrollCalculation normal = payrollService.calculatePayroll(employee.getId(), "2025-10", employee.getCreatedBy());
+        assertEquals(0, normal.getTotalDiscounts().compareTo(normal.getGrossSalary().subtract(normal.getNetSalary())));
+
+        PayrollCalculation edge = new PayrollCalculation();
+        edge.setEmployee(employee);
+        edge.setReferenceMonth("2025-12");
+        edge.setGrossSalary(new BigDecimal("100.00"));
+        edge.setNetSalary(BigDecimal.ZERO);
+        edge.setInssDiscount(new BigDecimal("60.00"));
+        edge.setIrpfDiscount(BigDecimal.ZERO);
+        edge.setTransportDiscount(new BigDecimal("40.00"));
+        edge.setFgtsValue(BigDecimal.ZERO);
+        edge.setHourlyWage(BigDecimal.ONE);
+        edge.setDangerousBonus(BigDecimal.ZERO);
+        edge.setUnhealthyBonus(BigDecimal.ZERO);
+        edge.setMealVoucherValue(BigDecimal.ZERO);
+        edge.setCreatedBy(1L);
+        payrollRepository.saveAndFlush(edge);
+
+        Page<PayrollCalculation> flagged = payrollService.findEdgeCasePayrolls("2025-12", PageRequest.of(0, 10));
+        assertEquals(1, flagged.getTotalElements());
+        assertEquals(edge.getId(), flagged.getContent().get(0).getId());
+        assertTrue(payrollService.findEdgeCasePayrolls("2025-10", PageRequest.of(0, 10)).isEmpty());
+        assertTrue(payrollService.findEdgeCasePayrolls().stream().anyMatch(pc -> pc.getId().equals(edge.getId())));
+
+        BigDecimal expected = normal.getTotalDiscounts().add(new BigDecimal("100.00"));
+        assertEquals(0, expected.compareTo(payrollService.totalDiscountsForEmployee(employee.getId())));
+    }
 }
@@ -0,0 +1,114 @@
+package com.payroll.service;
+
+import com.payroll.dtos.payroll.PayrollSimulationRequestDTO;
+import com.payroll.dtos.payroll.PayrollSimulationResultDTO;
+import com.payroll.dtos.payroll.PayrollSimulationTotalsDTO;
+import com.payroll.dtos.payroll.TaxTableOverrideDTO;
+import com.payroll.entity.Employee;
+import com.payroll.exception.InputValidationException;
+import com.payroll.repository.EmployeeRepository;
+import com.payroll.repository.PayrollCalculationRepository;
+import com.payroll.test.EmployeeFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class PayrollSimulationServiceTest {
+
+    @Autowired
+    private PayrollSimulationService simulationService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PayrollCalculationRepository payrollRepository;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository.save(EmployeeFixtures.employee("11111111111", "Simulacao Analista", "3000"));
+        employeeRepository.save(EmployeeFixtures.employee("22222222222", "Simulacao Analista", "5000"));
+        employeeRepository.save(EmployeeFixtures.employee("33333333333", "Simulacao Gerente", "9000"));
+        employeeRepository.flush();
+    }
+
+    @Test
+    @DisplayName("Aplica reajuste por cargo e devolve diferenças sem gravar folhas")
+    // +10% apenas para analistas: bruto do cargo cresce 800, gerente fica inalterado e nada é persistido
+    void deveSimularReajustePorCargoSemPersistir() {
+        long payrollsBefore = payrollRepository.count();
+        BigDecimal salaryBefore = employeeRepository.findAll().stream()
+                .filter(e -> "22222222222".equals(e.getCpf())).findFirst().orElseThrow().getSalary();
+
+        PayrollSimulationRequestDTO request = new PayrollSimulationRequestDTO();
+        request.setPositionIncreasePercent(Map.of("Simulacao Analista", new BigDecimal("10")));
+
+        PayrollSimulationResultDTO result = simulationService.simulate(request);
+
+        PayrollSimulationTotalsDTO analistas = position(result, "Simulacao Analista");
+        assertEquals(2, analistas.getHeadcount());
+        assertEquals(0, new BigDecimal("800.00").compareTo(analistas.getDeltaGross()));
+        assertTrue(analistas.getDeltaInss().signum() > 0);
+        assertTrue(analistas.getDeltaNet().signum() > 0);
+        assertEquals(0, new BigDecimal("64.00").compareTo(analistas.getDeltaFgts()));
+
+        PayrollSimulationTotalsDTO gerentes = position(result, "Simulacao Gerente");
+        assertEquals(1, gerentes.getHeadcount());
+        assertEquals(0, gerentes.getDeltaGross().signum());
+        assertEquals(0, gerentes.getDeltaIrrf().signum());
+
+        // Nenhuma escrita: sem folhas novas e cadastro intacto
+        assertEquals(payrollsBefore, payrollRepository.count());
+        assertEquals(0, salaryBefore.compareTo(employeeRepository.findAll().stream()
+                .filter(e -> "22222222222".equals(e.getCpf())).findFirst().orElseThrow().getSalary()));
+    }
+
+    @Test
+    @DisplayName("Aplica tabela de IRRF alternativa somente no lado simulado")
+    // Isenção elevada zera o IRRF simulado do gerente enquanto o bruto permanece igual
+    void deveSimularTabelaDeImpostosAlternativa() {
+        TaxTableOverrideDTO table = new TaxTableOverrideDTO();
+        table.setVersion("teste-isencao");
+        table.setIrrfExemptLimit(new BigDecimal("20000"));
+
+        PayrollSimulationRequestDTO request = new PayrollSimulationRequestDTO();
+        request.setTaxTable(table);
+
+        PayrollSimulationResultDTO result = simulationService.simulate(request);
+
+        assertEquals("teste-isencao", result.getTaxTableVersion());
+        PayrollSimulationTotalsDTO gerentes = position(result, "Simulacao Gerente");
+        assertTrue(gerentes.getBaselineIrrf().signum() > 0);
+        assertEquals(0, gerentes.getSimulatedIrrf().signum());
+        assertEquals(0, gerentes.getDeltaGross().signum());
+        assertEquals(0, gerentes.getDeltaNet().compareTo(gerentes.getBaselineIrrf()));
+    }
+
+    @Test
+    @DisplayName("Rejeita reajuste que zeraria o salário")
+    // Percentual de -100% é entrada inválida
+    void deveRejeitarPercentualInvalido() {
+        PayrollSimulationRequestDTO request = new PayrollSimulationRequestDTO();
+        request.setSalaryIncreasePercent(new BigDecimal("-100"));
+
+        assertThrows(InputValidationException.class, () -> simulationService.simulate(request));
+    }
+
+    private PayrollSimulationTotalsDTO position(PayrollSimulationResultDTO result, String position) {
+        List<PayrollSimulationTotalsDTO> matches = result.getPositions().stream()
+                .filter(p -> position.equals(p.getPosition())).toList();
+        assertEquals(1, matches.size());
+        return matches.get(0);
+    }
+}
@@ -0,0 +1,103 @@
+package com.payroll.service;
+
+import com.payroll.dtos.payroll.PayrollVarianceDTO;
+import com.payroll.dtos.payroll.PayrollVarianceRowDTO;
+import com.payroll.entity.Employee;
+import com.payroll.entity.PayrollCalculation;
+import com.payroll.test.EmployeeFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class PayrollVarianceServiceTest {
+
+    private static final String PREVIOUS = "2034-02";
+    private static final String CURRENT = "2034-03";
+
+    @Autowired
+    private PayrollVarianceService varianceService;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Test
+    @DisplayName("Lista alterados, incluídos e retirados e soma as diferenças entre as competências")
+    // Um reajustado, um estável, um desligado e um admitido: só o estável fica fora da lista
+    void deveCompararCompetenciasEmUmaPassada() {
+        Employee raised = employeeService.createEmployee(EmployeeFixtures.analyst("10120230340", "3000"), 1L);
+        Employee stable = employeeService.createEmployee(EmployeeFixtures.analyst("20230340450", "5000"), 1L);
+        Employee left = employeeService.createEmployee(EmployeeFixtures.analyst("30340450560", "2500"), 1L);
+        Employee hired = employeeService.createEmployee(EmployeeFixtures.analyst("40450560670", "4100"), 1L);
+
+        PayrollCalculation raisedBefore = payrollService.calculatePayroll(raised.getId(), PREVIOUS, 1L);
+        PayrollCalculation stableBefore = payrollService.calculatePayroll(stable.getId(), PREVIOUS, 1L);
+        PayrollCalculation leftBefore = payrollService.calculatePayroll(left.getId(), PREVIOUS, 1L);
+
+        raised.setSalary(new BigDecimal("3600"));
+        employeeService.updateEmployee(raised.getId(), raised);
+        PayrollCalculation raisedAfter = payrollService.calculatePayroll(raised.getId(), CURRENT, 1L);
+        PayrollCalculation stableAfter = payrollService.calculatePayroll(stable.getId(), CURRENT, 1L);
+        PayrollCalculation hiredAfter = payrollService.calculatePayroll(hired.getId(), CURRENT, 1L);
+
+        PayrollVarianceDTO report = varianceService.compare(CURRENT, null, null, null);
+
+        assertEquals(PREVIOUS, report.getPreviousMonth());
+        assertEquals(2, report.getCompared());
+        assertEquals(1, report.getChanged());
+        assertEquals(1, report.getAdded());
+        assertEquals(1, report.getRemoved());
+        assertFalse(report.isTruncated());
+
+        Map<Long, PayrollVarianceRowDTO> rows = report.getRows().stream()
+                .collect(Collectors.toMap(PayrollVarianceRowDTO::getEmployeeId, Function.identity()));
+        assertEquals(3, rows.size());
+        assertFalse(rows.containsKey(stable.getId()));
+        assertEquals("CHANGED", rows.get(raised.getId()).getStatus());
+        assertEquals(0, raisedAfter.getNetSalary().subtract(raisedBefore.getNetSalary())
+                .compareTo(rows.get(raised.getId()).getNetDelta()));
+        assertEquals("REMOVED", rows.get(left.getId()).getStatus());
+        assertEquals(0, leftBefore.getGrossSalary().negate().compareTo(rows.get(left.getId()).getGrossDelta()));
+        assertEquals("ADDED", rows.get(hired.getId()).getStatus());
+
+        BigDecimal previousGross = raisedBefore.getGrossSalary().add(stableBefore.getGrossSalary()).add(leftBefore.getGrossSalary());
+        BigDecimal currentGross = raisedAfter.getGrossSalary().add(stableAfter.getGrossSalary()).add(hiredAfter.getGrossSalary());
+        assertEquals(0, previousGross.compareTo(report.getPreviousTotalGross()));
+        assertEquals(0, currentGross.subtract(previousGross).compareTo(report.getGrossDelta()));
+    }
+
+    @Test
+    @DisplayName("Respeita o limite de variação e o máximo de linhas")
+    // Variação abaixo do limite não é listada; excesso de linhas é sinalizado como truncado
+    void deveAplicarLimiteEMaximoDeLinhas() {
+        Employee raised = employeeService.createEmployee(EmployeeFixtures.analyst("50560670780", "3000"), 1L);
+        Employee hired = employeeService.createEmployee(EmployeeFixtures.analyst("60670780890", "3500"), 1L);
+        payrollService.calculatePayroll(raised.getId(), PREVIOUS, 1L);
+        raised.setSalary(new BigDecimal("3010"));
+        employeeService.updateEmployee(raised.getId(), raised);
+        payrollService.calculatePayroll(raised.getId(), CURRENT, 1L);
+        payrollService.calculatePayroll(hired.getId(), CURRENT, 1L);
+
+        PayrollVarianceDTO high = varianceService.compare(CURRENT, PREVIOUS, new BigDecimal("1000"), null);
+        assertEquals(0, high.getChanged());
+        assertEquals(1, high.getAdded());
+
+        PayrollVarianceDTO capped = varianceService.compare(CURRENT, PREVIOUS, null, 1);
+        assertEquals(1, capped.getChanged());
+        assertEquals(1, capped.getRows().size());
+        assertTrue(capped.isTruncated());
+    }
+}
@@ -36,18 +36,18 @@ class SheetCalculatorTest {
 
     @Test
     @DisplayName("calcularIRRF_deveUsarBaseDoEmployee_semPensao_eVariarPorDependentes")
-    // Calcula IRRF (faixa única, sem parcela a deduzir) variando dependentes
+    // Calcula IRRF progressivo (com parcela a deduzir) variando dependentes
     void calcularIRRF_deveUsarBaseDoEmployee_semPensao_eVariarPorDependentes() {
         BigDecimal salarioBruto = employee.getSalary();
         BigDecimal inss = SheetCalculator.calcularINSS(salarioBruto);
 
         employee.setDependents(0);
         BigDecimal irrf0 = SheetCalculator.calcularIRRF(salarioBruto, inss, employee.getDependents());
-        assertEquals(new BigDecimal("205.59"), irrf0);
+        assertEquals(new BigDecimal("36.15"), irrf0);
 
         employee.setDependents(2);
         BigDecimal irrf2 = SheetCalculator.calcularIRRF(salarioBruto, inss, employee.getDependents());
-        assertEquals(new BigDecimal("177.15"), irrf2);
+        assertEquals(new BigDecimal("7.71"), irrf2);
 
         employee.setDependents(3);
         BigDecimal irrf3 = SheetCalculator.calcularIRRF(salarioBruto, inss, employee.getDependents());
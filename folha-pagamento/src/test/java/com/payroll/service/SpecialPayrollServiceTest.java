@@ -0,0 +1,97 @@
+package com.payroll.service;
+
+import com.payroll.dtos.payroll.SpecialPayrollRunDTO;
+import com.payroll.dtos.payroll.SpecialPayslipDTO;
+import com.payroll.entity.Employee;
+import com.payroll.entity.SpecialPayslip;
+import com.payroll.exception.InputValidationException;
+import com.payroll.repository.ReportRepository;
+import com.payroll.test.EmployeeFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class SpecialPayrollServiceTest {
+
+    @Autowired
+    private SpecialPayrollService specialPayrollService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Test
+    @DisplayName("Gera as duas parcelas do 13º proporcionais aos meses com holerite no ano")
+    // Seis holerites em 2037: 6/12 avos; a 2ª parcela tributa o valor integral e abate o adiantamento
+    void deveGerarParcelasDoDecimoTerceiro() {
+        Employee emp = employeeService.createEmployee(EmployeeFixtures.analyst("12123434545", "3000"), 1L);
+        for (int m = 1; m <= 6; m++) {
+            payrollService.calculatePayroll(emp.getId(), String.format("2037-%02d", m), 1L);
+        }
+
+        SpecialPayrollRunDTO first = specialPayrollService.runThirteenthFirst(2037, 1L);
+        SpecialPayslipDTO advance = find(SpecialPayslip.THIRTEENTH_FIRST, "2037-11", emp.getId());
+        assertEquals(6, advance.getMonthsWorked());
+        assertEquals(0, new BigDecimal("750.00").compareTo(advance.getGrossValue()));
+        assertEquals(0, advance.getGrossValue().compareTo(advance.getNetValue()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(advance.getInssDiscount()));
+        assertTrue(first.getGenerated() >= 1);
+
+        specialPayrollService.runThirteenthSecond(2037, 1L);
+        SpecialPayslipDTO last = find(SpecialPayslip.THIRTEENTH_SECOND, "2037-12", emp.getId());
+        BigDecimal inss = payrollService.calcularINSS(new BigDecimal("1500.00"));
+        assertEquals(0, new BigDecimal("1500.00").compareTo(last.getGrossValue()));
+        assertEquals(0, inss.compareTo(last.getInssDiscount()));
+        assertEquals(0, new BigDecimal("750.00").compareTo(last.getAdvanceDeduction()));
+        assertEquals(0, last.getGrossValue().subtract(inss).subtract(last.getIrrfDiscount())
+                .subtract(last.getAdvanceDeduction()).compareTo(last.getNetValue()));
+        assertEquals(0, new BigDecimal("60.00").compareTo(last.getFgtsValue()));
+
+        // Repetir o lote substitui holerites e relatórios, sem duplicar
+        specialPayrollService.runThirteenthFirst(2037, 1L);
+        assertEquals(1, specialPayrollService.list(SpecialPayslip.THIRTEENTH_FIRST, "2037-11").stream()
+                .filter(s -> s.getEmployeeId().equals(emp.getId())).count());
+        assertEquals(1, reportRepository.findByEmployeeIdAndReferenceMonthAndReportType(
+                emp.getId(), "2037-11", SpecialPayrollService.REPORT_THIRTEENTH).size());
+    }
+
+    @Test
+    @DisplayName("Gera férias com o terço constitucional sobre os 12 meses anteriores")
+    // Quatro holerites no período aquisitivo: férias proporcionais (4/12) + 1/3, com INSS sobre o total
+    void deveGerarFeriasComTerco() {
+        Employee emp = employeeService.createEmployee(EmployeeFixtures.analyst("23234545656", "4500"), 1L);
+        for (int m = 3; m <= 6; m++) {
+            payrollService.calculatePayroll(emp.getId(), String.format("2038-%02d", m), 1L);
+        }
+
+        specialPayrollService.runVacation("2038-07", 1L);
+        SpecialPayslipDTO vacation = find(SpecialPayslip.VACATION, "2038-07", emp.getId());
+        assertEquals(4, vacation.getMonthsWorked());
+        assertEquals(0, new BigDecimal("500.00").compareTo(vacation.getVacationBonus()));
+        assertEquals(0, new BigDecimal("2000.00").compareTo(vacation.getGrossValue()));
+        assertEquals(0, payrollService.calcularINSS(new BigDecimal("2000.00")).compareTo(vacation.getInssDiscount()));
+        assertEquals(1, reportRepository.findByEmployeeIdAndReferenceMonthAndReportType(
+                emp.getId(), "2038-07", SpecialPayrollService.REPORT_VACATION).size());
+
+        assertThrows(InputValidationException.class, () -> specialPayrollService.runVacation("2038-13", 1L));
+    }
+
+    private SpecialPayslipDTO find(String kind, String month, Long employeeId) {
+        List<SpecialPayslipDTO> batch = specialPayrollService.list(kind, month);
+        return batch.stream().filter(s -> s.getEmployeeId().equals(employeeId)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,113 @@
+package com.payroll.service.bank;
+
+import com.payroll.collections.CollectionOps;
+import com.payroll.entity.Employee;
+import com.payroll.entity.PayrollCalculation;
+import com.payroll.exception.InputValidationException;
+import com.payroll.exception.NotFoundBusinessException;
+import com.payroll.service.EmployeeService;
+import com.payroll.service.PayrollService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class BankFileServiceTest {
+
+    private static final String MONTH = "2033-05";
+
+    @Autowired
+    private BankFileService bankFileService;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Test
+    @DisplayName("Gera remessa CNAB 240 com registros de 240 posições e trailers consistentes")
+    // Um funcionário com conta válida entra (segmentos A e B); o sem conta é ignorado e não afeta os totais
+    void deveGerarRemessaComTrailersConsistentes() throws Exception {
+        Employee paid = employee("32132132100", "João da Conceição", "4200", "341", "1234", "56789", "0");
+        Employee noAccount = employee("65465465400", "Sem Conta", "3100", null, null, null, null);
+        PayrollCalculation pc = payrollService.calculatePayroll(paid.getId(), MONTH, 1L);
+        payrollService.calculatePayroll(noAccount.getId(), MONTH, 1L);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BankFileService.Result result = bankFileService.writeBankFile(MONTH, LocalDate.of(2033, 6, 5), 7, out);
+
+        long netCents = CollectionOps.toCents(pc.getNetSalary());
+        assertEquals(1, result.payments());
+        assertEquals(1, result.skipped());
+        assertEquals(netCents, result.totalCents());
+
+        List<String> lines = new String(out.toByteArray(), StandardCharsets.US_ASCII).lines().toList();
+        assertEquals(6, lines.size());
+        lines.forEach(line -> assertEquals(Cnab240Writer.RECORD_LENGTH, line.length()));
+
+        assertEquals('0', lines.get(0).charAt(7));
+        assertEquals("000007", lines.get(0).substring(157, 163));
+
+        String segmentA = lines.get(2);
+        assertEquals("3", segmentA.substring(7, 8));
+        assertEquals("A", segmentA.substring(13, 14));
+        assertEquals("018", segmentA.substring(17, 20));
+        assertEquals("341", segmentA.substring(20, 23));
+        assertEquals("000000056789", segmentA.substring(29, 41));
+        assertTrue(segmentA.substring(43, 73).startsWith("JOAO DA CONCEICAO"));
+        assertEquals("05062033", segmentA.substring(93, 101));
+        assertEquals(netCents, Long.parseLong(segmentA.substring(119, 134)));
+
+        String segmentB = lines.get(3);
+        assertEquals("B", segmentB.substring(13, 14));
+        assertEquals("00032132132100", segmentB.substring(18, 32));
+
+        // Trailer do lote: header + A + B + trailer e soma dos créditos
+        String batchTrailer = lines.get(4);
+        assertEquals("000004", batchTrailer.substring(17, 23));
+        assertEquals(netCents, Long.parseLong(batchTrailer.substring(23, 41)));
+
+        // Trailer do arquivo: 1 lote e 6 registros
+        String fileTrailer = lines.get(5);
+        assertEquals("000001", fileTrailer.substring(17, 23));
+        assertEquals("000006", fileTrailer.substring(23, 29));
+    }
+
+    @Test
+    @DisplayName("Recusa competência inválida ou sem folha antes de iniciar o arquivo")
+    // Erros precisam ser detectados antes do streaming começar
+    void deveRecusarCompetenciaSemFolha() {
+        assertThrows(NotFoundBusinessException.class, () -> bankFileService.checkMonth("2033-11", null));
+        assertThrows(InputValidationException.class, () -> bankFileService.checkMonth("2033-13", null));
+    }
+
+    private Employee employee(String cpf, String name, String salary, String bank, String branch,
+                              String account, String digit) {
+        Employee e = new Employee();
+        e.setFullName(name);
+        e.setCpf(cpf);
+        e.setRg("RG" + cpf.substring(0, 6));
+        e.setPosition("Analyst");
+        e.setAdmissionDate(LocalDate.of(2020, 1, 1));
+        e.setSalary(new BigDecimal(salary));
+        e.setWeeklyHours(40);
+        e.setBankCode(bank);
+        e.setBankBranch(branch);
+        e.setBankAccount(account);
+        e.setBankAccountDigit(digit);
+        e.setCreatedBy(1L);
+        return employeeService.createEmployee(e, 1L);
+    }
+}
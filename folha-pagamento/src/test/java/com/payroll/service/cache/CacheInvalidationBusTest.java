@@ -0,0 +1,140 @@
+package com.payroll.service.cache;
+
+import com.payroll.FolhaPagamentoApplication;
+import com.payroll.dtos.cache.CacheInvalidationStatsDTO;
+import com.payroll.dtos.payroll.PayrollRuleDTO;
+import com.payroll.entity.CacheInvalidation;
+import com.payroll.entity.Employee;
+import com.payroll.event.CacheInvalidatedEvent;
+import com.payroll.repository.EmployeeRepository;
+import com.payroll.service.IEmployeeService;
+import com.payroll.service.rules.PayrollRuleService;
+import com.payroll.snapshot.EmployeeSnapshot;
+import com.payroll.test.EmployeeFixtures;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Duas instâncias completas da aplicação (contextos próprios) compartilhando um servidor H2 TCP
+class CacheInvalidationBusTest {
+
+    private static Server h2;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startCluster() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        h2 = Server.createTcpServer("-tcpPort", String.valueOf(port), "-ifNotExists").start();
+        String url = "jdbc:h2:tcp://localhost:" + port + "/mem:payroll_cache;DB_CLOSE_DELAY=-1";
+        nodeA = node(url, "create");
+        nodeB = node(url, "none");
+    }
+
+    @AfterAll
+    static void stopCluster() {
+        if (nodeB != null) nodeB.close();
+        if (nodeA != null) nodeA.close();
+        if (h2 != null) h2.stop();
+    }
+
+    @Test
+    @DisplayName("Propaga alterações de funcionário e de regras para os caches da outra instância")
+    // B carrega o snapshot e as regras; A altera um salário e cria uma regra. Depois da leitura da tabela,
+    // B enxerga os valores novos sem recarga manual e mede o atraso de propagação
+    void devePropagarInvalidacaoEntreInstancias() {
+        Employee employee = nodeA.getBean(EmployeeRepository.class)
+                .save(EmployeeFixtures.employee("81234567890", "Analista", "4000.00"));
+        CacheInvalidationBus busA = nodeA.getBean(CacheInvalidationBus.class);
+        CacheInvalidationBus busB = nodeB.getBean(CacheInvalidationBus.class);
+        busA.drain();
+        EmployeeSnapshot snapshotB = nodeB.getBean(EmployeeSnapshot.class);
+        PayrollRuleService rulesB = nodeB.getBean(PayrollRuleService.class);
+        snapshotB.rebuild();
+        BigDecimal before = snapshotB.totalSalaries();
+        String rulesBefore = rulesB.current().getVersion();
+
+        Employee details = nodeA.getBean(EmployeeRepository.class).findById(employee.getId()).orElseThrow();
+        details.setSalary(details.getSalary().add(new BigDecimal("1000.00")));
+        nodeA.getBean(IEmployeeService.class).updateEmployee(employee.getId(), details);
+        PayrollRuleDTO rule = new PayrollRuleDTO();
+        rule.setCode("BONUS_CACHE");
+        rule.setKind("EARNING");
+        rule.setExpression("100");
+        nodeA.getBean(PayrollRuleService.class).create(rule);
+
+        // As gravações da própria instância não voltam para ela pela tabela
+        assertEquals(0, busA.drain());
+        busB.drain();
+
+        assertEquals(0, before.add(new BigDecimal("1000.00")).compareTo(snapshotB.totalSalaries()));
+        assertNotEquals(rulesBefore, rulesB.current().getVersion());
+
+        CacheInvalidationStatsDTO statsA = busA.stats();
+        CacheInvalidationStatsDTO statsB = busB.stats();
+        assertTrue(statsA.getPublished() >= 2);
+        assertTrue(statsB.getApplied() >= 2);
+        assertTrue(statsB.getMaxLagMs() >= statsB.getMeanLagMs());
+        assertEquals(statsA.getCursor(), statsB.getCursor());
+    }
+
+    @Test
+    @DisplayName("Relê o ID reservado por uma transação que confirmou depois de um ID maior")
+    // Dois IDs reservados na sequence; o maior é gravado primeiro. B avança o cursor, guarda a lacuna
+    // e aplica o menor quando ele aparece
+    void deveRelerLacunaDeTransacaoAtrasada() {
+        CacheInvalidationBus busB = nodeB.getBean(CacheInvalidationBus.class);
+        List<CacheInvalidatedEvent> received = new CopyOnWriteArrayList<>();
+        nodeB.addApplicationListener(ApplicationListener.forPayload((CacheInvalidatedEvent e) -> {
+            if (e.isRemote()) received.add(e);
+        }));
+        busB.drain();
+
+        JdbcTemplate jdbc = nodeA.getBean(JdbcTemplate.class);
+        long slow = jdbc.queryForObject("SELECT NEXT VALUE FOR cache_invalidations_seq", Long.class);
+        long fast = jdbc.queryForObject("SELECT NEXT VALUE FOR cache_invalidations_seq", Long.class);
+        insert(jdbc, fast, 2L);
+        busB.drain();
+        assertEquals(fast, busB.stats().getCursor());
+        assertEquals(1, busB.stats().getPendingGaps());
+
+        insert(jdbc, slow, 1L);
+        busB.drain();
+        assertEquals(0, busB.stats().getPendingGaps());
+        assertEquals(List.of(2L, 1L), received.stream()
+                .filter(e -> e.isFor(CacheInvalidation.USER))
+                .map(CacheInvalidatedEvent::getEntityId)
+                .toList());
+    }
+
+    private static void insert(JdbcTemplate jdbc, long id, long userId) {
+        jdbc.update("INSERT INTO cache_invalidations (id, entity, entity_id, version, origin_node, created_at) "
+                + "VALUES (?, ?, ?, NULL, 'no-externo', ?)", id, CacheInvalidation.USER, userId, LocalDateTime.now());
+    }
+
+    private static ConfigurableApplicationContext node(String url, String ddl) {
+        // Argumentos de linha de comando: têm precedência sobre o application.properties de teste
+        return new SpringApplicationBuilder(FolhaPagamentoApplication.class)
+                .run("--spring.datasource.url=" + url,
+                        "--spring.jpa.hibernate.ddl-auto=" + ddl,
+                        "--server.port=0",
+                        "--spring.main.banner-mode=off");
+    }
+}
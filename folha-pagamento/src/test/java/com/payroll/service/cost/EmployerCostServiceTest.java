@@ -0,0 +1,127 @@
+package com.payroll.service.cost;
+
+import com.payroll.dtos.department.DepartmentDTO;
+import com.payroll.dtos.payroll.EmployerCostDTO;
+import com.payroll.dtos.payroll.EmployerCostReportDTO;
+import com.payroll.dtos.payroll.EmployerCostTotalsDTO;
+import com.payroll.dtos.payroll.PayrollRuleDTO;
+import com.payroll.entity.Employee;
+import com.payroll.entity.PayrollCalculation;
+import com.payroll.entity.PayrollRule;
+import com.payroll.service.EmployeeService;
+import com.payroll.service.PayrollService;
+import com.payroll.service.department.DepartmentService;
+import com.payroll.service.rules.PayrollRuleService;
+import com.payroll.test.EmployeeFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class EmployerCostServiceTest {
+
+    @Autowired
+    private EmployerCostService employerCostService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private PayrollRuleService ruleService;
+
+    @Test
+    @DisplayName("Projeta FGTS, INSS patronal e provisões e agrega por departamento e cargo")
+    // Dois funcionários lotados no departamento; um terceiro, admitido depois da competência, fica de fora
+    void deveProjetarCustoDoEmpregador() {
+        DepartmentDTO dept = departmentService.create(department("CUSTO_CFO", "Controladoria"));
+        Employee a = employee("81812121313", "Controller", "3000", LocalDate.of(2020, 1, 1), dept.getId());
+        employee("82823232424", "Controller", "5000", LocalDate.of(2020, 1, 1), dept.getId());
+        employee("83834343535", "Controller", "7000", LocalDate.of(2041, 1, 1), dept.getId());
+
+        EmployerCostDTO single = employerCostService.forEmployee(a.getId(), "2040-03");
+        assertEquals(0, new BigDecimal("240.00").compareTo(single.getFgts()));
+        assertEquals(0, new BigDecimal("834.00").compareTo(single.getEmployerInss()));
+        assertEquals(0, new BigDecimal("250.00").compareTo(single.getThirteenthProvision()));
+        assertEquals(0, new BigDecimal("333.33").compareTo(single.getVacationProvision()));
+        assertEquals(0, new BigDecimal("208.83").compareTo(single.getProvisionCharges()));
+        assertEquals(0, new BigDecimal("4866.16").compareTo(single.getTotalCost()));
+
+        EmployerCostReportDTO report = employerCostService.forMonth("2040-03");
+        EmployerCostTotalsDTO row = report.getDepartments().stream()
+                .filter(d -> dept.getId().equals(d.getDepartmentId())).findFirst().orElseThrow();
+        assertEquals("Controladoria", row.getDepartmentName());
+        assertEquals(2, row.getHeadcount());
+        assertEquals(0, new BigDecimal("8000.00").compareTo(row.getGrossPayroll()));
+        assertEquals(0, new BigDecimal("640.00").compareTo(row.getFgts()));
+        assertEquals(0, new BigDecimal("2224.00").compareTo(row.getEmployerInss()));
+        BigDecimal components = row.getGrossPayroll().add(row.getFgts()).add(row.getEmployerInss())
+                .add(row.getThirteenthProvision()).add(row.getVacationProvision()).add(row.getProvisionCharges());
+        assertEquals(0, components.compareTo(row.getTotalCost()));
+        assertTrue(report.getPositions().stream().anyMatch(p -> "Controller".equals(p.getPosition()) && p.getHeadcount() == 2));
+        assertEquals(0, report.getPositions().stream().map(EmployerCostTotalsDTO::getTotalCost)
+                .reduce(BigDecimal.ZERO, BigDecimal::add).compareTo(report.getTotal().getTotalCost()));
+    }
+
+    @Test
+    @DisplayName("Serve a projeção do cache e recalcula quando as regras de folha mudam")
+    // A segunda leitura devolve a mesma projeção; um provento novo muda a versão das regras e o bruto
+    void deveCachearPorCompetencia() {
+        DepartmentDTO dept = departmentService.create(department("CUSTO_CACHE", "Tesouraria"));
+        employee("84845454646", "Tesoureiro", "4000", LocalDate.of(2020, 1, 1), dept.getId());
+
+        EmployerCostReportDTO first = employerCostService.forMonth("2040-04");
+        assertSame(first, employerCostService.forMonth("2040-04"));
+
+        PayrollRuleDTO rule = new PayrollRuleDTO();
+        rule.setCode("GRATIF_TESOURARIA");
+        rule.setKind(PayrollRule.EARNING);
+        rule.setExpression("position == 'tesoureiro' ? 400 : 0");
+        ruleService.create(rule);
+
+        EmployerCostReportDTO second = employerCostService.forMonth("2040-04");
+        assertNotSame(first, second);
+        EmployerCostTotalsDTO row = second.getDepartments().stream()
+                .filter(d -> dept.getId().equals(d.getDepartmentId())).findFirst().orElseThrow();
+        assertEquals(0, new BigDecimal("4400.00").compareTo(row.getGrossPayroll()));
+    }
+
+    @Test
+    @DisplayName("Mantém o FGTS fora do total de descontos do holerite")
+    // FGTS é encargo do empregador: bruto - descontos = líquido, sem abater o FGTS
+    void deveManterFgtsForaDosDescontos() {
+        Employee e = employee("85856565757", "Analyst", "3000", LocalDate.of(2020, 1, 1), null);
+        PayrollCalculation pc = payrollService.calculatePayroll(e.getId(), "2040-05", 1L);
+        assertTrue(pc.getFgtsValue().signum() > 0);
+        assertEquals(0, pc.getInssDiscount().add(pc.getIrpfDiscount()).compareTo(pc.getTotalDiscounts()));
+        assertEquals(0, pc.getGrossSalary().subtract(pc.getTotalDiscounts()).compareTo(pc.getNetSalary()));
+    }
+
+    private Employee employee(String cpf, String position, String salary, LocalDate admission, Long departmentId) {
+        Employee e = EmployeeFixtures.employee(cpf, position, salary);
+        e.setAdmissionDate(admission);
+        Employee saved = employeeService.createEmployee(e, 1L);
+        if (departmentId != null) departmentService.assignEmployee(saved.getId(), departmentId);
+        return saved;
+    }
+
+    private static DepartmentDTO department(String code, String name) {
+        DepartmentDTO dto = new DepartmentDTO();
+        dto.setCode(code);
+        dto.setName(name);
+        return dto;
+    }
+}
@@ -0,0 +1,116 @@
+package com.payroll.service.department;
+
+import com.payroll.dtos.department.DepartmentDTO;
+import com.payroll.dtos.department.DepartmentRollupDTO;
+import com.payroll.entity.Employee;
+import com.payroll.entity.PayrollCalculation;
+import com.payroll.exception.InputValidationException;
+import com.payroll.service.EmployeeService;
+import com.payroll.service.PayrollService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class DepartmentTotalsServiceTest {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private DepartmentTotalsService totalsService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Test
+    @DisplayName("Mantém os totais por departamento a cada holerite e consolida a subárvore")
+    // DIR > FIN > FIN_AP; os totais de DIR somam os holerites dos três níveis sem reler os holerites
+    void deveConsolidarTotaisDaArvore() {
+        DepartmentDTO dir = departmentService.create(department("DIR", "Diretoria", null));
+        DepartmentDTO fin = departmentService.create(department("FIN", "Financeiro", dir.getId()));
+        DepartmentDTO ap = departmentService.create(department("FIN_AP", "Contas a Pagar", fin.getId()));
+        assertEquals("/" + dir.getId() + "/" + fin.getId() + "/" + ap.getId() + "/", ap.getPath());
+        assertEquals(2, ap.getDepth());
+
+        PayrollCalculation a = payslip("34345656767", "3000", ap.getId());
+        PayrollCalculation b = payslip("45456767878", "4200", ap.getId());
+        PayrollCalculation c = payslip("56567878989", "6100", fin.getId());
+        payslip("67678989090", "2500", null);
+
+        DepartmentRollupDTO apRow = totalsService.rollup(ap.getId(), "2039-01");
+        assertEquals(2, apRow.getHeadcount());
+        assertEquals(0, a.getGrossSalary().add(b.getGrossSalary()).compareTo(apRow.getGross()));
+
+        DepartmentRollupDTO finRow = totalsService.rollup(fin.getId(), "2039-01");
+        assertEquals(1, finRow.getHeadcount());
+        assertEquals(3, finRow.getSubtreeHeadcount());
+
+        DepartmentRollupDTO dirRow = totalsService.rollup(dir.getId(), "2039-01");
+        assertEquals(0, dirRow.getHeadcount());
+        assertEquals(3, dirRow.getSubtreeHeadcount());
+        assertEquals(0, a.getNetSalary().add(b.getNetSalary()).add(c.getNetSalary()).compareTo(dirRow.getSubtreeNet()));
+        assertEquals(0, a.getFgtsValue().add(b.getFgtsValue()).add(c.getFgtsValue()).compareTo(dirRow.getSubtreeFgts()));
+
+        // Reconstrução a partir dos holerites chega aos mesmos totais incrementais
+        totalsService.rebuild("2039-01");
+        assertEquals(0, dirRow.getSubtreeGross().compareTo(totalsService.rollup(dir.getId(), "2039-01").getSubtreeGross()));
+    }
+
+    @Test
+    @DisplayName("Move a subárvore inteira e recusa ciclos")
+    // FIN (com FIN_AP) passa para OPS: caminhos e profundidades da subárvore são reescritos juntos
+    void deveMoverSubarvore() {
+        DepartmentDTO dir = departmentService.create(department("DIR2", "Diretoria", null));
+        DepartmentDTO fin = departmentService.create(department("FIN2", "Financeiro", dir.getId()));
+        DepartmentDTO ap = departmentService.create(department("FIN2_AP", "Contas a Pagar", fin.getId()));
+        DepartmentDTO ops = departmentService.create(department("OPS2", "Operacoes", null));
+        payslip("78789090101", "3500", ap.getId());
+
+        departmentService.move(fin.getId(), ops.getId());
+        List<DepartmentDTO> tree = departmentService.list();
+        DepartmentDTO movedAp = tree.stream().filter(d -> d.getId().equals(ap.getId())).findFirst().orElseThrow();
+        assertEquals("/" + ops.getId() + "/" + fin.getId() + "/" + ap.getId() + "/", movedAp.getPath());
+        assertEquals(2, movedAp.getDepth());
+
+        assertEquals(1, totalsService.rollup(ops.getId(), "2039-01").getSubtreeHeadcount());
+        assertEquals(0, totalsService.rollup(dir.getId(), "2039-01").getSubtreeHeadcount());
+
+        assertThrows(InputValidationException.class, () -> departmentService.move(ops.getId(), ap.getId()));
+    }
+
+    private PayrollCalculation payslip(String cpf, String salary, Long departmentId) {
+        Employee e = new Employee();
+        e.setFullName("Departamento " + cpf);
+        e.setCpf(cpf);
+        e.setRg("RG" + cpf.substring(0, 6));
+        e.setPosition("Analyst");
+        e.setAdmissionDate(LocalDate.of(2020, 1, 1));
+        e.setSalary(new BigDecimal(salary));
+        e.setWeeklyHours(40);
+        e.setCreatedBy(1L);
+        Employee saved = employeeService.createEmployee(e, 1L);
+        if (departmentId != null) departmentService.assignEmployee(saved.getId(), departmentId);
+        return payrollService.calculatePayroll(saved.getId(), "2039-01", 1L);
+    }
+
+    private static DepartmentDTO department(String code, String name, Long parentId) {
+        DepartmentDTO dto = new DepartmentDTO();
+        dto.setCode(code);
+        dto.setName(name);
+        dto.setParentId(parentId);
+        return dto;
+    }
+}
@@ -0,0 +1,74 @@
+package com.payroll.service.discount;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchTaxCalculatorTest {
+
+    @Test
+    @DisplayName("Lote em centavos reproduz exatamente as estratégias de INSS e IRRF")
+    // Amostra aleatória com dependentes e pensão, mais os limites de faixa, na tabela vigente e em uma alternativa
+    void deveReproduzirEstrategiasExatamente() {
+        TaxTable alternative = new TaxTable("teste",
+                new BigDecimal[]{new BigDecimal("1500.00"), new BigDecimal("3000.00"), new BigDecimal("8000.00")},
+                new BigDecimal[]{new BigDecimal("0.08"), new BigDecimal("0.105"), new BigDecimal("0.13")},
+                new BigDecimal("2400.00"),
+                new BigDecimal[]{new BigDecimal("2500.00"), new BigDecimal("4000.00")},
+                new BigDecimal[]{BigDecimal.ZERO, new BigDecimal("0.10"), new BigDecimal("0.2475")},
+                new BigDecimal("200.00"));
+
+        for (TaxTable table : new TaxTable[]{TaxTable.DEFAULT, alternative}) {
+            int n = 50_000;
+            long[] gross = new long[n];
+            int[] dependents = new int[n];
+            long[] pension = new long[n];
+            Random random = new Random(7);
+            for (int j = 0; j < n; j++) {
+                gross[j] = random.nextInt(2_000_000) - 1_000;
+                dependents[j] = random.nextInt(4);
+                pension[j] = random.nextInt(10) == 0 ? random.nextInt(50_000) : 0;
+            }
+            // Valores exatamente nos limites e um centavo acima
+            for (int i = 0; i < table.inssBrackets(); i++) gross[2 * i] = table.inssLimit(i).movePointRight(2).longValueExact();
+            for (int i = 0; i < table.inssBrackets(); i++) gross[2 * i + 1] = gross[2 * i] + 1;
+
+            BatchTaxCalculator.BatchResult result = new BatchTaxCalculator(table).calculateBatch(gross, dependents, pension);
+
+            InssDiscountStrategy inssStrategy = new InssDiscountStrategy();
+            IrrfDiscountStrategy irrfStrategy = new IrrfDiscountStrategy();
+            for (int j = 0; j < n; j++) {
+                DiscountCalculationContext ctx = new DiscountCalculationContext()
+                        .setGrossSalary(BigDecimal.valueOf(gross[j], 2))
+                        .setDependents(dependents[j])
+                        .setPensionAlimony(BigDecimal.valueOf(pension[j], 2))
+                        .setTaxTable(table);
+                BigDecimal inss = inssStrategy.calculate(ctx);
+                ctx.setInssDiscount(inss);
+                BigDecimal irrf = irrfStrategy.calculate(ctx);
+
+                assertEquals(0, inss.compareTo(BigDecimal.valueOf(result.inss()[j], 2)), "INSS " + gross[j]);
+                assertEquals(0, irrf.compareTo(BigDecimal.valueOf(result.irrf()[j], 2)),
+                        "IRRF " + gross[j] + " dep=" + dependents[j] + " pensao=" + pension[j]);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Rejeita tabelas que não cabem em centavos inteiros e arrays de tamanhos diferentes")
+    void deveValidarTabelaEEntradas() {
+        TaxTable fractional = new TaxTable("fracionada",
+                new BigDecimal[]{new BigDecimal("1000.005")}, new BigDecimal[]{new BigDecimal("0.1")},
+                new BigDecimal("2000"), new BigDecimal[]{new BigDecimal("3000")},
+                new BigDecimal[]{BigDecimal.ZERO, new BigDecimal("0.2")}, new BigDecimal("100"));
+        assertThrows(IllegalArgumentException.class, () -> new BatchTaxCalculator(fractional));
+
+        BatchTaxCalculator calculator = new BatchTaxCalculator(TaxTable.DEFAULT);
+        assertThrows(IllegalArgumentException.class,
+                () -> calculator.calculateBatch(new long[2], new int[1], null));
+    }
+}
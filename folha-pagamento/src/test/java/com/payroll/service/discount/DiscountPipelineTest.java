@@ -0,0 +1,56 @@
+package com.payroll.service.discount;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiscountPipelineTest {
+
+    @Test
+    @DisplayName("Ordena os descontos pelas dependências independentemente da ordem de registro")
+    // IRRF registrado antes do INSS ainda deve rodar depois dele e usar o INSS calculado
+    void deveExecutarInssAntesDoIrrf() {
+        DiscountPipeline pipeline = new DiscountPipeline(List.of(
+                new IrrfDiscountStrategy(), new TransportDiscountStrategy(), new InssDiscountStrategy()));
+
+        List<DiscountType> order = pipeline.executionOrder();
+        assertTrue(order.indexOf(DiscountType.INSS) < order.indexOf(DiscountType.IRRF));
+
+        DiscountCalculationContext ctx = pipeline.execute(new DiscountCalculationContext()
+                .setGrossSalary(new BigDecimal("6000.00"))
+                .setDependents(1)
+                .setTransportEnabled(false));
+
+        BigDecimal inss = new InssDiscountStrategy().calculate(new DiscountCalculationContext()
+                .setGrossSalary(new BigDecimal("6000.00")));
+        BigDecimal irrf = new IrrfDiscountStrategy().calculate(new DiscountCalculationContext()
+                .setGrossSalary(new BigDecimal("6000.00")).setInssDiscount(inss).setDependents(1));
+        assertEquals(inss, ctx.getResult(DiscountType.INSS));
+        assertEquals(irrf, ctx.getResult(DiscountType.IRRF));
+        assertEquals(0, BigDecimal.ZERO.compareTo(ctx.getResult(DiscountType.TRANSPORT)));
+        assertSame(pipeline.strategy(DiscountType.IRRF).getClass(), IrrfDiscountStrategy.class);
+    }
+
+    @Test
+    @DisplayName("Rejeita registro incompleto, duplicado ou com dependência circular")
+    // Erros de montagem aparecem na inicialização, não no primeiro cálculo
+    void deveFalharNaMontagemInvalida() {
+        assertThrows(IllegalStateException.class, () -> new DiscountPipeline(List.of(new InssDiscountStrategy())));
+        assertThrows(IllegalStateException.class, () -> new DiscountPipeline(List.of(
+                new InssDiscountStrategy(), new InssDiscountStrategy(), new IrrfDiscountStrategy(), new TransportDiscountStrategy())));
+
+        DiscountStrategy circularInss = new InssDiscountStrategy() {
+            @Override
+            public Set<DiscountType> dependsOn() {
+                return Set.of(DiscountType.IRRF);
+            }
+        };
+        assertThrows(IllegalStateException.class, () -> new DiscountPipeline(List.of(
+                circularInss, new IrrfDiscountStrategy(), new TransportDiscountStrategy())));
+    }
+}
@@ -0,0 +1,167 @@
+package com.payroll.service.discount;
+
+import com.payroll.service.INSS;
+import com.payroll.service.IRRF;
+import com.payroll.service.PayrollConstants;
+import com.payroll.service.SheetCalculator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Compara o núcleo unificado com o cálculo faixa a faixa (INSS e IRRF) e com a API legada que ele substituiu
+class TaxKernelDifferentialTest {
+
+    private static final TaxTable ALTERNATIVE = new TaxTable("teste",
+            new BigDecimal[]{new BigDecimal("1500.00"), new BigDecimal("3000.00"), new BigDecimal("8000.00")},
+            new BigDecimal[]{new BigDecimal("0.08"), new BigDecimal("0.10"), new BigDecimal("0.13")},
+            new BigDecimal("2500.00"),
+            new BigDecimal[]{new BigDecimal("2500.00"), new BigDecimal("4000.00")},
+            new BigDecimal[]{BigDecimal.ZERO, new BigDecimal("0.10"), new BigDecimal("0.25")},
+            new BigDecimal("200.00"));
+
+    @Test
+    @DisplayName("INSS e IRRF do núcleo coincidem com o cálculo faixa a faixa em todas as APIs")
+    // Limites de faixa (±1 centavo), valores com mais de 2 casas e amostra aleatória, nas duas tabelas
+    void deveCoincidirComCalculoFaixaAFaixa() {
+        for (TaxTable table : List.of(TaxTable.DEFAULT, ALTERNATIVE)) {
+            for (BigDecimal gross : samples()) {
+                BigDecimal expectedInss = referenceInss(table, gross);
+                DiscountCalculationContext ctx = new DiscountCalculationContext().setGrossSalary(gross).setTaxTable(table);
+                BigDecimal inss = new InssDiscountStrategy().calculate(ctx);
+                assertEquals(expectedInss, inss, "INSS " + gross + " " + table.getVersion());
+
+                for (int dependents = 0; dependents <= 3; dependents++) {
+                    ctx.setInssDiscount(inss).setDependents(dependents).setPensionAlimony(BigDecimal.ZERO);
+                    assertEquals(referenceIrrf(table, gross, inss, dependents), new IrrfDiscountStrategy().calculate(ctx),
+                            "IRRF " + gross + " dep=" + dependents + " " + table.getVersion());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("API legada e estratégias produzem o mesmo INSS e o mesmo IRRF")
+    // INSS e IRRF da API legada (classes e SheetCalculator) iguais aos das estratégias, em todas as faixas
+    void deveManterApiLegadaAlinhadaAoNucleo() {
+        for (BigDecimal gross : samples()) {
+            BigDecimal inss = new InssDiscountStrategy().calculate(new DiscountCalculationContext().setGrossSalary(gross));
+            SheetCalculator.DescontoContext legacy = new SheetCalculator.DescontoContext(gross, BigDecimal.ZERO, 0, BigDecimal.ZERO);
+            assertEquals(inss, new INSS().calcular(legacy));
+            assertEquals(inss, SheetCalculator.calcularINSS(gross));
+
+            for (int dependents = 0; dependents <= 3; dependents++) {
+                BigDecimal irrf = new IrrfDiscountStrategy().calculate(new DiscountCalculationContext()
+                        .setGrossSalary(gross).setInssDiscount(inss).setDependents(dependents).setPensionAlimony(BigDecimal.ZERO));
+                SheetCalculator.DescontoContext withInss = new SheetCalculator.DescontoContext(gross, inss, dependents, BigDecimal.ZERO);
+                assertEquals(irrf, new IRRF().calcular(withInss), "IRRF " + gross + " dep=" + dependents);
+                assertEquals(irrf, SheetCalculator.calcularIRRF(gross, inss, dependents), "IRRF " + gross + " dep=" + dependents);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Parcela a deduzir pré-calculada bate com a tabela oficial de 2024")
+    // Valores publicados: 169,44 / 381,44 / 662,77 / 896,00
+    void deveDerivarParcelaADeduzirOficial() {
+        TaxKernel kernel = TaxTable.DEFAULT.kernel();
+        assertEquals(0, new BigDecimal("169.44").compareTo(kernel.irrfDeduction(1)));
+        assertEquals(0, new BigDecimal("381.44").compareTo(kernel.irrfDeduction(2).setScale(2, RoundingMode.HALF_UP)));
+        assertEquals(0, new BigDecimal("662.77").compareTo(kernel.irrfDeduction(3).setScale(2, RoundingMode.HALF_UP)));
+        assertEquals(0, new BigDecimal("896.00").compareTo(kernel.irrfDeduction(4).setScale(2, RoundingMode.HALF_UP)));
+    }
+
+    @Test
+    @DisplayName("IRRF não tributa de novo a base restante na alíquota máxima (correção da estratégia anterior)")
+    // A estratégia anterior ao núcleo, ao parar na faixa da base, somava ainda o restante à alíquota de 27,5%:
+    // base 3000 dava 116,23; o valor correto (tabela com parcela a deduzir) é 3000 * 15% - 381,44 = 68,56
+    void deveCorrigirIrrfDaEstrategiaAnterior() {
+        BigDecimal base = new BigDecimal("3000.00");
+        DiscountCalculationContext ctx = new DiscountCalculationContext()
+                .setGrossSalary(base).setInssDiscount(BigDecimal.ZERO).setDependents(0).setPensionAlimony(BigDecimal.ZERO);
+        assertEquals(new BigDecimal("68.56"), new IrrfDiscountStrategy().calculate(ctx));
+        assertEquals(new BigDecimal("116.23"), previousStrategyIrrf(TaxTable.DEFAULT, base));
+    }
+
+    private static List<BigDecimal> samples() {
+        List<BigDecimal> values = new ArrayList<>();
+        BigDecimal cent = new BigDecimal("0.01");
+        List<BigDecimal> limits = new ArrayList<>(List.of(PayrollConstants.INSS_LIMITS));
+        limits.addAll(List.of(PayrollConstants.IRPF_LIMITS));
+        for (BigDecimal limit : limits) {
+            values.add(limit.subtract(cent));
+            values.add(limit);
+            values.add(limit.add(cent));
+        }
+        values.add(BigDecimal.ZERO);
+        values.add(new BigDecimal("-10.00"));
+        values.add(new BigDecimal("3000"));
+        values.add(new BigDecimal("4380.1234")); // bruto com adicionais ainda sem arredondar
+        Random random = new Random(42);
+        for (int i = 0; i < 2_000; i++) values.add(BigDecimal.valueOf(random.nextInt(2_500_000), 2));
+        return values;
+    }
+
+    // --- Implementações de referência (cálculo faixa a faixa, independente do núcleo) ---
+
+    private static BigDecimal referenceInss(TaxTable table, BigDecimal salary) {
+        if (salary.compareTo(BigDecimal.ZERO) <= 0) return BigDecimal.ZERO;
+        BigDecimal total = BigDecimal.ZERO;
+        BigDecimal remaining = salary;
+        for (int i = 0; i < table.inssBrackets() && remaining.compareTo(BigDecimal.ZERO) > 0; i++) {
+            BigDecimal previous = i > 0 ? table.inssLimit(i - 1) : BigDecimal.ZERO;
+            BigDecimal taxable = remaining.min(table.inssLimit(i).subtract(previous));
+            if (taxable.compareTo(BigDecimal.ZERO) > 0) {
+                total = total.add(taxable.multiply(table.inssRate(i)));
+                remaining = remaining.subtract(taxable);
+            }
+        }
+        return total.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal referenceIrrf(TaxTable table, BigDecimal gross, BigDecimal inss, int dependents) {
+        BigDecimal base = gross.subtract(inss).subtract(table.getDependentDeduction().multiply(new BigDecimal(dependents)));
+        if (base.compareTo(table.getIrrfExemptLimit()) <= 0) return BigDecimal.ZERO;
+        BigDecimal total = BigDecimal.ZERO;
+        BigDecimal remaining = base;
+        for (int i = 0; i < table.irrfBrackets() && remaining.compareTo(BigDecimal.ZERO) > 0; i++) {
+            BigDecimal previous = i > 0 ? table.irrfLimit(i - 1) : BigDecimal.ZERO;
+            if (base.compareTo(table.irrfLimit(i)) > 0) {
+                BigDecimal taxable = table.irrfLimit(i).subtract(previous);
+                total = total.add(taxable.multiply(table.irrfRate(i)));
+                remaining = remaining.subtract(taxable);
+            } else {
+                total = total.add(base.subtract(previous).multiply(table.irrfRate(i)));
+                remaining = BigDecimal.ZERO;
+            }
+        }
+        if (remaining.compareTo(BigDecimal.ZERO) > 0) total = total.add(remaining.multiply(table.irrfTopRate()));
+        return total.setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // Estratégia de IRRF anterior ao núcleo, com o defeito: após o 'break' o restante ainda era tributado
+    private static BigDecimal previousStrategyIrrf(TaxTable table, BigDecimal base) {
+        if (base.compareTo(table.getIrrfExemptLimit()) <= 0) return BigDecimal.ZERO;
+        BigDecimal total = BigDecimal.ZERO;
+        BigDecimal remaining = base;
+        for (int i = 0; i < table.irrfBrackets() && remaining.compareTo(BigDecimal.ZERO) > 0; i++) {
+            BigDecimal previous = i > 0 ? table.irrfLimit(i - 1) : BigDecimal.ZERO;
+            if (base.compareTo(table.irrfLimit(i)) > 0) {
+                BigDecimal taxable = table.irrfLimit(i).subtract(previous);
+                total = total.add(taxable.multiply(table.irrfRate(i)));
+                remaining = remaining.subtract(taxable);
+            } else {
+                total = total.add(base.subtract(previous).multiply(table.irrfRate(i)));
+                break;
+            }
+        }
+        if (remaining.compareTo(BigDecimal.ZERO) > 0) total = total.add(remaining.multiply(table.irrfTopRate()));
+        return total.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,65 @@
+package com.payroll.service.discount;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaxResultCacheTest {
+
+    private final DiscountPipeline pipeline = new DiscountPipeline(List.of(
+            new InssDiscountStrategy(), new IrrfDiscountStrategy(), new TransportDiscountStrategy()));
+
+    @Test
+    @DisplayName("Resultados memoizados são idênticos aos calculados e entradas equivalentes compartilham a chave")
+    // 3000 e 3000.00 são a mesma entrada; o vale-transporte não é memoizado e segue o valor de cada funcionário
+    void deveReaproveitarResultadosSemAlterarValores() {
+        TaxResultCache cache = new TaxResultCache(100);
+
+        DiscountCalculationContext first = pipeline.execute(context("3000", 1, "100"), cache);
+        DiscountCalculationContext second = pipeline.execute(context("3000.00", 1, "50"), cache);
+        DiscountCalculationContext plain = pipeline.execute(context("3000.00", 1, "50"));
+
+        assertEquals(plain.getResult(DiscountType.INSS), second.getResult(DiscountType.INSS));
+        assertEquals(plain.getResult(DiscountType.IRRF), second.getResult(DiscountType.IRRF));
+        assertEquals(first.getResult(DiscountType.INSS), second.getResult(DiscountType.INSS));
+        assertEquals(new BigDecimal("50.00"), second.getResult(DiscountType.TRANSPORT));
+
+        TaxResultCache.Stats stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(1, stats.size());
+        assertEquals(0.5, stats.hitRate());
+
+        // Outro número de dependentes é outra entrada
+        pipeline.execute(context("3000", 2, "0"), cache);
+        assertEquals(2, cache.stats().misses());
+    }
+
+    @Test
+    @DisplayName("Respeita a capacidade despejando as entradas menos usadas")
+    // Com um único segmento, a entrada acessada recentemente sobrevive ao despejo
+    void deveDespejarMenosRecentementeUsada() {
+        TaxResultCache cache = new TaxResultCache(1);
+        pipeline.execute(context("2000", 0, "0"), cache);
+        pipeline.execute(context("2500", 0, "0"), cache);
+
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.stats().evictions());
+
+        pipeline.execute(context("2500", 0, "0"), cache);
+        assertEquals(1, cache.stats().hits());
+    }
+
+    private DiscountCalculationContext context(String gross, int dependents, String transport) {
+        return new DiscountCalculationContext()
+                .setGrossSalary(new BigDecimal(gross))
+                .setDependents(dependents)
+                .setTransportEnabled(true)
+                .setTransportVoucherValue(new BigDecimal(transport))
+                .setPensionAlimony(BigDecimal.ZERO);
+    }
+}
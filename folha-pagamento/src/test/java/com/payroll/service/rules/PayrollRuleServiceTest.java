@@ -0,0 +1,185 @@
+package com.payroll.service.rules;
+
+import com.payroll.dtos.payroll.PayrollRuleDTO;
+import com.payroll.entity.Employee;
+import com.payroll.entity.PayrollCalculation;
+import com.payroll.entity.PayrollRule;
+import com.payroll.exception.InputValidationException;
+import com.payroll.model.PayrollInput;
+import com.payroll.model.PayrollResult;
+import com.payroll.repository.PayrollCalculationRepository;
+import com.payroll.repository.PayrollRuleRepository;
+import com.payroll.service.EmployeeService;
+import com.payroll.service.PayrollService;
+import com.payroll.service.discount.TaxTable;
+import com.payroll.test.EmployeeFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class PayrollRuleServiceTest {
+
+    @Autowired
+    private PayrollRuleService ruleService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private PayrollCalculationRepository payrollRepository;
+
+    @Autowired
+    private PayrollRuleRepository ruleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Aplica regras de provento e desconto cadastradas ao cálculo e ao recálculo da competência")
+    // Provento de 10% para motoristas e desconto de 1% do bruto; holerites antigos ficam desatualizados
+    void deveAplicarRegrasNoCalculo() {
+        Employee emp = employeeService.createEmployee(EmployeeFixtures.employee("91012123434", "Motorista", "3000"), 1L);
+        PayrollResult before = payrollService.compute(PayrollInput.from(emp), TaxTable.DEFAULT, null);
+        payrollService.calculatePayroll(emp.getId(), "2036-02", 1L);
+
+        ruleService.create(rule("ADIC_MOTORISTA", PayrollRule.EARNING, "position == 'motorista' ? salary * 0.10 : 0"));
+        ruleService.create(rule("CONTRIB_ASSOC", PayrollRule.DEDUCTION, "round(grossSalary * 0.01)"));
+        assertFalse(ruleService.refresh().isEmpty());
+
+        PayrollResult after = payrollService.compute(PayrollInput.from(emp), TaxTable.DEFAULT, null);
+        assertEquals(0, new BigDecimal("300.00").compareTo(after.getOtherEarnings()));
+        assertEquals(0, new BigDecimal("300.00").compareTo(after.getGrossSalary().subtract(before.getGrossSalary())));
+        BigDecimal expectedDeduction = after.getGrossSalary().multiply(new BigDecimal("0.01"))
+                .setScale(2, RoundingMode.HALF_UP);
+        assertEquals(0, expectedDeduction.compareTo(after.getOtherDeductions()));
+        assertEquals(0, after.getNetSalary().compareTo(after.getGrossSalary().subtract(after.getTotalDiscounts())));
+
+        // A versão das regras entra no fingerprint: o holerite calculado antes é refeito
+        assertEquals(1, payrollService.recalculateMonth("2036-02").getRecalculated());
+        PayrollCalculation recalculated = payrollRepository.findByEmployeeIdAndReferenceMonth(emp.getId(), "2036-02")
+                .orElseThrow();
+        assertEquals(0, after.getGrossSalary().compareTo(recalculated.getGrossSalary()));
+        assertEquals(0, payrollService.recalculateMonth("2036-02").getRecalculated());
+    }
+
+    @Test
+    @DisplayName("Mudança de cargo desatualiza o holerite quando uma regra lê o cargo")
+    // O cargo não entra no cálculo legado, só nas regras: sem ele no fingerprint o recálculo pularia a folha
+    void deveRecalcularAoMudarVariavelLidaPelaRegra() {
+        ruleService.create(rule("ADIC_VIGIA", PayrollRule.EARNING, "position == 'vigia' ? 250 : 0"));
+        Employee emp = employeeService.createEmployee(EmployeeFixtures.employee("91012125656", "Vigia", "2800"), 1L);
+        PayrollCalculation first = payrollService.calculatePayroll(emp.getId(), "2036-03", 1L);
+        assertEquals(0, new BigDecimal("250.00").compareTo(first.getOtherEarnings()));
+
+        Employee details = employeeService.getEmployeeById(emp.getId()).orElseThrow();
+        details.setPosition("Porteiro");
+        employeeService.updateEmployee(emp.getId(), details);
+
+        assertEquals(1, payrollService.recalculateMonth("2036-03").getRecalculated());
+        PayrollCalculation recalculated = payrollRepository.findByEmployeeIdAndReferenceMonth(emp.getId(), "2036-03")
+                .orElseThrow();
+        assertEquals(0, BigDecimal.ZERO.compareTo(recalculated.getOtherEarnings()));
+    }
+
+    @Test
+    @DisplayName("Recusa expressões inválidas no cadastro da regra")
+    // Sintaxe, tipos, variáveis fora do escopo e natureza desconhecida são rejeitados antes de gravar
+    void deveRecusarExpressoesInvalidas() {
+        assertThrows(InputValidationException.class,
+                () -> ruleService.create(rule("SEM_OPERANDO", PayrollRule.EARNING, "salary *")));
+        assertThrows(InputValidationException.class,
+                () -> ruleService.create(rule("BRUTO_PROVENTO", PayrollRule.EARNING, "grossSalary * 0.05")));
+        assertThrows(InputValidationException.class,
+                () -> ruleService.create(rule("TEXTO_SOMA", PayrollRule.EARNING, "position + 1")));
+        assertThrows(InputValidationException.class,
+                () -> ruleService.create(rule("DESCONHECIDA", PayrollRule.DEDUCTION, "bonus * 2")));
+        assertThrows(InputValidationException.class,
+                () -> ruleService.create(rule("NATUREZA", "BENEFIT", "salary * 0.01")));
+        assertTrue(ruleService.list().stream().noneMatch(r -> r.getCode().equals("SEM_OPERANDO")));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Não publica como vigente o conjunto lido antes de uma gravação confirmada")
+    // A recarga lê as regras e fica parada; outra transação altera uma regra e confirma (descartando o cache);
+    // ao terminar, a recarga não pode deixar o conjunto antigo como vigente
+    void deveDescartarConjuntoLidoAntesDeGravacaoConfirmada() throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        PayrollRuleDTO inactive = rule("RECARGA_CONCORRENTE", PayrollRule.EARNING, "0");
+        inactive.setActive(false);
+        Long id = tx.execute(status -> ruleService.create(inactive)).getId();
+
+        PayrollRuleService target = AopTestUtils.getTargetObject(ruleService);
+        CountDownLatch read = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PayrollRuleRepository paused = (PayrollRuleRepository) Proxy.newProxyInstance(
+                PayrollRuleRepository.class.getClassLoader(), new Class<?>[]{PayrollRuleRepository.class},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(ruleRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (method.getName().equals("findByActiveTrueOrderByPriorityAscIdAsc")) {
+                        read.countDown();
+                        release.await(10, TimeUnit.SECONDS);
+                    }
+                    return result;
+                });
+        ReflectionTestUtils.setField(target, "ruleRepository", paused);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<CompiledRuleSet> refresh = pool.submit(ruleService::refresh);
+            assertTrue(read.await(10, TimeUnit.SECONDS));
+
+            PayrollRuleDTO change = new PayrollRuleDTO();
+            change.setDescription("alterada durante a recarga");
+            tx.execute(status -> ruleService.update(id, change));
+            release.countDown();
+            refresh.get(10, TimeUnit.SECONDS);
+
+            assertNull(ReflectionTestUtils.getField(target, "current"));
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+            ReflectionTestUtils.setField(target, "ruleRepository", ruleRepository);
+            ruleRepository.deleteById(id);
+        }
+    }
+
+    private static PayrollRuleDTO rule(String code, String kind, String expression) {
+        PayrollRuleDTO dto = new PayrollRuleDTO();
+        dto.setCode(code);
+        dto.setKind(kind);
+        dto.setExpression(expression);
+        dto.setDescription(code);
+        dto.setPriority(10);
+        dto.setActive(true);
+        return dto;
+    }
+}
@@ -0,0 +1,141 @@
+package com.payroll.service.run;
+
+import com.payroll.FolhaPagamentoApplication;
+import com.payroll.dtos.payroll.PayrollRunPartitionDTO;
+import com.payroll.dtos.payroll.PayrollRunStatusDTO;
+import com.payroll.entity.Employee;
+import com.payroll.entity.User;
+import com.payroll.repository.EmployeeRepository;
+import com.payroll.repository.PayrollRunPartitionRepository;
+import com.payroll.repository.UserRepository;
+import com.payroll.service.PayrollMonthTotalsService;
+import com.payroll.service.PayrollService;
+import com.payroll.test.EmployeeFixtures;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.ServerSocket;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Duas instâncias completas da aplicação (contextos próprios) compartilhando um servidor H2 TCP
+class PayrollRunServiceTest {
+
+    private static final String MONTH = "2043-06";
+
+    private static Server h2;
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startCluster() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        h2 = Server.createTcpServer("-tcpPort", String.valueOf(port), "-ifNotExists").start();
+        String url = "jdbc:h2:tcp://localhost:" + port + "/mem:payroll_runs;DB_CLOSE_DELAY=-1";
+        nodeA = node(url, "create");
+        nodeB = node(url, "none");
+    }
+
+    @AfterAll
+    static void stopCluster() {
+        if (nodeB != null) nodeB.close();
+        if (nodeA != null) nodeA.close();
+        if (h2 != null) h2.stop();
+    }
+
+    @Test
+    @DisplayName("Distribui o fechamento entre instâncias sem calcular o mesmo funcionário duas vezes")
+    // 60 funcionários em partições de 7; uma partição está com a concessão vencida de uma instância que caiu
+    // e um holerite já foi calculado antes do lote. As duas instâncias trabalham ao mesmo tempo
+    void deveDistribuirFechamentoEntreInstancias() throws Exception {
+        EmployeeRepository employees = nodeA.getBean(EmployeeRepository.class);
+        List<Employee> created = new ArrayList<>();
+        for (int i = 0; i < 60; i++) created.add(EmployeeFixtures.employee(
+                String.format("7%010d", i), i % 2 == 0 ? "Operador" : "Analista", String.valueOf(2500 + i * 50)));
+        employees.saveAll(created);
+        int headcount = (int) employees.count();
+
+        Long adminId = nodeA.getBean(UserRepository.class).findByUsername("admin").map(User::getId).orElseThrow();
+        nodeA.getBean(PayrollService.class).calculatePayroll(created.get(0).getId(), MONTH, adminId);
+
+        PayrollRunService serviceA = nodeA.getBean(PayrollRunService.class);
+        PayrollRunService serviceB = nodeB.getBean(PayrollRunService.class);
+        assertNotEquals(serviceA.getNodeId(), serviceB.getNodeId());
+        PayrollRunStatusDTO planned = serviceA.start(MONTH, 7, adminId);
+        assertEquals((headcount + 6) / 7, planned.getPartitions());
+
+        // Instância que caiu no meio da partição: concessão vencida, nada gravado
+        JdbcTemplate jdbc = nodeA.getBean(JdbcTemplate.class);
+        Long abandoned = planned.getDetails().get(1).getId();
+        jdbc.update("UPDATE payroll_run_partitions SET status = 'RUNNING', owner = 'no-caido', lease_token = 1, "
+                + "attempts = 1, lease_expires_at = ? WHERE id = ?", LocalDate.of(2000, 1, 1).atStartOfDay(), abandoned);
+
+        CompletableFuture<Integer> workA = CompletableFuture.supplyAsync(() -> serviceA.work(MONTH));
+        CompletableFuture<Integer> workB = CompletableFuture.supplyAsync(() -> serviceB.work(MONTH));
+        workA.get();
+        workB.get();
+        PayrollRunStatusDTO status = awaitFinished(serviceB);
+
+        assertEquals(0, status.getFailedPartitions());
+        assertEquals(headcount - 1, status.getProcessed());
+        assertEquals(1, status.getSkipped());
+        assertEquals(headcount, jdbc.queryForObject(
+                "SELECT COUNT(DISTINCT employee_id) FROM payroll_calculations WHERE reference_month = ?", Integer.class, MONTH));
+        assertEquals(headcount, jdbc.queryForObject(
+                "SELECT COUNT(*) FROM payroll_calculations WHERE reference_month = ?", Integer.class, MONTH));
+
+        Set<String> owners = status.getDetails().stream().map(PayrollRunPartitionDTO::getOwner).collect(Collectors.toSet());
+        assertTrue(Set.of(serviceA.getNodeId(), serviceB.getNodeId()).containsAll(owners));
+        PayrollRunPartitionDTO takenOver = status.getDetails().stream()
+                .filter(p -> p.getId().equals(abandoned)).findFirst().orElseThrow();
+        assertEquals(2, takenOver.getAttempts());
+
+        // A instância antiga não consegue mais gravar: o token da concessão mudou
+        PayrollRunPartitionRepository partitions = nodeB.getBean(PayrollRunPartitionRepository.class);
+        int staleWrite = new TransactionTemplate(nodeB.getBean(PlatformTransactionManager.class)).execute(tx ->
+                partitions.advance(abandoned, 1L, 0L, 1, 0, 0, null,
+                        LocalDate.now().atStartOfDay(), LocalDate.now().plusDays(1).atStartOfDay()));
+        assertEquals(0, staleWrite);
+
+        // Quem concluiu a última partição reconstruiu o razão do mês
+        assertEquals(headcount, nodeA.getBean(PayrollMonthTotalsService.class).getTotals(MONTH)
+                .orElseThrow().getHeadcount());
+    }
+
+    private static ConfigurableApplicationContext node(String url, String ddl) {
+        // Argumentos de linha de comando: têm precedência sobre o application.properties de teste
+        return new SpringApplicationBuilder(FolhaPagamentoApplication.class)
+                .run("--spring.datasource.url=" + url,
+                        "--spring.jpa.hibernate.ddl-auto=" + ddl,
+                        "--server.port=0",
+                        "--spring.main.banner-mode=off");
+    }
+
+    // Aguarda as varreduras agendadas que ainda estejam com alguma partição
+    private static PayrollRunStatusDTO awaitFinished(PayrollRunService service) throws InterruptedException {
+        PayrollRunStatusDTO status = service.status(MONTH);
+        for (int i = 0; i < 100 && !status.isFinished(); i++) {
+            Thread.sleep(100);
+            status = service.status(MONTH);
+        }
+        assertTrue(status.isFinished());
+        return status;
+    }
+}
@@ -0,0 +1,139 @@
+package com.payroll.service.timesheet;
+
+import com.payroll.dtos.timesheet.PunchIngestionResultDTO;
+import com.payroll.dtos.timesheet.TimesheetMonthDTO;
+import com.payroll.entity.Employee;
+import com.payroll.entity.PayrollCalculation;
+import com.payroll.exception.NotFoundBusinessException;
+import com.payroll.service.EmployeeService;
+import com.payroll.service.PayrollService;
+import com.payroll.test.EmployeeFixtures;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class PunchIngestionServiceTest {
+
+    @Autowired
+    private PunchIngestionService ingestionService;
+
+    @Autowired
+    private TimesheetService timesheetService;
+
+    @Autowired
+    private PayrollService payrollService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Test
+    @DisplayName("Ingere NDJSON, apura horas extras incrementalmente e a folha usa a apuração")
+    // Dia de 10h (2h extras) com linha repetida, inválida e de funcionário inexistente; depois mais um dia no mês
+    void deveApurarHorasExtrasEAlimentarFolha() {
+        Employee emp = employee("91929394950", false);
+        PunchIngestionResultDTO first = ingest(
+                punch(emp, "2024-03-04T08:00:00"), punch(emp, "2024-03-04T12:00:00"),
+                punch(emp, "2024-03-04T13:00:00"), punch(emp, "2024-03-04T19:00:00"),
+                punch(emp, "2024-03-04T08:00:00"),
+                "{nao e json",
+                "{\"employeeId\": 999999999, \"punchedAt\": \"2024-03-04T08:00:00\"}");
+
+        assertEquals(7, first.getReceived());
+        assertEquals(4, first.getAccepted());
+        assertEquals(1, first.getDuplicates());
+        assertEquals(2, first.getRejected());
+        assertEquals(2, first.getErrors().size());
+
+        TimesheetMonthDTO march = timesheetService.getMonth(emp.getId(), "2024-03");
+        assertEquals(0, new BigDecimal("10").compareTo(march.getWorkedHours()));
+        assertEquals(0, new BigDecimal("2").compareTo(march.getOvertimeHours()));
+
+        PayrollCalculation pc = payrollService.calculatePayroll(emp.getId(), "2024-03", 1L);
+        assertEquals(0, overtimeValue(pc, "2").compareTo(pc.getOvertimeValue()));
+
+        // Segundo lote no mesmo mês: só o novo dia é apurado e a folha passa a divergir do ponto
+        ingest(punch(emp, "2024-03-05T08:00:00"), punch(emp, "2024-03-05T17:00:00"));
+        assertEquals(0, new BigDecimal("3").compareTo(timesheetService.getMonth(emp.getId(), "2024-03").getOvertimeHours()));
+        assertEquals(1, payrollService.recalculateMonth("2024-03").getRecalculated());
+        assertEquals(0, overtimeValue(pc, "3").compareTo(pc.getOvertimeValue()));
+    }
+
+    @Test
+    @DisplayName("Lança saldo no banco de horas, sinaliza dias incompletos e reconstrói o mês a partir do log")
+    // Dia curto (-1h), sábado (+2h) e dia com uma só marcação; a reconstrução chega aos mesmos totais
+    void deveApurarBancoDeHorasEReconstruir() {
+        Employee emp = employee("92939495960", true);
+        ingest(punch(emp, "2024-04-01T08:00:00"), punch(emp, "2024-04-01T12:00:00"),
+               punch(emp, "2024-04-01T13:00:00"), punch(emp, "2024-04-01T16:00:00"),
+               punch(emp, "2024-04-02T08:00:00"),
+               punch(emp, "2024-04-06T08:00:00"), punch(emp, "2024-04-06T10:00:00"));
+
+        TimesheetMonthDTO april = timesheetService.getMonth(emp.getId(), "2024-04");
+        assertEquals(0, BigDecimal.ONE.compareTo(april.getTimeBankHours()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(april.getOvertimeHours()));
+        assertEquals(3, april.getDaysWorked());
+        assertEquals(1, april.getIncompleteDays());
+
+        assertTrue(timesheetService.rebuild("2024-04") >= 3);
+        TimesheetMonthDTO rebuilt = timesheetService.getMonth(emp.getId(), "2024-04");
+        assertEquals(0, april.getTimeBankHours().compareTo(rebuilt.getTimeBankHours()));
+        assertEquals(0, april.getWorkedHours().compareTo(rebuilt.getWorkedHours()));
+        assertEquals(april.getIncompleteDays(), rebuilt.getIncompleteDays());
+    }
+
+    @Test
+    @DisplayName("Apura o turno noturno que vira a meia-noite no dia em que começou")
+    // Turno de 31/05 22h a 01/06 08h (9h trabalhadas), com a segunda metade chegando primeiro:
+    // o dia 01/06 deixa de existir e o turno inteiro fica em maio, também na reconstrução
+    void deveApurarTurnoQueViraAMeiaNoite() {
+        Employee emp = employee("93949596970", false);
+        ingest(punch(emp, "2024-06-01T03:00:00"), punch(emp, "2024-06-01T08:00:00"));
+        assertEquals(1, timesheetService.getMonth(emp.getId(), "2024-06").getDaysWorked());
+
+        ingest(punch(emp, "2024-05-31T22:00:00"), punch(emp, "2024-06-01T02:00:00"));
+        TimesheetMonthDTO may = timesheetService.getMonth(emp.getId(), "2024-05");
+        assertEquals(1, may.getDaysWorked());
+        assertEquals(0, may.getIncompleteDays());
+        assertEquals(0, new BigDecimal("9").compareTo(may.getWorkedHours()));
+        assertEquals(0, BigDecimal.ONE.compareTo(may.getOvertimeHours()));
+        assertThrows(NotFoundBusinessException.class, () -> timesheetService.getMonth(emp.getId(), "2024-06"));
+
+        timesheetService.rebuild("2024-05");
+        timesheetService.rebuild("2024-06");
+        assertEquals(0, new BigDecimal("9").compareTo(timesheetService.getMonth(emp.getId(), "2024-05").getWorkedHours()));
+        assertThrows(NotFoundBusinessException.class, () -> timesheetService.getMonth(emp.getId(), "2024-06"));
+    }
+
+    private PunchIngestionResultDTO ingest(String... lines) {
+        byte[] body = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        return ingestionService.ingest(new ByteArrayInputStream(body));
+    }
+
+    private static String punch(Employee e, String at) {
+        return "{\"employeeId\": " + e.getId() + ", \"punchedAt\": \"" + at + "\"}";
+    }
+
+    // Valor esperado: salário-hora x 1,5 x horas extras
+    private static BigDecimal overtimeValue(PayrollCalculation pc, String hours) {
+        return pc.getHourlyWage().multiply(new BigDecimal("1.5")).multiply(new BigDecimal(hours))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private Employee employee(String cpf, boolean timeBank) {
+        Employee e = EmployeeFixtures.employee(cpf, "Operator", "2640");
+        e.setOvertimeEligible(true);
+        e.setTimeBank(timeBank);
+        return employeeService.createEmployee(e, 1L);
+    }
+}
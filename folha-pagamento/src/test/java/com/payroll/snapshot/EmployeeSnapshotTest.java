@@ -0,0 +1,99 @@
+package com.payroll.snapshot;
+
+import com.payroll.entity.Employee;
+import com.payroll.service.EmployeeService;
+import com.payroll.test.EmployeeFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sem @Transactional: a atualização incremental depende do commit das alterações
+@SpringBootTest
+class EmployeeSnapshotTest {
+
+    @Autowired
+    private EmployeeSnapshot snapshot;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long employeeId;
+
+    @AfterEach
+    void tearDown() {
+        if (employeeId == null) return;
+        jdbcTemplate.update("DELETE FROM employee_change_outbox WHERE employee_id = ?", employeeId);
+        jdbcTemplate.update("DELETE FROM employee_compensation_history WHERE employee_id = ?", employeeId);
+        jdbcTemplate.update("DELETE FROM employees WHERE id = ?", employeeId);
+        snapshot.refresh(employeeId);
+    }
+
+    @Test
+    @DisplayName("Mantém o snapshot em dia a cada criação, alteração e exclusão confirmadas")
+    // Cria, reajusta e exclui um funcionário conferindo contagem, soma, filtro e agrupamento sem recarga completa
+    void deveAtualizarSnapshotIncrementalmente() {
+        int countBefore = snapshot.count();
+        BigDecimal totalBefore = snapshot.totalSalaries();
+        int gymBefore = snapshot.countWithFlag(BenefitFlag.GYM);
+
+        Employee created = employeeService.createEmployee(employee(), 1L);
+        employeeId = created.getId();
+
+        assertEquals(countBefore + 1, snapshot.count());
+        assertEquals(0, totalBefore.add(new BigDecimal("12345.67")).compareTo(snapshot.totalSalaries()));
+        assertEquals(gymBefore + 1, snapshot.countWithFlag(BenefitFlag.GYM));
+        assertTrue(contains(snapshot.idsWithSalaryAtLeast(new BigDecimal("12345.67")), employeeId));
+        assertFalse(contains(snapshot.idsWithSalaryAtLeast(new BigDecimal("12345.68")), employeeId));
+        assertTrue(snapshot.totalsByPosition().stream()
+                .anyMatch(p -> "Snapshot Analyst".equals(p.position()) && p.headcount() == 1 && p.salaryCents() == 1234567));
+
+        created.setSalary(new BigDecimal("1000.00"));
+        created.setGym(false);
+        employeeService.updateEmployee(employeeId, created);
+
+        assertEquals(0, totalBefore.add(new BigDecimal("1000.00")).compareTo(snapshot.totalSalaries()));
+        assertEquals(gymBefore, snapshot.countWithFlag(BenefitFlag.GYM));
+
+        employeeService.deleteEmployee(employeeId);
+
+        assertEquals(countBefore, snapshot.count());
+        assertEquals(0, totalBefore.compareTo(snapshot.totalSalaries()));
+        assertTrue(snapshot.totalsByPosition().stream().noneMatch(p -> "Snapshot Analyst".equals(p.position())));
+    }
+
+    @Test
+    @DisplayName("Distribui salários em faixas com limites inclusivos")
+    // O salário exatamente no limite cai na faixa inferior
+    void deveCalcularHistogramaComLimitesInclusivos() {
+        long[] before = snapshot.salaryHistogram(new BigDecimal("12345.67"));
+
+        Employee created = employeeService.createEmployee(employee(), 1L);
+        employeeId = created.getId();
+
+        long[] after = snapshot.salaryHistogram(new BigDecimal("12345.67"));
+        assertEquals(before[0] + 1, after[0]);
+        assertEquals(before[1], after[1]);
+    }
+
+    private boolean contains(long[] ids, long id) {
+        return Arrays.stream(ids).anyMatch(v -> v == id);
+    }
+
+    private Employee employee() {
+        Employee e = EmployeeFixtures.employee("98765432100", "Snapshot Analyst", "12345.67");
+        e.setGym(true);
+        e.setGymValue(new BigDecimal("90"));
+        return e;
+    }
+}
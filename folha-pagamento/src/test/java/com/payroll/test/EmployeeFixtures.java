@@ -0,0 +1,32 @@
+package com.payroll.test;
+
+import com.payroll.entity.Employee;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Cadastros de teste compartilhados: funcionário padrão de 40h, admitido antes das competências testadas
+public final class EmployeeFixtures {
+
+    private EmployeeFixtures() {
+    }
+
+    // Funcionário ainda não gravado; o teste ajusta o que precisar antes de createEmployee
+    public static Employee employee(String cpf, String position, String salary) {
+        Employee e = new Employee();
+        e.setFullName("Funcionario " + cpf);
+        e.setCpf(cpf);
+        e.setRg("RG" + cpf.substring(0, 6));
+        e.setPosition(position);
+        e.setAdmissionDate(LocalDate.of(2020, 1, 1));
+        e.setSalary(new BigDecimal(salary));
+        e.setWeeklyHours(40);
+        e.setCreatedBy(1L);
+        return e;
+    }
+
+    // Atalho para o cargo padrão usado pela maioria dos testes de folha
+    public static Employee analyst(String cpf, String salary) {
+        return employee(cpf, "Analyst", salary);
+    }
+}